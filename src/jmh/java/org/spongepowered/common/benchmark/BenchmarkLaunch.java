@@ -0,0 +1,83 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.benchmark;
+
+import net.minecraft.launchwrapper.Launch;
+
+import java.lang.reflect.Constructor;
+
+/**
+ * Bootstraps the test game inside of a {@link Launch#classLoader} with all
+ * mixins applied, in the same way as the LaunchWrapper test runner does for
+ * the functional tests.
+ *
+ * <p>Benchmark classes are loaded by the application class loader, they must
+ * therefore only interact with the bootstrapped game through harness classes
+ * created by {@link #createHarness(String, Object...)} and only reference them
+ * through JDK interfaces.</p>
+ */
+public final class BenchmarkLaunch {
+
+    private static final String DEFAULT_TWEAKER = "org.spongepowered.common.launch.TestTweaker";
+
+    private static boolean initialized;
+
+    private BenchmarkLaunch() {
+    }
+
+    private static synchronized ClassLoader getClassLoader() {
+        if (!initialized) {
+            initialized = true;
+            // Runs the TestMain launch target, which registers the game registries
+            Launch.main(new String[] {"--tweakClass", System.getProperty("lwts.tweaker", DEFAULT_TWEAKER)});
+        }
+        return Launch.classLoader;
+    }
+
+    /**
+     * Creates a harness instance of the given class within the launch class
+     * loader, bootstrapping the game first if necessary.
+     *
+     * @param className The harness class name
+     * @param args The constructor arguments
+     * @param <T> The JDK interface type implemented by the harness
+     * @return The harness
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T createHarness(String className, Object... args) {
+        try {
+            final Class<?> harnessClass = Class.forName(className, true, getClassLoader());
+            for (Constructor<?> constructor : harnessClass.getConstructors()) {
+                if (constructor.getParameterCount() == args.length) {
+                    return (T) constructor.newInstance(args);
+                }
+            }
+            throw new IllegalArgumentException("No constructor of " + className + " accepts " + args.length + " arguments");
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to create benchmark harness " + className, e);
+        }
+    }
+
+}
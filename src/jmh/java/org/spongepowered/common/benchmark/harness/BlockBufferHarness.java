@@ -0,0 +1,82 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.benchmark.harness;
+
+import com.flowpowered.math.vector.Vector3i;
+import org.spongepowered.api.block.BlockState;
+import org.spongepowered.api.block.BlockTypes;
+import org.spongepowered.common.util.gen.ArrayMutableBlockBuffer;
+
+import java.util.function.Supplier;
+
+/**
+ * Sets and gets every block of a 32x32x32 {@link ArrayMutableBlockBuffer}
+ * with a local palette. {@link #run()} writes the blocks, {@link #get()}
+ * reads them back.
+ */
+public final class BlockBufferHarness implements Runnable, Supplier<Object> {
+
+    private static final int SIZE = 32;
+
+    private final ArrayMutableBlockBuffer buffer = new ArrayMutableBlockBuffer(Vector3i.ZERO, new Vector3i(SIZE, SIZE, SIZE));
+    private final BlockState[] states = {
+        BlockTypes.STONE.getDefaultState(),
+        BlockTypes.DIRT.getDefaultState(),
+        BlockTypes.GRASS.getDefaultState(),
+        BlockTypes.AIR.getDefaultState()
+    };
+
+    public BlockBufferHarness() {
+        this.run();
+    }
+
+    @Override
+    public void run() {
+        for (int y = 0; y < SIZE; y++) {
+            for (int z = 0; z < SIZE; z++) {
+                for (int x = 0; x < SIZE; x++) {
+                    this.buffer.setBlock(x, y, z, this.states[(x + y + z) & 3]);
+                }
+            }
+        }
+    }
+
+    @Override
+    public Object get() {
+        int stone = 0;
+        final BlockState stoneState = this.states[0];
+        for (int y = 0; y < SIZE; y++) {
+            for (int z = 0; z < SIZE; z++) {
+                for (int x = 0; x < SIZE; x++) {
+                    if (this.buffer.getBlock(x, y, z) == stoneState) {
+                        stone++;
+                    }
+                }
+            }
+        }
+        return stone;
+    }
+
+}
@@ -0,0 +1,92 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.benchmark.harness;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.mockito.Mockito;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.cause.Cause;
+import org.spongepowered.api.event.cause.EventContext;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.api.plugin.PluginManager;
+import org.spongepowered.common.event.EventType;
+import org.spongepowered.common.event.RegisteredListener;
+import org.spongepowered.common.event.SpongeEventManager;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Looks up the handlers of a non-generic event with the given amount of
+ * listeners, either through the class keyed handler table or through the
+ * {@link EventType} keyed cache, which allocates a key for every lookup.
+ */
+public final class EventLookupHarness implements Supplier<Object> {
+
+    private final LookupEventManager eventManager;
+    private final EventPostHarness.BenchmarkEvent event;
+    private final boolean byEventType;
+
+    public EventLookupHarness(int listeners, boolean byEventType) {
+        final PluginManager pluginManager = Mockito.mock(PluginManager.class);
+        final Object plugin = new Object();
+        final PluginContainer container = Mockito.mock(PluginContainer.class);
+        Mockito.when(container.getId()).thenReturn("benchmark");
+        Mockito.when(pluginManager.fromInstance(plugin)).thenReturn(Optional.of(container));
+
+        this.eventManager = new LookupEventManager(LogManager.getLogger("Benchmark"), pluginManager);
+        for (int i = 0; i < listeners; i++) {
+            this.eventManager.registerListener(plugin, EventPostHarness.BenchmarkEvent.class, event -> event.counter++);
+        }
+        this.event = new EventPostHarness.BenchmarkEvent(Cause.of(EventContext.empty(), plugin));
+        this.byEventType = byEventType;
+    }
+
+    @Override
+    public Object get() {
+        return this.byEventType ? this.eventManager.getHandlerCacheByEventType(this.event) : this.eventManager.getHandlerCache(this.event);
+    }
+
+    private static final class LookupEventManager extends SpongeEventManager {
+
+        LookupEventManager(Logger logger, PluginManager pluginManager) {
+            super(logger, pluginManager);
+        }
+
+        @Override
+        protected RegisteredListener.Cache getHandlerCache(Event event) {
+            return super.getHandlerCache(event);
+        }
+
+        // The lookup as it was done for every event before the class keyed handler table
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        RegisteredListener.Cache getHandlerCacheByEventType(Event event) {
+            return this.handlersCache.get(new EventType(event.getClass(), null));
+        }
+
+    }
+
+}
@@ -0,0 +1,83 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.benchmark.harness;
+
+import org.apache.logging.log4j.LogManager;
+import org.mockito.Mockito;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.cause.Cause;
+import org.spongepowered.api.event.cause.EventContext;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.api.plugin.PluginManager;
+import org.spongepowered.common.event.SpongeEventManager;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Posts a non-generic event to the given amount of listeners through the
+ * full server posting path, including timings and plugin phases.
+ */
+public final class EventPostHarness implements Supplier<Object> {
+
+    private final SpongeEventManager eventManager;
+    private final BenchmarkEvent event;
+
+    public EventPostHarness(int listeners) {
+        final PluginManager pluginManager = Mockito.mock(PluginManager.class);
+        final Object plugin = new Object();
+        final PluginContainer container = Mockito.mock(PluginContainer.class);
+        Mockito.when(container.getId()).thenReturn("benchmark");
+        Mockito.when(pluginManager.fromInstance(plugin)).thenReturn(Optional.of(container));
+
+        this.eventManager = new SpongeEventManager(LogManager.getLogger("Benchmark"), pluginManager);
+        for (int i = 0; i < listeners; i++) {
+            this.eventManager.registerListener(plugin, BenchmarkEvent.class, event -> event.counter++);
+        }
+        this.event = new BenchmarkEvent(Cause.of(EventContext.empty(), plugin));
+    }
+
+    @Override
+    public Object get() {
+        this.eventManager.post(this.event);
+        return this.event.counter;
+    }
+
+    public static final class BenchmarkEvent implements Event {
+
+        private final Cause cause;
+        int counter;
+
+        BenchmarkEvent(Cause cause) {
+            this.cause = cause;
+        }
+
+        @Override
+        public Cause getCause() {
+            return this.cause;
+        }
+    }
+
+}
@@ -0,0 +1,56 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.benchmark.harness;
+
+import net.minecraft.inventory.InventoryBasic;
+import net.minecraft.item.ItemStack;
+import org.spongepowered.api.item.ItemTypes;
+import org.spongepowered.api.item.inventory.Inventory;
+import org.spongepowered.api.item.inventory.query.QueryOperationTypes;
+
+import java.util.function.Supplier;
+
+/**
+ * Queries a chest sized inventory for the slots holding a single item type.
+ */
+public final class InventoryQueryHarness implements Supplier<Object> {
+
+    private final Inventory inventory;
+
+    public InventoryQueryHarness() {
+        final InventoryBasic inventory = new InventoryBasic("Benchmark", false, 27);
+        for (int i = 0; i < inventory.getSizeInventory(); i += 3) {
+            inventory.setInventorySlotContents(i, (ItemStack) (Object) org.spongepowered.api.item.inventory.ItemStack.of(
+                i % 2 == 0 ? ItemTypes.DIRT : ItemTypes.STONE, 1));
+        }
+        this.inventory = (Inventory) inventory;
+    }
+
+    @Override
+    public Object get() {
+        return this.inventory.query(QueryOperationTypes.ITEM_TYPE.of(ItemTypes.DIRT));
+    }
+
+}
@@ -0,0 +1,66 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.benchmark.harness;
+
+import com.google.common.collect.ImmutableList;
+import net.minecraft.nbt.NBTTagCompound;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.api.data.DataView;
+import org.spongepowered.common.data.persistence.NbtTranslator;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Translates a data container, shaped like serialized entity data, to NBT
+ * and back.
+ */
+public final class NbtTranslatorHarness implements Supplier<Object> {
+
+    private final DataContainer container = DataContainer.createNew();
+
+    public NbtTranslatorHarness() {
+        this.container.set(DataQuery.of("ContentVersion"), 1)
+            .set(DataQuery.of("UUID"), UUID.randomUUID().toString())
+            .set(DataQuery.of("Name"), "minecraft:zombie")
+            .set(DataQuery.of("Health"), 20.0D)
+            .set(DataQuery.of("Tags"), ImmutableList.of("first", "second", "third"))
+            .set(DataQuery.of("Motion"), ImmutableList.of(0.0D, -0.0784D, 0.0D));
+        for (int i = 0; i < 8; i++) {
+            final DataView view = this.container.createView(DataQuery.of("Manipulators", "Data" + i));
+            view.set(DataQuery.of("Id"), "sponge:data_" + i)
+                .set(DataQuery.of("Value"), i)
+                .set(DataQuery.of("Enabled"), i % 2 == 0);
+        }
+    }
+
+    @Override
+    public Object get() {
+        final NBTTagCompound compound = NbtTranslator.getInstance().translate(this.container);
+        return NbtTranslator.getInstance().translate(compound);
+    }
+
+}
@@ -0,0 +1,85 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.benchmark.harness;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import org.spongepowered.api.block.BlockState;
+import org.spongepowered.api.world.schematic.PaletteTypes;
+import org.spongepowered.common.world.schematic.BimapPalette;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Looks up every entry of a local {@link BimapPalette} containing all block
+ * states. Most ids are outside of the {@link Integer} cache, so boxing ids
+ * shows up in the allocation rate. {@link #get()} maps ids to states through
+ * the public {@link java.util.Optional} accessor, {@link #getAsInt()} through
+ * the primitive one.
+ */
+public final class PaletteHarness implements Supplier<Object>, IntSupplier {
+
+    private final BimapPalette<BlockState> palette = new BimapPalette<>(PaletteTypes.LOCAL_BLOCKS);
+    private final int size;
+
+    public PaletteHarness() {
+        final List<BlockState> states = new ArrayList<>();
+        for (IBlockState state : Block.BLOCK_STATE_IDS) {
+            states.add((BlockState) state);
+        }
+        for (BlockState state : states) {
+            this.palette.getOrAssign(state);
+        }
+        this.size = states.size();
+    }
+
+    @Override
+    public Object get() {
+        int found = 0;
+        for (int id = 0; id < this.size; id++) {
+            final BlockState state = this.palette.get(id).orElse(null);
+            if (state != null && this.palette.get(state).isPresent()) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public int getAsInt() {
+        int found = 0;
+        for (int id = 0; id < this.size; id++) {
+            final BlockState state = this.palette.getOrNull(id);
+            if (state != null && this.palette.getId(state) != -1) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+}
@@ -45,6 +45,7 @@
 import org.spongepowered.common.event.tracking.context.MultiBlockCaptureSupplier;
 import org.spongepowered.common.event.tracking.context.SpongeProxyBlockAccess;
 import org.spongepowered.common.relocate.co.aikar.timings.WorldTimingsHandler;
+import org.spongepowered.common.world.NearbyPlayerIndex;
 import org.spongepowered.common.world.gen.SpongeChunkGenerator;
 import org.spongepowered.common.world.gen.SpongeWorldGenerator;
 
@@ -133,6 +134,23 @@ public interface WorldServerBridge {
 
     void bridge$doChunkGC();
 
+    /**
+     * Marks the chunk at the given position as possibly leaked, the chunk gc
+     * will check it once the gc tick interval has passed.
+     *
+     * @param chunkX The chunk x coordinate
+     * @param chunkZ The chunk z coordinate
+     */
+    void bridge$addChunkGCCandidate(int chunkX, int chunkZ);
+
+    /**
+     * Gets the index of the players in this world by chunk, which is used
+     * to send packets to the players near a position.
+     *
+     * @return The player index
+     */
+    NearbyPlayerIndex bridge$getNearbyPlayerIndex();
+
     void bridge$incrementChunkLoadCount();
 
     void bridge$updateConfigCache();
@@ -24,9 +24,9 @@
  */
 package org.spongepowered.common.bridge.world.chunk;
 
-import net.minecraft.world.EnumSkyBlock;
+import org.spongepowered.common.util.ConcurrentIntQueue;
 
-import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public interface ChunkBridge_AsyncLighting extends ChunkBridge {
@@ -37,5 +37,19 @@ public interface ChunkBridge_AsyncLighting extends ChunkBridge {
 
     void asyncLightingBridge$setLightUpdateTime(long time);
 
-    Set<Short> asyncLightingBridge$getQueuedLightingUpdates(EnumSkyBlock type);
+    /**
+     * Gets the light updates queued for positions in this chunk, encoded
+     * by the async lighting world.
+     *
+     * @return The queued light updates
+     */
+    ConcurrentIntQueue asyncLightingBridge$getQueuedLightUpdates();
+
+    /**
+     * Gets whether a task that checks the queued light updates of this
+     * chunk is already scheduled.
+     *
+     * @return The scheduled flag
+     */
+    AtomicBoolean asyncLightingBridge$getLightUpdatesScheduled();
 }
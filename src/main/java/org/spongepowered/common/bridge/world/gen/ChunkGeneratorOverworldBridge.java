@@ -25,11 +25,24 @@
 package org.spongepowered.common.bridge.world.gen;
 
 import net.minecraft.world.biome.Biome;
+import net.minecraft.world.gen.ChunkGeneratorOverworld;
 import org.spongepowered.api.world.gen.BiomeGenerator;
 
+import javax.annotation.Nullable;
+
 public interface ChunkGeneratorOverworldBridge {
 
     void bridge$setBiomeGenerator(BiomeGenerator biomes);
 
     Biome[] bridge$getBiomesForGeneration(final int x, final int z);
+
+    /**
+     * Creates a new generator with the same seed and settings as this one,
+     * to generate terrain on another thread. Generators extending the
+     * vanilla one can't be copied.
+     *
+     * @return The copy, or null if this generator can't be copied
+     */
+    @Nullable
+    ChunkGeneratorOverworld bridge$copyGenerator();
 }
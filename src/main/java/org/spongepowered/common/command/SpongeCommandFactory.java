@@ -94,6 +94,7 @@
 import org.spongepowered.common.bridge.server.MinecraftServerBridge;
 import org.spongepowered.common.bridge.world.DimensionTypeBridge;
 import org.spongepowered.common.bridge.world.WorldServerBridge;
+import org.spongepowered.common.bridge.world.WorldServerBridge_AsyncLighting;
 import org.spongepowered.common.bridge.world.WorldBridge;
 import org.spongepowered.common.bridge.world.WorldInfoBridge;
 import org.spongepowered.common.bridge.world.chunk.ChunkBridge;
@@ -106,10 +107,14 @@
 import org.spongepowered.common.config.type.WorldConfig;
 import org.spongepowered.common.entity.EntityUtil;
 import org.spongepowered.common.event.SpongeEventManager;
+import org.spongepowered.common.event.tracking.PhaseProfiler;
 import org.spongepowered.common.mixin.core.world.WorldAccessor;
+import org.spongepowered.common.scheduler.SpongeScheduler;
 import org.spongepowered.common.util.SpongeHooks;
+import org.spongepowered.common.world.WorldLightingExecutor;
 
 import java.io.File;
+import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.text.DecimalFormat;
@@ -125,6 +130,7 @@
 import java.util.Optional;
 import java.util.TreeSet;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -224,6 +230,8 @@ public static CommandSpec createSpongeCommand() {
         nonFlagChildren.register(createSpongeTimingsCommand(), "timings");
         nonFlagChildren.register(createSpongeWhichCommand(), "which");
         nonFlagChildren.register(createSpongeMetricsCommand(), "metrics");
+        nonFlagChildren.register(createSpongeSchedulerCommand(), "scheduler");
+        nonFlagChildren.register(createSpongePhasesCommand(), "phases");
         flagChildren.register(createSpongeChunksCommand(), "chunks");
         flagChildren.register(createSpongeTPSCommand(), "tps");
         trackerFlagChildren.register(createSpongeConfigCommand(), "config");
@@ -246,6 +254,8 @@ INDENT, title("plugins"), LONG_INDENT, "List currently installed plugins\n",
                 INDENT, title("which"), LONG_INDENT, "List plugins that own a specific command\n",
                 INDENT, title("tps"), LONG_INDENT, "Provides TPS (ticks per second) data for loaded worlds\n",
                 INDENT, title("metrics"), LONG_INDENT, "Gets or sets permission for metric plugins to operate\n",
+                INDENT, title("scheduler"), LONG_INDENT, "Prints statistics of the asynchronous task executor\n",
+                INDENT, title("phases"), LONG_INDENT, "Prints or exports the phase tracker profile\n",
                 SpongeImplHooks.getAdditionalCommandDescriptions()))
             .arguments(firstParsing(nonFlagChildren,
                 flags().flag("-global", "g")
@@ -828,6 +838,78 @@ private static CommandSpec createSpongeWhichCommand() {
             .build();
     }
 
+    private static CommandSpec createSpongeSchedulerCommand() {
+        return CommandSpec.builder()
+            .permission("sponge.command.scheduler")
+            .description(Text.of("Prints statistics of the asynchronous task executor."))
+            .executor((src, args) -> {
+                final SpongeScheduler scheduler = SpongeImpl.getScheduler();
+                src.sendMessage(Text.of("Async executor: ", TextColors.LIGHT_PURPLE, scheduler.isAsyncExecutorBounded() ? "bounded" : "cached"));
+                src.sendMessage(Text.of(TextColors.GRAY, INDENT + "Queue depth", ": ", TextColors.RESET, scheduler.getAsyncQueueDepth()));
+                src.sendMessage(Text.of(TextColors.GRAY, INDENT + "Active threads", ": ", TextColors.RESET, scheduler.getAsyncActiveThreads()));
+                src.sendMessage(Text.of(TextColors.GRAY, INDENT + "Rejected tasks", ": ", TextColors.RESET, scheduler.getAsyncRejectedTasks()));
+                return CommandResult.success();
+            })
+            .build();
+    }
+
+    private static CommandSpec createSpongePhasesCommand() {
+        return CommandSpec.builder()
+            .permission("sponge.command.phases")
+            .description(Text.of("Prints or exports the time spent in each phase of the phase tracker."))
+            .child(CommandSpec.builder()
+                .arguments(GenericArguments.integer(Text.of("rate")))
+                .executor((src, args) -> {
+                    final int rate = args.<Integer>requireOne("rate");
+                    PhaseProfiler.setSampleRate(rate);
+                    src.sendMessage(rate > 0 ? Text.of("Timing one in every ", rate, " phase entries") : Text.of("Disabled phase profiling"));
+                    return CommandResult.success();
+                })
+                .build(), "sample")
+            .child(CommandSpec.builder()
+                .executor((src, args) -> {
+                    PhaseProfiler.reset();
+                    src.sendMessage(Text.of("Phase profile reset"));
+                    return CommandResult.success();
+                })
+                .build(), "reset")
+            .child(CommandSpec.builder()
+                .executor((src, args) -> {
+                    final File file = new File(new File(new File("."), "dumps"),
+                        "phase-profile-" + DateTimeFormatter.ofPattern("yyyy-MM-dd_HH.mm.ss").format(LocalDateTime.now()) + ".csv");
+                    try {
+                        PhaseProfiler.export(file.toPath());
+                    } catch (IOException e) {
+                        throw new CommandException(Text.of("Could not write the phase profile to ", file), e);
+                    }
+                    src.sendMessage(Text.of("Wrote the phase profile to: ", file));
+                    return CommandResult.success();
+                })
+                .build(), "export")
+            .executor((src, args) -> {
+                if (!PhaseProfiler.isEnabled()) {
+                    src.sendMessage(Text.of("Please enable phase profiling by typing /sponge phases sample <rate>"));
+                }
+                final List<PhaseProfiler.Entry> entries = PhaseProfiler.getEntries();
+                if (entries.isEmpty()) {
+                    return CommandResult.empty();
+                }
+                src.sendMessage(Text.of("Phase profile, sampling one in every ", PhaseProfiler.getSampleRate(), " entries:"));
+                for (final PhaseProfiler.Entry entry : entries.subList(0, Math.min(10, entries.size()))) {
+                    src.sendMessage(Text.of(LIST_ITEM_TEXT, TextColors.LIGHT_PURPLE, entry.getState(), TextColors.RESET, ": ",
+                        entry.getEntries(), " entries, ", TimeUnit.NANOSECONDS.toMillis(entry.getEstimatedNanos()), " ms total"));
+                    src.sendMessage(Text.of(TextColors.GRAY, LONG_INDENT, "Average: ", TextColors.RESET,
+                        entry.getAverageNanos() / 1000, " us, unwinding ", entry.getAverageUnwindNanos() / 1000,
+                        " us, block processing ", entry.getAverageBlockProcessingNanos() / 1000, " us"));
+                    src.sendMessage(Text.of(TextColors.GRAY, LONG_INDENT, "Captures: ", TextColors.RESET,
+                        String.format("%.1f blocks, %.1f entities, %.1f items", entry.getAverageBlocks(), entry.getAverageEntities(),
+                            entry.getAverageItems())));
+                }
+                return CommandResult.success();
+            })
+            .build();
+    }
+
     private static CommandSpec createSpongeTPSCommand() {
         return CommandSpec.builder()
             .permission("sponge.command.tps")
@@ -865,6 +947,12 @@ private static void printWorldTickTime(final CommandSource src, final World worl
             ") TPS: ", TextColors.LIGHT_PURPLE,
             THREE_DECIMAL_DIGITS_FORMATTER.format(worldTps), TextColors.RESET,  ", Mean: ", TextColors.RED,
             THREE_DECIMAL_DIGITS_FORMATTER.format(worldMeanTickTime), "ms"));
+        if (world instanceof WorldServerBridge_AsyncLighting) {
+            final WorldLightingExecutor lightingExecutor = ((WorldServerBridge_AsyncLighting) world).asyncLightingBridge$getLightingExecutor();
+            src.sendMessage(Text.of("  Lighting Queue: ", TextColors.LIGHT_PURPLE, lightingExecutor.getQueuedUpdates(),
+                TextColors.RESET, ", Updates/s: ", TextColors.RED, THREE_DECIMAL_DIGITS_FORMATTER.format(lightingExecutor.getUpdatesPerSecond()),
+                TextColors.RESET, ", Coalesced: ", lightingExecutor.getCoalescedUpdates()));
+        }
     }
 
     private static Long mean(final long[] values) {
@@ -0,0 +1,65 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config.category;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+@ConfigSerializable
+public class AsyncTerrainGenerationCategory extends ConfigCategory {
+
+    @Setting(value = "enabled", comment = "If 'true', the biomes, base terrain and ground cover of chunks in front of moving\n"
+                                          + "players are generated asynchronously, before the chunks are requested. Only worlds\n"
+                                          + "using the vanilla overworld generator and biome provider are supported, caves,\n"
+                                          + "structures, populators and events still run on the main thread.")
+    private boolean enabled = false;
+
+    @Setting(value = "num-threads", comment = "The amount of threads to dedicate for asynchronous terrain generation, shared by all worlds. (Default: 2)")
+    private int numThreads = 2;
+
+    @Setting(value = "look-ahead", comment = "The amount of chunks beyond the view distance of a moving player that are\n"
+                                             + "generated ahead of time in the direction the player is moving. (Default: 2)")
+    private int lookAhead = 2;
+
+    @Setting(value = "max-pending-chunks", comment = "The maximum amount of chunks per world that are generated ahead of time but not\n"
+                                                     + "requested yet. Each chunk holds on to about 128 KB. (Default: 64)")
+    private int maxPendingChunks = 64;
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    public int getNumThreads() {
+        return this.numThreads;
+    }
+
+    public int getLookAhead() {
+        return this.lookAhead;
+    }
+
+    public int getMaxPendingChunks() {
+        return this.maxPendingChunks;
+    }
+}
@@ -39,6 +39,11 @@ public class EntityActivationRangeCategory extends ConfigCategory {
     private Map<String, Integer> defaultRanges = new HashMap<>();
     @Setting(value = "mods", comment = "Per-mod overrides. Refer to the minecraft default mod for example.")
     private Map<String, EntityActivationModCategory> modList = new HashMap<>();
+    @Setting(value = "check-intervals", comment = "The amount of ticks between activation checks of each activation type. Entities with an\n"
+                                                 + "interval above 1 are checked on a different tick per chunk, which spreads the checks\n"
+                                                 + "over several ticks, and stay active until their next check. Raising this is useful for\n"
+                                                 + "entities whose activation rarely changes.")
+    private Map<String, Integer> checkIntervals = new HashMap<>();
 
     public EntityActivationRangeCategory() {
         this.defaultRanges.put("ambient", 32);
@@ -46,6 +51,11 @@ public EntityActivationRangeCategory() {
         this.defaultRanges.put("creature", 32);
         this.defaultRanges.put("monster", 32);
         this.defaultRanges.put("misc", 16);
+        this.checkIntervals.put("ambient", 1);
+        this.checkIntervals.put("aquatic", 1);
+        this.checkIntervals.put("creature", 1);
+        this.checkIntervals.put("monster", 1);
+        this.checkIntervals.put("misc", 1);
     }
 
     public boolean autoPopulateData() {
@@ -59,4 +69,8 @@ public Map<String, Integer> getDefaultRanges() {
     public Map<String, EntityActivationModCategory> getModList() {
         return this.modList;
     }
+
+    public Map<String, Integer> getCheckIntervals() {
+        return this.checkIntervals;
+    }
 }
\ No newline at end of file
@@ -55,6 +55,9 @@ public class OptimizationCategory extends ConfigCategory {
     @Setting(value = "async-lighting", comment = "Runs lighting updates asynchronously.")
     private AsyncLightingCategory asyncLightingCategory = new AsyncLightingCategory();
 
+    @Setting(value = "async-terrain-generation", comment = "Generates the terrain of chunks ahead of moving players asynchronously.")
+    private AsyncTerrainGenerationCategory asyncTerrainGenerationCategory = new AsyncTerrainGenerationCategory();
+
     @Setting(value = "eigen-redstone", comment = "Uses theosib's redstone algorithms to completely overhaul the way redstone works.")
     private EigenRedstoneCategory eigenRedstonCategory = new EigenRedstoneCategory();
 
@@ -167,6 +170,14 @@ public boolean useAsyncLighting() {
         return this.asyncLightingCategory.isEnabled();
     }
 
+    public AsyncTerrainGenerationCategory getAsyncTerrainGenerationCategory() {
+        return this.asyncTerrainGenerationCategory;
+    }
+
+    public boolean useAsyncTerrainGeneration() {
+        return this.asyncTerrainGenerationCategory.isEnabled();
+    }
+
     public EigenRedstoneCategory getEigenRedstoneCategory() {
         return this.eigenRedstonCategory;
     }
@@ -202,5 +213,4 @@ public boolean isUseActiveChunkForCollisions() {
     public boolean disableFailingAdvancementDeserialization() {
         return this.disableFailingAdvancementDeserialization;
     }
-
 }
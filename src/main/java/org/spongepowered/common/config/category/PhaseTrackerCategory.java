@@ -88,6 +88,14 @@ public class PhaseTrackerCategory extends ConfigCategory {
                                                                + "to resolve the runaway. If verbose is enabled, they will always print.")
     private int maxRunawayCount = 3;
 
+    @Setting(value = "profiling-sample-rate", comment = "If above 0, the phase tracker records how often each phase is entered, \n"
+                                                      + "and times one in this many phase entries, recording how long the \n"
+                                                      + "phase took, how much it captured and how long processing its \n"
+                                                      + "captures took. The results are shown by '/sponge phases'. \n"
+                                                      + "A rate of 1 times every phase, higher rates cost less. \n"
+                                                      + "0 turns profiling off, which is the default.")
+    private int profilingSampleRate = 0;
+
     public boolean isVerbose() {
         return this.isVerbose;
     }
@@ -169,6 +177,10 @@ public int getMaximumRunawayCount() {
         return this.maxRunawayCount;
     }
 
+    public int getProfilingSampleRate() {
+        return this.profilingSampleRate;
+    }
+
     public boolean isReportNullSourceBlocks() {
         return reportNullSourceBlocks;
     }
@@ -0,0 +1,67 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config.category;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+@ConfigSerializable
+public class SchedulerCategory extends ConfigCategory {
+
+    @Setting(value = "bounded-async-executor", comment = "If 'true', asynchronous tasks are run on a bounded work-stealing pool instead of \n"
+                                                         + "spawning a new thread whenever all existing threads are busy.")
+    private boolean boundedAsyncExecutor = false;
+
+    @Setting(value = "async-threads", comment = "The amount of threads of the bounded asynchronous executor. \n"
+                                                + "If '0', the amount of available processors is used. (Default: 0)")
+    private int asyncThreads = 0;
+
+    @Setting(value = "max-concurrent-tasks-per-plugin", comment = "The maximum amount of asynchronous tasks of a single plugin that may run \n"
+                                                                  + "at the same time on the bounded executor. Further tasks are queued until \n"
+                                                                  + "one of the running tasks completes. If '0', only the pool size applies. (Default: 4)")
+    private int maxConcurrentTasksPerPlugin = 4;
+
+    @Setting(value = "max-queued-tasks-per-plugin", comment = "The maximum amount of asynchronous tasks of a single plugin that may wait \n"
+                                                              + "for a free slot. Executions beyond this limit are rejected, repeating tasks \n"
+                                                              + "skip the execution and other tasks are cancelled. If '0', the queue is \n"
+                                                              + "unbounded. (Default: 0)")
+    private int maxQueuedTasksPerPlugin = 0;
+
+    public boolean isBoundedAsyncExecutor() {
+        return this.boundedAsyncExecutor;
+    }
+
+    public int getAsyncThreads() {
+        return this.asyncThreads;
+    }
+
+    public int getMaxConcurrentTasksPerPlugin() {
+        return this.maxConcurrentTasksPerPlugin;
+    }
+
+    public int getMaxQueuedTasksPerPlugin() {
+        return this.maxQueuedTasksPerPlugin;
+    }
+}
@@ -70,13 +70,18 @@ public class WorldCategory extends ConfigCategory {
                                                     + "then we recommend disabling it.")
     private boolean denyChunkRequests = false;
 
-    @Setting(value = "chunk-gc-tick-interval", comment = "The tick interval used to cleanup all inactive chunks that have leaked in a world. \n"
+    @Setting(value = "chunk-gc-tick-interval", comment = "The number of ticks a chunk that may have leaked waits before it is checked and cleaned up. \n"
+                                                       + "A chunk may have leaked once it is loaded, leaves the view of all players \n"
+                                                       + "or is no longer force loaded. \n"
                                                        + "Set to 0 to disable which restores vanilla handling. (Default: 600)")
     private int chunkGCTickInterval = 600;
 
+    @Setting(value = "chunk-gc-max-time-per-tick", comment = "The maximum number of milliseconds the chunk gc may spend checking chunks in a single tick. \n"
+                                                           + "Chunks that could not be checked in time are checked on the following ticks. \n"
+                                                           + "At least one chunk is checked per tick. (Default: 0.5)")
+    private double chunkGCMaxTimePerTick = 0.5D;
+
     @Setting(value = "max-chunk-unloads-per-tick", comment = "The maximum number of queued unloaded chunks that will be unloaded in a single tick. \n"
-                                                           + "Note: With the chunk gc enabled, this setting only applies to the ticks \n"
-                                                           + "where the gc runs (controlled by 'chunk-gc-tick-interval') \n"
                                                            + "Note: If the maximum unloads is too low, too many chunks may remain \n"
                                                            + "loaded on the world and increases the chance for a drop in tps. (Default: 100)")
     private int maxChunkUnloads = 100;
@@ -203,6 +208,10 @@ public int getChunkLoadThreshold() {
         return this.chunkGCLoadThreshold;
     }
 
+    public double getChunkGCMaxTimePerTick() {
+        return this.chunkGCMaxTimePerTick;
+    }
+
     public int getMaxChunkUnloads() {
         return this.maxChunkUnloads;
     }
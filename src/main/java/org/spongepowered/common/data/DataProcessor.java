@@ -33,6 +33,7 @@
 import org.spongepowered.api.data.merge.MergeFunction;
 import org.spongepowered.api.data.value.BaseValue;
 import org.spongepowered.api.entity.EntityType;
+import org.spongepowered.api.util.Tristate;
 
 import java.util.Optional;
 
@@ -55,6 +56,19 @@
 
     boolean supports(DataHolder dataHolder);
 
+    /**
+     * Gets whether this processor supports {@link DataHolder}s of the given
+     * class, regardless of the state of the individual holders.
+     * {@link Tristate#UNDEFINED} means that {@link #supports(DataHolder)}
+     * has to be asked for every holder instance.
+     *
+     * @param holderClass The concrete class of the holder
+     * @return Whether the holder class is supported
+     */
+    default Tristate supportsHolderType(Class<?> holderClass) {
+        return Tristate.UNDEFINED;
+    }
+
     boolean supports(EntityType entityType);
 
     /**
@@ -35,6 +35,7 @@
 import org.spongepowered.api.data.value.mutable.CollectionValue;
 import org.spongepowered.api.data.value.mutable.Value;
 import org.spongepowered.api.entity.Entity;
+import org.spongepowered.api.util.Tristate;
 
 import java.util.Optional;
 
@@ -139,6 +140,19 @@
      */
     boolean supports(ValueContainer<?> container);
 
+    /**
+     * Gets whether this processor supports {@link ValueContainer}s of the
+     * given class, regardless of the state of the individual containers.
+     * {@link Tristate#UNDEFINED} means that {@link #supports(ValueContainer)}
+     * has to be asked for every container instance.
+     *
+     * @param containerClass The concrete class of the container
+     * @return Whether the container class is supported
+     */
+    default Tristate supportsContainerType(Class<?> containerClass) {
+        return Tristate.UNDEFINED;
+    }
+
     /**
      * Offers the provided {@link BaseValue} containing a value of the
      * appropriate value type of this {@link ValueProcessor} to offer
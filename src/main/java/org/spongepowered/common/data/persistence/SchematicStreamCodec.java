@@ -0,0 +1,719 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.persistence;
+
+import com.flowpowered.math.vector.Vector3d;
+import com.flowpowered.math.vector.Vector3i;
+import net.minecraft.nbt.NBTBase;
+import net.minecraft.nbt.NBTPrimitive;
+import net.minecraft.nbt.NBTTagByte;
+import net.minecraft.nbt.NBTTagByteArray;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagDouble;
+import net.minecraft.nbt.NBTTagFloat;
+import net.minecraft.nbt.NBTTagInt;
+import net.minecraft.nbt.NBTTagIntArray;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.nbt.NBTTagLong;
+import net.minecraft.nbt.NBTTagLongArray;
+import net.minecraft.nbt.NBTTagShort;
+import net.minecraft.nbt.NBTTagString;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.block.BlockState;
+import org.spongepowered.api.block.tileentity.TileEntityArchetype;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.api.data.DataView;
+import org.spongepowered.api.data.persistence.InvalidDataException;
+import org.spongepowered.api.entity.EntityArchetype;
+import org.spongepowered.api.event.CauseStackManager;
+import org.spongepowered.api.event.cause.EventContextKeys;
+import org.spongepowered.api.event.cause.entity.spawn.SpawnTypes;
+import org.spongepowered.api.world.BlockChangeFlag;
+import org.spongepowered.api.world.Location;
+import org.spongepowered.api.world.World;
+import org.spongepowered.api.world.biome.BiomeType;
+import org.spongepowered.api.world.extent.BiomeVolume;
+import org.spongepowered.api.world.extent.MutableBiomeVolume;
+import org.spongepowered.api.world.extent.MutableBlockVolume;
+import org.spongepowered.api.world.schematic.Palette;
+import org.spongepowered.api.world.schematic.Schematic;
+import org.spongepowered.common.entity.SpongeEntityArchetype;
+import org.spongepowered.common.event.tracking.phase.plugin.BasicPluginContext;
+import org.spongepowered.common.event.tracking.phase.plugin.PluginPhase;
+import org.spongepowered.common.mixin.core.nbt.NBTTagLongArrayAccessor;
+import org.spongepowered.common.util.Constants;
+import org.spongepowered.common.util.gen.ArrayMutableBlockBuffer;
+import org.spongepowered.common.util.gen.ByteArrayMutableBiomeBuffer;
+import org.spongepowered.common.world.schematic.PrimitivePalette;
+import org.spongepowered.common.world.schematic.SpongeSchematicBuilder;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import javax.annotation.Nullable;
+
+/**
+ * Reads and writes gzip compressed Sponge schematics without building the
+ * whole schematic as a {@link DataView} first.
+ *
+ * <p>The block and biome data are decoded straight from the stream into
+ * their destination, which may be a world, so the memory used does not grow
+ * with the size of the schematic. This requires the size, offset and palettes
+ * to come before the block and biome data, which is always the case for
+ * schematics written by {@link #write(Schematic, OutputStream)}. Otherwise,
+ * the encoded data is kept in memory until the rest of the schematic has been
+ * read.</p>
+ *
+ * <p>Everything else, like the tile entities and the metadata, is read and
+ * interpreted by the {@link SchematicTranslator}.</p>
+ */
+public final class SchematicStreamCodec {
+
+    private static final String ROOT_NAME = "Schematic";
+    private static final String BLOCK_DATA = Constants.Sponge.Schematic.BLOCK_DATA.asString('.');
+    private static final String BIOME_DATA = Constants.Sponge.Schematic.BIOME_DATA.asString('.');
+    private static final int MAX_DEPTH = 512;
+    private static final int CHUNK_SIZE = 8192;
+
+    private SchematicStreamCodec() {
+    }
+
+    /**
+     * Reads a schematic. The stream is closed afterwards.
+     *
+     * @param input The gzip compressed input
+     * @return The schematic
+     * @throws IOException If the input could not be read
+     * @throws InvalidDataException If the input is not a valid schematic
+     */
+    public static Schematic read(InputStream input) throws IOException, InvalidDataException {
+        final BufferTarget target = new BufferTarget();
+        final DataView view;
+        try (DataInputStream in = open(input)) {
+            view = decode(in, target);
+        }
+        final SpongeSchematicBuilder builder = new SpongeSchematicBuilder();
+        builder.blockPalette(target.blocks.getPalette());
+        builder.blocks(target.blocks);
+        if (target.biomes != null) {
+            builder.biomes(target.biomes);
+        }
+        builder.tiles(SchematicTranslator.readTileEntities(view, target.offset, target.blocks::getBlock));
+        final List<EntityArchetype> entities = SchematicTranslator.readEntities(view);
+        if (!entities.isEmpty()) {
+            builder.entities(entities);
+        }
+        final DataView metadata = SchematicTranslator.readMetadata(view);
+        if (metadata != null) {
+            final DataContainer meta = DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED);
+            for (final DataQuery key : metadata.getKeys(false)) {
+                meta.set(key, metadata.get(key).get());
+            }
+            builder.metadata(meta);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Pastes a schematic into a world while it is being read, without
+     * creating a {@link Schematic}. The blocks and biomes are placed the
+     * same way as {@link Schematic#apply(Location, BlockChangeFlag)} would
+     * place them, but the block changes are captured and thrown in batches
+     * of a chunk section so the captures don't grow with the schematic. The
+     * stream is closed afterwards.
+     *
+     * @param input The gzip compressed input
+     * @param location The location to paste the schematic at
+     * @param changeFlag The change flag to set the blocks with
+     * @throws IOException If the input could not be read
+     * @throws InvalidDataException If the input is not a valid schematic
+     */
+    public static void paste(InputStream input, Location<World> location, BlockChangeFlag changeFlag) throws IOException, InvalidDataException {
+        final WorldTarget target = new WorldTarget(location, changeFlag);
+        final DataView view;
+        try (DataInputStream in = open(input);
+            CauseStackManager.StackFrame frame = Sponge.getCauseStackManager().pushCauseFrame()) {
+            try {
+                view = decode(in, target);
+            } finally {
+                target.completeBatch();
+            }
+        }
+        // Only for the missing mod warnings
+        SchematicTranslator.readMetadata(view);
+        final Map<Vector3i, TileEntityArchetype> tiles = SchematicTranslator.readTileEntities(view, target.offset,
+            pos -> location.getExtent().getBlock(location.getBlockPosition().add(pos)));
+        for (Map.Entry<Vector3i, TileEntityArchetype> entry : tiles.entrySet()) {
+            entry.getValue().apply(location.add(entry.getKey()));
+        }
+        final List<EntityArchetype> entities = SchematicTranslator.readEntities(view);
+        if (!entities.isEmpty()) {
+            try (CauseStackManager.StackFrame frame = Sponge.getCauseStackManager().pushCauseFrame()) {
+                frame.addContext(EventContextKeys.SPAWN_TYPE, SpawnTypes.PLUGIN);
+                for (EntityArchetype entity : entities) {
+                    final Vector3d position = ((SpongeEntityArchetype) entity).getPosition().get();
+                    entity.apply(location.add(position));
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes a schematic. The volume is traversed twice, once to assign and
+     * measure the palette ids and once to write them, so the encoded block
+     * data is never held in memory. The stream is closed afterwards.
+     *
+     * @param schematic The schematic to write
+     * @param output The output to write the gzip compressed schematic to
+     * @throws IOException If the output could not be written
+     */
+    public static void write(Schematic schematic, OutputStream output) throws IOException {
+        final DataContainer header = DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED);
+        SchematicTranslator.writeHeader(schematic, header);
+        final long blockBytes = writeBlocks(schematic, null);
+        final BiomeVolume biomes = schematic.getBiomes().orElse(null);
+        final long biomeBytes = biomes == null ? 0 : writeBiomes(schematic, biomes, null);
+        if (blockBytes > Integer.MAX_VALUE || biomeBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Schematic is too large to be encoded");
+        }
+        SchematicTranslator.writeContents(schematic, header);
+        final NBTTagCompound tag = NbtTranslator.getInstance().translateData(header);
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(output)))) {
+            out.writeByte(Constants.NBT.TAG_COMPOUND);
+            out.writeUTF(ROOT_NAME);
+            for (String key : tag.getKeySet()) {
+                final NBTBase value = tag.getTag(key);
+                out.writeByte(value.getId());
+                out.writeUTF(key);
+                writeTag(out, value);
+            }
+            out.writeByte(Constants.NBT.TAG_BYTE_ARRAY);
+            out.writeUTF(BLOCK_DATA);
+            out.writeInt((int) blockBytes);
+            writeBlocks(schematic, out);
+            if (biomes != null) {
+                out.writeByte(Constants.NBT.TAG_BYTE_ARRAY);
+                out.writeUTF(BIOME_DATA);
+                out.writeInt((int) biomeBytes);
+                writeBiomes(schematic, biomes, out);
+            }
+            out.writeByte(Constants.NBT.TAG_END);
+        }
+    }
+
+    private static DataInputStream open(InputStream input) throws IOException {
+        return new DataInputStream(new BufferedInputStream(new GZIPInputStream(input)));
+    }
+
+    /**
+     * Reads the schematic, decoding the block and biome data into the target.
+     *
+     * @return The updated schematic data, without the block and biome data
+     */
+    private static DataView decode(DataInput in, Target target) throws IOException {
+        if (in.readByte() != Constants.NBT.TAG_COMPOUND) {
+            throw new InvalidDataException("Schematic is not a compound tag");
+        }
+        in.readUTF();
+        final NBTTagCompound header = new NBTTagCompound();
+        @Nullable byte[] blockData = null;
+        @Nullable byte[] biomeData = null;
+        byte type;
+        while ((type = in.readByte()) != Constants.NBT.TAG_END) {
+            final String name = in.readUTF();
+            if (type == Constants.NBT.TAG_BYTE_ARRAY && name.equals(BLOCK_DATA)) {
+                final int byteLength = in.readInt();
+                if (target.palette == null && canDecodeBlocks(header)) {
+                    target.initBlocks(SchematicTranslator.update(NbtTranslator.getInstance().translateFrom(header)));
+                }
+                if (target.palette != null) {
+                    decodeBlocks(new VarIntInput(in, byteLength), target);
+                } else {
+                    blockData = new byte[byteLength];
+                    in.readFully(blockData);
+                }
+            } else if (type == Constants.NBT.TAG_BYTE_ARRAY && name.equals(BIOME_DATA)) {
+                final int byteLength = in.readInt();
+                if (target.biomePalette == null && canDecodeBiomes(header)) {
+                    final DataView view = SchematicTranslator.update(NbtTranslator.getInstance().translateFrom(header));
+                    if (target.palette == null) {
+                        target.initBlocks(view);
+                    }
+                    target.initBiomes(view);
+                }
+                if (target.biomePalette != null) {
+                    decodeBiomes(new VarIntInput(in, byteLength), target);
+                } else {
+                    biomeData = new byte[byteLength];
+                    in.readFully(biomeData);
+                }
+            } else {
+                header.setTag(name, readTag(in, type, 0));
+            }
+        }
+
+        final DataView view = SchematicTranslator.update(NbtTranslator.getInstance().translateFrom(header));
+        if (target.palette == null) {
+            target.initBlocks(view);
+            if (blockData == null) {
+                throw new InvalidDataException("Missing BlockData for Schematic");
+            }
+            decodeBlocks(new VarIntInput(new DataInputStream(new ByteArrayInputStream(blockData)), blockData.length), target);
+        }
+        if (biomeData != null) {
+            target.initBiomes(view);
+            decodeBiomes(new VarIntInput(new DataInputStream(new ByteArrayInputStream(biomeData)), biomeData.length), target);
+        }
+        return view;
+    }
+
+    private static boolean canDecodeBlocks(NBTTagCompound header) {
+        // Without a palette the global palette is used, but the palette may still follow
+        return header.hasKey(Constants.Sponge.Schematic.VERSION.asString('.'), Constants.NBT.TAG_ANY_NUMERIC)
+               && header.hasKey(Constants.Sponge.Schematic.WIDTH.asString('.'), Constants.NBT.TAG_ANY_NUMERIC)
+               && header.hasKey(Constants.Sponge.Schematic.HEIGHT.asString('.'), Constants.NBT.TAG_ANY_NUMERIC)
+               && header.hasKey(Constants.Sponge.Schematic.LENGTH.asString('.'), Constants.NBT.TAG_ANY_NUMERIC)
+               && header.hasKey(Constants.Sponge.Schematic.OFFSET.asString('.'), Constants.NBT.TAG_INT_ARRAY)
+               && header.hasKey(Constants.Sponge.Schematic.PALETTE.asString('.'), Constants.NBT.TAG_COMPOUND);
+    }
+
+    private static boolean canDecodeBiomes(NBTTagCompound header) {
+        return canDecodeBlocks(header) && header.hasKey(Constants.Sponge.Schematic.BIOME_PALETTE.asString('.'), Constants.NBT.TAG_COMPOUND);
+    }
+
+    private static void decodeBlocks(VarIntInput in, Target target) throws IOException {
+        final Palette<BlockState> palette = target.palette;
+        final int width = target.size.getX();
+        final int height = target.size.getY();
+        final int length = target.size.getZ();
+        // index = (y * length + z) * width + x
+        for (int y = 0; y < height; y++) {
+            for (int z = 0; z < length; z++) {
+                for (int x = 0; x < width; x++) {
+                    if (!in.hasNext()) {
+                        return;
+                    }
+                    final int id = in.readVarInt();
+                    final BlockState state = PrimitivePalette.getOrNull(palette, id);
+                    if (state == null) {
+                        throw new InvalidDataException("Unknown block palette id " + id);
+                    }
+                    target.setBlock(x, y, z, state);
+                }
+            }
+        }
+        in.skipRemaining();
+    }
+
+    private static void decodeBiomes(VarIntInput in, Target target) throws IOException {
+        final Palette<BiomeType> palette = target.biomePalette;
+        final int width = target.size.getX();
+        final int length = target.size.getZ();
+        for (int z = 0; z < length; z++) {
+            for (int x = 0; x < width; x++) {
+                if (!in.hasNext()) {
+                    return;
+                }
+                final int id = in.readVarInt();
+                final BiomeType biome = PrimitivePalette.getOrNull(palette, id);
+                if (biome == null) {
+                    throw new InvalidDataException("Unknown biome palette id " + id);
+                }
+                target.setBiome(x, z, biome);
+            }
+        }
+        in.skipRemaining();
+    }
+
+    /**
+     * Writes the palette ids of all blocks, or only measures them if there is
+     * no output.
+     *
+     * @return The amount of bytes
+     */
+    private static long writeBlocks(Schematic schematic, @Nullable DataOutput out) throws IOException {
+        final Vector3i min = schematic.getBlockMin();
+        final Vector3i max = schematic.getBlockMax();
+        final Palette<BlockState> palette = schematic.getPalette();
+        long bytes = 0;
+        for (int y = min.getY(); y <= max.getY(); y++) {
+            for (int z = min.getZ(); z <= max.getZ(); z++) {
+                for (int x = min.getX(); x <= max.getX(); x++) {
+                    bytes += writeVarInt(out, palette.getOrAssign(schematic.getBlock(x, y, z)));
+                }
+            }
+        }
+        return bytes;
+    }
+
+    private static long writeBiomes(Schematic schematic, BiomeVolume biomes, @Nullable DataOutput out) throws IOException {
+        final Vector3i min = schematic.getBlockMin();
+        final Vector3i max = schematic.getBlockMax();
+        final Palette<BiomeType> palette = schematic.getBiomePalette();
+        long bytes = 0;
+        for (int z = min.getZ(); z <= max.getZ(); z++) {
+            for (int x = min.getX(); x <= max.getX(); x++) {
+                bytes += writeVarInt(out, palette.getOrAssign(biomes.getBiome(x, 0, z)));
+            }
+        }
+        return bytes;
+    }
+
+    private static int writeVarInt(@Nullable DataOutput out, int value) throws IOException {
+        int bytes = 1;
+        while ((value & -128) != 0) {
+            if (out != null) {
+                out.writeByte(value & 127 | 128);
+            }
+            value >>>= 7;
+            bytes++;
+        }
+        if (out != null) {
+            out.writeByte(value);
+        }
+        return bytes;
+    }
+
+    private static NBTBase readTag(DataInput in, byte type, int depth) throws IOException {
+        if (depth > MAX_DEPTH) {
+            throw new InvalidDataException("Tried to read NBT tag with too high complexity, depth > " + MAX_DEPTH);
+        }
+        switch (type) {
+            case Constants.NBT.TAG_BYTE:
+                return new NBTTagByte(in.readByte());
+            case Constants.NBT.TAG_SHORT:
+                return new NBTTagShort(in.readShort());
+            case Constants.NBT.TAG_INT:
+                return new NBTTagInt(in.readInt());
+            case Constants.NBT.TAG_LONG:
+                return new NBTTagLong(in.readLong());
+            case Constants.NBT.TAG_FLOAT:
+                return new NBTTagFloat(in.readFloat());
+            case Constants.NBT.TAG_DOUBLE:
+                return new NBTTagDouble(in.readDouble());
+            case Constants.NBT.TAG_BYTE_ARRAY: {
+                final byte[] array = new byte[in.readInt()];
+                in.readFully(array);
+                return new NBTTagByteArray(array);
+            }
+            case Constants.NBT.TAG_STRING:
+                return new NBTTagString(in.readUTF());
+            case Constants.NBT.TAG_LIST: {
+                final byte elementType = in.readByte();
+                final int size = in.readInt();
+                final NBTTagList list = new NBTTagList();
+                for (int i = 0; i < size; i++) {
+                    list.appendTag(readTag(in, elementType, depth + 1));
+                }
+                return list;
+            }
+            case Constants.NBT.TAG_COMPOUND: {
+                final NBTTagCompound compound = new NBTTagCompound();
+                byte childType;
+                while ((childType = in.readByte()) != Constants.NBT.TAG_END) {
+                    final String name = in.readUTF();
+                    compound.setTag(name, readTag(in, childType, depth + 1));
+                }
+                return compound;
+            }
+            case Constants.NBT.TAG_INT_ARRAY: {
+                final int[] array = new int[in.readInt()];
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = in.readInt();
+                }
+                return new NBTTagIntArray(array);
+            }
+            case Constants.NBT.TAG_LONG_ARRAY: {
+                final long[] array = new long[in.readInt()];
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = in.readLong();
+                }
+                return new NBTTagLongArray(array);
+            }
+            default:
+                throw new InvalidDataException("Unknown NBT tag type " + type);
+        }
+    }
+
+    private static void writeTag(DataOutput out, NBTBase tag) throws IOException {
+        switch (tag.getId()) {
+            case Constants.NBT.TAG_BYTE:
+                out.writeByte(((NBTPrimitive) tag).getByte());
+                break;
+            case Constants.NBT.TAG_SHORT:
+                out.writeShort(((NBTPrimitive) tag).getShort());
+                break;
+            case Constants.NBT.TAG_INT:
+                out.writeInt(((NBTPrimitive) tag).getInt());
+                break;
+            case Constants.NBT.TAG_LONG:
+                out.writeLong(((NBTPrimitive) tag).getLong());
+                break;
+            case Constants.NBT.TAG_FLOAT:
+                out.writeFloat(((NBTPrimitive) tag).getFloat());
+                break;
+            case Constants.NBT.TAG_DOUBLE:
+                out.writeDouble(((NBTPrimitive) tag).getDouble());
+                break;
+            case Constants.NBT.TAG_BYTE_ARRAY: {
+                final byte[] array = ((NBTTagByteArray) tag).getByteArray();
+                out.writeInt(array.length);
+                out.write(array);
+                break;
+            }
+            case Constants.NBT.TAG_STRING:
+                out.writeUTF(((NBTTagString) tag).getString());
+                break;
+            case Constants.NBT.TAG_LIST: {
+                final NBTTagList list = (NBTTagList) tag;
+                out.writeByte(list.tagCount() == 0 ? Constants.NBT.TAG_END : list.getTagType());
+                out.writeInt(list.tagCount());
+                for (int i = 0; i < list.tagCount(); i++) {
+                    writeTag(out, list.get(i));
+                }
+                break;
+            }
+            case Constants.NBT.TAG_COMPOUND: {
+                final NBTTagCompound compound = (NBTTagCompound) tag;
+                for (String key : compound.getKeySet()) {
+                    final NBTBase value = compound.getTag(key);
+                    out.writeByte(value.getId());
+                    out.writeUTF(key);
+                    writeTag(out, value);
+                }
+                out.writeByte(Constants.NBT.TAG_END);
+                break;
+            }
+            case Constants.NBT.TAG_INT_ARRAY: {
+                final int[] array = ((NBTTagIntArray) tag).getIntArray();
+                out.writeInt(array.length);
+                for (int value : array) {
+                    out.writeInt(value);
+                }
+                break;
+            }
+            case Constants.NBT.TAG_LONG_ARRAY: {
+                final long[] array = ((NBTTagLongArrayAccessor) tag).accessor$getLongArray();
+                out.writeInt(array.length);
+                for (long value : array) {
+                    out.writeLong(value);
+                }
+                break;
+            }
+            default:
+                throw new IllegalArgumentException("Unknown NBT tag type " + tag.getId());
+        }
+    }
+
+    /**
+     * Decodes var ints from a byte array tag, reading the tag in chunks.
+     */
+    private static final class VarIntInput {
+
+        private final DataInput in;
+        private final byte[] chunk;
+        private int remaining;
+        private int position;
+        private int limit;
+
+        VarIntInput(DataInput in, int length) {
+            this.in = in;
+            this.chunk = new byte[Math.min(length, CHUNK_SIZE)];
+            this.remaining = length;
+        }
+
+        boolean hasNext() {
+            return this.position < this.limit || this.remaining > 0;
+        }
+
+        private byte readByte() throws IOException {
+            if (this.position == this.limit) {
+                if (this.remaining == 0) {
+                    throw new InvalidDataException("Unexpected end of VarInt data");
+                }
+                this.limit = Math.min(this.remaining, this.chunk.length);
+                this.in.readFully(this.chunk, 0, this.limit);
+                this.remaining -= this.limit;
+                this.position = 0;
+            }
+            return this.chunk[this.position++];
+        }
+
+        int readVarInt() throws IOException {
+            int value = 0;
+            int length = 0;
+            byte b;
+            do {
+                b = readByte();
+                value |= (b & 127) << (length++ * 7);
+                if (length > 5) {
+                    throw new InvalidDataException("VarInt too big (probably corrupted data)");
+                }
+            } while ((b & 128) == 128);
+            return value;
+        }
+
+        void skipRemaining() throws IOException {
+            while (this.remaining > 0) {
+                final int skipped = this.in.skipBytes(this.remaining);
+                if (skipped <= 0) {
+                    this.in.readByte();
+                    this.remaining--;
+                } else {
+                    this.remaining -= skipped;
+                }
+            }
+            this.position = this.limit;
+        }
+
+    }
+
+    private abstract static class Target {
+
+        @Nullable Palette<BlockState> palette;
+        @Nullable Palette<BiomeType> biomePalette;
+        Vector3i size = Vector3i.ZERO;
+        int[] offset = new int[3];
+
+        void initBlocks(DataView view) {
+            this.size = SchematicTranslator.readSize(view);
+            this.offset = SchematicTranslator.readOffset(view);
+            this.palette = SchematicTranslator.readBlockPalette(view);
+        }
+
+        void initBiomes(DataView view) {
+            this.biomePalette = SchematicTranslator.readBiomePalette(view);
+        }
+
+        /**
+         * Sets a block, relative to the first block of the block data.
+         */
+        abstract void setBlock(int x, int y, int z, BlockState state);
+
+        abstract void setBiome(int x, int z, BiomeType biome);
+
+    }
+
+    private static final class BufferTarget extends Target {
+
+        @Nullable MutableBlockVolume blocks;
+        @Nullable MutableBiomeVolume biomes;
+
+        @Override
+        void initBlocks(DataView view) {
+            super.initBlocks(view);
+            this.blocks = new ArrayMutableBlockBuffer(this.palette, new Vector3i(-this.offset[0], -this.offset[1], -this.offset[2]), this.size);
+        }
+
+        @Override
+        void initBiomes(DataView view) {
+            super.initBiomes(view);
+            this.biomes = new ByteArrayMutableBiomeBuffer(this.biomePalette, new Vector3i(-this.offset[0], -this.offset[1], -this.offset[2]),
+                new Vector3i(this.size.getX(), 1, this.size.getZ()));
+        }
+
+        @Override
+        void setBlock(int x, int y, int z, BlockState state) {
+            this.blocks.setBlock(x - this.offset[0], y - this.offset[1], z - this.offset[2], state);
+        }
+
+        @Override
+        void setBiome(int x, int z, BiomeType biome) {
+            this.biomes.setBiome(x - this.offset[0], 0, z - this.offset[2], biome);
+        }
+
+    }
+
+    /**
+     * Sets the blocks in batches of the size of a chunk section. Each batch
+     * is captured like a block worker would, so a batch throws a single
+     * event and the captured changes never exceed a batch.
+     */
+    private static final class WorldTarget extends Target {
+
+        private static final int BATCH_SIZE = 16 * 16 * 16;
+
+        private final World world;
+        private final Vector3i origin;
+        private final BlockChangeFlag changeFlag;
+        @Nullable private BasicPluginContext batch;
+        private int batchSize;
+
+        WorldTarget(Location<World> location, BlockChangeFlag changeFlag) {
+            this.world = location.getExtent();
+            this.origin = location.getBlockPosition();
+            this.changeFlag = changeFlag;
+        }
+
+        @Override
+        void setBlock(int x, int y, int z, BlockState state) {
+            if (this.batch == null) {
+                this.batch = PluginPhase.State.BLOCK_WORKER.createPhaseContext()
+                    .source(this.world);
+                this.batch.buildAndSwitch();
+            }
+            this.world.setBlock(this.origin.getX() + x - this.offset[0], this.origin.getY() + y - this.offset[1],
+                this.origin.getZ() + z - this.offset[2], state, this.changeFlag);
+            if (++this.batchSize == BATCH_SIZE) {
+                this.completeBatch();
+            }
+        }
+
+        /**
+         * Completes the current batch, if any, which throws the event for
+         * the blocks set since the previous batch.
+         */
+        void completeBatch() {
+            if (this.batch != null) {
+                final BasicPluginContext batch = this.batch;
+                this.batch = null;
+                this.batchSize = 0;
+                batch.close();
+            }
+        }
+
+        @Override
+        void setBiome(int x, int z, BiomeType biome) {
+            this.world.setBiome(this.origin.getX() + x - this.offset[0], this.origin.getY() - this.offset[1],
+                this.origin.getZ() + z - this.offset[2], biome);
+        }
+
+    }
+
+}
@@ -65,6 +65,7 @@
 import org.spongepowered.common.world.schematic.BimapPalette;
 import org.spongepowered.common.world.schematic.BlockPaletteWrapper;
 import org.spongepowered.common.world.schematic.GlobalPalette;
+import org.spongepowered.common.world.schematic.PrimitivePalette;
 import org.spongepowered.common.world.schematic.SpongeSchematicBuilder;
 
 import java.io.ByteArrayOutputStream;
@@ -76,6 +77,7 @@
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 import javax.annotation.Nullable;
@@ -117,102 +119,15 @@ public TypeToken<Schematic> getToken() {
 
     @Override
     public Schematic translate(DataView unprocessed) throws InvalidDataException {
-        if (VANILLA_FIXER == null) {
-            VANILLA_FIXER = ((MinecraftServerAccessor) SpongeImpl.getServer()).accessor$getDataFixer();
-        }
-        final int version = unprocessed.getInt(Constants.Sponge.Schematic.VERSION).get();
-        // TODO version conversions
-
-        if (version > Constants.Sponge.Schematic.CURRENT_VERSION) {
-            throw new InvalidDataException(String.format("Unknown schematic version %d (current version is %d)", version, Constants.Sponge.Schematic.CURRENT_VERSION));
-        } else if (version == 1) {
-            unprocessed = V1_TO_2.update(unprocessed);
-        }
-        { // Strictly for loading tile entities when the format wasn't finalized yet.
-            final List<DataView> dataViews = unprocessed.getViewList(Constants.Sponge.Schematic.Versions.V1_TILE_ENTITY_DATA).orElse(null);
-            if (dataViews != null) {
-                unprocessed.remove(Constants.Sponge.Schematic.Versions.V1_TILE_ENTITY_DATA);
-                unprocessed.set(Constants.Sponge.Schematic.BLOCKENTITY_DATA, dataViews);
-            }
-        }
-        final int dataVersion = unprocessed.getInt(Constants.Sponge.Schematic.DATA_VERSION).get();
-        // DataFixer will be able to upgrade entity and tile entity data if and only if we're running a valid server and
-        // the data version is outdated.
-        final boolean needsFixers = dataVersion < Constants.MINECRAFT_DATA_VERSION && VANILLA_FIXER != null;
-        final DataView updatedView = unprocessed;
-
-        final DataView metadata = updatedView.getView(Constants.Sponge.Schematic.METADATA).orElse(null);
-        if (metadata != null) {
-            final Optional<DataView> dot_data = metadata.getView(DataQuery.of("."));
-            if (dot_data.isPresent()) {
-                final DataView data = dot_data.get();
-                for (final DataQuery key : data.getKeys(false)) {
-                    if (!metadata.contains(key)) {
-                        metadata.set(key, data.get(key).get());
-                    }
-                }
-            }
-        }
-        if (metadata != null) {
-            final String schematicName = metadata.getString(Constants.Sponge.Schematic.NAME).orElse("unknown");
-            metadata.getStringList(Constants.Sponge.Schematic.REQUIRED_MODS).ifPresent(mods -> {
-                for (final String modId : mods) {
-                    if (!Sponge.getPluginManager().getPlugin(modId).isPresent()) {
-                        if (MISSING_MOD_IDS.add(modId)) {
-                            SpongeImpl.getLogger().warn("When attempting to load the Schematic: " + schematicName + " there is a missing modid: " + modId + " some blocks/tiles/entities may not load correctly.");
-                        }
-                    }
-                }
-            });
-        }
-
-        // TODO error handling for these optionals
-        final int width = updatedView.getShort(Constants.Sponge.Schematic.WIDTH).get();
-        final int height = updatedView.getShort(Constants.Sponge.Schematic.HEIGHT).get();
-        final int length = updatedView.getShort(Constants.Sponge.Schematic.LENGTH).get();
-        if (width > Constants.Sponge.Schematic.MAX_SIZE || height > Constants.Sponge.Schematic.MAX_SIZE || length > Constants.Sponge.Schematic.MAX_SIZE) {
-            throw new InvalidDataException(String.format("Schematic is larger than maximum allowable size (found: (%d, %d, %d) max: (%d, %<d, %<d)",
-                    width, height, length, Constants.Sponge.Schematic.MAX_SIZE));
-        }
-
-        final int[] offset = (int[]) updatedView.get(Constants.Sponge.Schematic.OFFSET).orElse(new int[3]);
-        if (offset.length != 3) {
-            throw new InvalidDataException("Schematic offset was not of length 3");
-        }
-        final Palette<BlockState> palette;
-        final Optional<DataView> paletteData = updatedView.getView(Constants.Sponge.Schematic.PALETTE);
-        final int palette_max = updatedView.getInt(Constants.Sponge.Schematic.PALETTE_MAX).orElse(0xFFFF);
-        if (paletteData.isPresent()) {
-            // If we had a default palette_max we don't want to allocate all
-            // that space for nothing so we use a sensible default instead
-            final BimapPalette<BlockState> bimap = new BimapPalette<>(PaletteTypes.LOCAL_BLOCKS, palette_max != 0xFFFF ? palette_max : 64);
-            // TODO - 1.13 remove the wrapper.
-            palette = new BlockPaletteWrapper(bimap, org.spongepowered.api.world.schematic.BlockPaletteTypes.LOCAL);
-            final DataView paletteMap = paletteData.get();
-            final Set<DataQuery> paletteKeys = paletteMap.getKeys(false);
-            for (final DataQuery key : paletteKeys) {
-                final BlockState state = Sponge.getRegistry().getType(BlockState.class, key.getParts().get(0)).orElseGet(BlockTypes.BEDROCK::getDefaultState);
-                bimap.assign(state, paletteMap.getInt(key).get());
-            }
-        } else {
-            palette = GlobalPalette.getBlockPalette();
-        }
-
-        final Palette<BiomeType> biomePalette;
-        final Optional<DataView> biomePaletteData = updatedView.getView(Constants.Sponge.Schematic.BIOME_PALETTE);
-        final int biome_max = updatedView.getInt(Constants.Sponge.Schematic.BIOME_PALETTE_MAX).orElse(0xFFFF);
-        if (biomePaletteData.isPresent()) {
-            final BimapPalette<BiomeType> bimap = new BimapPalette<>(PaletteTypes.LOCAL_BIOMES, biome_max != 0xFFF ? palette_max : 64);
-            biomePalette = bimap;
-            final DataView biomeMap = biomePaletteData.get();
-            final Set<DataQuery> biomeKeys = biomeMap.getKeys(false);
-            for (final DataQuery biomeKey : biomeKeys) {
-                final BiomeType biome = Sponge.getRegistry().getType(BiomeType.class, biomeKey.getParts().get(0)).get();
-                bimap.assign(biome, biomeMap.getInt(biomeKey).get());
-            }
-        } else {
-            biomePalette = GlobalPalette.getBiomePalette();
-        }
+        final DataView updatedView = update(unprocessed);
+        final DataView metadata = readMetadata(updatedView);
+        final Vector3i size = readSize(updatedView);
+        final int width = size.getX();
+        final int height = size.getY();
+        final int length = size.getZ();
+        final int[] offset = readOffset(updatedView);
+        final Palette<BlockState> palette = readBlockPalette(updatedView);
+        final Palette<BiomeType> biomePalette = readBiomePalette(updatedView);
 
         final SpongeSchematicBuilder builder = new SpongeSchematicBuilder();
         builder.blockPalette(palette);
@@ -244,7 +159,10 @@ public Schematic translate(DataView unprocessed) throws InvalidDataException {
             final int y = index / (width * length);
             final int z = (index % (width * length)) / width;
             final int x = (index % (width * length)) % width;
-            final BlockState state = palette.get(value).get();
+            final BlockState state = PrimitivePalette.getOrNull(palette, value);
+            if (state == null) {
+                throw new InvalidDataException("Unknown block palette id " + value);
+            }
             buffer.setBlock(x - offset[0], y - offset[1], z - offset[2], state);
 
             index++;
@@ -252,7 +170,7 @@ public Schematic translate(DataView unprocessed) throws InvalidDataException {
         builder.blocks(buffer);
 
         updatedView.get(Constants.Sponge.Schematic.BIOME_DATA).ifPresent(biomesObj -> {
-            final MutableBiomeVolume biomeBuffer = new ByteArrayMutableBiomeBuffer(biomePalette, new Vector3i(-offset[0], -offset[1], -offset[2]), new Vector3i(width, height, length));
+            final MutableBiomeVolume biomeBuffer = new ByteArrayMutableBiomeBuffer(biomePalette, new Vector3i(-offset[0], -offset[1], -offset[2]), new Vector3i(width, 1, length));
             final byte[] biomes = (byte[]) biomesObj;
             int biomeIndex = 0;
             int biomeJ= 0;
@@ -275,7 +193,10 @@ public Schematic translate(DataView unprocessed) throws InvalidDataException {
                 }
                 final int z = (biomeIndex % (width * length)) / width;
                 final int x = (biomeIndex % (width * length)) % width;
-                final BiomeType type = biomePalette.get(bVal).get();
+                final BiomeType type = PrimitivePalette.getOrNull(biomePalette, bVal);
+                if (type == null) {
+                    throw new InvalidDataException("Unknown biome palette id " + bVal);
+                }
                 biomeBuffer.setBiome(x - offset[0], 0, z - offset[2], type);
 
                 biomeIndex++;
@@ -283,6 +204,144 @@ public Schematic translate(DataView unprocessed) throws InvalidDataException {
             builder.biomes(biomeBuffer);
         });
 
+        builder.tiles(readTileEntities(updatedView, offset, buffer::getBlock));
+        final List<EntityArchetype> entityArchetypes = readEntities(updatedView);
+        if (!entityArchetypes.isEmpty()) {
+            builder.entities(entityArchetypes);
+        }
+
+        if (metadata != null) {
+            final DataContainer meta = DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED);
+            for (final DataQuery key : metadata.getKeys(false)) {
+                meta.set(key, metadata.get(key).get());
+            }
+            builder.metadata(meta);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Upgrades the schematic data to the current version. The block and biome
+     * data are not touched, so this may be called with only the header of a
+     * schematic.
+     */
+    static DataView update(DataView unprocessed) throws InvalidDataException {
+        if (VANILLA_FIXER == null) {
+            VANILLA_FIXER = ((MinecraftServerAccessor) SpongeImpl.getServer()).accessor$getDataFixer();
+        }
+        final int version = unprocessed.getInt(Constants.Sponge.Schematic.VERSION).get();
+        // TODO version conversions
+
+        if (version > Constants.Sponge.Schematic.CURRENT_VERSION) {
+            throw new InvalidDataException(String.format("Unknown schematic version %d (current version is %d)", version, Constants.Sponge.Schematic.CURRENT_VERSION));
+        } else if (version == 1) {
+            unprocessed = V1_TO_2.update(unprocessed);
+        }
+        { // Strictly for loading tile entities when the format wasn't finalized yet.
+            final List<DataView> dataViews = unprocessed.getViewList(Constants.Sponge.Schematic.Versions.V1_TILE_ENTITY_DATA).orElse(null);
+            if (dataViews != null) {
+                unprocessed.remove(Constants.Sponge.Schematic.Versions.V1_TILE_ENTITY_DATA);
+                unprocessed.set(Constants.Sponge.Schematic.BLOCKENTITY_DATA, dataViews);
+            }
+        }
+        return unprocessed;
+    }
+
+    @Nullable
+    static DataView readMetadata(DataView updatedView) {
+        final DataView metadata = updatedView.getView(Constants.Sponge.Schematic.METADATA).orElse(null);
+        if (metadata == null) {
+            return null;
+        }
+        final Optional<DataView> dot_data = metadata.getView(DataQuery.of("."));
+        if (dot_data.isPresent()) {
+            final DataView data = dot_data.get();
+            for (final DataQuery key : data.getKeys(false)) {
+                if (!metadata.contains(key)) {
+                    metadata.set(key, data.get(key).get());
+                }
+            }
+        }
+        final String schematicName = metadata.getString(Constants.Sponge.Schematic.NAME).orElse("unknown");
+        metadata.getStringList(Constants.Sponge.Schematic.REQUIRED_MODS).ifPresent(mods -> {
+            for (final String modId : mods) {
+                if (!Sponge.getPluginManager().getPlugin(modId).isPresent()) {
+                    if (MISSING_MOD_IDS.add(modId)) {
+                        SpongeImpl.getLogger().warn("When attempting to load the Schematic: " + schematicName + " there is a missing modid: " + modId + " some blocks/tiles/entities may not load correctly.");
+                    }
+                }
+            }
+        });
+        return metadata;
+    }
+
+    static Vector3i readSize(DataView updatedView) throws InvalidDataException {
+        // TODO error handling for these optionals
+        final int width = updatedView.getShort(Constants.Sponge.Schematic.WIDTH).get();
+        final int height = updatedView.getShort(Constants.Sponge.Schematic.HEIGHT).get();
+        final int length = updatedView.getShort(Constants.Sponge.Schematic.LENGTH).get();
+        if (width > Constants.Sponge.Schematic.MAX_SIZE || height > Constants.Sponge.Schematic.MAX_SIZE || length > Constants.Sponge.Schematic.MAX_SIZE) {
+            throw new InvalidDataException(String.format("Schematic is larger than maximum allowable size (found: (%d, %d, %d) max: (%d, %<d, %<d)",
+                    width, height, length, Constants.Sponge.Schematic.MAX_SIZE));
+        }
+        return new Vector3i(width, height, length);
+    }
+
+    static int[] readOffset(DataView updatedView) throws InvalidDataException {
+        final int[] offset = (int[]) updatedView.get(Constants.Sponge.Schematic.OFFSET).orElse(new int[3]);
+        if (offset.length != 3) {
+            throw new InvalidDataException("Schematic offset was not of length 3");
+        }
+        return offset;
+    }
+
+    static Palette<BlockState> readBlockPalette(DataView updatedView) {
+        final Optional<DataView> paletteData = updatedView.getView(Constants.Sponge.Schematic.PALETTE);
+        if (!paletteData.isPresent()) {
+            return GlobalPalette.getBlockPalette();
+        }
+        final int palette_max = updatedView.getInt(Constants.Sponge.Schematic.PALETTE_MAX).orElse(0xFFFF);
+        // If we had a default palette_max we don't want to allocate all
+        // that space for nothing so we use a sensible default instead
+        final BimapPalette<BlockState> bimap = new BimapPalette<>(PaletteTypes.LOCAL_BLOCKS, palette_max != 0xFFFF ? palette_max : 64);
+        final DataView paletteMap = paletteData.get();
+        final Set<DataQuery> paletteKeys = paletteMap.getKeys(false);
+        for (final DataQuery key : paletteKeys) {
+            final BlockState state = Sponge.getRegistry().getType(BlockState.class, key.getParts().get(0)).orElseGet(BlockTypes.BEDROCK::getDefaultState);
+            bimap.assign(state, paletteMap.getInt(key).get());
+        }
+        // TODO - 1.13 remove the wrapper.
+        return new BlockPaletteWrapper(bimap, org.spongepowered.api.world.schematic.BlockPaletteTypes.LOCAL);
+    }
+
+    static Palette<BiomeType> readBiomePalette(DataView updatedView) {
+        final Optional<DataView> biomePaletteData = updatedView.getView(Constants.Sponge.Schematic.BIOME_PALETTE);
+        if (!biomePaletteData.isPresent()) {
+            return GlobalPalette.getBiomePalette();
+        }
+        final int biome_max = updatedView.getInt(Constants.Sponge.Schematic.BIOME_PALETTE_MAX).orElse(0xFFFF);
+        final BimapPalette<BiomeType> bimap = new BimapPalette<>(PaletteTypes.LOCAL_BIOMES, biome_max != 0xFFFF ? biome_max : 64);
+        final DataView biomeMap = biomePaletteData.get();
+        final Set<DataQuery> biomeKeys = biomeMap.getKeys(false);
+        for (final DataQuery biomeKey : biomeKeys) {
+            final BiomeType biome = Sponge.getRegistry().getType(BiomeType.class, biomeKey.getParts().get(0)).get();
+            bimap.assign(biome, biomeMap.getInt(biomeKey).get());
+        }
+        return bimap;
+    }
+
+    /**
+     * Reads the tile entities of the schematic.
+     *
+     * @param updatedView The updated schematic data
+     * @param offset The schematic offset
+     * @param blocks Gets the block at a position relative to the schematic
+     *     origin, for the archetype states
+     * @return The tile entities, by position relative to the schematic origin
+     */
+    static Map<Vector3i, TileEntityArchetype> readTileEntities(DataView updatedView, int[] offset, Function<Vector3i, BlockState> blocks) {
+        final int version = updatedView.getInt(Constants.Sponge.Schematic.VERSION).get();
+        final boolean needsFixers = needsFixers(updatedView);
         final Map<Vector3i, TileEntityArchetype> tiles = Maps.newHashMap();
 
         updatedView.getViewList(Constants.Sponge.Schematic.BLOCKENTITY_DATA)
@@ -303,18 +362,23 @@ public Schematic translate(DataView unprocessed) throws InvalidDataException {
                                     upgraded = tile;
                                 }
 
+                                final Vector3i position = new Vector3i(pos[0] - offset[0], pos[1] - offset[1], pos[2] - offset[2]);
                                 final TileEntityArchetype archetype = new SpongeTileEntityArchetypeBuilder()
-                                    .state(buffer.getBlock(pos[0] - offset[0], pos[1] - offset[1], pos[2] - offset[2]))
+                                    .state(blocks.apply(position))
                                     .tileData(upgraded)
                                     .tile(type)
                                     .build();
-                                final Vector3i position = new Vector3i(pos[0] - offset[0], pos[1] - offset[1], pos[2] - offset[2]);
                                 tiles.put(position, archetype);
                             });
                     }
                 )
             );
-        builder.tiles(tiles);
+        return tiles;
+    }
+
+    static List<EntityArchetype> readEntities(DataView updatedView) {
+        final int version = updatedView.getInt(Constants.Sponge.Schematic.VERSION).get();
+        final boolean needsFixers = needsFixers(updatedView);
         final ArrayList<EntityArchetype> entityArchetypes = new ArrayList<>();
         updatedView.getViewList(Constants.Sponge.Schematic.ENTITIES).map(List::stream)
             .ifPresent(stream -> {
@@ -343,18 +407,14 @@ public Schematic translate(DataView unprocessed) throws InvalidDataException {
                     })
                     .forEach(entityArchetypes::add);
             });
-        if (!entityArchetypes.isEmpty()) {
-            builder.entities(entityArchetypes);
-        }
+        return entityArchetypes;
+    }
 
-        if (metadata != null) {
-            final DataContainer meta = DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED);
-            for (final DataQuery key : metadata.getKeys(false)) {
-                meta.set(key, metadata.get(key).get());
-            }
-            builder.metadata(meta);
-        }
-        return builder.build();
+    private static boolean needsFixers(DataView updatedView) {
+        final int dataVersion = updatedView.getInt(Constants.Sponge.Schematic.DATA_VERSION).get();
+        // DataFixer will be able to upgrade entity and tile entity data if and only if we're running a valid server and
+        // the data version is outdated.
+        return dataVersion < Constants.MINECRAFT_DATA_VERSION && VANILLA_FIXER != null;
     }
 
     @Override
@@ -366,29 +426,13 @@ public DataContainer translate(final Schematic schematic) throws InvalidDataExce
 
     @Override
     public DataView addTo(final Schematic schematic, final DataView data) {
+        writeHeader(schematic, data);
         final int xMin = schematic.getBlockMin().getX();
         final int yMin = schematic.getBlockMin().getY();
         final int zMin = schematic.getBlockMin().getZ();
         final int width = schematic.getBlockSize().getX();
         final int height = schematic.getBlockSize().getY();
         final int length = schematic.getBlockSize().getZ();
-        if (width > Constants.Sponge.Schematic.MAX_SIZE || height > Constants.Sponge.Schematic.MAX_SIZE || length > Constants.Sponge.Schematic.MAX_SIZE) {
-            throw new IllegalArgumentException(String.format(
-                    "Schematic is larger than maximum allowable size (found: (%d, %d, %d) max: (%d, %<d, %<d)", width, height, length, Constants.Sponge.Schematic.MAX_SIZE));
-        }
-        data.set(Constants.Sponge.Schematic.WIDTH, width);
-        data.set(Constants.Sponge.Schematic.HEIGHT, height);
-        data.set(Constants.Sponge.Schematic.LENGTH, length);
-
-        data.set(Constants.Sponge.Schematic.VERSION, Constants.Sponge.Schematic.CURRENT_VERSION);
-        data.set(Constants.Sponge.Schematic.DATA_VERSION, Constants.MINECRAFT_DATA_VERSION);
-        for (final DataQuery metaKey : schematic.getMetadata().getKeys(false)) {
-            data.set(Constants.Sponge.Schematic.METADATA.then(metaKey), schematic.getMetadata().get(metaKey).get());
-        }
-        final Set<String> requiredMods = new HashSet<>();
-
-        final int[] offset = new int[] {-xMin, -yMin, -zMin};
-        data.set(Constants.Sponge.Schematic.OFFSET, offset);
 
         final Palette<BlockState> palette = schematic.getPalette();
         try (final ByteArrayOutputStream buffer = new ByteArrayOutputStream(width * height * length)) {
@@ -422,13 +466,56 @@ public DataView addTo(final Schematic schematic, final DataView data) {
 
                 }
 
-                data.set(Constants.Sponge.Schematic.BLOCK_DATA, buffer.toByteArray());
+                data.set(Constants.Sponge.Schematic.BIOME_DATA, buffer.toByteArray());
             } catch (IOException e) {
                 // Should never reach here.
             }
 
         });
 
+        writeContents(schematic, data);
+        return data;
+    }
+
+    /**
+     * Writes the size, version, metadata and offset of the schematic.
+     */
+    static void writeHeader(final Schematic schematic, final DataView data) {
+        final int xMin = schematic.getBlockMin().getX();
+        final int yMin = schematic.getBlockMin().getY();
+        final int zMin = schematic.getBlockMin().getZ();
+        final int width = schematic.getBlockSize().getX();
+        final int height = schematic.getBlockSize().getY();
+        final int length = schematic.getBlockSize().getZ();
+        if (width > Constants.Sponge.Schematic.MAX_SIZE || height > Constants.Sponge.Schematic.MAX_SIZE || length > Constants.Sponge.Schematic.MAX_SIZE) {
+            throw new IllegalArgumentException(String.format(
+                    "Schematic is larger than maximum allowable size (found: (%d, %d, %d) max: (%d, %<d, %<d)", width, height, length, Constants.Sponge.Schematic.MAX_SIZE));
+        }
+        data.set(Constants.Sponge.Schematic.WIDTH, width);
+        data.set(Constants.Sponge.Schematic.HEIGHT, height);
+        data.set(Constants.Sponge.Schematic.LENGTH, length);
+
+        data.set(Constants.Sponge.Schematic.VERSION, Constants.Sponge.Schematic.CURRENT_VERSION);
+        data.set(Constants.Sponge.Schematic.DATA_VERSION, Constants.MINECRAFT_DATA_VERSION);
+        for (final DataQuery metaKey : schematic.getMetadata().getKeys(false)) {
+            data.set(Constants.Sponge.Schematic.METADATA.then(metaKey), schematic.getMetadata().get(metaKey).get());
+        }
+        final int[] offset = new int[] {-xMin, -yMin, -zMin};
+        data.set(Constants.Sponge.Schematic.OFFSET, offset);
+    }
+
+    /**
+     * Writes the palettes, tile entities, entities and required mods of the
+     * schematic. The palettes have to contain all ids by now.
+     */
+    static void writeContents(final Schematic schematic, final DataView data) {
+        final int xMin = schematic.getBlockMin().getX();
+        final int yMin = schematic.getBlockMin().getY();
+        final int zMin = schematic.getBlockMin().getZ();
+        final Palette<BlockState> palette = schematic.getPalette();
+        final Palette<BiomeType> biomePalette = schematic.getBiomePalette();
+        final Set<String> requiredMods = new HashSet<>();
+
         if (palette.getType() == PaletteTypes.LOCAL_BLOCKS) {
             final DataQuery paletteQuery = Constants.Sponge.Schematic.PALETTE;
             for (final BlockState state : palette.getEntries()) {
@@ -494,11 +581,9 @@ public DataView addTo(final Schematic schematic, final DataView data) {
         if (!requiredMods.isEmpty()) {
             data.set(Constants.Sponge.Schematic.METADATA.then(Constants.Sponge.Schematic.REQUIRED_MODS), requiredMods);
         }
-
-        return data;
     }
 
-     private void writeIdToBuffer(final ByteArrayOutputStream buffer, final int orAssign) {
+    private void writeIdToBuffer(final ByteArrayOutputStream buffer, final int orAssign) {
         int id = orAssign;
 
         while ((id & -128) != 0) {
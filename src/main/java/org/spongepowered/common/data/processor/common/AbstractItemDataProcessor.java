@@ -30,6 +30,7 @@
 import org.spongepowered.api.data.DataHolder;
 import org.spongepowered.api.data.manipulator.DataManipulator;
 import org.spongepowered.api.data.manipulator.ImmutableDataManipulator;
+import org.spongepowered.api.util.Tristate;
 
 import java.util.function.Predicate;
 
@@ -49,4 +50,9 @@ public final boolean supports(DataHolder dataHolder) {
         return dataHolder instanceof ItemStack && this.predicate.test((ItemStack) dataHolder);
     }
 
+    @Override
+    public final Tristate supportsHolderType(Class<?> holderClass) {
+        return ItemStack.class.isAssignableFrom(holderClass) ? Tristate.UNDEFINED : Tristate.FALSE;
+    }
+
 }
@@ -30,6 +30,7 @@
 import org.spongepowered.api.data.manipulator.DataManipulator;
 import org.spongepowered.api.data.manipulator.ImmutableDataManipulator;
 import org.spongepowered.api.data.value.BaseValue;
+import org.spongepowered.api.util.Tristate;
 
 import java.util.function.Predicate;
 
@@ -48,6 +49,11 @@ public final boolean supports(DataHolder dataHolder) {
         return dataHolder instanceof ItemStack && this.predicate.test((ItemStack) dataHolder);
     }
 
+    @Override
+    public final Tristate supportsHolderType(Class<?> holderClass) {
+        return ItemStack.class.isAssignableFrom(holderClass) ? Tristate.UNDEFINED : Tristate.FALSE;
+    }
+
     @Override
     protected final boolean supports(ItemStack itemStack) {
         return this.predicate.test(itemStack);
@@ -38,6 +38,7 @@
 import org.spongepowered.api.data.value.immutable.ImmutableValue;
 import org.spongepowered.api.data.value.mutable.Value;
 import org.spongepowered.api.entity.EntityType;
+import org.spongepowered.api.util.Tristate;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.data.ValueProcessor;
 import org.spongepowered.common.data.util.DataUtil;
@@ -48,10 +49,14 @@
         extends AbstractSingleDataProcessor<T, V, M, I> implements ValueProcessor<T, V> {
 
     protected final Class<Holder> holderClass;
+    private final boolean checksHolder;
+    private final boolean checksDataHolder;
 
     protected AbstractSingleDataSingleTargetProcessor(Key<V> key, Class<Holder> holderClass) {
         super(key);
         this.holderClass = checkNotNull(holderClass);
+        this.checksHolder = DataUtil.isOverridden(getClass(), AbstractSingleDataSingleTargetProcessor.class, "supports", Object.class);
+        this.checksDataHolder = DataUtil.isOverridden(getClass(), AbstractSingleDataSingleTargetProcessor.class, "supports", DataHolder.class);
     }
 
     protected boolean supports(Holder dataHolder) {
@@ -70,6 +75,14 @@ public boolean supports(DataHolder dataHolder) {
         return this.holderClass.isInstance(dataHolder) && supports((Holder) dataHolder);
     }
 
+    @Override
+    public Tristate supportsHolderType(Class<?> holderClass) {
+        if (this.checksDataHolder) {
+            return Tristate.UNDEFINED;
+        }
+        return supportsContainerType(holderClass);
+    }
+
     @Override
     public boolean supports(EntityType entityType) {
         return this.holderClass.isAssignableFrom(entityType.getEntityClass());
@@ -158,6 +171,14 @@ public final boolean supports(ValueContainer<?> container) {
         return this.holderClass.isInstance(container) && supports((Holder) container);
     }
 
+    @Override
+    public final Tristate supportsContainerType(Class<?> containerClass) {
+        if (!this.holderClass.isAssignableFrom(containerClass)) {
+            return Tristate.FALSE;
+        }
+        return this.checksHolder ? Tristate.UNDEFINED : Tristate.TRUE;
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public final Optional<T> getValueFromContainer(ValueContainer<?> container) {
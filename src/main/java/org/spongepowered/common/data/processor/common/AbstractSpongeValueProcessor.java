@@ -32,19 +32,25 @@
 import org.spongepowered.api.data.value.ValueContainer;
 import org.spongepowered.api.data.value.immutable.ImmutableValue;
 import org.spongepowered.api.data.value.mutable.Value;
+import org.spongepowered.api.util.Tristate;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.data.ValueProcessor;
+import org.spongepowered.common.data.util.DataUtil;
 
 import java.util.Optional;
 
 public abstract class AbstractSpongeValueProcessor<C, E, V extends BaseValue<E>> implements ValueProcessor<E, V> {
 
     private final Class<C> containerClass;
+    private final boolean checksContainer;
+    private final boolean checksValueContainer;
     protected final Key<V> key;
 
     protected AbstractSpongeValueProcessor(Class<C> containerClass, Key<V> key) {
         this.key = checkNotNull(key, "The key is null!");
         this.containerClass = containerClass;
+        this.checksContainer = DataUtil.isOverridden(getClass(), AbstractSpongeValueProcessor.class, "supports", Object.class);
+        this.checksValueContainer = DataUtil.isOverridden(getClass(), AbstractSpongeValueProcessor.class, "supports", ValueContainer.class);
     }
 
     /**
@@ -72,6 +78,17 @@ public boolean supports(ValueContainer<?> container) {
         return this.containerClass.isInstance(container) && supports((C) container);
     }
 
+    @Override
+    public Tristate supportsContainerType(Class<?> containerClass) {
+        if (this.checksValueContainer) {
+            return Tristate.UNDEFINED;
+        }
+        if (!this.containerClass.isAssignableFrom(containerClass)) {
+            return Tristate.FALSE;
+        }
+        return this.checksContainer ? Tristate.UNDEFINED : Tristate.TRUE;
+    }
+
 
     @Override
     public final Key<? extends BaseValue<E>> getKey() {
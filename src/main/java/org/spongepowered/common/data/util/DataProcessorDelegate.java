@@ -36,6 +36,7 @@
 import org.spongepowered.api.data.merge.MergeFunction;
 import org.spongepowered.api.data.value.BaseValue;
 import org.spongepowered.api.entity.EntityType;
+import org.spongepowered.api.util.Tristate;
 import org.spongepowered.api.util.Tuple;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.SpongeImplHooks;
@@ -46,6 +47,7 @@
 public final class DataProcessorDelegate<M extends DataManipulator<M, I>, I extends ImmutableDataManipulator<I, M>> implements DataProcessor<M, I> {
 
     private final ImmutableList<Tuple<DataProcessor<M, I>, Timing>> processors;
+    private final HolderSupportCache supportCache;
 
     public DataProcessorDelegate(final ImmutableList<DataProcessor<M, I>> processors) {
         final ImmutableList.Builder<Tuple<DataProcessor<M, I>, Timing>> builder = ImmutableList.builder();
@@ -53,6 +55,7 @@ public DataProcessorDelegate(final ImmutableList<DataProcessor<M, I>> processors
             builder.add(new Tuple<>(processor, SpongeTimingsFactory.ofSafe(SpongeImpl.getPlugin(), processor.getClass().getCanonicalName())));
         }
         this.processors = builder.build();
+        this.supportCache = new HolderSupportCache(processors, DataProcessor::supportsHolderType);
     }
 
     @Override
@@ -63,24 +66,29 @@ public int getPriority() {
     @Override
     public boolean supports(final DataHolder dataHolder) {
         final boolean callingFromMinecraftThread = SpongeImplHooks.isMainThread();
+        final HolderSupportCache.Candidates candidates = this.supportCache.get(dataHolder);
 
-        for (final Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
+        for (int i = 0; i < candidates.indices.length; i++) {
+            final Tuple<DataProcessor<M, I>, Timing> tuple = this.processors.get(candidates.indices[i]);
             if (callingFromMinecraftThread) {
                 tuple.getSecond().startTiming();
             }
-            if (tuple.getFirst().supports(dataHolder)) {
-                if (callingFromMinecraftThread) {
-                    tuple.getSecond().stopTiming();
-                }
-                return true;
-            }
+            final boolean supports = !candidates.checks[i] || tuple.getFirst().supports(dataHolder);
             if (callingFromMinecraftThread) {
                 tuple.getSecond().stopTiming();
             }
+            if (supports) {
+                return true;
+            }
         }
         return false;
     }
 
+    @Override
+    public Tristate supportsHolderType(final Class<?> holderClass) {
+        return this.supportCache.supportsType(holderClass);
+    }
+
     @SuppressWarnings("unused")
     @Override
     public boolean supports(final EntityType entityType) {
@@ -101,24 +109,26 @@ public boolean supports(final EntityType entityType) {
     @Override
     public Optional<M> from(final DataHolder dataHolder) {
         final boolean callingFromMinecraftThread = SpongeImplHooks.isMainThread();
+        final HolderSupportCache.Candidates candidates = this.supportCache.get(dataHolder);
 
-        for (final Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
+        for (int i = 0; i < candidates.indices.length; i++) {
+            final Tuple<DataProcessor<M, I>, Timing> tuple = this.processors.get(candidates.indices[i]);
             if (callingFromMinecraftThread) {
                 tuple.getSecond().startTiming();
             }
-            if (tuple.getFirst().supports(dataHolder)) {
-                final Optional<M> optional = tuple.getFirst().from(dataHolder);
+            if (candidates.checks[i] && !tuple.getFirst().supports(dataHolder)) {
                 if (callingFromMinecraftThread) {
                     tuple.getSecond().stopTiming();
                 }
-                if (optional.isPresent()) {
-                    return optional;
-                }
+                continue;
             }
-
+            final Optional<M> optional = tuple.getFirst().from(dataHolder);
             if (callingFromMinecraftThread) {
                 tuple.getSecond().stopTiming();
             }
+            if (optional.isPresent()) {
+                return optional;
+            }
         }
         return Optional.empty();
     }
@@ -126,24 +136,26 @@ public Optional<M> from(final DataHolder dataHolder) {
     @Override
     public Optional<M> fill(final DataHolder dataHolder, final M manipulator, final MergeFunction overlap) {
         final boolean callingFromMinecraftThread = SpongeImplHooks.isMainThread();
+        final HolderSupportCache.Candidates candidates = this.supportCache.get(dataHolder);
 
-        for (final Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
+        for (int i = 0; i < candidates.indices.length; i++) {
+            final Tuple<DataProcessor<M, I>, Timing> tuple = this.processors.get(candidates.indices[i]);
             if (callingFromMinecraftThread) {
                 tuple.getSecond().startTiming();
             }
-            if (tuple.getFirst().supports(dataHolder)) {
-                final Optional<M> optional = tuple.getFirst().fill(dataHolder, manipulator, overlap);
+            if (candidates.checks[i] && !tuple.getFirst().supports(dataHolder)) {
                 if (callingFromMinecraftThread) {
                     tuple.getSecond().stopTiming();
                 }
-                if (optional.isPresent()) {
-                    return optional;
-                }
+                continue;
             }
+            final Optional<M> optional = tuple.getFirst().fill(dataHolder, manipulator, overlap);
             if (callingFromMinecraftThread) {
                 tuple.getSecond().stopTiming();
             }
-
+            if (optional.isPresent()) {
+                return optional;
+            }
         }
         return Optional.empty();
     }
@@ -170,23 +182,26 @@ public Optional<M> fill(final DataContainer container, final M m) {
     @Override
     public DataTransactionResult set(final DataHolder dataHolder, final M manipulator, final MergeFunction function) {
         final boolean callingFromMinecraftThread = SpongeImplHooks.isMainThread();
+        final HolderSupportCache.Candidates candidates = this.supportCache.get(dataHolder);
 
-        for (final Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
+        for (int i = 0; i < candidates.indices.length; i++) {
+            final Tuple<DataProcessor<M, I>, Timing> tuple = this.processors.get(candidates.indices[i]);
             if (callingFromMinecraftThread) {
                 tuple.getSecond().startTiming();
             }
-            if (tuple.getFirst().supports(dataHolder)) {
-                final DataTransactionResult result = tuple.getFirst().set(dataHolder, manipulator, function);
-                if (!result.getType().equals(DataTransactionResult.Type.FAILURE)) {
-                    if (callingFromMinecraftThread) {
-                        tuple.getSecond().stopTiming();
-                    }
-                    return result;
+            if (candidates.checks[i] && !tuple.getFirst().supports(dataHolder)) {
+                if (callingFromMinecraftThread) {
+                    tuple.getSecond().stopTiming();
                 }
+                continue;
             }
+            final DataTransactionResult result = tuple.getFirst().set(dataHolder, manipulator, function);
             if (callingFromMinecraftThread) {
                 tuple.getSecond().stopTiming();
             }
+            if (!result.getType().equals(DataTransactionResult.Type.FAILURE)) {
+                return result;
+            }
         }
         return DataTransactionResult.failResult(manipulator.asImmutable().getValues());
     }
@@ -214,24 +229,26 @@ public Optional<I> with(final Key<? extends BaseValue<?>> key, final Object valu
     @Override
     public DataTransactionResult remove(final DataHolder dataHolder) {
         final boolean callingFromMinecraftThread = SpongeImplHooks.isMainThread();
+        final HolderSupportCache.Candidates candidates = this.supportCache.get(dataHolder);
 
-        for (final Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
+        for (int i = 0; i < candidates.indices.length; i++) {
+            final Tuple<DataProcessor<M, I>, Timing> tuple = this.processors.get(candidates.indices[i]);
             if (callingFromMinecraftThread) {
                 tuple.getSecond().startTiming();
             }
-            if (tuple.getFirst().supports(dataHolder)) {
-                final DataTransactionResult result = tuple.getFirst().remove(dataHolder);
+            if (candidates.checks[i] && !tuple.getFirst().supports(dataHolder)) {
                 if (callingFromMinecraftThread) {
                     tuple.getSecond().stopTiming();
                 }
-                if (!result.getType().equals(DataTransactionResult.Type.FAILURE)) {
-                    return result;
-                }
+                continue;
             }
+            final DataTransactionResult result = tuple.getFirst().remove(dataHolder);
             if (callingFromMinecraftThread) {
                 tuple.getSecond().stopTiming();
             }
-
+            if (!result.getType().equals(DataTransactionResult.Type.FAILURE)) {
+                return result;
+            }
         }
         return DataTransactionResult.failNoData();
     }
@@ -239,23 +256,26 @@ public DataTransactionResult remove(final DataHolder dataHolder) {
     @Override
     public Optional<M> createFrom(final DataHolder dataHolder) {
         final boolean callingFromMinecraftThread = SpongeImplHooks.isMainThread();
+        final HolderSupportCache.Candidates candidates = this.supportCache.get(dataHolder);
 
-        for (final Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
+        for (int i = 0; i < candidates.indices.length; i++) {
+            final Tuple<DataProcessor<M, I>, Timing> tuple = this.processors.get(candidates.indices[i]);
             if (callingFromMinecraftThread) {
                 tuple.getSecond().startTiming();
             }
-            if (tuple.getFirst().supports(dataHolder)) {
-                final Optional<M> optional = tuple.getFirst().createFrom(dataHolder);
+            if (candidates.checks[i] && !tuple.getFirst().supports(dataHolder)) {
                 if (callingFromMinecraftThread) {
                     tuple.getSecond().stopTiming();
                 }
-                if (optional.isPresent()) {
-                    return optional;
-                }
+                continue;
             }
+            final Optional<M> optional = tuple.getFirst().createFrom(dataHolder);
             if (callingFromMinecraftThread) {
                 tuple.getSecond().stopTiming();
             }
+            if (optional.isPresent()) {
+                return optional;
+            }
         }
         return Optional.empty();
     }
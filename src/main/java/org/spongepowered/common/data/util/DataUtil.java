@@ -631,4 +631,26 @@ public static void writeCustomData(final NBTTagCompound compound, final DataHold
         }
     }
 
+    /**
+     * Gets whether the given method is declared by the type or any of its
+     * superclasses below the base class, in other words whether a
+     * subclass of the base class overrides it.
+     *
+     * @param type The type to check
+     * @param base The base class declaring the method
+     * @param name The name of the method
+     * @param parameterTypes The erased parameter types of the method
+     * @return True if the method is overridden below the base class
+     */
+    public static boolean isOverridden(final Class<?> type, final Class<?> base, final String name, final Class<?>... parameterTypes) {
+        for (Class<?> current = type; current != null && current != base; current = current.getSuperclass()) {
+            try {
+                current.getDeclaredMethod(name, parameterTypes);
+                return true;
+            } catch (NoSuchMethodException ignored) {
+            }
+        }
+        return false;
+    }
+
 }
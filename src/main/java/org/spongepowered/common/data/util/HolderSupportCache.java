@@ -0,0 +1,114 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.util;
+
+import org.spongepowered.api.util.Tristate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * Remembers, per concrete holder class, which processors of a delegate can
+ * possibly support a holder of that class. Processors that can never support
+ * the class are skipped entirely, and processors that always support it don't
+ * have to be asked again for every holder.
+ */
+final class HolderSupportCache {
+
+    private final ClassValue<Candidates> candidates;
+
+    <P> HolderSupportCache(final List<P> processors, final BiFunction<P, Class<?>, Tristate> typeSupport) {
+        this.candidates = new ClassValue<Candidates>() {
+            @Override
+            protected Candidates computeValue(final Class<?> type) {
+                final int[] indices = new int[processors.size()];
+                final boolean[] checks = new boolean[processors.size()];
+                int count = 0;
+                for (int i = 0; i < processors.size(); i++) {
+                    final Tristate support = typeSupport.apply(processors.get(i), type);
+                    if (support == Tristate.FALSE) {
+                        continue;
+                    }
+                    indices[count] = i;
+                    checks[count] = support == Tristate.UNDEFINED;
+                    count++;
+                }
+                return new Candidates(Arrays.copyOf(indices, count), Arrays.copyOf(checks, count));
+            }
+        };
+    }
+
+    /**
+     * Gets the candidate processors for the given holder, in the
+     * order of the processor list.
+     *
+     * @param holder The holder
+     * @return The candidates
+     */
+    Candidates get(final Object holder) {
+        return this.candidates.get(holder.getClass());
+    }
+
+    /**
+     * Gets the combined support of all processors for the given class.
+     *
+     * @param type The holder class
+     * @return Whether the holder class is supported
+     */
+    Tristate supportsType(final Class<?> type) {
+        final Candidates candidates = this.candidates.get(type);
+        if (candidates.indices.length == 0) {
+            return Tristate.FALSE;
+        }
+        for (final boolean check : candidates.checks) {
+            if (!check) {
+                return Tristate.TRUE;
+            }
+        }
+        return Tristate.UNDEFINED;
+    }
+
+    static final class Candidates {
+
+        /**
+         * The indices of the processors that may support the holder class.
+         */
+        final int[] indices;
+
+        /**
+         * Whether the processor at the same position still has to be asked
+         * whether it supports the holder instance.
+         */
+        final boolean[] checks;
+
+        Candidates(final int[] indices, final boolean[] checks) {
+            this.indices = indices;
+            this.checks = checks;
+        }
+
+    }
+
+}
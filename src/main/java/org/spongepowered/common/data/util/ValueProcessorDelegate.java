@@ -30,6 +30,7 @@
 import org.spongepowered.api.data.value.BaseValue;
 import org.spongepowered.api.data.value.ValueContainer;
 import org.spongepowered.api.data.value.mutable.Value;
+import org.spongepowered.api.util.Tristate;
 import org.spongepowered.common.data.ValueProcessor;
 
 import java.util.Optional;
@@ -45,10 +46,12 @@
 
     private final Key<V> key;
     private final ImmutableList<ValueProcessor<E, V>> processors;
+    private final HolderSupportCache supportCache;
 
     public ValueProcessorDelegate(Key<V> key, ImmutableList<ValueProcessor<E, V>> processors) {
         this.key = key;
         this.processors = processors;
+        this.supportCache = new HolderSupportCache(processors, ValueProcessor::supportsContainerType);
     }
 
     @Override
@@ -63,8 +66,10 @@ public int getPriority() {
 
     @Override
     public Optional<E> getValueFromContainer(ValueContainer<?> container) {
-        for (ValueProcessor<E, V> processor : this.processors) {
-            if (processor.supports(container)) {
+        final HolderSupportCache.Candidates candidates = this.supportCache.get(container);
+        for (int i = 0; i < candidates.indices.length; i++) {
+            final ValueProcessor<E, V> processor = this.processors.get(candidates.indices[i]);
+            if (!candidates.checks[i] || processor.supports(container)) {
                 final Optional<E> optional = processor.getValueFromContainer(container);
                 if (optional.isPresent()) {
                     return optional;
@@ -76,8 +81,10 @@ public Optional<E> getValueFromContainer(ValueContainer<?> container) {
 
     @Override
     public Optional<V> getApiValueFromContainer(ValueContainer<?> container) {
-        for (ValueProcessor<E, V> processor : this.processors) {
-            if (processor.supports(container)) {
+        final HolderSupportCache.Candidates candidates = this.supportCache.get(container);
+        for (int i = 0; i < candidates.indices.length; i++) {
+            final ValueProcessor<E, V> processor = this.processors.get(candidates.indices[i]);
+            if (!candidates.checks[i] || processor.supports(container)) {
                 final Optional<V> optional = processor.getApiValueFromContainer(container);
                 if (optional.isPresent()) {
                     return optional;
@@ -89,26 +96,36 @@ public Optional<V> getApiValueFromContainer(ValueContainer<?> container) {
 
     @Override
     public boolean supports(ValueContainer<?> container) {
-        for (ValueProcessor<E, V> processor : this.processors) {
-            if (processor.supports(container)) {
+        final HolderSupportCache.Candidates candidates = this.supportCache.get(container);
+        for (int i = 0; i < candidates.indices.length; i++) {
+            final ValueProcessor<E, V> processor = this.processors.get(candidates.indices[i]);
+            if (!candidates.checks[i] || processor.supports(container)) {
                 return true;
             }
         }
         return false;
     }
 
+    @Override
+    public Tristate supportsContainerType(Class<?> containerClass) {
+        return this.supportCache.supportsType(containerClass);
+    }
+
     @Override
     public DataTransactionResult offerToStore(ValueContainer<?> container, E value) {
-        for (ValueProcessor<E, V> processor : this.processors) {
-            if (processor.supports(container)) {
+        final HolderSupportCache.Candidates candidates = this.supportCache.get(container);
+        for (int i = 0; i < candidates.indices.length; i++) {
+            final ValueProcessor<E, V> processor = this.processors.get(candidates.indices[i]);
+            if (!candidates.checks[i] || processor.supports(container)) {
                 final DataTransactionResult result = processor.offerToStore(container, value);
                 if (!result.getType().equals(DataTransactionResult.Type.FAILURE)) {
                     return result;
                 }
             }
         }
-        for (ValueProcessor<E, V> processor : this.processors) {
-            if (processor.supports(container)) {
+        for (int i = 0; i < candidates.indices.length; i++) {
+            final ValueProcessor<E, V> processor = this.processors.get(candidates.indices[i]);
+            if (!candidates.checks[i] || processor.supports(container)) {
                 final Optional<V> optional = processor.getApiValueFromContainer(container);
                 if (optional.isPresent()) {
                     V mutable = optional.get();
@@ -122,8 +139,10 @@ public DataTransactionResult offerToStore(ValueContainer<?> container, E value)
 
     @Override
     public DataTransactionResult removeFrom(ValueContainer<?> container) {
-        for (ValueProcessor<E, V> processor : this.processors) {
-            if (processor.supports(container)) {
+        final HolderSupportCache.Candidates candidates = this.supportCache.get(container);
+        for (int i = 0; i < candidates.indices.length; i++) {
+            final ValueProcessor<E, V> processor = this.processors.get(candidates.indices[i]);
+            if (!candidates.checks[i] || processor.supports(container)) {
                 final DataTransactionResult result = processor.removeFrom(container);
                 if (!result.getType().equals(DataTransactionResult.Type.FAILURE)) {
                     return result;
@@ -0,0 +1,203 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.entity;
+
+import it.unimi.dsi.fastutil.ints.Int2LongMap;
+import it.unimi.dsi.fastutil.ints.Int2LongOpenHashMap;
+import it.unimi.dsi.fastutil.shorts.Short2LongMap;
+import it.unimi.dsi.fastutil.shorts.Short2LongOpenHashMap;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import org.spongepowered.common.util.Constants;
+
+import javax.annotation.Nullable;
+
+/**
+ * The owner and notifier indices of the tracked block positions of a chunk.
+ * Positions up to y 255 are keyed by {@link Constants.Sponge#blockPosToShort},
+ * higher ones by {@link Constants.Sponge#blockPosToInt}.
+ *
+ * <p>Both indices of a position are packed into a single long, the owner in
+ * the upper half and the notifier in the lower half. An index of -1 means
+ * that there is no owner or notifier, so a position that isn't tracked
+ * reads as {@link #UNTRACKED}.</p>
+ */
+public final class PlayerTrackerTable {
+
+    public static final long UNTRACKED = -1L;
+
+    @Nullable private Short2LongMap shortPositions;
+    @Nullable private Int2LongMap intPositions;
+
+    public static long pack(final int ownerIndex, final int notifierIndex) {
+        return (long) ownerIndex << 32 | notifierIndex & 0xFFFFFFFFL;
+    }
+
+    public static int getOwnerIndex(final long tracker) {
+        return (int) (tracker >> 32);
+    }
+
+    public static int getNotifierIndex(final long tracker) {
+        return (int) tracker;
+    }
+
+    public boolean isEmpty() {
+        return (this.shortPositions == null || this.shortPositions.isEmpty()) && (this.intPositions == null || this.intPositions.isEmpty());
+    }
+
+    public int size() {
+        return (this.shortPositions == null ? 0 : this.shortPositions.size()) + (this.intPositions == null ? 0 : this.intPositions.size());
+    }
+
+    public long get(final short pos) {
+        return this.shortPositions == null ? UNTRACKED : this.shortPositions.get(pos);
+    }
+
+    public long get(final int pos) {
+        return this.intPositions == null ? UNTRACKED : this.intPositions.get(pos);
+    }
+
+    public void put(final short pos, final long tracker) {
+        if (tracker == UNTRACKED) {
+            this.remove(pos);
+            return;
+        }
+        if (this.shortPositions == null) {
+            this.shortPositions = new Short2LongOpenHashMap();
+            this.shortPositions.defaultReturnValue(UNTRACKED);
+        }
+        this.shortPositions.put(pos, tracker);
+    }
+
+    public void put(final int pos, final long tracker) {
+        if (tracker == UNTRACKED) {
+            this.remove(pos);
+            return;
+        }
+        if (this.intPositions == null) {
+            this.intPositions = new Int2LongOpenHashMap();
+            this.intPositions.defaultReturnValue(UNTRACKED);
+        }
+        this.intPositions.put(pos, tracker);
+    }
+
+    public void remove(final short pos) {
+        if (this.shortPositions != null) {
+            this.shortPositions.remove(pos);
+        }
+    }
+
+    public void remove(final int pos) {
+        if (this.intPositions != null) {
+            this.intPositions.remove(pos);
+        }
+    }
+
+    /**
+     * Writes this table as columns of int arrays, the positions followed by
+     * the owner and notifier indices at the same index.
+     *
+     * @return The compound
+     */
+    public NBTTagCompound writeToNbt() {
+        final int shortCount = this.shortPositions == null ? 0 : this.shortPositions.size();
+        final int intCount = this.intPositions == null ? 0 : this.intPositions.size();
+        final int[] shortPositions = new int[shortCount];
+        final int[] intPositions = new int[intCount];
+        final int[] owners = new int[shortCount + intCount];
+        final int[] notifiers = new int[shortCount + intCount];
+        int i = 0;
+        if (this.shortPositions != null) {
+            for (final Short2LongMap.Entry entry : this.shortPositions.short2LongEntrySet()) {
+                shortPositions[i] = entry.getShortKey();
+                owners[i] = getOwnerIndex(entry.getLongValue());
+                notifiers[i] = getNotifierIndex(entry.getLongValue());
+                i++;
+            }
+        }
+        if (this.intPositions != null) {
+            for (final Int2LongMap.Entry entry : this.intPositions.int2LongEntrySet()) {
+                intPositions[i - shortCount] = entry.getIntKey();
+                owners[i] = getOwnerIndex(entry.getLongValue());
+                notifiers[i] = getNotifierIndex(entry.getLongValue());
+                i++;
+            }
+        }
+        final NBTTagCompound compound = new NBTTagCompound();
+        compound.setIntArray(Constants.Sponge.TrackedBlocks.SHORT_POSITIONS, shortPositions);
+        compound.setIntArray(Constants.Sponge.TrackedBlocks.INT_POSITIONS, intPositions);
+        compound.setIntArray(Constants.Sponge.TrackedBlocks.OWNERS, owners);
+        compound.setIntArray(Constants.Sponge.TrackedBlocks.NOTIFIERS, notifiers);
+        return compound;
+    }
+
+    /**
+     * Reads the tracked positions of the sponge data of a chunk, either in
+     * the columns of {@link #writeToNbt()} or in the older table with one
+     * compound per position.
+     *
+     * @param spongeData The sponge data compound of the chunk
+     * @return The table
+     */
+    public static PlayerTrackerTable readFromNbt(final NBTTagCompound spongeData) {
+        final PlayerTrackerTable table = new PlayerTrackerTable();
+        if (spongeData.hasKey(Constants.Sponge.SPONGE_TRACKED_BLOCKS, Constants.NBT.TAG_COMPOUND)) {
+            final NBTTagCompound compound = spongeData.getCompoundTag(Constants.Sponge.SPONGE_TRACKED_BLOCKS);
+            final int[] shortPositions = compound.getIntArray(Constants.Sponge.TrackedBlocks.SHORT_POSITIONS);
+            final int[] intPositions = compound.getIntArray(Constants.Sponge.TrackedBlocks.INT_POSITIONS);
+            final int[] owners = compound.getIntArray(Constants.Sponge.TrackedBlocks.OWNERS);
+            final int[] notifiers = compound.getIntArray(Constants.Sponge.TrackedBlocks.NOTIFIERS);
+            final int count = Math.min(owners.length, notifiers.length);
+            for (int i = 0; i < Math.min(shortPositions.length, count); i++) {
+                table.put((short) shortPositions[i], pack(owners[i], notifiers[i]));
+            }
+            for (int i = 0; i < Math.min(intPositions.length, count - shortPositions.length); i++) {
+                table.put(intPositions[i], pack(owners[shortPositions.length + i], notifiers[shortPositions.length + i]));
+            }
+        }
+        // Tables written before the columns were added
+        final NBTTagList positions = spongeData.getTagList(Constants.Sponge.SPONGE_BLOCK_POS_TABLE, Constants.NBT.TAG_COMPOUND);
+        for (int i = 0; i < positions.tagCount(); i++) {
+            final NBTTagCompound valueNbt = positions.getCompoundTagAt(i);
+            int ownerIndex = -1;
+            int notifierIndex = -1;
+            if (valueNbt.hasKey("owner")) {
+                ownerIndex = valueNbt.getInteger("owner");
+            } else if (valueNbt.hasKey("uuid")) { // Migrate old data, remove in future
+                ownerIndex = valueNbt.getInteger("uuid");
+            }
+            if (valueNbt.hasKey("notifier")) {
+                notifierIndex = valueNbt.getInteger("notifier");
+            }
+            if (valueNbt.hasKey("pos")) {
+                table.put(valueNbt.getShort("pos"), pack(ownerIndex, notifierIndex));
+            } else {
+                table.put(valueNbt.getInteger("ipos"), pack(ownerIndex, notifierIndex));
+            }
+        }
+        return table;
+    }
+
+}
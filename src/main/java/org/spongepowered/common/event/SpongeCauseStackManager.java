@@ -46,11 +46,9 @@
 import java.util.ArrayDeque;
 import java.util.Arrays;
 import java.util.Deque;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiConsumer;
 
@@ -98,6 +96,12 @@ public final class SpongeCauseStackManager implements CauseStackManager {
     private Map<EventContextKey<?>, Object> ctx = Maps.newHashMap();
     private int min_depth = 0;
     private int[] duplicateCauses = new int[100];
+    // The cause and context built for the current stack, or null if they have to be built again.
+    // A non null cached_cause is always built from the current causes and from cached_ctx, so
+    // changing the context (addContext, removeContext) clears both and changing the causes
+    // (pushCause, popCause) clears cached_cause. Frames store both when pushed and restore them
+    // when popped, as the stack is the same again. Pending phase context providers are applied
+    // before either is read and clear them through the frames they push and modify.
     @Nullable private Cause cached_cause;
     @Nullable private EventContext cached_ctx;
     private AtomicBoolean pendingProviders = new AtomicBoolean(false);
@@ -179,7 +183,6 @@ public EventContext getCurrentContext() {
     public CauseStackManager pushCause(final Object obj) {
         enforceMainThread();
         checkNotNull(obj, "obj");
-        this.cached_cause = null;
         if (this.cause.peek() == obj) {
             // We don't want to be pushing duplicate objects
             // to the root and secondary entry of the cause.
@@ -197,6 +200,7 @@ public CauseStackManager pushCause(final Object obj) {
             this.duplicateCauses[dupedIndex] = this.duplicateCauses[dupedIndex] + 1;
             return this;
         }
+        this.cached_cause = null;
         this.cause.push(obj);
         return this;
     }
@@ -256,6 +260,10 @@ public StackFrame pushCauseFrame() {
             frame.old_min_depth = min_depth;
             frame.lastCauseSize = this.duplicateCauses[size];
         }
+        // Popping the frame returns the stack to this exact state, so whatever was
+        // built for it until now can be handed out again once the frame is gone
+        frame.previousCause = this.cached_cause;
+        frame.previousContext = this.cached_ctx;
 
         this.frames.push(frame);
         this.min_depth = size;
@@ -330,13 +338,16 @@ public void popCauseFrame(final StackFrame oldFrame) {
         }
         this.frames.pop();
 
+        final boolean changedContext = frame.contextChanges > 0;
+        final boolean changedCause = this.cause.size() > this.min_depth;
+
         // Remove new values
-        for (Map.Entry<EventContextKey<?>, Object> entry : frame.getOriginalContextDelta().entrySet()) {
-            this.cached_ctx = null;
-            if (entry.getValue() == null) { // wasn't present before, remove
-                this.ctx.remove(entry.getKey());
+        for (int i = 0; i < frame.contextChanges; i++) {
+            final Object original = frame.contextValues[i];
+            if (original == null) { // wasn't present before, remove
+                this.ctx.remove(frame.contextKeys[i]);
             } else { // was there, replace
-                this.ctx.put(entry.getKey(), entry.getValue());
+                this.ctx.put(frame.contextKeys[i], original);
             }
         }
 
@@ -353,9 +364,14 @@ public void popCauseFrame(final StackFrame oldFrame) {
                 this.duplicateCauses[index] = 0;
             }
             this.cause.pop();
-
-            // and clear the cached causes
-            this.cached_cause = null;
+        }
+        // The stack is back to what it was when the frame was pushed, so the cause and
+        // context built back then are valid again, or have to be built if there were none
+        if (changedContext) {
+            this.cached_ctx = frame.previousContext;
+        }
+        if (changedContext || changedCause) {
+            this.cached_cause = frame.previousCause;
         }
         this.min_depth = frame.old_min_depth;
         final int size = this.cause.size();
@@ -378,8 +394,13 @@ public <T> CauseStackManager addContext(final EventContextKey<T> key, final T va
         enforceMainThread();
         checkNotNull(key, "key");
         checkNotNull(value, "value");
-        this.cached_ctx = null;
         final Object existing = this.ctx.put(key, value);
+        if (existing == value) {
+            // Phases commonly add the same owner or notifier again, nothing changes
+            return this;
+        }
+        this.cached_ctx = null;
+        this.cached_cause = null;
         if (!this.frames.isEmpty()) {
             this.frames.peek().storeOriginalContext(key, existing);
         }
@@ -399,20 +420,22 @@ public <T> Optional<T> getContext(final EventContextKey<T> key) {
     public <T> Optional<T> removeContext(final EventContextKey<T> key) {
         enforceMainThread();
         checkNotNull(key, "key");
+        final Object existing = this.ctx.remove(key);
+        if (existing == null) {
+            return Optional.empty();
+        }
         this.cached_ctx = null;
-        Object existing = this.ctx.remove(key);
+        this.cached_cause = null;
         if (!this.frames.isEmpty()) {
             this.frames.peek().storeOriginalContext(key, existing);
         }
-        return Optional.ofNullable((T) existing);
+        return Optional.of((T) existing);
     }
 
     public int registerPhaseContextProvider(final PhaseContext<?> context) {
         checkNotNull(context.state.getFrameModifier(), "Consumer");
-        // Reset our cached objects
-        this.pendingProviders.compareAndSet(false, true); //I Reset the cache
-        this.cached_cause = null; // Reset the cache
-        this.cached_ctx = null; // Reset the cache
+        // The cached cause and context stay valid, the modifiers of the provider are only applied once either is read
+        this.pendingProviders.compareAndSet(false, true);
         // Since we cannot rely on the PhaseStack being tied to this stack of providers,
         // we have to make the tuple to tie the phase context to provide the consumer.
         this.phaseContextProviders.push(context);
@@ -439,10 +462,16 @@ public void popFrameMutator(final PhaseContext<?> context) {
 
     public static class CauseStackFrameImpl implements StackFrame {
 
-        private final Map<EventContextKey<?>, Object> stored_ctx_values = new HashMap<>();
         int old_min_depth;
         int lastCauseSize;
-        private final Map<EventContextKey<?>, Object> storedContext = new HashMap<>();
+        // The values the context had before this frame first changed them, in order
+        // of the first change. A null value means the key was not present.
+        EventContextKey<?>[] contextKeys = new EventContextKey<?>[4];
+        Object[] contextValues = new Object[4];
+        int contextChanges;
+        // What was built for the stack when this frame was pushed
+        @Nullable Cause previousCause;
+        @Nullable EventContext previousContext;
 
         @Nullable Exception stack_debug = null;
 
@@ -450,8 +479,11 @@ public static class CauseStackFrameImpl implements StackFrame {
         CauseStackFrameImpl() {}
 
         public void clear() {
-            this.stored_ctx_values.clear();
-            this.storedContext.clear();
+            Arrays.fill(this.contextKeys, 0, this.contextChanges, null);
+            Arrays.fill(this.contextValues, 0, this.contextChanges, null);
+            this.contextChanges = 0;
+            this.previousCause = null;
+            this.previousContext = null;
             this.lastCauseSize = -1;
             this.old_min_depth = -1;
             this.stack_debug = null;
@@ -464,31 +496,21 @@ public CauseStackFrameImpl set(int old_depth, int size) {
             return this;
         }
 
-        public boolean isStored(final EventContextKey<?> key) {
-            return this.stored_ctx_values != null && this.stored_ctx_values.containsKey(key);
-        }
-
-        public Set<Map.Entry<EventContextKey<?>, Object>> getStoredValues() {
-            return this.stored_ctx_values.entrySet();
-        }
-
-        public boolean hasStoredValues() {
-            return !this.stored_ctx_values.isEmpty();
-        }
-
-        public void store(EventContextKey<?> key, Object existing) {
-            this.stored_ctx_values.put(key, existing);
-        }
-
         // Note that a null object indicates that the context should be removed
         void storeOriginalContext(EventContextKey<?> key, @Nullable Object object) {
-            if (!this.storedContext.containsKey(key)) {
-                this.storedContext.put(key, object);
+            // Frames rarely change more than a few keys, a scan is cheaper than hashing
+            for (int i = 0; i < this.contextChanges; i++) {
+                if (this.contextKeys[i].equals(key)) {
+                    return;
+                }
             }
-        }
-
-        Map<EventContextKey<?>, Object> getOriginalContextDelta() {
-            return this.storedContext;
+            if (this.contextChanges == this.contextKeys.length) {
+                this.contextKeys = Arrays.copyOf(this.contextKeys, this.contextChanges * 2);
+                this.contextValues = Arrays.copyOf(this.contextValues, this.contextChanges * 2);
+            }
+            this.contextKeys[this.contextChanges] = key;
+            this.contextValues[this.contextChanges] = object;
+            this.contextChanges++;
         }
 
         @Override
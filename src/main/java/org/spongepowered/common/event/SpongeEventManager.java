@@ -33,6 +33,7 @@
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
@@ -56,6 +57,7 @@
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.event.filter.FilterFactory;
 import org.spongepowered.common.event.gen.DefineableClassLoader;
+import org.spongepowered.common.event.tracking.CapturePlan;
 import org.spongepowered.common.event.tracking.PhaseContext;
 import org.spongepowered.common.event.tracking.PhaseTracker;
 import org.spongepowered.common.event.tracking.phase.plugin.PluginPhase;
@@ -72,6 +74,7 @@
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -90,6 +93,24 @@ public class SpongeEventManager implements EventManager {
 
     private static final TypeVariable<?> GENERIC_EVENT_TYPE = GenericEvent.class.getTypeParameters()[0];
 
+    /**
+     * The raw {@link Event} supertypes of an event class, including the class
+     * itself. Computed once per class as walking the type hierarchy is
+     * expensive.
+     */
+    private static final ClassValue<Set<Class<?>>> EVENT_TYPE_HIERARCHY = new ClassValue<Set<Class<?>>>() {
+        @Override
+        protected Set<Class<?>> computeValue(Class<?> type) {
+            final ImmutableSet.Builder<Class<?>> builder = ImmutableSet.builder();
+            for (Class<?> rawType : TypeToken.of(type).getTypes().rawTypes()) {
+                if (Event.class.isAssignableFrom(rawType)) {
+                    builder.add(rawType);
+                }
+            }
+            return builder.build();
+        }
+    };
+
     private final Object lock = new Object();
     protected final Logger logger;
     private final PluginManager pluginManager;
@@ -100,13 +121,22 @@ public class SpongeEventManager implements EventManager {
     public final ListenerChecker checker = new ListenerChecker(ShouldFire.class);
 
     /**
-     * A cache of all the handlers for an event type for quick event posting.
-     * <p>The cache is currently entirely invalidated if handlers are added or
-     * removed.</p>
+     * A cache of all the handlers for a {@link GenericEvent} type for quick
+     * event posting.
+     * <p>Only the event types whose type hierarchy contains the event type of
+     * an added or removed handler are invalidated.</p>
      */
     protected final LoadingCache<EventType<?>, RegisteredListener.Cache> handlersCache =
             Caffeine.newBuilder().initialCapacity(150).build(this::bakeHandlers);
 
+    /**
+     * The handlers of all non-generic event classes, these can be looked up
+     * by the event class without allocating an {@link EventType} for every
+     * posted event. Entries are only added and invalidated while holding the
+     * lock, in the same way as the {@link #handlersCache}.
+     */
+    private final Map<Class<?>, RegisteredListener.Cache> handlersByClass = new ConcurrentHashMap<>(150, 0.75f, 1);
+
     @Inject
     public SpongeEventManager(Logger logger, PluginManager pluginManager) {
         this.logger = logger;
@@ -134,29 +164,29 @@ public SpongeEventManager(Logger logger, PluginManager pluginManager) {
             this.logger.warn("Failed to set event cache backing array, type was " + this.handlersCache.getClass().getName());
             this.logger.warn("  Caused by: " + e.getClass().getName() + ": " + e.getMessage());
         }
+        // The checker may have forced all flags on
+        CapturePlan.refresh();
     }
 
     <T extends Event> RegisteredListener.Cache bakeHandlers(EventType<T> eventType) {
         final List<RegisteredListener<?>> handlers = new ArrayList<>();
-        final Set<Class<? super T>> types = TypeToken.of(eventType.getType()).getTypes().rawTypes();
+        final Set<Class<?>> types = EVENT_TYPE_HIERARCHY.get(eventType.getType());
 
         synchronized (this.lock) {
-            for (Class<? super T> type : types) {
-                if (Event.class.isAssignableFrom(type)) {
-                    final Collection<RegisteredListener<?>> listeners = this.handlersByEvent.get(type);
-                    if (GenericEvent.class.isAssignableFrom(type)) {
-                        final TypeToken<?> genericType = eventType.getGenericType();
-                        checkNotNull(genericType);
-                        for (RegisteredListener<?> listener : listeners) {
-                            final TypeToken<?> genericType1 = listener.getEventType().getGenericType();
-                            checkNotNull(genericType1);
-                            if (TypeTokenHelper.isAssignable(genericType, genericType1)) {
-                                handlers.add(listener);
-                            }
+            for (Class<?> type : types) {
+                final Collection<RegisteredListener<?>> listeners = this.handlersByEvent.get(type);
+                if (GenericEvent.class.isAssignableFrom(type)) {
+                    final TypeToken<?> genericType = eventType.getGenericType();
+                    checkNotNull(genericType);
+                    for (RegisteredListener<?> listener : listeners) {
+                        final TypeToken<?> genericType1 = listener.getEventType().getGenericType();
+                        checkNotNull(genericType1);
+                        if (TypeTokenHelper.isAssignable(genericType, genericType1)) {
+                            handlers.add(listener);
                         }
-                    } else {
-                        handlers.addAll(listeners);
                     }
+                } else {
+                    handlers.addAll(listeners);
                 }
             }
         }
@@ -200,21 +230,40 @@ private void register(RegisteredListener<? extends Event> handler) {
     }
 
     private void register(List<RegisteredListener<? extends Event>> handlers) {
-        boolean changed = false;
-
         synchronized (this.lock) {
+            final Set<Class<?>> changedTypes = new HashSet<>();
             for (RegisteredListener<?> handler : handlers) {
                 final Class<?> raw = handler.getEventType().getType();
                 if (this.handlersByEvent.put(raw, handler)) {
-                    changed = true;
+                    changedTypes.add(raw);
                     this.checker.registerListenerFor(raw);
                 }
             }
+
+            if (!changedTypes.isEmpty()) {
+                invalidateHandlers(changedTypes);
+                CapturePlan.refresh();
+            }
         }
+    }
 
-        if (changed) {
-            this.handlersCache.invalidateAll();
+    /**
+     * Invalidates the baked handlers of all the event types that are a
+     * subtype of one of the given raw event types. Must be called while
+     * holding the lock, so that no handlers baked from the previous state
+     * can be cached afterwards.
+     *
+     * @param changedTypes The raw event types whose handlers changed
+     */
+    private void invalidateHandlers(Set<Class<?>> changedTypes) {
+        final List<EventType<?>> staleTypes = new ArrayList<>();
+        for (EventType<?> eventType : this.handlersCache.asMap().keySet()) {
+            if (!Collections.disjoint(EVENT_TYPE_HIERARCHY.get(eventType.getType()), changedTypes)) {
+                staleTypes.add(eventType);
+            }
         }
+        this.handlersCache.invalidateAll(staleTypes);
+        this.handlersByClass.keySet().removeIf(eventClass -> !Collections.disjoint(EVENT_TYPE_HIERARCHY.get(eventClass), changedTypes));
     }
 
     @SuppressWarnings("unchecked")
@@ -346,24 +395,24 @@ public <T extends Event> void registerListener(Object plugin, TypeToken<T> event
     }
 
     private void unregister(Predicate<RegisteredListener<?>> unregister) {
-        boolean changed = false;
-
         synchronized (this.lock) {
+            final Set<Class<?>> changedTypes = new HashSet<>();
             Iterator<RegisteredListener<?>> itr = this.handlersByEvent.values().iterator();
             while (itr.hasNext()) {
                 RegisteredListener<?> handler = itr.next();
                 if (unregister.test(handler)) {
                     itr.remove();
-                    changed = true;
+                    changedTypes.add(handler.getEventType().getType());
                     // TODO: This doesn't seem right, even as it was before
                     this.checker.unregisterListenerFor(handler.getEventType().getType());
                     this.registeredListeners.remove(handler.getHandle());
                 }
             }
-        }
 
-        if (changed) {
-            this.handlersCache.invalidateAll();
+            if (!changedTypes.isEmpty()) {
+                invalidateHandlers(changedTypes);
+                CapturePlan.refresh();
+            }
         }
     }
 
@@ -388,13 +437,24 @@ public void unregisterPluginListeners(Object pluginObj) {
     protected RegisteredListener.Cache getHandlerCache(Event event) {
         checkNotNull(event, "event");
         final Class<? extends Event> eventClass = event.getClass();
-        final EventType<? extends Event> eventType;
-        if (event instanceof GenericEvent) {
-            eventType = new EventType(eventClass, checkNotNull(((GenericEvent) event).getGenericType()));
-        } else {
-            eventType = new EventType(eventClass, null);
+        if (!(event instanceof GenericEvent)) {
+            // Fast path, no allocations unless the handlers have to be baked
+            final RegisteredListener.Cache cache = this.handlersByClass.get(eventClass);
+            if (cache != null) {
+                return cache;
+            }
+            synchronized (this.lock) {
+                return this.handlersByClass.computeIfAbsent(eventClass, type -> bakeHandlers(new EventType(type, null)));
+            }
+        }
+        final EventType<? extends Event> eventType = new EventType(eventClass, checkNotNull(((GenericEvent) event).getGenericType()));
+        final RegisteredListener.Cache cache = this.handlersCache.getIfPresent(eventType);
+        if (cache != null) {
+            return cache;
+        }
+        synchronized (this.lock) {
+            return this.handlersCache.get(eventType);
         }
-        return this.handlersCache.get(eventType);
     }
 
     @SuppressWarnings("unchecked")
@@ -0,0 +1,126 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.tracking;
+
+import com.google.common.base.MoreObjects;
+import org.spongepowered.common.event.ShouldFire;
+import org.spongepowered.common.event.SpongeEventManager;
+
+/**
+ * Decides which captures the {@link PhaseTracker} performs, based on the
+ * events that currently have listeners. Captures exist to throw events with
+ * all the changes of a phase, so capturing changes that no listener would
+ * observe only delays them. When nothing observes a change, it is written to
+ * the world directly, as vanilla would.
+ *
+ * <p>The plan is rebuilt by the {@link SpongeEventManager} whenever listeners
+ * are registered or unregistered, and is never modified afterwards. A phase
+ * reads it once per decision, so listeners added at runtime take effect for
+ * the next change.</p>
+ */
+public final class CapturePlan {
+
+    private static volatile CapturePlan current = create();
+
+    /**
+     * Gets the plan for the currently registered listeners.
+     *
+     * @return The current plan
+     */
+    public static CapturePlan get() {
+        return current;
+    }
+
+    /**
+     * Rebuilds the plan from the {@link ShouldFire} flags. Must be called
+     * after the flags changed.
+     */
+    public static void refresh() {
+        current = create();
+    }
+
+    private static CapturePlan create() {
+        return new CapturePlan(
+            ShouldFire.CHANGE_BLOCK_EVENT,
+            ShouldFire.SPAWN_ENTITY_EVENT,
+            // Drop events are spawn events, except for the pre event which is only a drop event
+            ShouldFire.SPAWN_ENTITY_EVENT || ShouldFire.DROP_ITEM_EVENT);
+    }
+
+    private final boolean blockChanges;
+    private final boolean entitySpawns;
+    private final boolean itemDrops;
+
+    private CapturePlan(final boolean blockChanges, final boolean entitySpawns, final boolean itemDrops) {
+        this.blockChanges = blockChanges;
+        this.entitySpawns = entitySpawns;
+        this.itemDrops = itemDrops;
+    }
+
+    /**
+     * Gets whether block changes are captured and thrown as
+     * {@code ChangeBlockEvent}s. If not, block changes go straight to the
+     * world, including their neighbor notifications.
+     *
+     * @return True if block changes are captured
+     */
+    public boolean capturesBlockChanges() {
+        return this.blockChanges;
+    }
+
+    /**
+     * Gets whether entity spawns are handed to the phases, which may capture
+     * them to throw {@code SpawnEntityEvent}s. If not, entities are added to
+     * the world directly.
+     *
+     * @return True if entity spawns are captured
+     */
+    public boolean capturesEntitySpawns() {
+        return this.entitySpawns;
+    }
+
+    /**
+     * Gets whether the given phase adds dropped items to its general list of
+     * captured items. Only ticking phases are left out when no drop or spawn
+     * event has listeners, other phases also use their captured items for
+     * events such as inventory clicks.
+     *
+     * @param state The phase state that would capture the item
+     * @return True if dropped items are captured
+     */
+    public boolean capturesItemDrops(final IPhaseState<?> state) {
+        return this.itemDrops || !state.isTicking();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("blockChanges", this.blockChanges)
+            .add("entitySpawns", this.entitySpawns)
+            .add("itemDrops", this.itemDrops)
+            .toString();
+    }
+
+}
@@ -272,9 +272,12 @@ default boolean spawnItemOrCapture(final C phaseContext, final Entity entity, fi
                 // This has to be handled specially for the entity in forge environments to
                 // specifically syncronize the list used for sponge's tracking and forge's partial tracking
                 SpongeImplHooks.capturePerEntityItemDrop(phaseContext, entity, entityitem);
-            } else {
+            } else if (CapturePlan.get().capturesItemDrops(this)) {
                 // We are adding to a general list - usually for EntityPhase.State.DEATH
                 phaseContext.getCapturedItemsSupplier().get().add(entityitem);
+            } else {
+                // Nothing would see the drop in an event, so let it spawn right away
+                return false;
             }
             // Return the item, even if it wasn't spawned in the world.
             return true;
@@ -870,8 +873,21 @@ default void postProcessSpecificBlockChange(final C currentContext, final BlockT
 
     }
 
+    /**
+     * Gets the {@link BlockChange} of a block being changed from the current
+     * state to the new state.
+     *
+     * @param phaseContext The phase context
+     * @param newState The new state
+     * @param newBlock The new block
+     * @param currentState The current state
+     * @param snapshot The snapshot of the current block, or null if the
+     *     snapshot is built once the captured changes are processed
+     * @param originalBlock The current block
+     * @return The block change
+     */
     default BlockChange associateBlockChangeWithSnapshot(final C phaseContext, final IBlockState newState, final Block newBlock,
-        final IBlockState currentState, final SpongeBlockSnapshot snapshot,
+        final IBlockState currentState, @Nullable final SpongeBlockSnapshot snapshot,
         final Block originalBlock) {
         if (newBlock == Blocks.AIR) {
             return BlockChange.BREAK;
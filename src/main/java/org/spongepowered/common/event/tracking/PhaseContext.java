@@ -130,6 +130,7 @@ public static PhaseContext<?> empty() {
     private boolean allowsBulkBlockCaptures = true; // Defaults to allow block captures
     private boolean allowsBulkEntityCaptures = true;
     @Nullable Deque<CauseStackManager.StackFrame> usedFrame;
+    long profileStart; // Set by the PhaseTracker on every entry, 0 unless the entry is profiled
 
     @Nullable private Object source;
 
@@ -691,6 +692,10 @@ public List<EntityItem> getCapturedItemsOrEmptyList() {
         return this.capturedItemsSupplier != null ? this.capturedItemsSupplier.orEmptyList() : Collections.emptyList();
     }
 
+    int getCapturedBlockCount() {
+        return this.blocksSupplier != null ? this.blocksSupplier.size() : 0;
+    }
+
     public boolean isCapturingBlockItemDrops() {
         return this.blockItemDropsSupplier != null || this.blockEntitySpawnSupplier != null;
     }
@@ -0,0 +1,397 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.tracking;
+
+import com.google.common.base.MoreObjects;
+import org.spongepowered.common.SpongeImpl;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records how much the {@link PhaseTracker} costs per {@link IPhaseState}:
+ * how often a state is entered, how long it stays on the stack, how much it
+ * captured and how long unwinding those captures took.
+ *
+ * <p>Every thread that enters phases writes to its own counters, so nothing
+ * is locked or shared while recording. Only one in every
+ * {@link #getSampleRate() sample rate} phase entries is timed, entries are
+ * always counted while profiling is on. With a sample rate of {@code 0}
+ * profiling is off and entering a phase only reads a single field.</p>
+ *
+ * <p>Reports combine the counters of all threads while they may still be
+ * written to, so a report taken while the server is running may be a few
+ * phases behind. The counters of threads that died are merged into a single
+ * set of counters, so short lived threads don't pile up.</p>
+ */
+public final class PhaseProfiler {
+
+    private static final Queue<ThreadCounters> THREADS = new ConcurrentLinkedQueue<>();
+    private static final ThreadLocal<ThreadCounters> COUNTERS = ThreadLocal.withInitial(() -> {
+        pruneDeadThreads();
+        final ThreadCounters counters = new ThreadCounters(Thread.currentThread());
+        THREADS.add(counters);
+        return counters;
+    });
+    // The merged counters of the threads that died, guarded by itself
+    private static final Map<IPhaseState<?>, StateCounters> DEAD_THREADS = new IdentityHashMap<>();
+
+    // Loaded by the first phase entry, which already reads the config
+    private static volatile int sampleRate = Math.max(0, SpongeImpl.getGlobalConfigAdapter().getConfig().getPhaseTracker().getProfilingSampleRate());
+
+    private PhaseProfiler() {
+    }
+
+    /**
+     * Gets the amount of phase entries per timed entry, {@code 0} if
+     * profiling is off.
+     *
+     * @return The sample rate
+     */
+    public static int getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * Sets the amount of phase entries per timed entry. {@code 1} times
+     * every entry, {@code 0} turns profiling off.
+     *
+     * @param rate The sample rate
+     */
+    public static void setSampleRate(final int rate) {
+        sampleRate = Math.max(0, rate);
+    }
+
+    public static boolean isEnabled() {
+        return sampleRate > 0;
+    }
+
+    /**
+     * Drops all recorded data.
+     */
+    public static void reset() {
+        pruneDeadThreads();
+        for (final ThreadCounters counters : THREADS) {
+            counters.states = new ConcurrentHashMap<>();
+        }
+        synchronized (DEAD_THREADS) {
+            DEAD_THREADS.clear();
+        }
+    }
+
+    /**
+     * Merges the counters of the threads that died, nothing writes to
+     * them anymore.
+     */
+    private static void pruneDeadThreads() {
+        for (final ThreadCounters counters : THREADS) {
+            final Thread thread = counters.thread.get();
+            // Once the thread is seen dead, all its writes are visible
+            if ((thread == null || !thread.isAlive()) && THREADS.remove(counters)) {
+                synchronized (DEAD_THREADS) {
+                    for (final Map.Entry<IPhaseState<?>, StateCounters> state : counters.states.entrySet()) {
+                        DEAD_THREADS.computeIfAbsent(state.getKey(), key -> new StateCounters()).add(state.getValue());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the amount of threads which counters are kept separately.
+     *
+     * @return The amount of live threads that entered a phase
+     */
+    static int getThreadCount() {
+        pruneDeadThreads();
+        return THREADS.size();
+    }
+
+    /**
+     * Called when the state is entered.
+     *
+     * @param state The state
+     * @return The start time if this entry is timed, {@code 0} if not
+     */
+    static long onEnter(final IPhaseState<?> state) {
+        final int rate = sampleRate;
+        if (rate <= 0) {
+            return 0;
+        }
+        final ThreadCounters counters = COUNTERS.get();
+        counters.get(state).entries++;
+        if (--counters.untilSample > 0) {
+            return 0;
+        }
+        counters.untilSample = rate;
+        return System.nanoTime();
+    }
+
+    /**
+     * Called when a timed entry of the state is completed, before its
+     * captures are unwound.
+     *
+     * @param context The context of the entry
+     * @param start The start time returned by {@link #onEnter(IPhaseState)}
+     */
+    static void onComplete(final PhaseContext<?> context, final long start) {
+        onComplete(context.state, System.nanoTime() - start, context.getCapturedBlockCount(), context.getCapturedEntitiesOrEmptyList().size(),
+            context.getCapturedItemsOrEmptyList().size());
+    }
+
+    static void onComplete(final IPhaseState<?> state, final long nanos, final int blocks, final int entities, final int items) {
+        final StateCounters counters = COUNTERS.get().get(state);
+        counters.samples++;
+        counters.nanos += nanos;
+        counters.blocks += blocks;
+        counters.entities += entities;
+        counters.items += items;
+    }
+
+    /**
+     * Called when the captures of a timed entry of the state were unwound.
+     *
+     * @param context The context of the entry
+     * @param nanos The time spent unwinding
+     */
+    static void onUnwound(final PhaseContext<?> context, final long nanos) {
+        COUNTERS.get().get(context.state).unwindNanos += nanos;
+    }
+
+    /**
+     * Called when the captured block changes of a timed entry of the state
+     * were processed by {@link TrackingUtil}.
+     *
+     * @param context The context of the entry
+     * @param nanos The time spent processing
+     */
+    static void onBlocksProcessed(final PhaseContext<?> context, final long nanos) {
+        COUNTERS.get().get(context.state).blockProcessingNanos += nanos;
+    }
+
+    /**
+     * Combines the counters of all threads, ordered by the time spent in
+     * each state.
+     *
+     * @return The recorded states
+     */
+    public static List<Entry> getEntries() {
+        pruneDeadThreads();
+        final Map<IPhaseState<?>, Entry> entries = new IdentityHashMap<>();
+        for (final ThreadCounters counters : THREADS) {
+            for (final Map.Entry<IPhaseState<?>, StateCounters> state : counters.states.entrySet()) {
+                entries.computeIfAbsent(state.getKey(), Entry::new).add(state.getValue());
+            }
+        }
+        synchronized (DEAD_THREADS) {
+            for (final Map.Entry<IPhaseState<?>, StateCounters> state : DEAD_THREADS.entrySet()) {
+                entries.computeIfAbsent(state.getKey(), Entry::new).add(state.getValue());
+            }
+        }
+        final List<Entry> sorted = new ArrayList<>(entries.values());
+        sorted.sort(Comparator.comparingLong(Entry::getEstimatedNanos).reversed());
+        return sorted;
+    }
+
+    /**
+     * Writes all recorded states to the file, as comma separated values.
+     *
+     * @param file The file
+     * @throws IOException If the file could not be written
+     */
+    public static void export(final Path file) throws IOException {
+        final List<Entry> entries = getEntries();
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        try (final Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("# sample-rate=" + sampleRate + "\n");
+            writer.write("state,entries,samples,total-micros,unwind-micros,block-processing-micros,blocks,entities,items\n");
+            for (final Entry entry : entries) {
+                writer.write(entry.state.toString().replace(',', ';') + ','
+                    + entry.entries + ','
+                    + entry.samples + ','
+                    + TimeUnit.NANOSECONDS.toMicros(entry.nanos) + ','
+                    + TimeUnit.NANOSECONDS.toMicros(entry.unwindNanos) + ','
+                    + TimeUnit.NANOSECONDS.toMicros(entry.blockProcessingNanos) + ','
+                    + entry.blocks + ','
+                    + entry.entities + ','
+                    + entry.items + '\n');
+            }
+        }
+    }
+
+    /**
+     * The counters of a single thread. Only that thread writes to them.
+     */
+    private static final class ThreadCounters {
+
+        // Weak so the counters don't keep the thread around until they are pruned
+        final WeakReference<Thread> thread;
+        volatile ConcurrentHashMap<IPhaseState<?>, StateCounters> states = new ConcurrentHashMap<>();
+        int untilSample;
+
+        ThreadCounters(final Thread thread) {
+            this.thread = new WeakReference<>(thread);
+        }
+
+        StateCounters get(final IPhaseState<?> state) {
+            final ConcurrentHashMap<IPhaseState<?>, StateCounters> states = this.states;
+            StateCounters counters = states.get(state);
+            if (counters == null) {
+                counters = new StateCounters();
+                states.put(state, counters);
+            }
+            return counters;
+        }
+
+    }
+
+    private static final class StateCounters {
+
+        long entries;
+        long samples;
+        long nanos;
+        long unwindNanos;
+        long blockProcessingNanos;
+        long blocks;
+        long entities;
+        long items;
+
+        void add(final StateCounters counters) {
+            this.entries += counters.entries;
+            this.samples += counters.samples;
+            this.nanos += counters.nanos;
+            this.unwindNanos += counters.unwindNanos;
+            this.blockProcessingNanos += counters.blockProcessingNanos;
+            this.blocks += counters.blocks;
+            this.entities += counters.entities;
+            this.items += counters.items;
+        }
+
+    }
+
+    /**
+     * The combined counters of a state. Times and capture counts only cover
+     * the timed entries, and include the phases entered while the state was
+     * on the stack.
+     */
+    public static final class Entry {
+
+        final IPhaseState<?> state;
+        long entries;
+        long samples;
+        long nanos;
+        long unwindNanos;
+        long blockProcessingNanos;
+        long blocks;
+        long entities;
+        long items;
+
+        Entry(final IPhaseState<?> state) {
+            this.state = state;
+        }
+
+        void add(final StateCounters counters) {
+            this.entries += counters.entries;
+            this.samples += counters.samples;
+            this.nanos += counters.nanos;
+            this.unwindNanos += counters.unwindNanos;
+            this.blockProcessingNanos += counters.blockProcessingNanos;
+            this.blocks += counters.blocks;
+            this.entities += counters.entities;
+            this.items += counters.items;
+        }
+
+        public IPhaseState<?> getState() {
+            return this.state;
+        }
+
+        public long getEntries() {
+            return this.entries;
+        }
+
+        public long getSamples() {
+            return this.samples;
+        }
+
+        /**
+         * Gets the time spent in the state over all entries, extrapolated
+         * from the timed entries.
+         *
+         * @return The estimated time in nanoseconds
+         */
+        public long getEstimatedNanos() {
+            return this.samples == 0 ? 0 : (long) (this.nanos * ((double) this.entries / this.samples));
+        }
+
+        public long getAverageNanos() {
+            return this.samples == 0 ? 0 : this.nanos / this.samples;
+        }
+
+        public long getAverageUnwindNanos() {
+            return this.samples == 0 ? 0 : this.unwindNanos / this.samples;
+        }
+
+        public long getAverageBlockProcessingNanos() {
+            return this.samples == 0 ? 0 : this.blockProcessingNanos / this.samples;
+        }
+
+        public double getAverageBlocks() {
+            return this.samples == 0 ? 0 : (double) this.blocks / this.samples;
+        }
+
+        public double getAverageEntities() {
+            return this.samples == 0 ? 0 : (double) this.entities / this.samples;
+        }
+
+        public double getAverageItems() {
+            return this.samples == 0 ? 0 : (double) this.items / this.samples;
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(this)
+                .add("state", this.state)
+                .add("entries", this.entries)
+                .add("samples", this.samples)
+                .add("nanos", this.nanos)
+                .toString();
+        }
+
+    }
+
+}
@@ -261,6 +261,7 @@ void switchToPhase(final IPhaseState<?> state, final PhaseContext<?> phaseContex
         if (Sponge.isServerAvailable() && ((IPhaseState) state).shouldProvideModifiers(phaseContext)) {
             SpongeImpl.getCauseStackManager().registerPhaseContextProvider(phaseContext);
         }
+        phaseContext.profileStart = PhaseProfiler.onEnter(state);
         this.stack.push(state, phaseContext);
     }
 
@@ -303,6 +304,10 @@ void completePhase(final IPhaseState<?> prevState) {
             }
         }
 
+        final long profileStart = currentContext.profileStart;
+        if (profileStart != 0) {
+            PhaseProfiler.onComplete(currentContext, profileStart);
+        }
         final boolean hasCaptures = currentContext.hasCaptures();
         try (final UnwindingPhaseContext unwinding = UnwindingPhaseContext.unwind(state, currentContext, hasCaptures) ) {
             // With UnwindingPhaseContext#unwind checking for post, if it is null, the try
@@ -313,7 +318,11 @@ void completePhase(final IPhaseState<?> prevState) {
                 // at least unwind UNWINDING to process any captured objects so we're not totally without
                 // loss of objects
                 if (hasCaptures) {
+                    final long unwindStart = profileStart != 0 ? System.nanoTime() : 0;
                     ((IPhaseState) state).unwind(currentContext);
+                    if (unwindStart != 0) {
+                        PhaseProfiler.onUnwound(currentContext, System.nanoTime() - unwindStart);
+                    }
                 }
             } catch (final Exception e) {
                 this.printMessageWithCaughtException("Exception Exiting Phase", "Something happened when trying to unwind", state, currentContext, e);
@@ -768,7 +777,7 @@ public void notifyBlockOfStateChange(final WorldServerBridge mixinWorld, final I
             // If the phase state does not want to allow neighbor notifications to leak while processing,
             // it needs to be able to do so. It will replay the notifications in the order in which they were received,
             // such that the notification will be sent out in the same order as the block changes that may have taken place.
-            if ((ShouldFire.CHANGE_BLOCK_EVENT || ShouldFire.NOTIFY_NEIGHBOR_BLOCK_EVENT) && state.doesCaptureNeighborNotifications(peek)) {
+            if ((CapturePlan.get().capturesBlockChanges() || ShouldFire.NOTIFY_NEIGHBOR_BLOCK_EVENT) && state.doesCaptureNeighborNotifications(peek)) {
                 peek.getCapturedBlockSupplier().captureNeighborNotification(mixinWorld, notifyState, notifyPos, sourceBlock, sourcePos);
                 return;
             }
@@ -908,7 +917,8 @@ public boolean setBlockState(final WorldServerBridge mixinWorld, final BlockPos
         //  by short circuiting here, we avoid additional block processing that would otherwise
         //  have potential side effects (and ChunkMixin#bridge$setBlockState does a wonderful job at avoiding
         //  unnecessary logic in those cases).
-        if (((IPhaseState) phaseState).doesBulkBlockCapture(context) && ShouldFire.CHANGE_BLOCK_EVENT) {
+        final boolean capturesBlockChanges = CapturePlan.get().capturesBlockChanges();
+        if (((IPhaseState) phaseState).doesBulkBlockCapture(context) && capturesBlockChanges) {
             // Basically at this point, there's nothing left for us to do since
             // ChunkMixin will capture the block change, and submit it to be
             // "captured". It's only when there's immediate block event
@@ -916,7 +926,7 @@ public boolean setBlockState(final WorldServerBridge mixinWorld, final BlockPos
             // that transaction.
             return true;
         }
-        if (((IPhaseState) phaseState).doesBlockEventTracking(context) && ShouldFire.CHANGE_BLOCK_EVENT) {
+        if (((IPhaseState) phaseState).doesBlockEventTracking(context) && capturesBlockChanges) {
             try {
                 // Fall back to performing a singular block capture and throwing an event with all the
                 // repercussions, such as neighbor notifications and whatnot. Entity spawns should also be
@@ -1088,8 +1098,9 @@ public boolean spawnEntity(final WorldServer world, final net.minecraft.entity.E
         // will not actively capture entity spawns, but will still throw events for them. Some phases
         // capture all entities until the phase is marked for completion.
         if (!isForced) {
-            if (ShouldFire.SPAWN_ENTITY_EVENT
-                || (ShouldFire.CHANGE_BLOCK_EVENT
+            final CapturePlan plan = CapturePlan.get();
+            if (plan.capturesEntitySpawns()
+                || (plan.capturesBlockChanges()
                     // This bottom part of the if is due to needing to be able to capture block entity spawns
                     // while block events are being listened to
                     && ((IPhaseState) phaseState).doesBulkBlockCapture(context)
@@ -386,7 +386,15 @@ public static Supplier<IllegalStateException> throwWithContext(final String s, f
     }
 
     public static boolean processBlockCaptures(final PhaseContext<?> context) {
-        return processBlockCaptures(context, 0, context.getCapturedBlockSupplier());
+        if (context.profileStart == 0) {
+            return processBlockCaptures(context, 0, context.getCapturedBlockSupplier());
+        }
+        final long start = System.nanoTime();
+        try {
+            return processBlockCaptures(context, 0, context.getCapturedBlockSupplier());
+        } finally {
+            PhaseProfiler.onBlocksProcessed(context, System.nanoTime() - start);
+        }
     }
 
     /**
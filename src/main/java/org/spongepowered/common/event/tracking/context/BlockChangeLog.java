@@ -0,0 +1,313 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.tracking.context;
+
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.WorldServer;
+import org.spongepowered.api.world.BlockChangeFlag;
+import org.spongepowered.common.block.SpongeBlockSnapshot;
+import org.spongepowered.common.bridge.world.WorldServerBridge;
+import org.spongepowered.common.world.BlockChange;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+/**
+ * An insertion ordered log of the block changes captured per packed block
+ * position, as returned by {@link BlockPos#toLong()}. Entries are kept in
+ * parallel arrays, the entries of a position are chained through the index
+ * of the previous entry of that position, so no node is allocated per entry.
+ *
+ * <p>A change of a plain block only logs its original and new
+ * {@link IBlockState}, its {@link SpongeBlockSnapshot} is built the first
+ * time it is requested, which usually is when the captured changes are
+ * turned into an event. Changes that need more than the states, such as
+ * the data of a tile entity, are logged with their snapshot.</p>
+ *
+ * <p>Removed entries leave a hole in the arrays until the log is cleared,
+ * removals are rare compared to additions.</p>
+ */
+final class BlockChangeLog {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] positions = new long[INITIAL_CAPACITY];
+    private WorldServer[] worlds = new WorldServer[INITIAL_CAPACITY];
+    // A null original marks a removed entry
+    private IBlockState[] originals = new IBlockState[INITIAL_CAPACITY];
+    private IBlockState[] replacements = new IBlockState[INITIAL_CAPACITY];
+    private BlockChangeFlag[] flags = new BlockChangeFlag[INITIAL_CAPACITY];
+    private BlockChange[] changes = new BlockChange[INITIAL_CAPACITY];
+    // Logged snapshots, or the ones built from the states once requested
+    private SpongeBlockSnapshot[] snapshots = new SpongeBlockSnapshot[INITIAL_CAPACITY];
+    private int[] previous = new int[INITIAL_CAPACITY];
+    private int size;
+    // The index of the most recent entry of each position
+    private final Long2IntMap last = new Long2IntOpenHashMap();
+
+    BlockChangeLog() {
+        this.last.defaultReturnValue(-1);
+    }
+
+    /**
+     * Logs a change of the states of a block, the snapshot of the original
+     * block is built once it is requested.
+     *
+     * @param pos The packed position
+     * @param world The world
+     * @param original The original state
+     * @param replacement The new state
+     * @param flag The change flag
+     * @param change The block change
+     * @return The index of the entry
+     */
+    int add(final long pos, final WorldServer world, final IBlockState original, final IBlockState replacement, final BlockChangeFlag flag,
+        @Nullable final BlockChange change) {
+        return this.add(pos, world, original, replacement, flag, change, null);
+    }
+
+    /**
+     * Logs a change of a block with an already built snapshot of the
+     * original block.
+     *
+     * @param pos The packed position
+     * @param snapshot The snapshot of the original block
+     * @param replacement The new state
+     * @return The index of the entry
+     */
+    int add(final long pos, final SpongeBlockSnapshot snapshot, final IBlockState replacement) {
+        return this.add(pos, null, (IBlockState) snapshot.getState(), replacement, null, snapshot.blockChange, snapshot);
+    }
+
+    private int add(final long pos, @Nullable final WorldServer world, final IBlockState original, final IBlockState replacement,
+        @Nullable final BlockChangeFlag flag, @Nullable final BlockChange change, @Nullable final SpongeBlockSnapshot snapshot) {
+        if (this.size == this.positions.length) {
+            final int capacity = this.size * 2;
+            this.positions = Arrays.copyOf(this.positions, capacity);
+            this.worlds = Arrays.copyOf(this.worlds, capacity);
+            this.originals = Arrays.copyOf(this.originals, capacity);
+            this.replacements = Arrays.copyOf(this.replacements, capacity);
+            this.flags = Arrays.copyOf(this.flags, capacity);
+            this.changes = Arrays.copyOf(this.changes, capacity);
+            this.snapshots = Arrays.copyOf(this.snapshots, capacity);
+            this.previous = Arrays.copyOf(this.previous, capacity);
+        }
+        final int index = this.size++;
+        this.positions[index] = pos;
+        this.worlds[index] = world;
+        this.originals[index] = original;
+        this.replacements[index] = replacement;
+        this.flags[index] = flag;
+        this.changes[index] = change;
+        this.snapshots[index] = snapshot;
+        this.previous[index] = this.last.put(pos, index);
+        return index;
+    }
+
+    boolean contains(final long pos) {
+        return this.last.containsKey(pos);
+    }
+
+    boolean isEmpty() {
+        return this.last.isEmpty();
+    }
+
+    /**
+     * Gets the number of positions with at least one entry.
+     *
+     * @return The number of positions
+     */
+    int positionCount() {
+        return this.last.size();
+    }
+
+    /**
+     * Gets the index of the first entry of the position that is still in
+     * this log.
+     *
+     * @param pos The packed position
+     * @return The index, or -1 if there is none
+     */
+    int first(final long pos) {
+        int first = -1;
+        for (int index = this.last.get(pos); index != -1; index = this.previous[index]) {
+            if (this.originals[index] != null) {
+                first = index;
+            }
+        }
+        return first;
+    }
+
+    IBlockState getOriginal(final int index) {
+        return this.originals[index];
+    }
+
+    void setBlockChange(final int index, final BlockChange change) {
+        this.changes[index] = change;
+        if (this.snapshots[index] != null) {
+            this.snapshots[index].blockChange = change;
+        }
+    }
+
+    /**
+     * Gets the snapshot of the original block of the entry, building it
+     * from the logged state if it wasn't yet.
+     *
+     * @param index The index of the entry
+     * @return The snapshot
+     */
+    SpongeBlockSnapshot getSnapshot(final int index) {
+        SpongeBlockSnapshot snapshot = this.snapshots[index];
+        if (snapshot == null) {
+            snapshot = ((WorldServerBridge) this.worlds[index])
+                .bridge$createSnapshotWithEntity(this.originals[index], BlockPos.fromLong(this.positions[index]), this.flags[index], null);
+            snapshot.blockChange = this.changes[index];
+            this.snapshots[index] = snapshot;
+        }
+        return snapshot;
+    }
+
+    /**
+     * Gets the snapshots of the position, in the order they were added.
+     *
+     * @param pos The packed position
+     * @return The snapshots, or an empty list
+     */
+    List<SpongeBlockSnapshot> get(final long pos) {
+        int index = this.last.get(pos);
+        if (index == -1) {
+            return Collections.emptyList();
+        }
+        final List<SpongeBlockSnapshot> snapshots = new ArrayList<>(2);
+        for (; index != -1; index = this.previous[index]) {
+            if (this.originals[index] != null) {
+                snapshots.add(this.getSnapshot(index));
+            }
+        }
+        Collections.reverse(snapshots);
+        return snapshots;
+    }
+
+    /**
+     * Gets the snapshots of the first entry of each position, in the order
+     * the positions were first changed.
+     *
+     * @return The snapshots
+     */
+    List<SpongeBlockSnapshot> getFirsts() {
+        final List<SpongeBlockSnapshot> firsts = new ArrayList<>(this.last.size());
+        for (int index = 0; index < this.size; index++) {
+            if (this.originals[index] != null && this.first(this.positions[index]) == index) {
+                firsts.add(this.getSnapshot(index));
+            }
+        }
+        return firsts;
+    }
+
+    /**
+     * Removes the most recent entry of the position that was logged with
+     * the snapshot, or which original state matches the one of the snapshot.
+     *
+     * @param pos The packed position
+     * @param snapshot The snapshot
+     * @return True if an entry was removed
+     */
+    boolean remove(final long pos, final SpongeBlockSnapshot snapshot) {
+        for (int index = this.last.get(pos); index != -1; index = this.previous[index]) {
+            if (this.snapshots[index] == snapshot && this.originals[index] != null) {
+                return this.remove(pos, index);
+            }
+        }
+        return this.remove(pos, (IBlockState) snapshot.getState(), null);
+    }
+
+    /**
+     * Removes the most recent entry of the position with the original
+     * and, if not null, the new state.
+     *
+     * @param pos The packed position
+     * @param original The original state
+     * @param replacement The new state, or null to match any
+     * @return True if an entry was removed
+     */
+    boolean remove(final long pos, final IBlockState original, @Nullable final IBlockState replacement) {
+        for (int index = this.last.get(pos); index != -1; index = this.previous[index]) {
+            if (original.equals(this.originals[index]) && (replacement == null || replacement.equals(this.replacements[index]))) {
+                return this.remove(pos, index);
+            }
+        }
+        return false;
+    }
+
+    private boolean remove(final long pos, final int removed) {
+        this.originals[removed] = null;
+        this.snapshots[removed] = null;
+        this.worlds[removed] = null;
+        if (this.first(pos) == -1) {
+            this.last.remove(pos);
+        }
+        return true;
+    }
+
+    /**
+     * Passes each snapshot with its position to the consumer, in the order
+     * the entries were added.
+     *
+     * @param consumer The consumer
+     */
+    void forEach(final LongObjConsumer<SpongeBlockSnapshot> consumer) {
+        for (int index = 0; index < this.size; index++) {
+            if (this.originals[index] != null) {
+                consumer.accept(this.positions[index], this.getSnapshot(index));
+            }
+        }
+    }
+
+    void clear() {
+        Arrays.fill(this.worlds, 0, this.size, null);
+        Arrays.fill(this.originals, 0, this.size, null);
+        Arrays.fill(this.replacements, 0, this.size, null);
+        Arrays.fill(this.flags, 0, this.size, null);
+        Arrays.fill(this.changes, 0, this.size, null);
+        Arrays.fill(this.snapshots, 0, this.size, null);
+        this.size = 0;
+        this.last.clear();
+    }
+
+    @FunctionalInterface
+    interface LongObjConsumer<T> {
+
+        void accept(long pos, T value);
+
+    }
+
+}
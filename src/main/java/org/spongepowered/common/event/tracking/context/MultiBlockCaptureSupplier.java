@@ -30,8 +30,6 @@
 import com.google.common.collect.LinkedListMultimap;
 import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Lists;
-import com.google.common.collect.Multimap;
-import com.google.common.collect.Multimaps;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockEventData;
 import net.minecraft.block.state.IBlockState;
@@ -57,16 +55,15 @@
 import org.spongepowered.common.world.BlockChange;
 import org.spongepowered.common.world.SpongeBlockChangeFlag;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
 import java.util.function.BiConsumer;
 
 import javax.annotation.Nullable;
@@ -76,11 +73,13 @@ public final class MultiBlockCaptureSupplier implements ICaptureSupplier {
 
     public static final boolean PRINT_TRANSACTIONS = Boolean.valueOf(System.getProperty("sponge.debugBlockTransactions", "false"));
 
-    @Nullable private LinkedListMultimap<BlockPos, SpongeBlockSnapshot> multimap;
+    // Every captured block change per packed position
+    @Nullable private BlockChangeLog changeLog;
     @Nullable private ListMultimap<BlockPos, BlockEventData> scheduledEvents;
-    @Nullable private List<SpongeBlockSnapshot> snapshots;
+    // The first snapshots of each position, built from the change log once requested
+    @Nullable private List<SpongeBlockSnapshot> firsts;
+    @Nullable private List<SpongeBlockSnapshot> originals;
     @Nullable private LinkedHashMap<WorldServer, SpongeProxyBlockAccess.Proxy> processingWorlds;
-    @Nullable private Set<BlockPos> usedBlocks;
     private int transactionIndex = -1; // These are used to keep track of which snapshot is being referred to as "most recent change"
     private int snapshotIndex = -1;    // so that we can appropriately cancel or discard or apply specific event transactions
     // We made BlockTransaction a Node and this is a pseudo LinkedList due to the nature of needing
@@ -97,14 +96,14 @@ public MultiBlockCaptureSupplier() {
     }
 
     /**
-     * Captures the provided {@link BlockSnapshot} into a {@link Multimap} backed collection.
+     * Captures the provided {@link BlockSnapshot} into a log backed collection keyed by packed positions.
      * The premise is that each {@link BlockPos} normally has a single {@link BlockChange},
      * with the exceptions of certain few cases where multiple changes can occur for the same
      * position. The larger issue is that while the multiple changes are tracked, the desired
      * flag of changes does not result in a valid {@link BlockChange}, and therefor an invalid
      * {@link ChangeBlockEvent} is generated, potentially leading to duplication bugs with
      * protection plugins. As a result, the consuming {@link BlockSnapshot} is placed into
-     * a {@link ListMultimap} keyed by the {@link BlockPos}, and if there are multiple snapshots
+     * a {@link BlockChangeLog} keyed by the {@link BlockPos}, and if there are multiple snapshots
      * per {@link BlockPos}, has multiple changes will be {@code true}, and this method
      * will return {@code true}.
      *
@@ -116,68 +115,54 @@ public boolean put(final BlockSnapshot snapshot, final IBlockState newState) {
         // Start by figuring out the backing snapshot. In all likelyhood, we could just cast, but we want to be safe
         final SpongeBlockSnapshot backingSnapshot = getBackingSnapshot(snapshot);
         // Get the key of the block position, we know this is a pure block pos and not a mutable one too.
-        final BlockPos blockPos = backingSnapshot.getBlockPos();
-        if (this.usedBlocks == null) { // Means we have a first usage. All three fields are null
-            // At this point, we know we have not captured anything and
-            // can just populate the normal list.
-            this.usedBlocks = new HashSet<>();
-
-            this.usedBlocks.add(blockPos);
-            this.addSnapshot(backingSnapshot);
-            return true;
-        }
-        // This isn't our first rodeo...
-        final boolean added = this.usedBlocks.add(blockPos); // add it to the set of positions already used and use the boolean
-        if (this.multimap != null) {
-            // Means we've already got multiple changes per position once before.
-            // Likewise, the used blocks, snapshots and multimap will NOT be null.
-            // more fasts, we know we have multiple block positions.
-            // And we can find out if this is the first time we
-            if (added) {
-                // If the position hasn't been captured yet, that means we need to add it as an original
-                // snapshot being changed, for the list usage.
-                this.addSnapshot(backingSnapshot);
-            }
-            // we don't have to
-            this.multimap.put(blockPos, backingSnapshot);
+        final long blockPos = backingSnapshot.getBlockPos().toLong();
+        final BlockChangeLog changeLog = this.getChangeLog();
+        final boolean added = !changeLog.contains(blockPos);
+        changeLog.add(blockPos, backingSnapshot, newState);
+        return this.onLogged(blockPos, added, newState);
+    }
 
-            // If the position is duplicated, we need to update the original snapshot of the now incoming block change
-            // in relation to the original state (so if a block was set to air, then afterwards set to piston head, it should go from break to modify)
-            if (!added) {
-                associateBlockChangeForPosition(newState, blockPos);
-            }
-            return added;
-        }
-        // We have not yet checked if this incoming snapshot is a duplicate position
-        if (!added) {
-            // Ok, means we have a multi change on a same position, now to use the multimap
-            // for the first time.
-            this.multimap = LinkedListMultimap.create(); // LinkedListMultimap is insertion order respective, so the backed lists per
-            // Now to populate it from the previously used list of snapshots...
-            for (final SpongeBlockSnapshot existing : this.snapshots) { // Ignore snapshots potentially being null, it will never be null at this point.
-                this.multimap.put(existing.getBlockPos(), existing);
-            }
-            // And place the snapshot into the multimap.
-            this.multimap.put(blockPos, backingSnapshot);
-            // Now we can re-evaluate the modified block position
-            // If the position is duplicated, we need to update the original snapshot of the now incoming block change
-            // in relation to the original state (so if a block was set to air, then afterwards set to piston head, it should go from break to modify)
-            associateBlockChangeForPosition(newState, blockPos);
-            return false;
+    /**
+     * Captures the change of a block without a tile entity, same as
+     * {@link #put(BlockSnapshot, IBlockState)}, except that only the states
+     * are logged. The {@link SpongeBlockSnapshot} of the original block is
+     * built once the captured changes are requested, so changes that end up
+     * not being thrown in an event don't build one.
+     *
+     * @param world The world
+     * @param pos The position
+     * @param originalState The original state
+     * @param newState The new state
+     * @param flag The change flag
+     * @param change The block change
+     * @return True if the block position has previously not been modified or captured yet
+     */
+    public boolean put(final WorldServer world, final BlockPos pos, final IBlockState originalState, final IBlockState newState,
+        final BlockChangeFlag flag, final BlockChange change) {
+        final long blockPos = pos.toLong();
+        final BlockChangeLog changeLog = this.getChangeLog();
+        final boolean added = !changeLog.contains(blockPos);
+        changeLog.add(blockPos, world, originalState, newState, flag, change);
+        return this.onLogged(blockPos, added, newState);
+    }
+
+    private BlockChangeLog getChangeLog() {
+        if (this.changeLog == null) {
+            this.changeLog = new BlockChangeLog();
         }
-        // At this point, we haven't captured the block position yet.
-        // and we can check if the list is null.
-        this.addSnapshot(backingSnapshot);
-        // And this is the only time that we return true, if we have not caught multiple transactions per position before.
-        return true;
+        return this.changeLog;
     }
 
-    private void addSnapshot(final SpongeBlockSnapshot backingSnapshot) {
-        if (this.snapshots == null) {
-            this.snapshots = new ArrayList<>();
+    private boolean onLogged(final long blockPos, final boolean added, final IBlockState newState) {
+        this.firsts = null;
+        if (added) {
+            this.snapshotIndex++;
+            return true;
         }
-        this.snapshots.add(backingSnapshot);
-        this.snapshotIndex++;
+        // If the position is duplicated, we need to update the original snapshot of the now incoming block change
+        // in relation to the original state (so if a block was set to air, then afterwards set to piston head, it should go from break to modify)
+        associateBlockChangeForPosition(newState, blockPos);
+        return false;
     }
 
     /**
@@ -185,20 +170,20 @@ private void addSnapshot(final SpongeBlockSnapshot backingSnapshot) {
      * already guaranteed original {@link SpongeBlockSnapshot} for proper event
      * creation when multiple block changes exist for the provided {@link BlockPos}.
      *
-     * <p>Note: This method <strong>requires</strong> that {@link #multimap} is not
+     * <p>Note: This method <strong>requires</strong> that {@link #changeLog} is not
      * {@code null}, otherwise it will cause an NPE.</p>
      *
      * @param newState The incoming block change to compare to change
-     * @param blockPos The block position to get the backing list from the multimap
+     * @param blockPos The packed block position to get the first change from the change log
      */
     @SuppressWarnings("unchecked")
-    private void associateBlockChangeForPosition(final IBlockState newState, final BlockPos blockPos) {
-        final List<SpongeBlockSnapshot> list = this.multimap.get(blockPos);
-        if (list != null && !list.isEmpty()) {
-            final SpongeBlockSnapshot originalSnapshot = list.get(0);
+    private void associateBlockChangeForPosition(final IBlockState newState, final long blockPos) {
+        final int first = this.changeLog.first(blockPos);
+        if (first != -1) {
             final PhaseContext<?> peek = PhaseTracker.getInstance().getCurrentContext();
-            final IBlockState currentState = (IBlockState) originalSnapshot.getState();
-            originalSnapshot.blockChange = ((IPhaseState) peek.state).associateBlockChangeWithSnapshot(peek, newState, newState.getBlock(), currentState, originalSnapshot, currentState.getBlock());
+            final IBlockState currentState = this.changeLog.getOriginal(first);
+            this.changeLog.setBlockChange(first, ((IPhaseState) peek.state).associateBlockChangeWithSnapshot(peek, newState, newState.getBlock(),
+                currentState, null, currentState.getBlock()));
         }
     }
 
@@ -212,15 +197,18 @@ private void associateBlockChangeForPosition(final IBlockState newState, final B
      * this list to be unmodifiable except by this object are as follows:
      * <ul>
      *     <li>Submitted {@link BlockSnapshot}s are to be added by the
-     *     {@link #put(BlockSnapshot, IBlockState)} method.</li>
+     *     {@link #put(BlockSnapshot, IBlockState)} method, or for plain
+     *     blocks, their states by the
+     *     {@link #put(WorldServer, BlockPos, IBlockState, IBlockState, BlockChangeFlag, BlockChange)}
+     *     method. The snapshots of the latter are built when this list
+     *     is accessed.</li>
      *     <li>Adding multiple {@link BlockSnapshot}s per {@link BlockPos}
-     *     results in an internal restructuring of storage such that a
-     *     {@link Multimap} is created to keep track of intermediary
-     *     {@link BlockSnapshot}s. By this nature, the list cannot be modified
+     *     keeps the intermediary {@link BlockSnapshot}s in the
+     *     {@link BlockChangeLog}. By this nature, the list cannot be modified
      *     except by this capture object.</li>
      *     <li>Removing a {@link BlockSnapshot} is only applicable via
      *     {@link #prune(BlockSnapshot)} or {@link #clear()}. This is to
-     *     allow sanity checking for multimap purposes and garbage cleanup
+     *     allow sanity checking for change log purposes and garbage cleanup
      *     when necessary.</li>
      *     <li>The creation of {@link ChangeBlockEvent}s requires a
      *     {@link Transaction} to be created, and plugins are only
@@ -233,7 +221,27 @@ private void associateBlockChangeForPosition(final IBlockState newState, final B
      * @return An unmodifiable list of first block originals being changed
      */
     public final List<SpongeBlockSnapshot> get() {
-        return this.snapshots == null ? Collections.emptyList() : Collections.unmodifiableList(this.snapshots);
+        if (this.originals == null) {
+            this.originals = new Originals();
+        }
+        return this.originals;
+    }
+
+    /**
+     * Gets the number of {@link BlockPos block positions} being changed,
+     * without building their snapshots.
+     *
+     * @return The number of captured positions
+     */
+    public int size() {
+        return this.changeLog == null ? 0 : this.changeLog.positionCount();
+    }
+
+    private List<SpongeBlockSnapshot> getFirsts() {
+        if (this.firsts == null) {
+            this.firsts = this.changeLog == null ? Collections.emptyList() : this.changeLog.getFirsts();
+        }
+        return this.firsts;
     }
 
     public final void prune(final BlockSnapshot snapshot) {
@@ -243,62 +251,33 @@ public final void prune(final BlockSnapshot snapshot) {
         // Start by figuring out the backing snapshot. In all likelyhood, we could just cast, but we want to be safe
         final SpongeBlockSnapshot backingSnapshot = getBackingSnapshot(snapshot);
         // Get the key of the block position, we know this is a pure block pos and not a mutable one too.
-        final BlockPos blockPos = backingSnapshot.getBlockPos();
-        // Check if we have a multi-pos
-        if (this.multimap != null) {
-            pruneFromMulti(backingSnapshot, blockPos);
-            return;
+        final long blockPos = backingSnapshot.getBlockPos().toLong();
+        if (this.changeLog != null && this.changeLog.remove(blockPos, backingSnapshot)) {
+            this.firsts = null;
         }
-        pruneSingle(backingSnapshot, blockPos);
         if (this.head != null) {
-            pruneTransaction(getBackingSnapshot(snapshot));
+            pruneTransaction(backingSnapshot);
         }
     }
 
-    private void pruneSingle(final SpongeBlockSnapshot backingSnapshot, final BlockPos blockPos) {
-        if (this.usedBlocks == null) {
-            // means we didn't actually capture???
-            throw new IllegalStateException("Expected to remove a single block change that was supposed to be captured....");
-        }
-        if (this.snapshots == null) {
-            // also means we didn't capture.... wtf is going on at this point?
-            throw new IllegalStateException("Expected to remove a single block change that was supposed to be captured....");
+    /**
+     * Prunes a change captured by
+     * {@link #put(WorldServer, BlockPos, IBlockState, IBlockState, BlockChangeFlag, BlockChange)}
+     * that was not applied to the world.
+     *
+     * @param pos The position
+     * @param originalState The original state
+     * @param newState The new state
+     */
+    public final void prune(final BlockPos pos, final IBlockState originalState, final IBlockState newState) {
+        if (this.changeLog == null || this.changeLog.isEmpty()) {
+            throw new IllegalStateException("Unexpected pruning on an empty capture object for position " + pos);
         }
-        this.usedBlocks.remove(blockPos);
-        this.snapshots.remove(backingSnapshot); // Should be the same snapshot used
-    }
-
-    private void pruneFromMulti(final SpongeBlockSnapshot backingSnapshot, final BlockPos blockPos) {
-        final List<SpongeBlockSnapshot> snapshots = this.multimap.get(blockPos);
-        if (snapshots != null) {
-            for (final Iterator<SpongeBlockSnapshot> iterator = snapshots.iterator(); iterator.hasNext(); ) {
-                final SpongeBlockSnapshot next = iterator.next();
-                if (next.getState().equals(backingSnapshot.getState())) {
-                    iterator.remove();
-                    break;
-                }
-            }
-            // If the list view is now empty, we need to prune the position from the multimap
-            if (snapshots.isEmpty()) {
-                this.multimap.removeAll(blockPos);
-                // And then prune the snapshot from the list of firsts
-                for (final Iterator<SpongeBlockSnapshot> firsts = this.snapshots.iterator(); firsts.hasNext(); ) {
-                    final SpongeBlockSnapshot next = firsts.next();
-                    if (next.equals(backingSnapshot)) {
-                        firsts.remove();
-                        // And if it's been found, remove the position from the used blocks as well.
-                        this.usedBlocks.remove(blockPos);
-                        break;
-                    }
-                }
-                if (this.snapshots.isEmpty()) {
-                    this.multimap = null;
-                }
-            }
+        if (this.changeLog.remove(pos.toLong(), originalState, newState)) {
+            this.firsts = null;
         }
     }
 
-
     private SpongeBlockSnapshot getBackingSnapshot(final BlockSnapshot snapshot) {
         final SpongeBlockSnapshot backingSnapshot;
         if (!(snapshot instanceof SpongeBlockSnapshot)) {
@@ -316,7 +295,7 @@ private SpongeBlockSnapshot getBackingSnapshot(final BlockSnapshot snapshot) {
      */
     @Override
     public final boolean isEmpty() {
-        return (this.snapshots == null || this.snapshots.isEmpty()) && this.head == null;
+        return !this.hasBlocksCaptured() && this.head == null;
     }
 
     /**
@@ -335,18 +314,14 @@ public final boolean isEmpty() {
      *
      * @param consumer The consumer to activate
      */
-    @SuppressWarnings("UnstableApiUsage") // Guava marks Multimaps.asMap as Beta features
     public final void acceptAndClearIfNotEmpty(final BiConsumer<List<? extends BlockSnapshot>, Map<BlockPos, List<BlockSnapshot>>> consumer) {
-        if (this.multimap != null) {
-            final List<? extends BlockSnapshot> blockSnapshots = get();
-            // Since multimaps provide a view when asMap is called, we need to recreate the collection
-            // of the map to pass into the consumer
-            final Map<BlockPos, List<SpongeBlockSnapshot>> view = Multimaps.asMap(this.multimap);
-            final Map<BlockPos, List<BlockSnapshot>> map = new LinkedHashMap<>(view.size());
-            for (final Map.Entry<BlockPos, List<SpongeBlockSnapshot>> entryView : view.entrySet()) {
-                map.put(entryView.getKey(), new ArrayList<>(entryView.getValue()));
-            }
-            this.multimap.clear(); // Clean captured lists before they get potentially contaminated by processing.
+        if (this.hasBlocksCaptured()) {
+            final List<? extends BlockSnapshot> blockSnapshots = new ArrayList<>(get());
+            // Group the logged snapshots per position to pass into the consumer
+            final Map<BlockPos, List<BlockSnapshot>> map = new LinkedHashMap<>();
+            this.changeLog.forEach((pos, snapshot) -> map.computeIfAbsent(snapshot.getBlockPos(), key -> new ArrayList<>()).add(snapshot));
+            this.changeLog.clear(); // Clean captured lists before they get potentially contaminated by processing.
+            this.firsts = null;
             consumer.accept(blockSnapshots, map); // Accept the list and map
         }
     }
@@ -545,17 +520,10 @@ public void cancelTransaction(final BlockSnapshot original) {
 
 
     public void clear() {
-        if (this.multimap != null) {
-            this.multimap.clear();
-            this.multimap = null;
-        }
-        if (this.snapshots != null) {
-            this.snapshots.clear();
-            this.snapshots = null;
-        }
-        if (this.usedBlocks != null) {
-            this.usedBlocks.clear();
+        if (this.changeLog != null) {
+            this.changeLog.clear();
         }
+        this.firsts = null;
         if (this.scheduledEvents != null) {
             this.scheduledEvents.clear();
         }
@@ -564,8 +532,8 @@ public void clear() {
     }
 
     public void restoreOriginals() {
-        if (this.snapshots != null && !this.snapshots.isEmpty()) {
-            for (final SpongeBlockSnapshot original : Lists.reverse(this.snapshots)) {
+        if (this.hasBlocksCaptured()) {
+            for (final SpongeBlockSnapshot original : Lists.reverse(this.getFirsts())) {
                 original.restore(true, BlockChangeFlags.NONE);
             }
             this.clear();
@@ -588,12 +556,12 @@ public Optional<Transaction<BlockSnapshot>> createTransaction(final SpongeBlockS
         final BlockSnapshot newSnapshot =
             ((WorldServerBridge) worldServer).bridge$createSnapshot(newState, newActualState, blockPos, BlockChangeFlags.NONE);
         // Up until this point, we can create a default Transaction
-        if (this.multimap != null) { // But we need to check if there's any intermediary block changes...
-            // And because multi is true, we can be sure the multimap is populated at least somewhere.
-            final List<SpongeBlockSnapshot> intermediary = this.multimap.get(blockPos);
+        if (this.changeLog != null) { // But we need to check if there's any intermediary block changes...
+            // And because multi is true, we can be sure the change log is populated at least somewhere.
+            final List<SpongeBlockSnapshot> intermediary = this.changeLog.get(blockPos.toLong());
             if (!intermediary.isEmpty() && intermediary.size() > 1) {
                 // We need to make a carbon copy of the list since it's technically a key view list
-                // within the multimap, so, if the multimap is cleared, at the very least, the list will
+                // within the change log, so, if the change log is cleared, at the very least, the list will
                 // not be cleared. Likewise, we also need to skip over the first element since the snapshots
                 // list will have that element anyways (we don't want to be providing duplicate snapshots
                 // for plugins to witness and come to expect that they are intermediary states, when they're still the original positions
@@ -615,7 +583,7 @@ public Optional<Transaction<BlockSnapshot>> createTransaction(final SpongeBlockS
     }
 
     public boolean trackEvent(final BlockPos pos, final BlockEventData blockEventData) {
-        if (this.usedBlocks != null && this.usedBlocks.contains(pos)) {
+        if (this.changeLog != null && this.changeLog.contains(pos.toLong())) {
             if (this.scheduledEvents == null) {
                 this.scheduledEvents = LinkedListMultimap.create();
             }
@@ -787,7 +755,7 @@ void getProxyOrCreate(final WorldServerBridge mixinWorldServer) {
 
     @Override
     public int hashCode() {
-        return Objects.hashCode(this.snapshots);
+        return Objects.hashCode(this.getFirsts());
     }
 
     @Override
@@ -799,13 +767,13 @@ public boolean equals(@Nullable final Object obj) {
             return false;
         }
         final MultiBlockCaptureSupplier other = (MultiBlockCaptureSupplier) obj;
-        return Objects.equals(this.multimap, other.multimap);
+        return Objects.equals(this.getFirsts(), other.getFirsts());
     }
 
     @Override
     public String toString() {
         return com.google.common.base.MoreObjects.toStringHelper(this)
-            .add("Captured", this.snapshots == null ? 0 : this.snapshots.size())
+            .add("Captured", this.size())
             .add("Head", this.head == null ? "null" : this.head)
             .toString();
     }
@@ -828,25 +796,18 @@ public boolean hasTransactions() {
     }
 
     public boolean hasBlocksCaptured() {
-        return !(this.snapshots == null || this.snapshots.isEmpty());
+        return this.changeLog != null && !this.changeLog.isEmpty();
     }
 
     public void reset() {
-        if (this.multimap != null) {
+        if (this.changeLog != null) {
             // shouldn't but whatever, it's the end of a phase.
-            this.multimap.clear();
-            this.multimap = null;
+            this.changeLog.clear();
         }
+        this.firsts = null;
         if (this.scheduledEvents != null) {
             this.scheduledEvents.clear();
         }
-        if (this.snapshots != null) {
-            this.snapshots.clear();
-            this.snapshots = null;
-        }
-        if (this.usedBlocks != null) {
-            this.usedBlocks.clear();
-        }
         this.clearProxies();
         this.transactionIndex = -1;
         this.snapshotIndex = -1;
@@ -863,4 +824,22 @@ public void reset() {
         }
 
     }
+
+    /**
+     * A view of the first snapshot of each captured position, the snapshots
+     * are only built once the view is accessed.
+     */
+    private final class Originals extends AbstractList<SpongeBlockSnapshot> {
+
+        @Override
+        public SpongeBlockSnapshot get(final int index) {
+            return MultiBlockCaptureSupplier.this.getFirsts().get(index);
+        }
+
+        @Override
+        public int size() {
+            return MultiBlockCaptureSupplier.this.size();
+        }
+
+    }
 }
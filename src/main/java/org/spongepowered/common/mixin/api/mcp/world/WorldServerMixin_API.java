@@ -40,7 +40,6 @@
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.management.PlayerChunkMap;
 import net.minecraft.server.management.PlayerChunkMapEntry;
-import net.minecraft.server.management.PlayerList;
 import net.minecraft.util.ClassInheritanceMultiMap;
 import net.minecraft.util.SoundEvent;
 import net.minecraft.util.math.BlockPos;
@@ -520,15 +519,8 @@ public void spawnParticles(final ParticleEffect particleEffect, final Vector3d p
         final List<Packet<?>> packets = SpongeParticleHelper.toPackets((SpongeParticleEffect) particleEffect, position);
 
         if (!packets.isEmpty()) {
-            final PlayerList playerList = this.server.getPlayerList();
-
-            final double x = position.getX();
-            final double y = position.getY();
-            final double z = position.getZ();
-
-            for (final Packet<?> packet : packets) {
-                playerList.sendToAllNearExcept(null, x, y, z, radius, ((WorldServerBridge) this).bridge$getDimensionId(), packet);
-            }
+            ((WorldServerBridge) this).bridge$getNearbyPlayerIndex().sendToPlayersNear(null, position.getX(), position.getY(), position.getZ(),
+                radius, packets);
         }
     }
 
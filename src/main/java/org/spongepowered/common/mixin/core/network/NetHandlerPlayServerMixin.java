@@ -121,6 +121,7 @@
 import org.spongepowered.common.bridge.network.NetHandlerPlayServerBridge;
 import org.spongepowered.common.bridge.packet.SPacketResourcePackSendBridge;
 import org.spongepowered.common.bridge.server.management.PlayerInteractionManagerBridge;
+import org.spongepowered.common.bridge.world.WorldServerBridge;
 import org.spongepowered.common.entity.EntityUtil;
 import org.spongepowered.common.entity.player.tab.SpongeTabList;
 import org.spongepowered.common.event.ShouldFire;
@@ -377,6 +378,13 @@ public void processCreativeInventoryAction(final CPacketCreativeInventoryAction
         this.impl$justTeleported = true;
     }
 
+    @Inject(method = "setPlayerLocation(DDDFFLjava/util/Set;)V", at = @At(value = "RETURN"))
+    private void impl$updateNearbyPlayerIndex(
+        final double x, final double y, final double z, final float yaw, final float pitch, final Set<?> relativeSet, final CallbackInfo ci) {
+        // A teleport only reaches the player chunk map with the next move of the client
+        ((WorldServerBridge) this.player.getServerWorld()).bridge$getNearbyPlayerIndex().update(this.player);
+    }
+
     /**
      * @author gabizou - June 22nd, 2016
      * @reason Sponge has to throw the movement events before we consider moving the player and there's
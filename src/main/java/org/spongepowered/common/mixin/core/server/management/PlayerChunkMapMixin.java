@@ -24,6 +24,7 @@
  */
 package org.spongepowered.common.mixin.core.server.management;
 
+import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.server.management.PlayerChunkMap;
 import net.minecraft.server.management.PlayerChunkMapEntry;
 import net.minecraft.world.WorldServer;
@@ -33,7 +34,9 @@
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.Redirect;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.common.bridge.server.management.PlayerChunkMapBridge;
 import org.spongepowered.common.bridge.server.management.PlayerChunkMapEntryBridge;
 import org.spongepowered.common.bridge.world.WorldServerBridge;
@@ -61,13 +64,28 @@ public abstract class PlayerChunkMapMixin implements PlayerChunkMapBridge {
         return this.playerViewRadius;
     }
 
+    @Inject(method = "addPlayer", at = @At("RETURN"))
+    private void impl$addToNearbyPlayerIndex(final EntityPlayerMP player, final CallbackInfo ci) {
+        ((WorldServerBridge) this.world).bridge$getNearbyPlayerIndex().add(player);
+    }
+
+    @Inject(method = "removePlayer", at = @At("RETURN"))
+    private void impl$removeFromNearbyPlayerIndex(final EntityPlayerMP player, final CallbackInfo ci) {
+        ((WorldServerBridge) this.world).bridge$getNearbyPlayerIndex().remove(player);
+    }
+
+    @Inject(method = "updateMovingPlayer", at = @At("HEAD"))
+    private void impl$updateNearbyPlayerIndex(final EntityPlayerMP player, final CallbackInfo ci) {
+        ((WorldServerBridge) this.world).bridge$getNearbyPlayerIndex().update(player);
+    }
+
     @Redirect(method = "removeEntry", at = @At(value = "INVOKE", target = "Lnet/minecraft/world/gen/ChunkProviderServer;"
             + "queueUnload(Lnet/minecraft/world/chunk/Chunk;)V"))
     private void impl$ScheduleUnloadWithChunkGC(final ChunkProviderServer chunkProvider, final Chunk chunk) {
         // We remove the ability for a PlayerChunkMap to queue chunks for unload to prevent chunk thrashing
         // where the same chunks repeatedly unload and load. This is caused by a player moving in and out of the same chunks.
-        // Instead, the Chunk GC will now be responsible for going through loaded chunks and queuing any chunk where no player
-        // is within view distance or a spawn chunk is force loaded. However, if the Chunk GC is disabled then we will fall back to vanilla
+        // Instead, the Chunk GC will now be responsible for checking the chunks that left the view of all players and queuing
+        // any chunk where no player is within view distance or a spawn chunk is force loaded. However, if the Chunk GC is disabled then we will fall back to vanilla
         // and queue the chunk to be unloaded.
         // -- blood
 
@@ -76,6 +94,7 @@ public abstract class PlayerChunkMapMixin implements PlayerChunkMapBridge {
             chunkProvider.queueUnload(chunk);
         } else if (!((ChunkBridge) chunk).bridge$isPersistedChunk() && this.world.provider.canDropChunk(chunk.x, chunk.z)) {
             ((ChunkBridge) chunk).bridge$setScheduledForUnload(System.currentTimeMillis());
+            ((WorldServerBridge) this.world).bridge$addChunkGCCandidate(chunk.x, chunk.z);
         }
     }
 }
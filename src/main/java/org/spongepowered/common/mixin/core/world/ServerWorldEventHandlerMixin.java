@@ -25,8 +25,10 @@
 package org.spongepowered.common.mixin.core.world;
 
 import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.network.Packet;
 import net.minecraft.network.play.server.SPacketCustomSound;
 import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.management.PlayerList;
 import net.minecraft.util.SoundCategory;
 import net.minecraft.world.DimensionType;
 import net.minecraft.world.ServerWorldEventHandler;
@@ -57,10 +59,18 @@ private int getDimensionForSoundEffects(DimensionType dimensionType) {
         return ((WorldServerBridge) this.world).bridge$getDimensionId();
     }
 
+    // Only look at the players of this world that are near the sound or effect, instead of every player on the server
+    @Redirect(method = {"playSoundToAllNearExcept", "playEvent"}, at = @At(value = "INVOKE", target = "Lnet/minecraft/server/management/PlayerList;"
+            + "sendToAllNearExcept(Lnet/minecraft/entity/player/EntityPlayer;DDDDILnet/minecraft/network/Packet;)V"))
+    private void impl$sendToNearbyPlayers(PlayerList playerList, @Nullable EntityPlayer except, double x, double y, double z, double radius,
+            int dimension, Packet<?> packet) {
+        ((WorldServerBridge) this.world).bridge$getNearbyPlayerIndex().sendToPlayersNear(except, x, y, z, radius, packet);
+    }
+
     @Override
     public void bridge$playCustomSoundToAllNearExcept(@Nullable EntityPlayer player, String soundIn, SoundCategory category, double x, double y, double z,
             float volume, float pitch) {
-        this.server.getPlayerList().sendToAllNearExcept(player, x, y, z, volume > 1.0F ? (double)(16.0F * volume) : 16.0D,
-                ((WorldServerBridge) this.world).bridge$getDimensionId(), new SPacketCustomSound(soundIn, category, x, y, z, volume, pitch));
+        ((WorldServerBridge) this.world).bridge$getNearbyPlayerIndex().sendToPlayersNear(player, x, y, z,
+                volume > 1.0F ? (double)(16.0F * volume) : 16.0D, new SPacketCustomSound(soundIn, category, x, y, z, volume, pitch));
     }
 }
@@ -30,6 +30,8 @@
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Predicate;
 import com.google.common.collect.Lists;
+import it.unimi.dsi.fastutil.longs.Long2IntLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockEventData;
 import net.minecraft.block.BlockPistonBase;
@@ -56,6 +58,7 @@
 import net.minecraft.util.ReportedException;
 import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.DifficultyInstance;
@@ -177,6 +180,7 @@
 import org.spongepowered.common.util.Constants;
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.util.VecHelper;
+import org.spongepowered.common.world.NearbyPlayerIndex;
 import org.spongepowered.common.world.SpongeLocatableBlockBuilder;
 import org.spongepowered.common.world.WorldManager;
 import org.spongepowered.common.world.border.PlayerBorderListener;
@@ -211,6 +215,10 @@ public abstract class WorldServerMixin extends WorldMixin implements WorldServer
     private int impl$chunkGCLoadThreshold = 0;
     private int impl$chunkGCTickInterval = Constants.World.CHUNK_GC_TICK_INTERVAL;
     private int impl$chunkLoadCount = 0;
+    private long impl$chunkGCMaxTimePerTick = Constants.World.CHUNK_GC_MAX_TIME_PER_TICK;
+    // The chunk positions that may have leaked, mapped to the gc tick they were added at
+    private final Long2IntLinkedOpenHashMap impl$chunkGCCandidates = new Long2IntLinkedOpenHashMap();
+    private final NearbyPlayerIndex impl$nearbyPlayerIndex = new NearbyPlayerIndex();
     private long impl$chunkUnloadDelay = Constants.World.CHUNK_UNLOAD_DELAY;
     private boolean impl$weatherThunderEnabled = true;
     private boolean impl$weatherIceAndSnowEnabled = true;
@@ -278,6 +286,7 @@ private void onSetWorld(final WorldProvider worldProvider, final World worldIn)
         final WorldCategory worldCategory = ((WorldInfoBridge) this.getWorldInfo()).bridge$getConfigAdapter().getConfig().getWorld();
         this.impl$chunkGCLoadThreshold = worldCategory.getChunkLoadThreshold();
         this.impl$chunkGCTickInterval = worldCategory.getTickInterval();
+        this.impl$chunkGCMaxTimePerTick = (long) (worldCategory.getChunkGCMaxTimePerTick() * 1000000);
         this.impl$weatherIceAndSnowEnabled = worldCategory.getWeatherIceAndSnow();
         this.impl$weatherThunderEnabled = worldCategory.getWeatherThunder();
         this.updateEntityTick = 0;
@@ -368,6 +377,7 @@ private void onSetWorld(final WorldProvider worldProvider, final World worldIn)
         final WorldCategory worldCategory = configAdapter.getConfig().getWorld();
         this.impl$chunkGCLoadThreshold = worldCategory.getChunkLoadThreshold();
         this.impl$chunkGCTickInterval = worldCategory.getTickInterval();
+        this.impl$chunkGCMaxTimePerTick = (long) (worldCategory.getChunkGCMaxTimePerTick() * 1000000);
         this.impl$weatherIceAndSnowEnabled = worldCategory.getWeatherIceAndSnow();
         this.impl$weatherThunderEnabled = worldCategory.getWeatherThunder();
         this.impl$chunkUnloadDelay = worldCategory.getChunkUnloadDelay() * 1000;
@@ -1116,35 +1126,64 @@ protected TileEntity getQueuedRemovedTileFromProxy(final BlockPos pos) {
         return this.proxyBlockAccess.getQueuedTileForRemoval(pos);
     }
 
+    @Override
+    public NearbyPlayerIndex bridge$getNearbyPlayerIndex() {
+        return this.impl$nearbyPlayerIndex;
+    }
+
     // Chunk GC
+    @Override
+    public void bridge$addChunkGCCandidate(final int chunkX, final int chunkZ) {
+        if (this.impl$chunkGCTickInterval > 0) {
+            this.impl$chunkGCCandidates.putIfAbsent(ChunkPos.asLong(chunkX, chunkZ), this.impl$chunkGCTickCount);
+        }
+    }
+
     @Override
     public void bridge$doChunkGC() {
         this.impl$chunkGCTickCount++;
 
+        final ChunkProviderServer chunkProviderServer = this.getChunkProvider();
         if (this.impl$chunkLoadCount >= this.impl$chunkGCLoadThreshold && this.impl$chunkGCLoadThreshold > 0) {
+            // Too many chunks were loaded, force every loaded chunk to be checked as soon as possible
             this.impl$chunkLoadCount = 0;
-        } else if (this.impl$chunkGCTickCount >= this.impl$chunkGCTickInterval && this.impl$chunkGCTickInterval > 0) {
-            this.impl$chunkGCTickCount = 0;
-        } else {
+            final int due = this.impl$chunkGCTickCount - this.impl$chunkGCTickInterval;
+            for (final Chunk chunk : chunkProviderServer.getLoadedChunks()) {
+                this.impl$chunkGCCandidates.putAndMoveToFirst(ChunkPos.asLong(chunk.x, chunk.z), due);
+            }
+        }
+        if (this.impl$chunkGCTickInterval <= 0 || this.impl$chunkGCCandidates.isEmpty()) {
             return;
         }
 
-        final ChunkProviderServer chunkProviderServer = this.getChunkProvider();
-        for (final net.minecraft.world.chunk.Chunk chunk : chunkProviderServer.getLoadedChunks()) {
-            final ChunkBridge spongeChunk = (ChunkBridge) chunk;
-            if (chunk.unloadQueued || spongeChunk.bridge$isPersistedChunk() || !this.provider.canDropChunk(chunk.x, chunk.z)) {
-                continue;
+        final Long2ObjectMap<Chunk> loadedChunks = ((ChunkProviderServerBridge) chunkProviderServer).accessor$getLoadedChunks();
+        final PlayerChunkMapBridge playerChunkMap = (PlayerChunkMapBridge) this.getPlayerChunkMap();
+        final long stopTime = System.nanoTime() + this.impl$chunkGCMaxTimePerTick;
+        do {
+            final long chunkPos = this.impl$chunkGCCandidates.firstLongKey();
+            // Candidates are ordered by the tick they were added at, so no later candidate is due either
+            if (this.impl$chunkGCTickCount - this.impl$chunkGCCandidates.getInt(chunkPos) < this.impl$chunkGCTickInterval) {
+                break;
             }
-
-            // If a player is currently using the chunk, skip it
-            if (((PlayerChunkMapBridge) this.getPlayerChunkMap()).bridge$isChunkInUse(chunk.x, chunk.z)) {
-                continue;
+            this.impl$chunkGCCandidates.removeFirstInt();
+
+            this.impl$timings.doChunkGCCheck.startTiming();
+            final Chunk chunk = loadedChunks.get(chunkPos);
+            final boolean leaked = chunk != null
+                && !chunk.unloadQueued
+                && !((ChunkBridge) chunk).bridge$isPersistedChunk()
+                && this.provider.canDropChunk(chunk.x, chunk.z)
+                // If a player is currently using the chunk, it didn't leak
+                && !playerChunkMap.bridge$isChunkInUse(chunk.x, chunk.z);
+            this.impl$timings.doChunkGCCheck.stopTiming();
+
+            if (leaked) {
+                this.impl$timings.doChunkGCQueueUnload.startTiming();
+                chunkProviderServer.queueUnload(chunk);
+                this.impl$timings.doChunkGCQueueUnload.stopTiming();
+                SpongeHooks.logChunkGCQueueUnload((WorldServer) (Object) this, chunk);
             }
-
-            // If we reach this point the chunk leaked so queue for unload
-            chunkProviderServer.queueUnload(chunk);
-            SpongeHooks.logChunkGCQueueUnload((WorldServer) (Object) this, chunk);
-        }
+        } while (!this.impl$chunkGCCandidates.isEmpty() && System.nanoTime() < stopTime);
     }
 
 
@@ -41,6 +41,7 @@
 import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.EnumSkyBlock;
 import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
 import net.minecraft.world.biome.Biome;
 import net.minecraft.world.biome.BiomeProvider;
 import net.minecraft.world.chunk.ChunkPrimer;
@@ -80,8 +81,10 @@
 import org.spongepowered.common.bridge.world.chunk.ChunkBridge;
 import org.spongepowered.common.bridge.world.chunk.ChunkProviderBridge;
 import org.spongepowered.common.entity.PlayerTracker;
+import org.spongepowered.common.entity.PlayerTrackerTable;
 import org.spongepowered.common.event.ShouldFire;
 import org.spongepowered.common.event.SpongeCommonEventFactory;
+import org.spongepowered.common.event.tracking.CapturePlan;
 import org.spongepowered.common.event.tracking.IPhaseState;
 import org.spongepowered.common.event.tracking.PhaseContext;
 import org.spongepowered.common.event.tracking.PhaseTracker;
@@ -91,12 +94,12 @@
 import org.spongepowered.common.util.Constants;
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.util.VecHelper;
+import org.spongepowered.common.world.BlockChange;
 import org.spongepowered.common.world.gen.WorldGenConstants;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -166,7 +169,17 @@ public abstract class ChunkMixin implements ChunkBridge, CacheKeyBridge {
 
     @Override
     public void bridge$setPersistedChunk(final boolean flag) {
+        final boolean released = this.impl$persistedChunk && !flag && this.world instanceof WorldServerBridge;
         this.impl$persistedChunk = flag;
+        if (released) {
+            if (this.unloadQueued) {
+                // Persisted chunks are dropped from the unload queue, so queue it again
+                ((WorldServer) this.world).getChunkProvider().queueUnload((net.minecraft.world.chunk.Chunk) (Object) this);
+            } else {
+                // The chunk is no longer force loaded, so it may have leaked
+                ((WorldServerBridge) this.world).bridge$addChunkGCCandidate(this.x, this.z);
+            }
+        }
         // update persisted status for entities and TE's
         for (final TileEntity tileEntity : this.tileEntities.values()) {
             ((ActiveChunkReferantBridge) tileEntity).bridge$setActiveChunk(this);
@@ -243,6 +256,10 @@ public abstract class ChunkMixin implements ChunkBridge, CacheKeyBridge {
         if (!this.world.isRemote) {
             SpongeHooks.logChunkLoad(this.world, ((Chunk) this).getPosition());
         }
+        if (this.world instanceof WorldServerBridge) {
+            // Chunks loaded outside of the view of a player are only cleaned up by the chunk gc
+            ((WorldServerBridge) this.world).bridge$addChunkGCCandidate(this.x, this.z);
+        }
     }
 
     @Inject(method = "onUnload", at = @At("RETURN"))
@@ -394,9 +411,18 @@ public IBlockState setBlockState(final BlockPos pos, final IBlockState state) {
         final TileEntity existing = this.getTileEntity(pos, net.minecraft.world.chunk.Chunk.EnumCreateEntityType.CHECK);
         final PhaseContext<?> peek = isFake ? null : PhaseTracker.getInstance().getCurrentContext();
         final IPhaseState state = isFake ? null : peek.state;
-        final SpongeBlockSnapshot snapshot = (isFake
-                                              || !ShouldFire.CHANGE_BLOCK_EVENT
-                                              || !state.shouldCaptureBlockChangeOrSkip(peek, pos, currentState, newState, flag))
+        final boolean capturesBlockChanges = !isFake && CapturePlan.get().capturesBlockChanges();
+        final boolean capturesChange = capturesBlockChanges && state.shouldCaptureBlockChangeOrSkip(peek, pos, currentState, newState, flag);
+        // Plain blocks only have their states logged when they are bulk captured without block transactions,
+        // their snapshots are built once the captured changes are processed. Tile entities and tracked
+        // owners or notifiers still need a snapshot taken before the change.
+        final boolean capturesStatesOnly = capturesChange
+                                           && existing == null
+                                           && state.doesBulkBlockCapture(peek)
+                                           && !state.hasSpecificBlockProcess(peek)
+                                           && !this.bridge$getBlockOwnerUUID(pos).isPresent()
+                                           && !this.bridge$getBlockNotifierUUID(pos).isPresent();
+        final SpongeBlockSnapshot snapshot = (!capturesChange || capturesStatesOnly)
                                              ? null
                                              : createSpongeBlockSnapshot(currentState, currentState, pos, flag, existing);
         final BlockTransaction.ChangeBlock transaction;
@@ -413,7 +439,7 @@ public IBlockState setBlockState(final BlockPos pos, final IBlockState state) {
             // Sponge - Redirect phase checks to use bridge$isFake in the event we have mods worlds doing silly things....
             // i.e. fake worlds. Likewise, avoid creating unnecessary snapshots/transactions
             // or triggering unprocessed captures when there are no events being thrown.
-            if (!isFake && ShouldFire.CHANGE_BLOCK_EVENT && snapshot != null) {
+            if (capturesBlockChanges && snapshot != null) {
 
                 // Mark the tile entity as captured so when it is being removed during the chunk setting, it won't be
                 // re-captured again.
@@ -443,6 +469,13 @@ public IBlockState setBlockState(final BlockPos pos, final IBlockState state) {
                     }
                 }
 
+            } else if (capturesStatesOnly) {
+                transaction = null;
+                final BlockChange blockChange = ((IPhaseState) peek.state).associateBlockChangeWithSnapshot(peek, newState, newBlock, currentState, null, currentBlock);
+                peek.getCapturedBlockSupplier().put((WorldServer) this.world, pos, currentState, newState, flag, blockChange);
+                if (currentBlock != newBlock) {
+                    currentBlock.breakBlock(this.world, pos, currentState);
+                }
             } else {
                 transaction = null;
                 // Sponge - Forge adds this change for block changes to only fire events when necessary
@@ -481,6 +514,8 @@ public IBlockState setBlockState(final BlockPos pos, final IBlockState state) {
                 } else {
                     peek.setSingleSnapshot(null);
                 }
+            } else if (capturesStatesOnly) {
+                peek.getCapturedBlockSupplier().prune(pos, currentState, newState);
             }
             return null;
         }
@@ -514,7 +549,7 @@ public IBlockState setBlockState(final BlockPos pos, final IBlockState state) {
             ((WorldServerBridge) this.world).bridge$getProxyAccess().onChunkChanged(pos, newState);
         }
         if (!isFake && currentBlock != newBlock) {
-            final boolean isBulkCapturing = ShouldFire.CHANGE_BLOCK_EVENT && state.doesBulkBlockCapture(peek);
+            final boolean isBulkCapturing = capturesBlockChanges && state.doesBulkBlockCapture(peek);
 
             // Sponge start - Ignore block activations during block placement captures unless it's
             // a BlockContainer. Prevents blocks such as TNT from activating when cancelled.
@@ -648,11 +683,9 @@ private SpongeBlockSnapshot createSpongeBlockSnapshot(
     @Override
     public void bridge$addTrackedBlockPosition(final Block block, final BlockPos pos, final User user, final PlayerTracker.Type trackerType) { }
 
+    @Nullable
     @Override
-    public Map<Integer, PlayerTracker> bridge$getTrackedIntPlayerPositions() { return Collections.emptyMap(); }
-
-    @Override
-    public Map<Short, PlayerTracker> bridge$getTrackedShortPlayerPositions() { return Collections.emptyMap(); }
+    public PlayerTrackerTable bridge$getTrackedPlayerPositions() { return null; }
 
     @Override
     public Optional<User> bridge$getBlockOwner(final BlockPos pos) { return Optional.empty(); }
@@ -673,10 +706,7 @@ private SpongeBlockSnapshot createSpongeBlockSnapshot(
     public void bridge$setBlockCreator(final BlockPos pos, @Nullable final UUID uuid) { }
 
     @Override
-    public void bridge$setTrackedIntPlayerPositions(final Map<Integer, PlayerTracker> trackedPositions) { }
-
-    @Override
-    public void bridge$setTrackedShortPlayerPositions(final Map<Short, PlayerTracker> trackedPositions) { }
+    public void bridge$setTrackedPlayerPositions(final PlayerTrackerTable trackedPositions) { }
 
     // Continuing the rest of the implementation
 
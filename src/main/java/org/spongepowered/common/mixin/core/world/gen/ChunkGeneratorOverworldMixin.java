@@ -88,10 +88,14 @@ public abstract class ChunkGeneratorOverworldMixin implements PopulatorProviderB
     @Shadow private Biome[] biomesForGeneration;
 
     @Nullable private BiomeGenerator impl$biomegen;
+    private long impl$seed;
+    @Nullable private String impl$generatorOptions;
     private boolean impl$isVanilla = WorldGenConstants.isValid((IChunkGenerator) this, GenerationPopulator.class);
 
     @Inject(method = "<init>", at = @At("RETURN"))
     private void impl$setSettings(final net.minecraft.world.World worldIn, final long p_i45636_2_, final boolean p_i45636_4_, final String p_i45636_5_, final CallbackInfo ci) {
+        this.impl$seed = p_i45636_2_;
+        this.impl$generatorOptions = p_i45636_5_;
         if (this.settings == null) {
             this.settings = new ChunkGeneratorSettings.Factory().build();
         }
@@ -102,6 +106,19 @@ public abstract class ChunkGeneratorOverworldMixin implements PopulatorProviderB
         this.impl$biomegen = biomes;
     }
 
+    @Nullable
+    @Override
+    public ChunkGeneratorOverworld bridge$copyGenerator() {
+        if (((Object) this).getClass() != ChunkGeneratorOverworld.class) {
+            return null;
+        }
+        final ChunkGeneratorOverworld copy = new ChunkGeneratorOverworld(this.world, this.impl$seed, this.mapFeaturesEnabled, this.impl$generatorOptions);
+        if (this.impl$biomegen != null) {
+            ((ChunkGeneratorOverworldBridge) copy).bridge$setBiomeGenerator(this.impl$biomegen);
+        }
+        return copy;
+    }
+
     @Override
     public void bridge$addPopulators(final WorldGenerator generator) {
         if (this.settings.useCaves) {
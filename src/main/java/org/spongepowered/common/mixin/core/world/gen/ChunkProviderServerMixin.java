@@ -36,6 +36,7 @@
 import net.minecraft.world.gen.IChunkGenerator;
 import org.spongepowered.api.world.SerializationBehaviors;
 import org.spongepowered.api.world.storage.WorldProperties;
+import org.spongepowered.asm.lib.Opcodes;
 import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Mutable;
@@ -61,14 +62,15 @@
 import org.spongepowered.common.event.tracking.PhaseContext;
 import org.spongepowered.common.event.tracking.PhaseTracker;
 import org.spongepowered.common.event.tracking.phase.generation.GenerationPhase;
+import org.spongepowered.common.relocate.co.aikar.timings.WorldTimingsHandler;
 import org.spongepowered.common.util.CachedLong2ObjectMap;
 import org.spongepowered.common.util.Constants;
+import org.spongepowered.common.world.ChunkUnloadQueue;
 import org.spongepowered.common.world.SpongeEmptyChunk;
 import org.spongepowered.common.world.storage.WorldStorageUtil;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
-import java.util.Iterator;
 import java.util.concurrent.CompletableFuture;
 
 import javax.annotation.Nullable;
@@ -81,6 +83,7 @@ public abstract class ChunkProviderServerMixin implements ChunkProviderServerBri
     private boolean impl$forceChunkRequests = false;
     private long impl$chunkUnloadDelay = Constants.World.DEFAULT_CHUNK_UNLOAD_DELAY;
     private int impl$maxChunkUnloads = Constants.World.MAX_CHUNK_UNLOADS;
+    private final ChunkUnloadQueue impl$unloadQueue = new ChunkUnloadQueue();
 
     @Shadow @Final private WorldServer world;
     @Shadow @Final private IChunkLoader chunkLoader;
@@ -131,7 +134,8 @@ public abstract class ChunkProviderServerMixin implements ChunkProviderServerBri
 
     /**
      * @author blood - October 25th, 2016
-     * @reason Removes usage of droppedChunksSet in favor of unloaded flag.
+     * @reason Removes usage of droppedChunksSet in favor of unloaded flag
+     * and a queue ordered by the unload deadline of the chunks.
      *
      * @param chunkIn The chunk to queue
      */
@@ -140,12 +144,41 @@ public void queueUnload(final Chunk chunkIn)
     {
         if (!((ChunkBridge) chunkIn).bridge$isPersistedChunk() && this.world.provider.canDropChunk(chunkIn.x, chunkIn.z))
         {
-            // Sponge - we avoid using the queue and simply check the unloaded flag during unloads
+            // Sponge - we avoid using the droppedChunksSet and queue the chunk by its unload deadline instead
             //this.droppedChunksSet.add(Long.valueOf(ChunkPos.asLong(chunkIn.x, chunkIn.z)));
             chunkIn.unloadQueued = true;
+            this.impl$unloadQueue.add(chunkIn, this.impl$getUnloadDeadline(chunkIn));
         }
     }
 
+    @Redirect(method = "getLoadedChunk",
+        at = @At(
+            value = "FIELD",
+            target = "Lnet/minecraft/world/chunk/Chunk;unloadQueued:Z",
+            opcode = Opcodes.PUTFIELD))
+    private void impl$RemoveFromUnloadQueue(final Chunk chunk, final boolean unloadQueued) {
+        if (chunk.unloadQueued && !unloadQueued && this.impl$unloadQueue.remove(chunk)) {
+            // The chunk gc has to check the chunk again, since it is no longer queued
+            ((WorldServerBridge) this.world).bridge$addChunkGCCandidate(chunk.x, chunk.z);
+        }
+        chunk.unloadQueued = unloadQueued;
+    }
+
+    /**
+     * Gets the time at which the chunk may be unloaded. Chunks that were
+     * never scheduled by the player chunk map are due right away.
+     *
+     * @param chunk The chunk
+     * @return The unload deadline in milliseconds
+     */
+    private long impl$getUnloadDeadline(final Chunk chunk) {
+        final long scheduled = ((ChunkBridge) chunk).bridge$getScheduledForUnload();
+        if (this.impl$chunkUnloadDelay <= 0 || scheduled == -1) {
+            return 0;
+        }
+        return scheduled + this.impl$chunkUnloadDelay;
+    }
+
 
 
     @Redirect(method = "provideChunk",
@@ -259,8 +292,8 @@ public void queueUnload(final Chunk chunkIn)
     /**
      * @author blood - October 20th, 2016
      * @reason Refactors entire method to not use the droppedChunksSet by
-     * simply looping through all loaded chunks and determining whether it
-     * can unload or not.
+     * only polling the chunks whose unload deadline has passed and
+     * determining whether they can unload or not.
      *
      * @return true if unload queue was processed
      */
@@ -269,34 +302,74 @@ public boolean tick()
     {
         if (!this.world.disableLevelSaving && !((WorldBridge) this.world).bridge$isFake())
         {
-            ((WorldServerBridge) this.world).bridge$getTimingsHandler().doChunkUnload.startTiming();
-            final Iterator<Chunk> iterator = this.loadedChunks.values().iterator();
+            final WorldTimingsHandler timings = ((WorldServerBridge) this.world).bridge$getTimingsHandler();
+            timings.doChunkUnload.startTiming();
             int chunksUnloaded = 0;
             final long now = System.currentTimeMillis();
-            while (chunksUnloaded < this.impl$maxChunkUnloads && iterator.hasNext()) {
-                final Chunk chunk = iterator.next();
+            while (chunksUnloaded < this.impl$maxChunkUnloads) {
+                timings.doChunkUnloadQueue.startTiming();
+                final Chunk chunk = this.impl$unloadQueue.pollDue(now);
+                if (chunk == null) {
+                    timings.doChunkUnloadQueue.stopTiming();
+                    break;
+                }
                 final ChunkBridge spongeChunk = (ChunkBridge) chunk;
-                if (chunk != null && chunk.unloadQueued && !spongeChunk.bridge$isPersistedChunk()) {
-                    if (this.bridge$getChunkUnloadDelay() > 0) {
-                        if ((now - spongeChunk.bridge$getScheduledForUnload()) < this.impl$chunkUnloadDelay) {
-                            continue;
-                        }
-                        spongeChunk.bridge$setScheduledForUnload(-1);
-                    }
-                    chunk.onUnload();
-                    this.saveChunkData(chunk);
-                    this.saveChunkExtraData(chunk);
-                    iterator.remove();
-                    chunksUnloaded++;
+                final long chunkPos = ChunkPos.asLong(chunk.x, chunk.z);
+                // The chunk may have been reactivated or unloaded by other means since it was queued
+                if (!chunk.unloadQueued || this.loadedChunks.get(chunkPos) != chunk) {
+                    timings.doChunkUnloadQueue.stopTiming();
+                    continue;
                 }
+                // Persisted chunks leave the queue, they are queued again once they
+                // stop being persisted, see ChunkMixin#bridge$setPersistedChunk
+                if (spongeChunk.bridge$isPersistedChunk()) {
+                    timings.doChunkUnloadQueue.stopTiming();
+                    continue;
+                }
+                // Chunks that are held back for a short while are checked again next tick
+                if (this.impl$isUnloadHeldBack(chunk)) {
+                    this.impl$unloadQueue.add(chunk, now + 1);
+                    timings.doChunkUnloadQueue.stopTiming();
+                    continue;
+                }
+                // The chunk may have been rescheduled since it was queued
+                final long deadline = this.impl$getUnloadDeadline(chunk);
+                if (deadline > now) {
+                    this.impl$unloadQueue.add(chunk, deadline);
+                    timings.doChunkUnloadQueue.stopTiming();
+                    continue;
+                }
+                timings.doChunkUnloadQueue.stopTiming();
+                if (this.impl$chunkUnloadDelay > 0) {
+                    spongeChunk.bridge$setScheduledForUnload(-1);
+                }
+                timings.doChunkUnloadSave.startTiming();
+                chunk.onUnload();
+                this.saveChunkData(chunk);
+                this.saveChunkExtraData(chunk);
+                timings.doChunkUnloadSave.stopTiming();
+                this.loadedChunks.remove(chunkPos);
+                chunksUnloaded++;
             }
-            ((WorldServerBridge) this.world).bridge$getTimingsHandler().doChunkUnload.stopTiming();
+            timings.doChunkUnload.stopTiming();
         }
 
         this.chunkLoader.chunkTick();
         return false;
     }
 
+    /**
+     * Gets whether the queued chunk has to stay loaded for a short while
+     * longer, the async lighting optimization redirects this to hold back
+     * chunks with pending light updates.
+     *
+     * @param chunk The queued chunk
+     * @return True if the chunk can't be unloaded yet
+     */
+    private boolean impl$isUnloadHeldBack(final Chunk chunk) {
+        return false;
+    }
+
     // Copy of getLoadedChunk without marking chunk active.
     // This allows the chunk to unload if currently queued.
     @Override
@@ -340,6 +413,7 @@ public boolean tick()
         }
 
         this.loadedChunks.remove(ChunkPos.asLong(chunk.x, chunk.z));
+        this.impl$unloadQueue.remove(chunk);
         ((ChunkBridge) chunk).bridge$setScheduledForUnload(-1);
     }
 }
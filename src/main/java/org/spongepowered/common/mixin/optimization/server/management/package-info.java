@@ -22,18 +22,5 @@
  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
  * THE SOFTWARE.
  */
-package org.spongepowered.common.bridge.world.chunk.storage;
-
-import net.minecraft.world.chunk.storage.RegionFile;
-import org.spongepowered.asm.mixin.Mixin;
-import org.spongepowered.asm.mixin.gen.Accessor;
-
-import java.io.File;
-import java.io.RandomAccessFile;
-import java.util.List;
-
-@Mixin(RegionFile.class)
-public interface RegionFileAccessor {
-
-    @Accessor("offsets") int[] accessor$getOffsets();
-}
+@org.spongepowered.api.util.annotation.NonnullByDefault
+package org.spongepowered.common.mixin.optimization.server.management;
@@ -24,7 +24,7 @@
  */
 package org.spongepowered.common.mixin.optimization.world;
 
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
@@ -33,7 +33,6 @@
 import net.minecraft.world.WorldServer;
 import net.minecraft.world.chunk.Chunk;
 import org.spongepowered.asm.mixin.Mixin;
-import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.SpongeImplHooks;
 import org.spongepowered.common.bridge.world.WorldServerBridge_AsyncLighting;
 import org.spongepowered.common.bridge.world.chunk.ChunkBridge;
@@ -41,19 +40,27 @@
 import org.spongepowered.common.bridge.world.chunk.ChunkProviderBridge;
 import org.spongepowered.common.bridge.util.math.BlockPosBridge;
 import org.spongepowered.common.mixin.core.world.WorldMixin;
-import org.spongepowered.common.util.Constants;
+import org.spongepowered.common.util.ConcurrentIntQueue;
+import org.spongepowered.common.world.WorldLightingExecutor;
 
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 
 import javax.annotation.Nullable;
 
 @Mixin(value = WorldServer.class)
 public abstract class WorldServerMixin_Async_Lighting extends WorldMixin implements WorldServerBridge_AsyncLighting {
 
-    private ExecutorService asyncLightingImpl$lightExecutorService =
-                Executors.newFixedThreadPool(SpongeImpl.getGlobalConfigAdapter().getConfig().getOptimizations().getAsyncLightingCategory().getNumThreads(), new ThreadFactoryBuilder().setNameFormat("Sponge - Async Light Thread").build());
+    // Light updates are encoded as x (4 bits), z (4 bits), y + 256 (10 bits) and light type (1 bit)
+    private static final int LIGHT_UPDATE_Y_OFFSET = 256;
+    private static final int LIGHT_UPDATE_Y_RANGE = 1024;
+    private static final int LIGHT_UPDATE_BLOCK_TYPE = 1 << 18;
+
+    // Lighting threads check the updates of multiple chunks at once, so each of them needs its own buffers
+    private static final ThreadLocal<int[]> asyncLightingImpl$threadLightUpdateBlockList = ThreadLocal.withInitial(() -> new int[32768]);
+    private static final ThreadLocal<long[]> asyncLightingImpl$threadQueuedUpdates = ThreadLocal.withInitial(() -> new long[(LIGHT_UPDATE_BLOCK_TYPE << 1) >>> 6]);
+
+    private final WorldLightingExecutor asyncLightingImpl$lightExecutor = new WorldLightingExecutor();
 
     @Override
     public boolean checkLightFor(final EnumSkyBlock lightType, final BlockPos pos) {
@@ -67,7 +74,7 @@ public boolean checkLightFor(final EnumSkyBlock lightType, final BlockPos pos) {
         if (false && !this.isAreaLoaded(pos, 17, false)) {
             return false;
         } else {
-            final ChunkBridge_AsyncLighting spongeChunk = (ChunkBridge_AsyncLighting) currentChunk;
+            final int[] lightUpdateBlockList = asyncLightingImpl$threadLightUpdateBlockList.get(); // Sponge - use the buffer of this thread
             int i = 0;
             int j = 0;
             //this.theProfiler.startSection("getBrightness"); // Sponge - don't use profiler off of main thread
@@ -78,12 +85,12 @@ public boolean checkLightFor(final EnumSkyBlock lightType, final BlockPos pos) {
             final int k1 = pos.getZ();
 
             if (l > k) {
-                this.lightUpdateBlockList[j++] = 133152;
+                lightUpdateBlockList[j++] = 133152;
             } else if (l < k) {
-                this.lightUpdateBlockList[j++] = 133152 | k << 18;
+                lightUpdateBlockList[j++] = 133152 | k << 18;
 
                 while (i < j) {
-                    final int l1 = this.lightUpdateBlockList[i++];
+                    final int l1 = lightUpdateBlockList[i++];
                     final int i2 = (l1 & 63) - 32 + i1;
                     final int j2 = (l1 >> 6 & 63) - 32 + j1;
                     final int k2 = (l1 >> 12 & 63) - 32 + k1;
@@ -116,8 +123,8 @@ public boolean checkLightFor(final EnumSkyBlock lightType, final BlockPos pos) {
                                     i3 = this.asyncLightingImpl$getLightForAsync(lightType, blockpos$pooledmutableblockpos, currentChunk, neighbors);
                                     // Sponge end
 
-                                    if (i3 == l2 - l4 && j < this.lightUpdateBlockList.length) {
-                                        this.lightUpdateBlockList[j++] = i4 - i1 + 32 | j4 - j1 + 32 << 6 | k4 - k1 + 32 << 12 | l2 - l4 << 18;
+                                    if (i3 == l2 - l4 && j < lightUpdateBlockList.length) {
+                                        lightUpdateBlockList[j++] = i4 - i1 + 32 | j4 - j1 + 32 << 6 | k4 - k1 + 32 << 12 | l2 - l4 << 18;
                                     }
                                 }
 
@@ -134,7 +141,7 @@ public boolean checkLightFor(final EnumSkyBlock lightType, final BlockPos pos) {
             //this.theProfiler.startSection("checkedPosition < toCheckCount"); // Sponge - don't use profiler off of main thread
 
             while (i < j) {
-                final int i5 = this.lightUpdateBlockList[i++];
+                final int i5 = lightUpdateBlockList[i++];
                 final int j5 = (i5 & 63) - 32 + i1;
                 final int k5 = (i5 >> 6 & 63) - 32 + j1;
                 final int l5 = (i5 >> 12 & 63) - 32 + k1;
@@ -149,32 +156,32 @@ public boolean checkLightFor(final EnumSkyBlock lightType, final BlockPos pos) {
                         final int k6 = Math.abs(j5 - i1);
                         final int l6 = Math.abs(k5 - j1);
                         final int i7 = Math.abs(l5 - k1);
-                        final boolean flag = j < this.lightUpdateBlockList.length - 6;
+                        final boolean flag = j < lightUpdateBlockList.length - 6;
 
                         if (k6 + l6 + i7 < 17 && flag) {
                             // Sponge start - use thread safe method asyncLightingImpl$getLightForAsync
                             if (this.asyncLightingImpl$getLightForAsync(lightType, blockpos1.west(), currentChunk, neighbors) < j6) {
-                                this.lightUpdateBlockList[j++] = j5 - 1 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
+                                lightUpdateBlockList[j++] = j5 - 1 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
                             }
 
                             if (this.asyncLightingImpl$getLightForAsync(lightType, blockpos1.east(), currentChunk, neighbors) < j6) {
-                                this.lightUpdateBlockList[j++] = j5 + 1 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
+                                lightUpdateBlockList[j++] = j5 + 1 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
                             }
 
                             if (this.asyncLightingImpl$getLightForAsync(lightType, blockpos1.down(), currentChunk, neighbors) < j6) {
-                                this.lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 - 1 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
+                                lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 - 1 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
                             }
 
                             if (this.asyncLightingImpl$getLightForAsync(lightType, blockpos1.up(), currentChunk, neighbors) < j6) {
-                                this.lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 + 1 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
+                                lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 + 1 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
                             }
 
                             if (this.asyncLightingImpl$getLightForAsync(lightType, blockpos1.north(), currentChunk, neighbors) < j6) {
-                                this.lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 - 1 - k1 + 32 << 12);
+                                lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 - 1 - k1 + 32 << 12);
                             }
 
                             if (this.asyncLightingImpl$getLightForAsync(lightType, blockpos1.south(), currentChunk, neighbors) < j6) {
-                                this.lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 + 1 - k1 + 32 << 12);
+                                lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 + 1 - k1 + 32 << 12);
                             }
                             // Sponge end
                         }
@@ -182,15 +189,6 @@ public boolean checkLightFor(final EnumSkyBlock lightType, final BlockPos pos) {
                 }
             }
 
-            // Sponge start - Asynchronous light updates
-            spongeChunk.asyncLightingBridge$getQueuedLightingUpdates(lightType).remove((Short) this.asyncLightingImpl$blockPosToShort(pos));
-            spongeChunk.asyncLightingBridge$getPendingLightUpdates().decrementAndGet();
-            for (final net.minecraft.world.chunk.Chunk neighborChunk : neighbors) {
-                final ChunkBridge_AsyncLighting neighbor = (ChunkBridge_AsyncLighting) neighborChunk;
-                neighbor.asyncLightingBridge$getPendingLightUpdates().decrementAndGet();
-            }
-
-            // Sponge end
             //this.theProfiler.endSection(); // Sponge - don't use profiler off of main thread
             return true;
         }
@@ -198,7 +196,7 @@ public boolean checkLightFor(final EnumSkyBlock lightType, final BlockPos pos) {
 
     @Override
     public boolean asyncLightingBridge$updateLightAsync(final EnumSkyBlock lightType, final BlockPos pos, @Nullable Chunk currentChunk) {
-        if (this.getMinecraftServer().isServerStopped() || this.asyncLightingImpl$lightExecutorService.isShutdown()) {
+        if (this.getMinecraftServer().isServerStopped() || this.asyncLightingImpl$lightExecutor.isShutdown()) {
             return false;
         }
 
@@ -211,20 +209,35 @@ public boolean checkLightFor(final EnumSkyBlock lightType, final BlockPos pos) {
             return false;
         }
 
-        final short shortPos = this.asyncLightingImpl$blockPosToShort(pos);
-        if (spongeChunk.asyncLightingBridge$getQueuedLightingUpdates(lightType).contains(shortPos)) {
+        final int y = pos.getY() + LIGHT_UPDATE_Y_OFFSET;
+        if (y < 0 || y >= LIGHT_UPDATE_Y_RANGE) {
             return false;
         }
+        final int update = (pos.getX() & 15) | (pos.getZ() & 15) << 4 | y << 8 | (lightType == EnumSkyBlock.BLOCK ? LIGHT_UPDATE_BLOCK_TYPE : 0);
 
-        final Chunk chunk = currentChunk;
-        spongeChunk.asyncLightingBridge$getQueuedLightingUpdates(lightType).add(shortPos);
+        // Duplicate updates of a position are only dropped once the queue is checked, queuing stays lock-free
         spongeChunk.asyncLightingBridge$getPendingLightUpdates().incrementAndGet();
-        spongeChunk.asyncLightingBridge$setLightUpdateTime(chunk.getWorld().getTotalWorldTime());
+        spongeChunk.asyncLightingBridge$setLightUpdateTime(currentChunk.getWorld().getTotalWorldTime());
+        spongeChunk.asyncLightingBridge$getQueuedLightUpdates().offer(update);
+        this.asyncLightingImpl$lightExecutor.onUpdateQueued();
 
-        final List<Chunk> neighbors = spongeChunk.bridge$getNeighbors();
+        if (spongeChunk.asyncLightingBridge$getLightUpdatesScheduled().compareAndSet(false, true)) {
+            this.asyncLightingImpl$scheduleLightUpdates(currentChunk);
+        }
+        return true;
+    }
+
+    /**
+     * Schedules a task that checks all light updates queued on the chunk.
+     * The neighbors of the chunk are kept loaded until the task is done.
+     *
+     * @param chunk The chunk
+     */
+    private void asyncLightingImpl$scheduleLightUpdates(final Chunk chunk) {
+        final List<Chunk> neighbors = ((ChunkBridge) chunk).bridge$getNeighbors();
 
         // add diagonal chunks
-        final ChunkBridge southChunk = (ChunkBridge) spongeChunk.bridge$getNeighborChunk(0);
+        final ChunkBridge southChunk = (ChunkBridge) ((ChunkBridge) chunk).bridge$getNeighborChunk(0);
         if (southChunk != null) {
             final Chunk southEastChunk = southChunk.bridge$getNeighborChunk(2);
             final Chunk southWestChunk = southChunk.bridge$getNeighborChunk(3);
@@ -235,7 +248,7 @@ public boolean checkLightFor(final EnumSkyBlock lightType, final BlockPos pos) {
                 neighbors.add(southWestChunk);
             }
         }
-        final ChunkBridge northChunk = (ChunkBridge) spongeChunk.bridge$getNeighborChunk(1);
+        final ChunkBridge northChunk = (ChunkBridge) ((ChunkBridge) chunk).bridge$getNeighborChunk(1);
         if (northChunk != null) {
             final Chunk northEastChunk = northChunk.bridge$getNeighborChunk(2);
             final Chunk northWestChunk = northChunk.bridge$getNeighborChunk(3);
@@ -247,27 +260,75 @@ public boolean checkLightFor(final EnumSkyBlock lightType, final BlockPos pos) {
             }
         }
 
-        for (final net.minecraft.world.chunk.Chunk neighborChunk : neighbors) {
+        final long time = chunk.getWorld().getTotalWorldTime();
+        for (final Chunk neighborChunk : neighbors) {
             final ChunkBridge_AsyncLighting neighbor = (ChunkBridge_AsyncLighting) neighborChunk;
             neighbor.asyncLightingBridge$getPendingLightUpdates().incrementAndGet();
-            neighbor.asyncLightingBridge$setLightUpdateTime(chunk.getWorld().getTotalWorldTime());
+            neighbor.asyncLightingBridge$setLightUpdateTime(time);
         }
 
-        //System.out.println("size = " + ((ThreadPoolExecutor) this.asyncLightingImpl$lightExecutorService).getQueue().size());
-        if (SpongeImpl.getServer().isCallingFromMinecraftThread()) {
-            this.asyncLightingImpl$lightExecutorService.execute(() -> {
-                this.asyncLightingBridge$checkLightAsync(lightType, pos, chunk, neighbors);
-            });
-        } else {
-            this.asyncLightingBridge$checkLightAsync(lightType, pos, chunk, neighbors);
+        try {
+            this.asyncLightingImpl$lightExecutor.execute(() -> this.asyncLightingImpl$runLightUpdates(chunk, neighbors));
+        } catch (RejectedExecutionException e) {
+            // The world is unloading, the queued updates don't matter anymore
+            if (!this.asyncLightingImpl$lightExecutor.isShutdown()) {
+                throw e;
+            }
         }
+    }
 
-        return true;
+    private void asyncLightingImpl$runLightUpdates(final Chunk chunk, final List<Chunk> neighbors) {
+        final ChunkBridge_AsyncLighting spongeChunk = (ChunkBridge_AsyncLighting) chunk;
+        final ConcurrentIntQueue queue = spongeChunk.asyncLightingBridge$getQueuedLightUpdates();
+        final long[] queued = asyncLightingImpl$threadQueuedUpdates.get();
+        final IntArrayList updates = new IntArrayList();
+        int coalesced = 0;
+        int update;
+        while ((update = queue.poll()) != ConcurrentIntQueue.EMPTY) {
+            if ((queued[update >>> 6] & 1L << update) != 0) {
+                coalesced++;
+                continue;
+            }
+            queued[update >>> 6] |= 1L << update;
+            updates.add(update);
+        }
+        for (int i = 0; i < updates.size(); i++) {
+            update = updates.getInt(i);
+            queued[update >>> 6] &= ~(1L << update);
+        }
+        if (coalesced > 0) {
+            spongeChunk.asyncLightingBridge$getPendingLightUpdates().addAndGet(-coalesced);
+            this.asyncLightingImpl$lightExecutor.onUpdatesCoalesced(coalesced);
+        }
+
+        try {
+            final int chunkX = chunk.x << 4;
+            final int chunkZ = chunk.z << 4;
+            for (int i = 0; i < updates.size(); i++) {
+                update = updates.getInt(i);
+                final EnumSkyBlock lightType = (update & LIGHT_UPDATE_BLOCK_TYPE) != 0 ? EnumSkyBlock.BLOCK : EnumSkyBlock.SKY;
+                final BlockPos pos = new BlockPos(chunkX | update & 15, (update >>> 8 & LIGHT_UPDATE_Y_RANGE - 1) - LIGHT_UPDATE_Y_OFFSET,
+                    chunkZ | update >>> 4 & 15);
+                this.asyncLightingBridge$checkLightAsync(lightType, pos, chunk, neighbors);
+            }
+        } finally {
+            spongeChunk.asyncLightingBridge$getPendingLightUpdates().addAndGet(-updates.size());
+            this.asyncLightingImpl$lightExecutor.onUpdatesProcessed(updates.size());
+            for (final Chunk neighborChunk : neighbors) {
+                ((ChunkBridge_AsyncLighting) neighborChunk).asyncLightingBridge$getPendingLightUpdates().decrementAndGet();
+            }
+
+            // Pick up the updates that were queued while this task was running
+            spongeChunk.asyncLightingBridge$getLightUpdatesScheduled().set(false);
+            if (!queue.isEmpty() && spongeChunk.asyncLightingBridge$getLightUpdatesScheduled().compareAndSet(false, true)) {
+                this.asyncLightingImpl$scheduleLightUpdates(chunk);
+            }
+        }
     }
 
     @Override
-    public ExecutorService asyncLightingBridge$getLightingExecutor() {
-        return this.asyncLightingImpl$lightExecutorService;
+    public WorldLightingExecutor asyncLightingBridge$getLightingExecutor() {
+        return this.asyncLightingImpl$lightExecutor;
     }
 
     // Thread safe methods to retrieve a chunk during async light updates
@@ -366,24 +427,4 @@ public boolean checkLightFor(final EnumSkyBlock lightType, final BlockPos pos) {
             }
         }
     }
-
-    private short asyncLightingImpl$blockPosToShort(final BlockPos pos) {
-        short serialized = (short) asyncLightingImpl$setNibble(0, pos.getX() & Constants.Chunk.XZ_MASK, 0, Constants.Chunk.NUM_XZ_BITS);
-        serialized = (short) asyncLightingImpl$setNibble(serialized, pos.getY() & Constants.Chunk.Y_SHORT_MASK, 1, Constants.Chunk.NUM_SHORT_Y_BITS);
-        serialized = (short) asyncLightingImpl$setNibble(serialized, pos.getZ() & Constants.Chunk.XZ_MASK, 3, Constants.Chunk.NUM_XZ_BITS);
-        return serialized;
-    }
-
-    /**
-     * Modifies bits in an integer.
-     *
-     * @param num Integer to modify
-     * @param data Bits of data to add
-     * @param which Index of nibble to start at
-     * @param bitsToReplace The number of bits to replace starting from nibble index
-     * @return The modified integer
-     */
-    private int asyncLightingImpl$setNibble(final int num, final int data, final int which, final int bitsToReplace) {
-        return (num & ~(bitsToReplace << (which * 4)) | (data << (which * 4)));
-    }
 }
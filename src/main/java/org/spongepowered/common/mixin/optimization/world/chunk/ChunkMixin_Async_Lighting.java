@@ -46,15 +46,15 @@
 import org.spongepowered.common.bridge.world.WorldBridge;
 import org.spongepowered.common.bridge.world.chunk.ChunkBridge_AsyncLighting;
 import org.spongepowered.common.bridge.world.chunk.ChunkProviderBridge;
+import org.spongepowered.common.util.ConcurrentIntQueue;
 import org.spongepowered.common.util.Constants;
 
 import java.util.Collections;
 import java.util.List;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.annotation.Nullable;
@@ -62,10 +62,9 @@
 @Mixin(value = Chunk.class, priority = 1002)
 public abstract class ChunkMixin_Async_Lighting implements ChunkBridge_AsyncLighting {
 
-    // Keeps track of block positions in this chunk currently queued for sky light update
-    private Set<Short> asyncLighting$queuedSkyLightingUpdates = ConcurrentHashMap.newKeySet();
-    // Keeps track of block positions in this chunk currently queued for block light update
-    private Set<Short> asyncLighting$queuedBlockLightingUpdates = ConcurrentHashMap.newKeySet();
+    // Keeps track of block positions in this chunk currently queued for sky and block light update
+    private final ConcurrentIntQueue asyncLighting$queuedLightUpdates = new ConcurrentIntQueue();
+    private final AtomicBoolean asyncLighting$lightUpdatesScheduled = new AtomicBoolean();
     private AtomicInteger asyncLighting$pendingLightUpdates = new AtomicInteger();
     private long asyncLighting$lightUpdateTime;
     private ExecutorService asyncLighting$lightExecutorService;
@@ -701,17 +700,13 @@ else if (flag && k == 0 && !this.asyncLighting$checkWorldLight(blockpos$mutableb
         return flag;
     }
 
-    /**
-     * Gets the list of block positions currently queued for lighting updates.
-     *
-     * @param type The light type
-     * @return The list of queued block positions, empty if none
-     */
     @Override
-    public Set<Short> asyncLightingBridge$getQueuedLightingUpdates(final EnumSkyBlock type) {
-        if (type == EnumSkyBlock.SKY) {
-            return this.asyncLighting$queuedSkyLightingUpdates;
-        }
-        return this.asyncLighting$queuedBlockLightingUpdates;
+    public ConcurrentIntQueue asyncLightingBridge$getQueuedLightUpdates() {
+        return this.asyncLighting$queuedLightUpdates;
+    }
+
+    @Override
+    public AtomicBoolean asyncLightingBridge$getLightUpdatesScheduled() {
+        return this.asyncLighting$lightUpdatesScheduled;
     }
 }
@@ -25,6 +25,7 @@
 package org.spongepowered.common.mixin.optimization.world.gen;
 
 import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
 import net.minecraft.world.gen.ChunkProviderServer;
 import org.spongepowered.asm.mixin.Dynamic;
 import org.spongepowered.asm.mixin.Final;
@@ -32,7 +33,6 @@
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Redirect;
-import org.spongepowered.common.bridge.world.chunk.ChunkBridge;
 import org.spongepowered.common.bridge.world.chunk.ChunkBridge_AsyncLighting;
 
 @Mixin(value = ChunkProviderServer.class, priority = 1002)
@@ -44,11 +44,10 @@ public abstract class ChunkProviderServerMixin_Async_Lighting {
     @Redirect(method = "tick",
         at = @At(
             value = "INVOKE",
-            target = "Lorg/spongepowered/common/bridge/world/chunk/ChunkBridge;bridge$isPersistedChunk()Z",
+            target = "Lnet/minecraft/world/gen/ChunkProviderServer;impl$isUnloadHeldBack(Lnet/minecraft/world/chunk/Chunk;)Z",
             remap = false))
-    private boolean asyncLighting$UsePendingLightUpdatesForAsyncChunk(final ChunkBridge chunk) {
-        return chunk.bridge$isPersistedChunk()
-               || ((ChunkBridge_AsyncLighting) chunk).asyncLightingBridge$getPendingLightUpdates().get() > 0
+    private boolean asyncLighting$UsePendingLightUpdatesForAsyncChunk(final ChunkProviderServer provider, final Chunk chunk) {
+        return ((ChunkBridge_AsyncLighting) chunk).asyncLightingBridge$getPendingLightUpdates().get() > 0
                || this.world.getTotalWorldTime() - ((ChunkBridge_AsyncLighting) chunk).asyncLightingBridge$getLightUpdateTime() < 20;
 
     }
@@ -0,0 +1,63 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.optimization.world.gen.layer;
+
+import net.minecraft.world.gen.layer.IntCache;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Overwrite;
+import org.spongepowered.common.world.gen.ThreadLocalIntCache;
+
+@Mixin(IntCache.class)
+public abstract class IntCacheMixin_Async_Terrain_Generation {
+
+    /**
+     * @author Sponge
+     * @reason Biomes are generated on the terrain generation threads, which
+     * need their own pool of arrays.
+     */
+    @Overwrite
+    public static int[] getIntCache(final int size) {
+        return ThreadLocalIntCache.get().getIntCache(size);
+    }
+
+    /**
+     * @author Sponge
+     * @reason Only release the arrays of the current thread.
+     */
+    @Overwrite
+    public static void resetIntCache() {
+        ThreadLocalIntCache.get().resetIntCache();
+    }
+
+    /**
+     * @author Sponge
+     * @reason Report the sizes of the pool of the current thread.
+     */
+    @Overwrite
+    public static String getCacheSizes() {
+        return ThreadLocalIntCache.get().getCacheSizes();
+    }
+
+}
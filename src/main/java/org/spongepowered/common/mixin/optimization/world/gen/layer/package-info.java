@@ -22,22 +22,5 @@
  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
  * THE SOFTWARE.
  */
-package org.spongepowered.common.mixin.core.world.chunk.storage;
-
-import net.minecraft.world.chunk.storage.RegionFile;
-import net.minecraft.world.chunk.storage.RegionFileCache;
-import org.spongepowered.asm.mixin.Mixin;
-import org.spongepowered.asm.mixin.gen.Accessor;
-
-import java.io.File;
-import java.util.Map;
-
-@Mixin(RegionFileCache.class)
-public interface RegionFileCacheAccessor {
-
-    @Accessor("REGIONS_BY_FILE")
-    static Map<File, RegionFile> accessor$getRegionsByFileMap() {
-        throw new IllegalStateException("Untransformed Accessor");
-    }
-
-}
+@org.spongepowered.api.util.annotation.NonnullByDefault
+package org.spongepowered.common.mixin.optimization.world.gen.layer;
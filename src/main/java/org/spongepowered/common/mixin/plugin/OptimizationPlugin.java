@@ -115,6 +115,10 @@ public void postApply(String targetClassName, ClassNode targetClass, String mixi
                     OptimizationCategory::useAsyncLighting)
             .put("org.spongepowered.common.mixin.optimization.world.gen.ChunkProviderServerMixin_Async_Lighting",
                     OptimizationCategory::useAsyncLighting)
+            .put("org.spongepowered.common.mixin.optimization.server.management.PlayerChunkMapMixin_Async_Terrain_Generation",
+                    OptimizationCategory::useAsyncTerrainGeneration)
+            .put("org.spongepowered.common.mixin.optimization.world.gen.layer.IntCacheMixin_Async_Terrain_Generation",
+                    OptimizationCategory::useAsyncTerrainGeneration)
             .put("org.spongepowered.common.mixin.optimization.world.gen.structure.MapGenStructureMixin_Structure_Saving",
                     OptimizationCategory::useStructureSave)
             .put("org.spongepowered.common.mixin.optimization.entity.item.EntityItemFrameMixin_MapOptimization",
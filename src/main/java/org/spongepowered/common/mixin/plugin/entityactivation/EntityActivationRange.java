@@ -28,6 +28,10 @@
 
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityLiving;
 import net.minecraft.entity.EntityLivingBase;
@@ -51,6 +55,7 @@
 import net.minecraft.entity.projectile.EntityFireball;
 import net.minecraft.entity.projectile.EntityThrowable;
 import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.ChunkPos;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.world.World;
 import net.minecraft.world.WorldServer;
@@ -78,6 +83,7 @@
 import org.spongepowered.common.mixin.entityactivation.util.math.AxisAlignedBBAccessor_EntityActivation;
 import org.spongepowered.common.mixin.plugin.entityactivation.interfaces.ActivationCapability;
 
+import java.util.List;
 import java.util.Map;
 
 public class EntityActivationRange {
@@ -91,11 +97,6 @@ public class EntityActivationRange {
             .build();
 
     static AxisAlignedBB maxBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB miscBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB creatureBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB monsterBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB aquaticBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB ambientBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
     static AxisAlignedBB tileEntityBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
     static Map<Byte, Integer> maxActivationRanges = Maps.newHashMap();
 
@@ -218,6 +219,10 @@ public static void growBb(final AxisAlignedBB target, final AxisAlignedBB source
      * Find what entities are in range of the players in the world and set
      * active if in range.
      *
+     * <p>The players in range of each chunk are collected first, so every
+     * chunk and entity is only visited once, no matter how many players
+     * are near it.</p>
+     *
      * @param world The world to perform activation checks in
      */
     public static void activateEntities(final World world) {
@@ -225,17 +230,20 @@ public static void activateEntities(final World world) {
             return;
         }
 
-        for (final EntityPlayer player : world.playerEntities) {
-
-            int maxRange = 0;
-            for (final Integer range : maxActivationRanges.values()) {
-                if (range > maxRange) {
-                    maxRange = range;
-                }
+        int maxRange = 0;
+        for (final Integer range : maxActivationRanges.values()) {
+            if (range > maxRange) {
+                maxRange = range;
             }
+        }
+        maxRange = Math.min((((org.spongepowered.api.world.World) world).getViewDistance() << 4) - 8, maxRange);
 
-            maxRange = Math.min((((org.spongepowered.api.world.World) world).getViewDistance() << 4) - 8, maxRange);
-            ((ActivationCapability) player).activation$setActivatedTick(SpongeImpl.getServer().getTickCounter());
+        final long currentTick = SpongeImpl.getServer().getTickCounter();
+        final List<EntityPlayer> players = world.playerEntities;
+        final Long2ObjectMap<IntList> playersByChunk = new Long2ObjectOpenHashMap<>();
+        for (int index = 0; index < players.size(); index++) {
+            final EntityPlayer player = players.get(index);
+            ((ActivationCapability) player).activation$setActivatedTick(currentTick);
             growBb(maxBB, player.getEntityBoundingBox(), maxRange, 256, maxRange);
 
             final int i = MathHelper.floor(maxBB.minX / 16.0D);
@@ -245,29 +253,72 @@ public static void activateEntities(final World world) {
 
             for (int i1 = i; i1 <= j; ++i1) {
                 for (int j1 = k; j1 <= l; ++j1) {
-                    final WorldServer worldserver = (WorldServer) world;
-                    final Chunk chunk = ((ChunkProviderBridge) worldserver.getChunkProvider()).bridge$getLoadedChunkWithoutMarkingActive(i1, j1);
-                    if (chunk != null) {
-                        activateChunkEntities(player, chunk);
+                    final long chunkPos = ChunkPos.asLong(i1, j1);
+                    IntList chunkPlayers = playersByChunk.get(chunkPos);
+                    if (chunkPlayers == null) {
+                        chunkPlayers = new IntArrayList(4);
+                        playersByChunk.put(chunkPos, chunkPlayers);
                     }
+                    chunkPlayers.add(index);
                 }
             }
         }
+        if (playersByChunk.isEmpty()) {
+            return;
+        }
+
+        final int[] checkIntervals = getCheckIntervals(world);
+        final ChunkProviderBridge chunkProvider = (ChunkProviderBridge) ((WorldServer) world).getChunkProvider();
+        for (final Long2ObjectMap.Entry<IntList> entry : playersByChunk.long2ObjectEntrySet()) {
+            final long chunkPos = entry.getLongKey();
+            final Chunk chunk = chunkProvider.bridge$getLoadedChunkWithoutMarkingActive((int) chunkPos, (int) (chunkPos >>> 32));
+            if (chunk != null) {
+                activateChunkEntities(players, entry.getValue(), chunk, currentTick, checkIntervals);
+            }
+        }
+    }
+
+    /**
+     * Gets the configured check interval of each activation type, indexed
+     * by the activation type.
+     *
+     * @param world The world
+     * @return The check intervals
+     */
+    private static int[] getCheckIntervals(final World world) {
+        final Map<String, Integer> configIntervals = ((WorldInfoBridge) world.getWorldInfo()).bridge$getConfigAdapter().getConfig()
+            .getEntityActivationRange().getCheckIntervals();
+        final int[] checkIntervals = new int[activationTypeMappings.size() + 1];
+        for (final Map.Entry<Byte, String> entry : activationTypeMappings.entrySet()) {
+            final Integer interval = configIntervals.get(entry.getValue());
+            checkIntervals[entry.getKey()] = interval == null ? 1 : Math.max(1, interval);
+        }
+        return checkIntervals;
     }
 
     /**
      * Checks for the activation state of all entities in this chunk.
      *
+     * <p>Entities of an activation type with a check interval above one are
+     * only checked every interval ticks, at a tick that depends on the chunk
+     * so the checks are spread out. If they are in range they stay active
+     * until their next check.</p>
+     *
+     * @param players The players of the world
+     * @param playerIndices The indices of the players in range of the chunk
      * @param chunk Chunk to check for activation
+     * @param currentTick The current tick
+     * @param checkIntervals The check interval of each activation type
      */
-    private static void activateChunkEntities(final EntityPlayer player, final Chunk chunk) {
+    private static void activateChunkEntities(final List<EntityPlayer> players, final IntList playerIndices, final Chunk chunk,
+        final long currentTick, final int[] checkIntervals) {
+        final int chunkOffset = chunk.x * 31 + chunk.z;
         for (int i = 0; i < chunk.getEntityLists().length; ++i) {
 
             for (final Object o : chunk.getEntityLists()[i]) {
                 final Entity entity = (Entity) o;
                 final EntityType type = ((org.spongepowered.api.entity.Entity) entity).getType();
                 final ActivationCapability spongeEntity = (ActivationCapability) entity;
-                final long currentTick = SpongeImpl.getServer().getTickCounter();
                 if (!((EntityBridge) entity).bridge$shouldTick()) {
                     continue;
                 }
@@ -287,54 +338,43 @@ private static void activateChunkEntities(final EntityPlayer player, final Chunk
                         EntityActivationRange.initializeEntityActivationState(entity);
                         spongeEntity.activation$requiresActivationCacheRefresh(false);
                     }
-                    // check for entity type overrides
-                    final byte activationType = spongeEntity.activation$getActivationType();
-                    final int bbActivationRange = spongeEntity.activation$getActivationRange();
 
-                    if (activationType == 5) {
-                        growBb(miscBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    } else if (activationType == 4) {
-                        growBb(ambientBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    } else if (activationType == 3) {
-                        growBb(aquaticBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    } else if (activationType == 2) {
-                        growBb(creatureBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    } else {
-                        growBb(monsterBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
+                    final int checkInterval = checkIntervals[spongeEntity.activation$getActivationType()];
+                    if (checkInterval > 1 && Math.floorMod(currentTick + chunkOffset, checkInterval) != 0) {
+                        continue;
                     }
 
-                    switch (spongeEntity.activation$getActivationType()) {
-                        case 1:
-                            if (monsterBB.intersects(entity.getEntityBoundingBox())) {
-                                spongeEntity.activation$setActivatedTick(currentTick);
-                            }
-                            break;
-                        case 2:
-                            if (creatureBB.intersects(entity.getEntityBoundingBox())) {
-                                spongeEntity.activation$setActivatedTick(currentTick);
-                            }
-                            break;
-                        case 3:
-                            if (aquaticBB.intersects(entity.getEntityBoundingBox())) {
-                                spongeEntity.activation$setActivatedTick(currentTick);
-                            }
-                            break;
-                        case 4:
-                            if (ambientBB.intersects(entity.getEntityBoundingBox())) {
-                                spongeEntity.activation$setActivatedTick(currentTick);
-                            }
+                    final int bbActivationRange = spongeEntity.activation$getActivationRange();
+                    final AxisAlignedBB entityBB = entity.getEntityBoundingBox();
+                    for (int j = 0; j < playerIndices.size(); j++) {
+                        final AxisAlignedBB playerBB = players.get(playerIndices.getInt(j)).getEntityBoundingBox();
+                        if (isInActivationRange(playerBB, bbActivationRange, entityBB)) {
+                            spongeEntity.activation$setActivatedTick(currentTick + checkInterval - 1);
                             break;
-                        case 5:
-                        default:
-                            if (miscBB.intersects(entity.getEntityBoundingBox())) {
-                                spongeEntity.activation$setActivatedTick(currentTick);
-                            }
+                        }
                     }
                 }
             }
         }
     }
 
+    /**
+     * Checks whether the player bounding box, grown by the activation range,
+     * intersects the entity bounding box. Does the same as {@link #growBb}
+     * followed by {@link AxisAlignedBB#intersects(AxisAlignedBB)} without
+     * writing to a shared bounding box.
+     *
+     * @param player The player bounding box
+     * @param range The activation range
+     * @param entity The entity bounding box
+     * @return Whether the entity is in range
+     */
+    private static boolean isInActivationRange(final AxisAlignedBB player, final int range, final AxisAlignedBB entity) {
+        return player.minX - range < entity.maxX && player.maxX + range > entity.minX
+            && player.minY - 256 < entity.maxY && player.maxY + 256 > entity.minY
+            && player.minZ - range < entity.maxZ && player.maxZ + range > entity.minZ;
+    }
+
     /**
      * If an entity is not in range, do some more checks to see if we should
      * give it a shot.
@@ -24,8 +24,7 @@
  */
 package org.spongepowered.common.mixin.plugin.tileentityactivation;
 
-import com.flowpowered.math.vector.Vector3i;
-import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.server.management.PlayerChunkMap;
 import net.minecraft.server.management.PlayerChunkMapEntry;
 import net.minecraft.tileentity.TileEntity;
@@ -49,9 +48,8 @@
 import org.spongepowered.common.mixin.core.server.management.PlayerChunkMapAccessor;
 import org.spongepowered.common.mixin.core.server.management.PlayerchunkMapEntryAccessor;
 import org.spongepowered.common.mixin.plugin.entityactivation.interfaces.ActivationCapability;
-import org.spongepowered.common.util.VecHelper;
 
-import java.util.Map;
+import java.util.List;
 
 public class TileEntityActivation {
 
@@ -126,19 +124,35 @@ public static void initializeTileEntityActivationState(final TileEntity tileEnti
     * Find what tileentities are in range of the players in the world and set
     * active if in range.
     *
+    * <p>Every watched chunk is visited once, each tileentity is compared
+    * against the nearest player watching the chunk.</p>
+    *
     * @param world The world to perform activation checks in
     */
     public static void activateTileEntities(final WorldServer world) {
         final PlayerChunkMap playerChunkMap = world.getPlayerChunkMap();
+        final long currentTick = SpongeImpl.getServer().getTickCounter();
+        int[] playerPositions = new int[0];
         for (final PlayerChunkMapEntry playerChunkMapEntry : ((PlayerChunkMapAccessor) playerChunkMap).accessor$getEntries()) {
-            for (final EntityPlayer player : ((PlayerchunkMapEntryAccessor) playerChunkMapEntry).accessor$getPlayers()) {
-                final Chunk chunk = ((PlayerchunkMapEntryAccessor) playerChunkMapEntry).accessor$getChunk();
-                if (chunk == null || chunk.unloadQueued || ((ChunkBridge) chunk).bridge$isPersistedChunk()) {
-                    continue;
-                }
+            final List<EntityPlayerMP> players = ((PlayerchunkMapEntryAccessor) playerChunkMapEntry).accessor$getPlayers();
+            if (players.isEmpty()) {
+                continue;
+            }
+            final Chunk chunk = ((PlayerchunkMapEntryAccessor) playerChunkMapEntry).accessor$getChunk();
+            if (chunk == null || chunk.unloadQueued || ((ChunkBridge) chunk).bridge$isPersistedChunk()) {
+                continue;
+            }
 
-                activateChunkTileEntities(player, chunk);
+            if (playerPositions.length < players.size() * 3) {
+                playerPositions = new int[players.size() * 3];
+            }
+            for (int i = 0; i < players.size(); i++) {
+                final BlockPos playerPos = players.get(i).getPosition();
+                playerPositions[i * 3] = playerPos.getX();
+                playerPositions[i * 3 + 1] = playerPos.getY();
+                playerPositions[i * 3 + 2] = playerPos.getZ();
             }
+            activateChunkTileEntities(chunk, playerPositions, players.size(), currentTick);
         }
     }
 
@@ -147,40 +161,44 @@ public static void activateTileEntities(final WorldServer world) {
      * Checks for the activation state of all tileentities in this chunk.
      *
      * @param chunk Chunk to check for activation
+     * @param playerPositions The block positions of the players watching the chunk, as x, y and z
+     * @param playerCount The amount of players watching the chunk
+     * @param currentTick The current tick
      */
-    private static void activateChunkTileEntities(final EntityPlayer player, final Chunk chunk) {
-        final Vector3i playerPos = VecHelper.toVector3i(player.getPosition());
-        final long currentTick = SpongeImpl.getServer().getTickCounter();
-        for (final Map.Entry<BlockPos, TileEntity> mapEntry : chunk.getTileEntityMap().entrySet()) {
-            final TileEntity tileEntity = mapEntry.getValue();
+    private static void activateChunkTileEntities(final Chunk chunk, final int[] playerPositions, final int playerCount, final long currentTick) {
+        for (final TileEntity tileEntity : chunk.getTileEntityMap().values()) {
             final ActivationCapability spongeTileEntity = (ActivationCapability) tileEntity;
+            if (!(tileEntity instanceof ITickable) || spongeTileEntity.activation$getActivatedTick() >= currentTick) {
+                // already activated
+                continue;
+            }
             if (spongeTileEntity.activation$getSpongeTickRate() <= 0 || !((TileEntityBridge) tileEntity).bridge$shouldTick()) {
                 // never activate
                 continue;
             }
-            if (!(tileEntity instanceof ITickable) || spongeTileEntity.activation$getActivatedTick() == currentTick) {
-                // already activated
+
+            if (spongeTileEntity.activation$getDefaultActivationState()) {
+                spongeTileEntity.activation$setActivatedTick(currentTick);
                 continue;
             }
 
-            final Vector3i tilePos = VecHelper.toVector3i(tileEntity.getPos());
-            if (currentTick > ((ActivationCapability) tileEntity).activation$getActivatedTick()) {
-                if (spongeTileEntity.activation$getDefaultActivationState()) {
-                    ((ActivationCapability) tileEntity).activation$setActivatedTick(currentTick);
-                    continue;
-                }
-
-                // check if activation cache needs to be updated
-                if (spongeTileEntity.activation$requiresActivationCacheRefresh()) {
-                    TileEntityActivation.initializeTileEntityActivationState(tileEntity);
-                    spongeTileEntity.activation$requiresActivationCacheRefresh(false);
-                }
+            // check if activation cache needs to be updated
+            if (spongeTileEntity.activation$requiresActivationCacheRefresh()) {
+                TileEntityActivation.initializeTileEntityActivationState(tileEntity);
+                spongeTileEntity.activation$requiresActivationCacheRefresh(false);
+            }
 
-                final int bbActivationRange = ((ActivationCapability) tileEntity).activation$getActivationRange();
-                final int blockDistance = Math.round(tilePos.distance(playerPos));
-                if (blockDistance <= bbActivationRange) {
-                    ((ActivationCapability) tileEntity).activation$setActivatedTick(currentTick);
-                }
+            final BlockPos tilePos = tileEntity.getPos();
+            long nearestDistanceSquared = Long.MAX_VALUE;
+            for (int i = 0; i < playerCount * 3; i += 3) {
+                final long dx = playerPositions[i] - tilePos.getX();
+                final long dy = playerPositions[i + 1] - tilePos.getY();
+                final long dz = playerPositions[i + 2] - tilePos.getZ();
+                nearestDistanceSquared = Math.min(nearestDistanceSquared, dx * dx + dy * dy + dz * dz);
+            }
+            final int blockDistance = Math.round((float) Math.sqrt(nearestDistanceSquared));
+            if (blockDistance <= spongeTileEntity.activation$getActivationRange()) {
+                spongeTileEntity.activation$setActivatedTick(currentTick);
             }
         }
     }
@@ -34,6 +34,8 @@ public class WorldTimingsHandler {
 
     public final Timing mobSpawn;
     public final Timing doChunkUnload;
+    public final Timing doChunkUnloadQueue;
+    public final Timing doChunkUnloadSave;
     public final Timing doPortalForcer;
     public final Timing scheduledBlocks;
     public final Timing scheduledBlocksCleanup;
@@ -47,6 +49,8 @@ public class WorldTimingsHandler {
     public final Timing doVillages;
     public final Timing doChunkMap;
     public final Timing doChunkGC;
+    public final Timing doChunkGCCheck;
+    public final Timing doChunkGCQueueUnload;
     public final Timing doSounds;
     public final Timing entityRemoval;
     public final Timing entityTick;
@@ -81,6 +85,8 @@ public WorldTimingsHandler(World world) {
 
         this.mobSpawn = SpongeTimingsFactory.ofSafe(name + "mobSpawn");
         this.doChunkUnload = SpongeTimingsFactory.ofSafe(name + "doChunkUnload");
+        this.doChunkUnloadQueue = SpongeTimingsFactory.ofSafe(name + "doChunkUnload - Queue");
+        this.doChunkUnloadSave = SpongeTimingsFactory.ofSafe(name + "doChunkUnload - Save");
         this.scheduledBlocks = SpongeTimingsFactory.ofSafe(name + "Scheduled Blocks");
         this.scheduledBlocksCleanup = SpongeTimingsFactory.ofSafe(name + "Scheduled Blocks - Cleanup");
         this.scheduledBlocksTicking = SpongeTimingsFactory.ofSafe(name + "Scheduled Blocks - Ticking");
@@ -94,6 +100,8 @@ public WorldTimingsHandler(World world) {
         this.doChunkMap = SpongeTimingsFactory.ofSafe(name + "doChunkMap");
         this.doSounds = SpongeTimingsFactory.ofSafe(name + "doSounds");
         this.doChunkGC = SpongeTimingsFactory.ofSafe(name + "doChunkGC");
+        this.doChunkGCCheck = SpongeTimingsFactory.ofSafe(name + "doChunkGC - Check");
+        this.doChunkGCQueueUnload = SpongeTimingsFactory.ofSafe(name + "doChunkGC - QueueUnload");
         this.doPortalForcer = SpongeTimingsFactory.ofSafe(name + "doPortalForcer");
         this.entityTick = SpongeTimingsFactory.ofSafe(name + "entityTick");
         this.entityRemoval = SpongeTimingsFactory.ofSafe(name + "entityRemoval");
@@ -24,27 +24,30 @@
  */
 package org.spongepowered.common.scheduler;
 
-import org.spongepowered.api.scheduler.Task;
+import org.spongepowered.api.plugin.PluginContainer;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.category.SchedulerCategory;
 
-import java.util.Set;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
+import javax.annotation.Nullable;
+
 public class AsyncScheduler extends SchedulerBase {
 
-    // Adjustable timeout for pending Tasks
-    private long minimumTimeout = Long.MAX_VALUE;
-    private long lastProcessingTimestamp;
     // Locking mechanism
     private final Lock lock = new ReentrantLock();
     private final Condition condition = this.lock.newCondition();
-    // The dynamic thread pooling executor of asynchronous tasks.
-    private final ExecutorService executor = Executors.newCachedThreadPool();
+    // The executor of asynchronous tasks, either a dynamic thread pool or a
+    // bounded pool with per plugin quotas. Created on first use.
+    @Nullable private volatile ExecutorService executor;
+    @Nullable private PluginQuotaExecutor quotaExecutor;
 
     AsyncScheduler() {
         super(ScheduledTask.TaskSynchronicity.ASYNCHRONOUS);
@@ -56,64 +59,125 @@ public class AsyncScheduler extends SchedulerBase {
     }
 
     ExecutorService getExecutor() {
-        return this.executor;
+        ExecutorService executor = this.executor;
+        if (executor == null) {
+            synchronized (this) {
+                executor = this.executor;
+                if (executor == null) {
+                    final SchedulerCategory config = SpongeImpl.getGlobalConfigAdapter().getConfig().getScheduler();
+                    if (config.isBoundedAsyncExecutor()) {
+                        this.quotaExecutor = new PluginQuotaExecutor(config.getAsyncThreads(), config.getMaxConcurrentTasksPerPlugin(),
+                            config.getMaxQueuedTasksPerPlugin());
+                        executor = this.quotaExecutor.getPool();
+                    } else {
+                        executor = Executors.newCachedThreadPool();
+                    }
+                    this.executor = executor;
+                }
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * Gets an executor that runs runnables on behalf of the plugin. For the
+     * bounded executor the runnables count towards the quota of the plugin,
+     * and a {@link RejectedExecutionException} is thrown if the queue of the
+     * plugin is full.
+     *
+     * @param plugin The owning plugin
+     * @return The executor
+     */
+    Executor getExecutor(PluginContainer plugin) {
+        final ExecutorService executor = this.getExecutor();
+        final PluginQuotaExecutor quotaExecutor = this.quotaExecutor;
+        if (quotaExecutor == null) {
+            return executor;
+        }
+        return runnable -> {
+            if (!quotaExecutor.execute(plugin, runnable)) {
+                throw new RejectedExecutionException("The asynchronous task queue of plugin " + plugin.getId() + " is full");
+            }
+        };
+    }
+
+    /**
+     * Gets whether the asynchronous tasks are run by a bounded pool with per
+     * plugin quotas.
+     *
+     * @return True if the executor is bounded
+     */
+    boolean isBounded() {
+        this.getExecutor();
+        return this.quotaExecutor != null;
+    }
+
+    /**
+     * Gets the amount of tasks waiting for a free slot of their plugin.
+     *
+     * @return The queue depth, always 0 for the unbounded executor
+     */
+    int getQueueDepth() {
+        this.getExecutor();
+        return this.quotaExecutor == null ? 0 : this.quotaExecutor.getQueueDepth();
+    }
+
+    /**
+     * Gets the estimated amount of threads currently running tasks.
+     *
+     * @return The active thread count
+     */
+    int getActiveThreads() {
+        final ExecutorService executor = this.getExecutor();
+        if (this.quotaExecutor != null) {
+            return this.quotaExecutor.getActiveThreads();
+        }
+        return executor instanceof ThreadPoolExecutor ? ((ThreadPoolExecutor) executor).getActiveCount() : 0;
+    }
+
+    /**
+     * Gets the amount of tasks rejected because the queue of their plugin
+     * was full.
+     *
+     * @return The rejected task count, always 0 for the unbounded executor
+     */
+    long getRejectedTasks() {
+        this.getExecutor();
+        return this.quotaExecutor == null ? 0L : this.quotaExecutor.getRejectedTasks();
     }
 
     private void mainLoop() {
-        this.lastProcessingTimestamp = System.nanoTime();
         while (true) {
-            recalibrateMinimumTimeout();
             this.runTick();
         }
     }
 
-    private void recalibrateMinimumTimeout() {
-        this.lock.lock();
-        try {
-            Set<Task> tasks = this.getScheduledTasks();
-            this.minimumTimeout = Long.MAX_VALUE;
-            long now = System.nanoTime();
-            for (Task tmpTask : tasks) {
-                ScheduledTask task = (ScheduledTask) tmpTask;
-                if (task.getState() == ScheduledTask.ScheduledTaskState.EXECUTING) {
-                    // bail out for this task. We'll signal when we complete the task.
-                    continue;
-                }
-                // Recalibrate the wait delay for processing tasks before new
-                // tasks cause the scheduler to process pending tasks.
-                if (task.offset == 0 && task.period == 0) {
-                    this.minimumTimeout = 0;
-                }
-                // The time since the task last executed or was added to the map
-                long timeSinceLast = now - task.getTimestamp();
-
-                if (task.offset > 0 && task.getState() == ScheduledTask.ScheduledTaskState.WAITING) {
-                    // There is an offset and the task hasn't run yet
-                    this.minimumTimeout = Math.min(task.offset - timeSinceLast, this.minimumTimeout);
-                }
-                if (task.period > 0 && task.getState().isActive) {
-                    // The task repeats and has run after the initial delay
-                    this.minimumTimeout = Math.min(task.period - timeSinceLast, this.minimumTimeout);
-                }
-                if (this.minimumTimeout <= 0) {
-                    break;
-                }
-            }
-            if (!tasks.isEmpty()) {
-                long latency = System.nanoTime() - this.lastProcessingTimestamp;
-                this.minimumTimeout -= (latency <= 0) ? 0 : latency;
-                this.minimumTimeout = (this.minimumTimeout < 0) ? 0 : this.minimumTimeout;
-            }
-        } finally {
-            this.lock.unlock();
+    /**
+     * Computes how long the scheduler may sleep before the next queued task
+     * becomes due. Must be called while holding the lock.
+     *
+     * @return The timeout in nanoseconds
+     */
+    private long recalibrateMinimumTimeout() {
+        if (this.hasIncomingTasks()) {
+            // New or requeued tasks have to be processed right away
+            return 0L;
+        }
+        final ScheduledTask next = this.peekNextTimedTask();
+        if (next == null) {
+            return Long.MAX_VALUE;
         }
+        return Math.max(0L, next.getDeadline() - System.nanoTime());
     }
 
     @Override
     protected void preTick() {
         this.lock.lock();
         try {
-            this.condition.await(this.minimumTimeout, TimeUnit.NANOSECONDS);
+            final long timeout = this.recalibrateMinimumTimeout();
+            if (timeout > 0) {
+                this.condition.awaitNanos(timeout);
+            }
         } catch (InterruptedException ignored) {
             // The taskMap has been modified; there is work to do.
             // Continue on without handling the Exception.
@@ -122,19 +186,19 @@ protected void preTick() {
         }
     }
 
-    @Override
-    protected void postTick() {
-        this.lastProcessingTimestamp = System.nanoTime();
-    }
-
     @Override
     protected void finallyPostTick() {
         this.lock.unlock();
     }
 
     @Override
-    protected void executeTaskRunnable(ScheduledTask task, Runnable runnable) {
-        this.executor.submit(runnable);
+    protected boolean executeTaskRunnable(ScheduledTask task, Runnable runnable) {
+        final ExecutorService executor = this.getExecutor();
+        if (this.quotaExecutor != null) {
+            return this.quotaExecutor.execute(task.getOwner(), runnable);
+        }
+        executor.submit(runnable);
+        return true;
     }
 
     @Override
@@ -151,9 +215,15 @@ protected void addTask(ScheduledTask task) {
     @Override
     protected void onTaskCompletion(ScheduledTask task) {
         // This will likely be run from an executor thread rather than
-        // the thread that owns the task, hence no lock.
-        if (task.getState() == ScheduledTask.ScheduledTaskState.RUNNING) {
-            this.condition.signalAll();
+        // the thread that owns the task. Only tasks that became due while
+        // they were executing have to wake up the scheduler.
+        if (this.requeueDeferredTask(task)) {
+            this.lock.lock();
+            try {
+                this.condition.signalAll();
+            } finally {
+                this.lock.unlock();
+            }
         }
     }
 
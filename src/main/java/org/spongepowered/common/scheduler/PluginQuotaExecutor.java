@@ -0,0 +1,183 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import com.google.common.collect.Maps;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.common.SpongeImpl;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs asynchronous tasks on a bounded work-stealing {@link ForkJoinPool},
+ * limiting the amount of tasks each {@link PluginContainer} may run at the
+ * same time. Tasks over the quota of their plugin wait in a per plugin queue
+ * until one of the running tasks of that plugin completes.
+ */
+final class PluginQuotaExecutor {
+
+    private static final long WARNING_INTERVAL = TimeUnit.SECONDS.toNanos(10);
+
+    private final ForkJoinPool pool;
+    private final int maxConcurrentTasks;
+    private final int maxQueuedTasks;
+    private final Map<String, PluginQueue> queues = Maps.newConcurrentMap();
+    private final AtomicInteger queuedTasks = new AtomicInteger();
+    private final AtomicLong rejectedTasks = new AtomicLong();
+
+    PluginQuotaExecutor(int threads, int maxConcurrentTasks, int maxQueuedTasks) {
+        final int parallelism = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(parallelism, pool -> {
+            final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("Sponge Async Scheduler Worker-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, (thread, throwable) -> SpongeImpl.getLogger().error("An uncaught exception occurred on thread {}", thread.getName(), throwable),
+            true);
+        this.maxConcurrentTasks = maxConcurrentTasks > 0 ? maxConcurrentTasks : Integer.MAX_VALUE;
+        this.maxQueuedTasks = maxQueuedTasks > 0 ? maxQueuedTasks : Integer.MAX_VALUE;
+    }
+
+    ForkJoinPool getPool() {
+        return this.pool;
+    }
+
+    /**
+     * Submits the runnable on behalf of the plugin. The runnable is started
+     * right away if the plugin is below its quota, otherwise it is queued.
+     *
+     * @param plugin The owning plugin
+     * @param runnable The runnable to execute
+     * @return False if the runnable was rejected because the queue of the
+     *     plugin is full
+     */
+    boolean execute(PluginContainer plugin, Runnable runnable) {
+        final PluginQueue queue = this.queues.computeIfAbsent(plugin.getId(), id -> new PluginQueue());
+        if (queue.size.incrementAndGet() > this.maxQueuedTasks) {
+            queue.size.decrementAndGet();
+            this.rejectedTasks.incrementAndGet();
+            queue.rejectedSinceWarning.incrementAndGet();
+            // Warn at most once per interval and plugin, a plugin flooding the queue would flood the log as well
+            final long now = System.nanoTime();
+            final long lastWarning = queue.lastWarning.get();
+            if (now - lastWarning >= WARNING_INTERVAL && queue.lastWarning.compareAndSet(lastWarning, now)) {
+                SpongeImpl.getLogger().warn("Rejected {} asynchronous task(s) of plugin {}, it already has {} tasks waiting for execution.",
+                    queue.rejectedSinceWarning.getAndSet(0), plugin.getId(), this.maxQueuedTasks);
+            }
+            return false;
+        }
+        queue.tasks.add(runnable);
+        this.queuedTasks.incrementAndGet();
+        this.dispatch(queue);
+        return true;
+    }
+
+    /**
+     * Starts queued tasks of the plugin queue as long as the plugin has
+     * slots left.
+     *
+     * @param queue The plugin queue
+     */
+    private void dispatch(PluginQueue queue) {
+        while (true) {
+            final int running = queue.running.get();
+            if (running >= this.maxConcurrentTasks) {
+                // One of the running tasks will dispatch again once it completes
+                return;
+            }
+            if (!queue.running.compareAndSet(running, running + 1)) {
+                continue;
+            }
+            final Runnable runnable = queue.tasks.poll();
+            if (runnable == null) {
+                queue.running.decrementAndGet();
+                // A task may have been added after the poll but before the
+                // slot was released, in which case we have to retry.
+                if (queue.tasks.isEmpty()) {
+                    return;
+                }
+                continue;
+            }
+            queue.size.decrementAndGet();
+            this.queuedTasks.decrementAndGet();
+            this.pool.execute(() -> {
+                try {
+                    runnable.run();
+                } finally {
+                    queue.running.decrementAndGet();
+                    this.dispatch(queue);
+                }
+            });
+        }
+    }
+
+    /**
+     * Gets the amount of tasks that are waiting for a free slot of their
+     * plugin.
+     *
+     * @return The queue depth
+     */
+    int getQueueDepth() {
+        return this.queuedTasks.get();
+    }
+
+    /**
+     * Gets the estimated amount of threads that are currently running tasks.
+     *
+     * @return The active thread count
+     */
+    int getActiveThreads() {
+        return this.pool.getActiveThreadCount();
+    }
+
+    /**
+     * Gets the amount of tasks that were rejected because the queue of
+     * their plugin was full.
+     *
+     * @return The rejected task count
+     */
+    long getRejectedTasks() {
+        return this.rejectedTasks.get();
+    }
+
+    private static final class PluginQueue {
+
+        final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        // The amount of queued tasks, tracked separately as the size of the queue is not constant time
+        final AtomicInteger size = new AtomicInteger();
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicLong rejectedSinceWarning = new AtomicLong();
+        final AtomicLong lastWarning = new AtomicLong(System.nanoTime() - WARNING_INTERVAL);
+
+    }
+
+}
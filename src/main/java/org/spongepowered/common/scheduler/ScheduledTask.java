@@ -33,9 +33,12 @@
 import org.spongepowered.api.scheduler.Task;
 
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 import java.util.concurrent.TimeUnit;
 
+import javax.annotation.Nullable;
+
 /**
  * An internal representation of a {@link Task} created by a plugin.
  */
@@ -54,6 +57,14 @@ public class ScheduledTask implements Task {
     private final TaskSynchronicity syncType;
     private final String stringRepresentation;
     private Timing taskTimer;
+    // The scheduler this task was submitted to, notified upon cancellation
+    @Nullable private SchedulerBase scheduler;
+    // The deadline within the TaskQueue of the owning scheduler
+    private long deadline;
+    // The index within the TaskQueue, -1 if not queued
+    int queueIndex = -1;
+    // Whether this task became due while it was still executing
+    private final AtomicBoolean deferred = new AtomicBoolean();
 
     // Internal Task state. Not for user-service use.
     public enum ScheduledTaskState {
@@ -136,7 +147,11 @@ public boolean cancel() {
         if (getState() != ScheduledTask.ScheduledTaskState.RUNNING && getState() != ScheduledTaskState.EXECUTING) {
             success = true;
         }
+        final boolean alreadyCancelled = this.state == ScheduledTaskState.CANCELED;
         this.setState(ScheduledTask.ScheduledTaskState.CANCELED);
+        if (!alreadyCancelled && this.scheduler != null) {
+            this.scheduler.onTaskCancelled(this);
+        }
         return success;
     }
 
@@ -182,6 +197,39 @@ void setTimestamp(long timestamp) {
         this.timestamp = timestamp;
     }
 
+    void setScheduler(SchedulerBase scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Gets the timestamp at which this task was last queued to become due.
+     *
+     * @return The deadline
+     */
+    long getDeadline() {
+        return this.deadline;
+    }
+
+    void setDeadline(long deadline) {
+        this.deadline = deadline;
+    }
+
+    /**
+     * Marks this task as having become due while it was still executing.
+     */
+    void defer() {
+        this.deferred.set(true);
+    }
+
+    /**
+     * Clears the deferred flag of this task.
+     *
+     * @return Whether the task was deferred before this call
+     */
+    boolean clearDeferred() {
+        return this.deferred.compareAndSet(true, false);
+    }
+
     ScheduledTaskState getState() {
         return this.state;
     }
@@ -37,8 +37,10 @@
 
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import javax.annotation.Nullable;
 
@@ -46,6 +48,13 @@ abstract class SchedulerBase {
 
     // The simple queue of all pending (and running) ScheduledTasks
     private final Map<UUID, ScheduledTask> taskMap = Maps.newConcurrentMap();
+    // Tasks that were added or need to be requeued, drained by the ticking thread
+    private final Queue<ScheduledTask> incomingTasks = new ConcurrentLinkedQueue<>();
+    // Tasks that were cancelled since the last tick, drained by the ticking thread
+    private final Queue<ScheduledTask> cancelledTasks = new ConcurrentLinkedQueue<>();
+    // The tasks ordered by their deadline, split by the type of timestamp they use
+    private final TaskQueue tickQueue = new TaskQueue();
+    private final TaskQueue timeQueue = new TaskQueue();
     private long sequenceNumber = 0L;
     private final String taskNameFmt;
 
@@ -72,6 +81,18 @@ protected long getTimestamp(ScheduledTask task) {
         return System.nanoTime();
     }
 
+    /**
+     * Gets whether the timestamp of the task, as returned by
+     * {@link #getTimestamp(ScheduledTask)}, is measured in ticks rather than
+     * in nanoseconds.
+     *
+     * @param task The task
+     * @return True if the timestamp is tick based
+     */
+    protected boolean isTickBased(ScheduledTask task) {
+        return false;
+    }
+
     /**
      * Adds the task to the task map, will attempt to process the task on the
      * next call to {@link #runTick}.
@@ -80,16 +101,84 @@ protected long getTimestamp(ScheduledTask task) {
      */
     protected void addTask(ScheduledTask task) {
         task.setTimestamp(this.getTimestamp(task));
+        task.setScheduler(this);
         this.taskMap.put(task.getUniqueId(), task);
+        this.incomingTasks.add(task);
     }
 
     /**
-     * Removes the task from the task map.
+     * Removes the task from the task map and the deadline queues. Must only
+     * be called from the ticking thread.
      *
      * @param task The task to remove
      */
     protected void removeTask(ScheduledTask task) {
         this.taskMap.remove(task.getUniqueId());
+        if (!this.tickQueue.remove(task)) {
+            this.timeQueue.remove(task);
+        }
+    }
+
+    /**
+     * Called when a task owned by this scheduler is cancelled, may be called
+     * from any thread.
+     *
+     * @param task The cancelled task
+     */
+    void onTaskCancelled(ScheduledTask task) {
+        this.cancelledTasks.add(task);
+    }
+
+    /**
+     * Queues the task to be processed once its next execution timestamp has
+     * passed.
+     *
+     * @param task The task to queue
+     */
+    private void queueTask(ScheduledTask task) {
+        if (task.getState() == ScheduledTask.ScheduledTaskState.CANCELED) {
+            this.removeTask(task);
+            return;
+        }
+        final TaskQueue queue = this.isTickBased(task) ? this.tickQueue : this.timeQueue;
+        queue.add(task, task.nextExecutionTimestamp());
+    }
+
+    /**
+     * Requeues a task that became due while it was still executing, may be
+     * called from any thread.
+     *
+     * @param task The task to requeue
+     * @return Whether the task was deferred and is now requeued
+     */
+    protected boolean requeueDeferredTask(ScheduledTask task) {
+        if (task.clearDeferred()) {
+            this.incomingTasks.add(task);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Gets whether there are tasks that were added or requeued since the last
+     * tick and have not been processed yet.
+     *
+     * @return True if there are incoming tasks
+     */
+    protected boolean hasIncomingTasks() {
+        return !this.incomingTasks.isEmpty();
+    }
+
+    /**
+     * Gets the task with the earliest deadline that is measured in
+     * nanoseconds, without removing it. Must only be called from the ticking
+     * thread.
+     *
+     * @return The next task, or null if there are no queued tasks
+     */
+    @Nullable
+    protected ScheduledTask peekNextTimedTask() {
+        return this.timeQueue.peek();
     }
 
     protected Optional<Task> getTask(UUID id) {
@@ -103,13 +192,21 @@ protected Set<Task> getScheduledTasks() {
     }
 
     /**
-     * Process all tasks in the map.
+     * Process all tasks that are due.
      */
     protected final void runTick() {
         this.preTick();
         TimingsManager.PLUGIN_SCHEDULER_HANDLER.startTimingIfSync();
         try {
-            this.taskMap.values().forEach(this::processTask);
+            ScheduledTask task;
+            while ((task = this.cancelledTasks.poll()) != null) {
+                this.removeTask(task);
+            }
+            while ((task = this.incomingTasks.poll()) != null) {
+                this.queueTask(task);
+            }
+            this.processDueTasks(this.tickQueue);
+            this.processDueTasks(this.timeQueue);
             this.postTick();
         } finally {
             this.finallyPostTick();
@@ -137,7 +234,32 @@ protected void finallyPostTick() {
     }
 
     /**
-     * Processes the task.
+     * Polls and processes the tasks of the queue whose deadline has passed,
+     * the first task that is not yet due ends the iteration.
+     *
+     * @param queue The queue to process
+     */
+    private void processDueTasks(TaskQueue queue) {
+        ScheduledTask task;
+        while ((task = queue.peek()) != null) {
+            // If the task is now slated to be cancelled, we just remove it as if it
+            // no longer exists.
+            if (task.getState() == ScheduledTask.ScheduledTaskState.CANCELED) {
+                this.removeTask(task);
+                continue;
+            }
+            // The queue is ordered by deadline, so if this task is not due
+            // none of the following tasks are.
+            if (task.getDeadline() > this.getTimestamp(task)) {
+                break;
+            }
+            queue.poll();
+            this.processTask(task);
+        }
+    }
+
+    /**
+     * Processes a task whose deadline has passed.
      *
      * @param task The task to process
      */
@@ -149,33 +271,36 @@ protected void processTask(ScheduledTask task) {
             return;
         }
         // If the task is already being processed, we wait for the previous
-        // occurrence to terminate.
+        // occurrence to terminate, which will requeue the task. If it terminated
+        // in the meantime we take the task back and start it right away.
         if (task.getState() == ScheduledTask.ScheduledTaskState.EXECUTING) {
-            return;
-        }
-        long threshold = Long.MAX_VALUE;
-        // Figure out if we start a delayed Task after threshold ticks or, start
-        // it after the interval (period) of the repeating task parameter.
-        if (task.getState() == ScheduledTask.ScheduledTaskState.WAITING) {
-            threshold = task.offset;
-        } else if (task.getState() == ScheduledTask.ScheduledTaskState.RUNNING) {
-            threshold = task.period;
+            task.defer();
+            if (task.getState() == ScheduledTask.ScheduledTaskState.EXECUTING || !task.clearDeferred()) {
+                return;
+            }
         }
-        // This moment is 'now'
-        long now = this.getTimestamp(task);
-        // So, if the current time minus the timestamp of the task is greater
-        // than the delay to wait before starting the task, then start the task.
-        // Repeating tasks get a reset-timestamp each time they are set RUNNING
-        // If the task has a period of 0 (zero) this task will not repeat, and
-        // is removed after we start it.
-        if (threshold <= (now - task.getTimestamp())) {
-            task.setState(ScheduledTask.ScheduledTaskState.SWITCHING);
-            task.setTimestamp(this.getTimestamp(task));
-            startTask(task);
-            // If task is one time shot, remove it from the map.
+        // Repeating tasks get a reset-timestamp each time they are started, and
+        // are requeued for their next execution. If the task has a period of 0
+        // (zero) this task will not repeat, and is removed after we start it.
+        final ScheduledTask.ScheduledTaskState previousState = task.getState();
+        task.setState(ScheduledTask.ScheduledTaskState.SWITCHING);
+        task.setTimestamp(this.getTimestamp(task));
+        if (!startTask(task)) {
+            // The executor rejected the task, repeating tasks skip this
+            // execution and tasks that don't repeat are cancelled
             if (task.period == 0L) {
+                task.setState(ScheduledTask.ScheduledTaskState.CANCELED);
                 this.removeTask(task);
+            } else {
+                task.setState(previousState);
+                this.queueTask(task);
             }
+            return;
+        }
+        if (task.period == 0L) {
+            this.removeTask(task);
+        } else {
+            this.queueTask(task);
         }
     }
 
@@ -183,9 +308,10 @@ protected void processTask(ScheduledTask task) {
      * Begin the execution of a task. Exceptions are caught and logged.
      *
      * @param task The task to start
+     * @return False if the executor rejected the task
      */
-    protected void startTask(final ScheduledTask task) {
-        this.executeTaskRunnable(task, () -> {
+    protected boolean startTask(final ScheduledTask task) {
+        return this.executeTaskRunnable(task, () -> {
             task.setState(ScheduledTask.ScheduledTaskState.EXECUTING);
             try (final PhaseContext<?> context = createContext(task, task.getOwner());
                  final Timing timings = task.getTimingsHandler()) {
@@ -221,8 +347,9 @@ protected PhaseContext<?> createContext(ScheduledTask task, PluginContainer cont
      * Actually run the runnable that will begin the task
      *
      * @param runnable The runnable to run
+     * @return False if the runnable was rejected and will never run
      */
-    protected abstract void executeTaskRunnable(ScheduledTask task, Runnable runnable);
+    protected abstract boolean executeTaskRunnable(ScheduledTask task, Runnable runnable);
 
     /**
      * Run when a task has completed and is switching into
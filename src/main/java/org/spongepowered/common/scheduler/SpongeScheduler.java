@@ -50,6 +50,7 @@
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -198,8 +199,54 @@ public void tickSyncScheduler() {
         }
     }
 
+    /**
+     * Gets whether asynchronous tasks are run by the bounded executor with
+     * per plugin quotas.
+     *
+     * @return True if the async executor is bounded
+     */
+    public boolean isAsyncExecutorBounded() {
+        return this.asyncScheduler.isBounded();
+    }
+
+    /**
+     * Gets the amount of asynchronous tasks that wait for a free slot of
+     * their plugin.
+     *
+     * @return The queue depth
+     */
+    public int getAsyncQueueDepth() {
+        return this.asyncScheduler.getQueueDepth();
+    }
+
+    /**
+     * Gets the estimated amount of threads running asynchronous tasks.
+     *
+     * @return The active thread count
+     */
+    public int getAsyncActiveThreads() {
+        return this.asyncScheduler.getActiveThreads();
+    }
+
+    /**
+     * Gets the amount of asynchronous tasks that were rejected because the
+     * queue of their plugin was full.
+     *
+     * @return The rejected task count
+     */
+    public long getAsyncRejectedTasks() {
+        return this.asyncScheduler.getRejectedTasks();
+    }
+
     public <T> CompletableFuture<T> submitAsyncTask(Callable<T> callable) {
-        return Functional.asyncFailableFuture(callable, this.asyncScheduler.getExecutor());
+        try {
+            // Counts towards the quota of Sponge itself if the async executor is bounded
+            return Functional.asyncFailableFuture(callable, this.asyncScheduler.getExecutor(SpongeImpl.getPlugin()));
+        } catch (RejectedExecutionException e) {
+            final CompletableFuture<T> future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+            return future;
+        }
     }
 
     public Future<?> callSync(Runnable runnable) {
@@ -49,15 +49,8 @@ void tick() {
 
     @Override
     protected long getTimestamp(ScheduledTask task) {
-        if (task.getState() == ScheduledTask.ScheduledTaskState.WAITING) {
-            // The timestamp is based on the initial offset
-            if (task.delayIsTicks) {
-                return this.counter;
-            }
-            return super.getTimestamp(task);
-        } else if (task.getState().isActive) {
-            // The timestamp is based on the period
-            if (task.intervalIsTicks) {
+        if (task.getState() == ScheduledTask.ScheduledTaskState.WAITING || task.getState().isActive) {
+            if (this.isTickBased(task)) {
                 return this.counter;
             }
             return super.getTimestamp(task);
@@ -66,13 +59,24 @@ protected long getTimestamp(ScheduledTask task) {
     }
 
     @Override
-    protected void executeTaskRunnable(ScheduledTask task, Runnable runnable) {
+    protected boolean isTickBased(ScheduledTask task) {
+        if (task.getState() == ScheduledTask.ScheduledTaskState.WAITING) {
+            // The timestamp is based on the initial offset
+            return task.delayIsTicks;
+        }
+        // The timestamp is based on the period
+        return task.getState().isActive && task.intervalIsTicks;
+    }
+
+    @Override
+    protected boolean executeTaskRunnable(ScheduledTask task, Runnable runnable) {
         try (BasicPluginContext context = createContext(task)) {
             if (context != null) {
                 context.buildAndSwitch();
             }
             runnable.run();
         }
+        return true;
     }
 
     @Nullable
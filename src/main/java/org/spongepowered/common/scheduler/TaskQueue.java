@@ -0,0 +1,170 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import java.util.Arrays;
+
+import javax.annotation.Nullable;
+
+/**
+ * A binary min-heap of {@link ScheduledTask}s ordered by their
+ * {@link ScheduledTask#getDeadline() deadline}. Each task keeps track of
+ * its own index within the heap so that it can be removed without a linear
+ * search.
+ *
+ * <p>This queue is not thread safe, it is only ever accessed by the thread
+ * that ticks the owning {@link SchedulerBase}.</p>
+ */
+final class TaskQueue {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private ScheduledTask[] heap = new ScheduledTask[INITIAL_CAPACITY];
+    private int size;
+
+    int size() {
+        return this.size;
+    }
+
+    boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Adds the task to this queue, to become due at the given deadline. If the
+     * task is already queued, it will be moved to the new deadline.
+     *
+     * @param task The task
+     * @param deadline The deadline
+     */
+    void add(ScheduledTask task, long deadline) {
+        if (task.queueIndex >= 0) {
+            this.remove(task);
+        }
+        task.setDeadline(deadline);
+        if (this.size == this.heap.length) {
+            this.heap = Arrays.copyOf(this.heap, this.size << 1);
+        }
+        final int index = this.size++;
+        this.heap[index] = task;
+        task.queueIndex = index;
+        this.siftUp(index);
+    }
+
+    /**
+     * Removes the task from this queue, if present.
+     *
+     * @param task The task
+     * @return Whether the task was queued
+     */
+    boolean remove(ScheduledTask task) {
+        final int index = task.queueIndex;
+        if (index < 0 || index >= this.size || this.heap[index] != task) {
+            return false;
+        }
+        this.removeAt(index);
+        return true;
+    }
+
+    @Nullable
+    ScheduledTask peek() {
+        return this.size == 0 ? null : this.heap[0];
+    }
+
+    @Nullable
+    ScheduledTask poll() {
+        if (this.size == 0) {
+            return null;
+        }
+        final ScheduledTask task = this.heap[0];
+        this.removeAt(0);
+        return task;
+    }
+
+    void clear() {
+        for (int i = 0; i < this.size; i++) {
+            this.heap[i].queueIndex = -1;
+            this.heap[i] = null;
+        }
+        this.size = 0;
+    }
+
+    private void removeAt(int index) {
+        final ScheduledTask removed = this.heap[index];
+        removed.queueIndex = -1;
+        final int last = --this.size;
+        if (index == last) {
+            this.heap[last] = null;
+            return;
+        }
+        final ScheduledTask moved = this.heap[last];
+        this.heap[last] = null;
+        this.heap[index] = moved;
+        moved.queueIndex = index;
+        this.siftDown(index);
+        if (this.heap[index] == moved) {
+            this.siftUp(index);
+        }
+    }
+
+    private void siftUp(int index) {
+        final ScheduledTask task = this.heap[index];
+        while (index > 0) {
+            final int parentIndex = (index - 1) >>> 1;
+            final ScheduledTask parent = this.heap[parentIndex];
+            if (parent.getDeadline() <= task.getDeadline()) {
+                break;
+            }
+            this.heap[index] = parent;
+            parent.queueIndex = index;
+            index = parentIndex;
+        }
+        this.heap[index] = task;
+        task.queueIndex = index;
+    }
+
+    private void siftDown(int index) {
+        final ScheduledTask task = this.heap[index];
+        final int half = this.size >>> 1;
+        while (index < half) {
+            int childIndex = (index << 1) + 1;
+            ScheduledTask child = this.heap[childIndex];
+            final int rightIndex = childIndex + 1;
+            if (rightIndex < this.size && this.heap[rightIndex].getDeadline() < child.getDeadline()) {
+                childIndex = rightIndex;
+                child = this.heap[rightIndex];
+            }
+            if (task.getDeadline() <= child.getDeadline()) {
+                break;
+            }
+            this.heap[index] = child;
+            child.queueIndex = index;
+            index = childIndex;
+        }
+        this.heap[index] = task;
+        task.queueIndex = index;
+    }
+
+}
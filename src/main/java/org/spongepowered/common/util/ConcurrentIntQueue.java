@@ -0,0 +1,136 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A lock-free, unbounded queue of non-negative ints that any number of threads
+ * may offer to, but only a single thread at a time may poll from.
+ *
+ * <p>Values are stored unboxed in linked segments of fixed size, segments are
+ * dropped once the consumer passed them.</p>
+ */
+public final class ConcurrentIntQueue {
+
+    private static final int SEGMENT_SIZE = 64;
+
+    /**
+     * The value returned by {@link #poll()} if no value is available.
+     */
+    public static final int EMPTY = -1;
+
+    private final AtomicReference<Segment> tail;
+    private final AtomicInteger size = new AtomicInteger();
+    // Only accessed by the consumer
+    private Segment head;
+    private int headIndex;
+
+    public ConcurrentIntQueue() {
+        this.head = new Segment();
+        this.tail = new AtomicReference<>(this.head);
+    }
+
+    /**
+     * Adds the value to the end of this queue.
+     *
+     * @param value The value, may not be negative
+     */
+    public void offer(final int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative values are not supported: " + value);
+        }
+        while (true) {
+            final Segment segment = this.tail.get();
+            final int index = segment.claimed.getAndIncrement();
+            if (index < SEGMENT_SIZE) {
+                // Zero marks slots that aren't published yet
+                segment.values.set(index, value + 1);
+                this.size.incrementAndGet();
+                return;
+            }
+            Segment next = segment.next.get();
+            if (next == null) {
+                final Segment created = new Segment();
+                next = segment.next.compareAndSet(null, created) ? created : segment.next.get();
+            }
+            this.tail.compareAndSet(segment, next);
+        }
+    }
+
+    /**
+     * Removes the value at the head of this queue. May only be called by one
+     * thread at a time.
+     *
+     * <p>{@link #EMPTY} is also returned if the value at the head was claimed
+     * but not yet published by a producer, producers are expected to signal
+     * the consumer after they offered a value.</p>
+     *
+     * @return The value, or {@link #EMPTY} if there is none
+     */
+    public int poll() {
+        while (true) {
+            if (this.headIndex == SEGMENT_SIZE) {
+                final Segment next = this.head.next.get();
+                if (next == null) {
+                    return EMPTY;
+                }
+                this.head = next;
+                this.headIndex = 0;
+            }
+            final int value = this.head.values.get(this.headIndex);
+            if (value == 0) {
+                return EMPTY;
+            }
+            this.headIndex++;
+            this.size.decrementAndGet();
+            return value - 1;
+        }
+    }
+
+    /**
+     * Gets the approximate number of values in this queue.
+     *
+     * @return The size
+     */
+    public int size() {
+        return this.size.get();
+    }
+
+    public boolean isEmpty() {
+        return this.size.get() == 0;
+    }
+
+    private static final class Segment {
+
+        final AtomicIntegerArray values = new AtomicIntegerArray(SEGMENT_SIZE);
+        final AtomicInteger claimed = new AtomicInteger();
+        final AtomicReference<Segment> next = new AtomicReference<>();
+
+    }
+
+}
@@ -148,6 +148,7 @@ public static final class Sponge {
         public static final String SPONGE_ENTITY_CREATOR = "Creator";
         public static final String SPONGE_ENTITY_NOTIFIER = "Notifier";
         public static final String SPONGE_BLOCK_POS_TABLE = "BlockPosTable";
+        public static final String SPONGE_TRACKED_BLOCKS = "TrackedBlocks";
         public static final String SPONGE_PLAYER_UUID_TABLE = "PlayerIdTable";
         public static final String CUSTOM_MANIPULATOR_TAG_LIST = "CustomManipulators";
         public static final DataQuery CUSTOM_MANIPULATOR_LIST = of(CUSTOM_MANIPULATOR_TAG_LIST);
@@ -264,6 +265,15 @@ public static final class World {
             public static final String LEVEL_SPONGE_DAT = "level_sponge.dat";
             public static final String LEVEL_SPONGE_DAT_OLD = "level_sponge.dat_old";
             public static final String LEVEL_SPONGE_DAT_NEW = "level_sponge.dat_new";
+            public static final String PRE_GENERATE_DAT_PREFIX = "sponge_pregen_";
+            public static final String PRE_GENERATE_DAT_SUFFIX = ".dat";
+            public static final String PRE_GENERATE_DAT_NEW_SUFFIX = ".dat_new";
+        }
+        public static final class TrackedBlocks {
+            public static final String SHORT_POSITIONS = "ShortPositions";
+            public static final String INT_POSITIONS = "IntPositions";
+            public static final String OWNERS = "Owners";
+            public static final String NOTIFIERS = "Notifiers";
         }
         public static final class Schematic {
             public static final DataQuery NAME = of("Name");
@@ -367,6 +377,7 @@ public static final class World {
 
 
         public static final int CHUNK_GC_TICK_INTERVAL = 600;
+        public static final long CHUNK_GC_MAX_TIME_PER_TICK = 500000;
 
         public static final Vector3i BLOCK_MIN = new Vector3i(-30000000, 0, -30000000);
         public static final Vector3i BIOME_MIN = new Vector3i(Constants.World.BLOCK_MIN.getX(), 0, Constants.World.BLOCK_MIN.getZ());
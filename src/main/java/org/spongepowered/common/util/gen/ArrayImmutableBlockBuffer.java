@@ -36,10 +36,12 @@
 import org.spongepowered.api.world.schematic.Palette;
 import org.spongepowered.common.util.gen.ArrayMutableBlockBuffer.BackingData;
 import org.spongepowered.common.util.gen.ArrayMutableBlockBuffer.CharBackingData;
+import org.spongepowered.common.world.extent.ExtentBufferUtil;
 import org.spongepowered.common.world.extent.ImmutableBlockViewDownsize;
 import org.spongepowered.common.world.extent.ImmutableBlockViewTransform;
 import org.spongepowered.common.world.extent.worker.SpongeBlockVolumeWorker;
 import org.spongepowered.common.world.schematic.GlobalPalette;
+import org.spongepowered.common.world.schematic.PrimitivePalette;
 
 import java.util.Objects;
 
@@ -78,7 +80,8 @@ public Palette<BlockState> getPalette() {
     @Override
     public BlockState getBlock(int x, int y, int z) {
         checkRange(x, y, z);
-        return this.palette.get(this.data.get(getIndex(x, y, z))).orElse(AIR);
+        final BlockState block = PrimitivePalette.getOrNull(this.palette, this.data.get(getIndex(x, y, z)));
+        return block == null ? AIR : block;
     }
 
     @Override
@@ -109,6 +112,7 @@ public MutableBlockVolume getBlockCopy(StorageType type) {
             case STANDARD:
                 return new ArrayMutableBlockBuffer(this.palette, this.data.copyOf(), this.start, this.size);
             case THREAD_SAFE:
+                return new AtomicMutableBlockBuffer(this.start, this.size, ExtentBufferUtil.copyToArray(this, this.start, this.end, this.size));
             default:
                 throw new UnsupportedOperationException(type.name());
         }
@@ -36,6 +36,7 @@
 import org.spongepowered.api.world.extent.worker.MutableBlockVolumeWorker;
 import org.spongepowered.api.world.schematic.Palette;
 import org.spongepowered.api.world.schematic.PaletteTypes;
+import org.spongepowered.common.world.extent.ExtentBufferUtil;
 import org.spongepowered.common.world.extent.MutableBlockViewDownsize;
 import org.spongepowered.common.world.extent.MutableBlockViewTransform;
 import org.spongepowered.common.world.extent.UnmodifiableBlockVolumeWrapper;
@@ -43,6 +44,7 @@
 import org.spongepowered.common.world.schematic.BimapPalette;
 import org.spongepowered.common.world.schematic.BlockPaletteWrapper;
 import org.spongepowered.common.world.schematic.GlobalPalette;
+import org.spongepowered.common.world.schematic.PrimitivePalette;
 
 import java.util.Arrays;
 import java.util.Objects;
@@ -126,7 +128,7 @@ public boolean setBlock(int x, int y, int z, BlockState block) {
 
                 newdata = new PackedBackingData(dataSize, highId);
                 for (int i = 0; i < dataSize; i++) {
-                    newdata.set(i, newpalette.getOrAssign(this.palette.get(this.data.get(i)).orElse(AIR)));
+                    newdata.set(i, newpalette.getOrAssign(getBlock(this.data.get(i))));
                 }
                 this.palette = newpalette;
             } else {
@@ -145,7 +147,12 @@ public boolean setBlock(int x, int y, int z, BlockState block) {
     @Override
     public BlockState getBlock(int x, int y, int z) {
         checkRange(x, y, z);
-        return this.palette.get(this.data.get(getIndex(x, y, z))).orElse(AIR);
+        return getBlock(this.data.get(getIndex(x, y, z)));
+    }
+
+    private BlockState getBlock(int id) {
+        final BlockState block = PrimitivePalette.getOrNull(this.palette, id);
+        return block == null ? AIR : block;
     }
 
     @Override
@@ -176,6 +183,7 @@ public MutableBlockVolume getBlockCopy(StorageType type) {
             case STANDARD:
                 return new ArrayMutableBlockBuffer(this.palette, this.data.copyOf(), this.start, this.size);
             case THREAD_SAFE:
+                return new AtomicMutableBlockBuffer(this.start, this.size, ExtentBufferUtil.copyToArray(this, this.start, this.end, this.size));
             default:
                 throw new UnsupportedOperationException(type.name());
         }
@@ -0,0 +1,162 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util.gen;
+
+import com.flowpowered.math.vector.Vector3i;
+import org.spongepowered.api.util.DiscreteTransform3;
+import org.spongepowered.api.world.biome.BiomeType;
+import org.spongepowered.api.world.biome.BiomeTypes;
+import org.spongepowered.api.world.extent.BiomeVolume;
+import org.spongepowered.api.world.extent.ImmutableBiomeVolume;
+import org.spongepowered.api.world.extent.MutableBiomeVolume;
+import org.spongepowered.api.world.extent.StorageType;
+import org.spongepowered.api.world.extent.UnmodifiableBiomeVolume;
+import org.spongepowered.api.world.extent.worker.MutableBiomeVolumeWorker;
+import org.spongepowered.common.world.extent.MutableBiomeViewDownsize;
+import org.spongepowered.common.world.extent.MutableBiomeViewTransform;
+import org.spongepowered.common.world.extent.UnmodifiableBiomeVolumeWrapper;
+import org.spongepowered.common.world.extent.worker.SpongeMutableBiomeVolumeWorker;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Thread safe mutable biome volume backed by an
+ * {@link AtomicReferenceArray}, used for {@link StorageType#THREAD_SAFE}
+ * copies. Like the {@link ObjectArrayMutableBiomeBuffer}, virtual biomes are
+ * kept as they are.
+ */
+public final class AtomicMutableBiomeBuffer extends AbstractBiomeBuffer implements MutableBiomeVolume {
+
+    private final AtomicReferenceArray<BiomeType> biomes;
+
+    public AtomicMutableBiomeBuffer(Vector3i start, Vector3i size) {
+        super(start, size);
+        this.biomes = new AtomicReferenceArray<>(size.getX() * size.getZ());
+        for (int i = 0; i < this.biomes.length(); i++) {
+            this.biomes.lazySet(i, BiomeTypes.OCEAN);
+        }
+    }
+
+    /**
+     * Creates a new buffer containing a copy of the biomes of the volume
+     * within the given bounds.
+     *
+     * @param volume The volume to copy
+     * @param min The minimum position to copy
+     * @param size The size of the area to copy
+     * @return The new buffer
+     */
+    public static AtomicMutableBiomeBuffer copyOf(BiomeVolume volume, Vector3i min, Vector3i size) {
+        final AtomicMutableBiomeBuffer buffer = new AtomicMutableBiomeBuffer(min, size);
+        final Vector3i max = buffer.getBiomeMax();
+        for (int z = min.getZ(); z <= max.getZ(); z++) {
+            for (int x = min.getX(); x <= max.getX(); x++) {
+                buffer.biomes.lazySet(buffer.getIndex(x, z), volume.getBiome(x, 0, z));
+            }
+        }
+        return buffer;
+    }
+
+    @Override
+    public void setBiome(int x, int y, int z, BiomeType biome) {
+        checkRange(x, y, z);
+        this.biomes.set(getIndex(x, z), biome);
+    }
+
+    @Override
+    public BiomeType getBiome(int x, int y, int z) {
+        checkRange(x, y, z);
+        return this.biomes.get(getIndex(x, z));
+    }
+
+    private BiomeType[] copyBiomes() {
+        final BiomeType[] copy = new BiomeType[this.biomes.length()];
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = this.biomes.get(i);
+        }
+        return copy;
+    }
+
+    @Override
+    public MutableBiomeVolume getBiomeView(Vector3i newMin, Vector3i newMax) {
+        checkRange(newMin.getX(), newMin.getY(), newMin.getZ());
+        checkRange(newMax.getX(), newMax.getY(), newMax.getZ());
+        return new MutableBiomeViewDownsize(this, newMin, newMax);
+    }
+
+    @Override
+    public MutableBiomeVolume getBiomeView(DiscreteTransform3 transform) {
+        return new MutableBiomeViewTransform(this, transform);
+    }
+
+    @Override
+    public MutableBiomeVolumeWorker<? extends MutableBiomeVolume> getBiomeWorker() {
+        return new SpongeMutableBiomeVolumeWorker<>(this);
+    }
+
+    @Override
+    public UnmodifiableBiomeVolume getUnmodifiableBiomeView() {
+        return new UnmodifiableBiomeVolumeWrapper(this);
+    }
+
+    @Override
+    public MutableBiomeVolume getBiomeCopy(StorageType type) {
+        switch (type) {
+            case STANDARD:
+                return new ObjectArrayMutableBiomeBuffer(copyBiomes(), this.start, this.size);
+            case THREAD_SAFE:
+                return copyOf(this, this.start, this.size);
+            default:
+                throw new UnsupportedOperationException(type.name());
+        }
+    }
+
+    @Override
+    public ImmutableBiomeVolume getImmutableBiomeCopy() {
+        return new ObjectArrayImmutableBiomeBuffer(copyBiomes(), this.start, this.size);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        if (!super.equals(o)) {
+            return false;
+        }
+        AtomicMutableBiomeBuffer that = (AtomicMutableBiomeBuffer) o;
+        return Arrays.equals(copyBiomes(), that.copyBiomes());
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + Arrays.hashCode(copyBiomes());
+    }
+
+}
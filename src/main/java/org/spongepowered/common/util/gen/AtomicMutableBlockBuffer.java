@@ -0,0 +1,219 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util.gen;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.flowpowered.math.vector.Vector3i;
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import org.spongepowered.api.block.BlockState;
+import org.spongepowered.api.block.BlockTypes;
+import org.spongepowered.api.util.DiscreteTransform3;
+import org.spongepowered.api.world.extent.ImmutableBlockVolume;
+import org.spongepowered.api.world.extent.MutableBlockVolume;
+import org.spongepowered.api.world.extent.StorageType;
+import org.spongepowered.api.world.extent.UnmodifiableBlockVolume;
+import org.spongepowered.api.world.extent.worker.MutableBlockVolumeWorker;
+import org.spongepowered.api.world.schematic.Palette;
+import org.spongepowered.common.world.extent.MutableBlockViewDownsize;
+import org.spongepowered.common.world.extent.MutableBlockViewTransform;
+import org.spongepowered.common.world.extent.UnmodifiableBlockVolumeWrapper;
+import org.spongepowered.common.world.extent.worker.SpongeMutableBlockVolumeWorker;
+import org.spongepowered.common.world.schematic.GlobalPalette;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Thread safe mutable block volume, used for {@link StorageType#THREAD_SAFE}
+ * copies.
+ *
+ * <p>Blocks are stored as global palette ids, two 16 bit ids packed into
+ * each int of an {@link AtomicIntegerArray}. The global palette never has to
+ * be resized, so reads and writes from any amount of threads are lock free
+ * and every write is immediately visible to all other threads. The memory
+ * use is the same as a {@link ArrayMutableBlockBuffer} backed by a char
+ * array.</p>
+ */
+public final class AtomicMutableBlockBuffer extends AbstractBlockBuffer implements MutableBlockVolume {
+
+    @SuppressWarnings("ConstantConditions")
+    private static final BlockState AIR = BlockTypes.AIR.getDefaultState();
+
+    private static final int ID_BITS = 16;
+    private static final int ID_MASK = (1 << ID_BITS) - 1;
+
+    private final AtomicIntegerArray data;
+
+    public AtomicMutableBlockBuffer(Vector3i start, Vector3i size) {
+        super(start, size);
+        this.data = new AtomicIntegerArray((area(size) + 1) >> 1);
+        final int airId = Block.BLOCK_STATE_IDS.get((IBlockState) AIR);
+        if (airId != 0) {
+            final int packedAir = airId | airId << ID_BITS;
+            for (int i = 0; i < this.data.length(); i++) {
+                this.data.lazySet(i, packedAir);
+            }
+        }
+    }
+
+    /**
+     * Creates a new buffer from global palette ids in the order of
+     * {@link #getIndex(int, int, int)}. The array is copied.
+     *
+     * @param start The start block position
+     * @param size The block size
+     * @param blocks The global palette ids
+     */
+    public AtomicMutableBlockBuffer(Vector3i start, Vector3i size, char[] blocks) {
+        super(start, size);
+        final int[] packed = new int[(blocks.length + 1) >> 1];
+        for (int i = 0; i < blocks.length; i++) {
+            packed[i >> 1] |= blocks[i] << shift(i);
+        }
+        this.data = new AtomicIntegerArray(packed);
+    }
+
+    private static int area(Vector3i size) {
+        return size.getX() * size.getY() * size.getZ();
+    }
+
+    private static int shift(int index) {
+        return (index & 1) << 4;
+    }
+
+    private int getId(int index) {
+        return this.data.get(index >> 1) >>> shift(index) & ID_MASK;
+    }
+
+    private void setId(int index, int id) {
+        final int slot = index >> 1;
+        final int shift = shift(index);
+        final int mask = ID_MASK << shift;
+        int current;
+        int updated;
+        do {
+            current = this.data.get(slot);
+            updated = current & ~mask | (id & ID_MASK) << shift;
+        } while (current != updated && !this.data.compareAndSet(slot, current, updated));
+    }
+
+    @Override
+    public Palette<BlockState> getPalette() {
+        return GlobalPalette.getBlockPalette();
+    }
+
+    @Override
+    public boolean setBlock(int x, int y, int z, BlockState block) {
+        checkRange(x, y, z);
+        final int id = Block.BLOCK_STATE_IDS.get((IBlockState) block);
+        // Unregistered states have no id, which would overwrite the neighbouring block
+        checkArgument(id >= 0 && id <= ID_MASK, "The block state %s has no global palette id that fits in %s bits", block, ID_BITS);
+        setId(getIndex(x, y, z), id);
+        return true;
+    }
+
+    @Override
+    public BlockState getBlock(int x, int y, int z) {
+        checkRange(x, y, z);
+        final IBlockState state = Block.BLOCK_STATE_IDS.getByValue(getId(getIndex(x, y, z)));
+        return state == null ? AIR : (BlockState) state;
+    }
+
+    /**
+     * Copies the current global palette ids of all blocks. Blocks which are
+     * written concurrently may or may not be reflected in the copy.
+     *
+     * @return The global palette ids
+     */
+    private char[] copyIds() {
+        final char[] blocks = new char[area(this.size)];
+        for (int i = 0; i < blocks.length; i++) {
+            blocks[i] = (char) getId(i);
+        }
+        return blocks;
+    }
+
+    @Override
+    public MutableBlockVolume getBlockView(Vector3i newMin, Vector3i newMax) {
+        checkRange(newMin.getX(), newMin.getY(), newMin.getZ());
+        checkRange(newMax.getX(), newMax.getY(), newMax.getZ());
+        return new MutableBlockViewDownsize(this, newMin, newMax);
+    }
+
+    @Override
+    public MutableBlockVolume getBlockView(DiscreteTransform3 transform) {
+        return new MutableBlockViewTransform(this, transform);
+    }
+
+    @Override
+    public MutableBlockVolumeWorker<? extends MutableBlockVolume> getBlockWorker() {
+        return new SpongeMutableBlockVolumeWorker<>(this);
+    }
+
+    @Override
+    public UnmodifiableBlockVolume getUnmodifiableBlockView() {
+        return new UnmodifiableBlockVolumeWrapper(this);
+    }
+
+    @Override
+    public MutableBlockVolume getBlockCopy(StorageType type) {
+        switch (type) {
+            case STANDARD:
+                return new ArrayMutableBlockBuffer(GlobalPalette.getBlockPalette(), this.start, this.size, copyIds());
+            case THREAD_SAFE:
+                return new AtomicMutableBlockBuffer(this.start, this.size, copyIds());
+            default:
+                throw new UnsupportedOperationException(type.name());
+        }
+    }
+
+    @Override
+    public ImmutableBlockVolume getImmutableBlockCopy() {
+        return ArrayImmutableBlockBuffer.newWithoutArrayClone(GlobalPalette.getBlockPalette(), this.start, this.size, copyIds());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        if (!super.equals(o)) {
+            return false;
+        }
+        AtomicMutableBlockBuffer that = (AtomicMutableBlockBuffer) o;
+        return Arrays.equals(copyIds(), that.copyIds());
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + Arrays.hashCode(copyIds());
+    }
+
+}
@@ -93,6 +93,7 @@ public MutableBiomeVolume getBiomeCopy(StorageType type) {
             case STANDARD:
                 return new ByteArrayMutableBiomeBuffer(this.palette, this.biomes.clone(), this.start, this.size);
             case THREAD_SAFE:
+                return AtomicMutableBiomeBuffer.copyOf(this, this.start, this.size);
             default:
                 throw new UnsupportedOperationException(type.name());
         }
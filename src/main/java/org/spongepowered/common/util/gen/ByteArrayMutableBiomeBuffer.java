@@ -42,6 +42,7 @@
 import org.spongepowered.common.world.extent.MutableBiomeViewTransform;
 import org.spongepowered.common.world.extent.UnmodifiableBiomeVolumeWrapper;
 import org.spongepowered.common.world.extent.worker.SpongeMutableBiomeVolumeWorker;
+import org.spongepowered.common.world.schematic.PrimitivePalette;
 
 import java.util.Arrays;
 import java.util.Objects;
@@ -86,7 +87,8 @@ public BiomeType getBiome(int x, int y, int z) {
         checkRange(x, y, z);
 
         byte biomeId = this.biomes[getIndex(x, z)];
-        return this.palette.get(biomeId & 255).orElse(BiomeTypes.OCEAN);
+        final BiomeType biomeType = PrimitivePalette.getOrNull(this.palette, biomeId & 255);
+        return biomeType == null ? BiomeTypes.OCEAN : biomeType;
     }
 
     /**
@@ -157,6 +159,7 @@ public MutableBiomeVolume getBiomeCopy(StorageType type) {
             case STANDARD:
                 return new ByteArrayMutableBiomeBuffer(this.palette, this.biomes.clone(), this.start, this.size);
             case THREAD_SAFE:
+                return AtomicMutableBiomeBuffer.copyOf(this, this.start, this.size);
             default:
                 throw new UnsupportedOperationException(type.name());
         }
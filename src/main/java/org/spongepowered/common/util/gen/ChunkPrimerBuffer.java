@@ -107,6 +107,7 @@ public MutableBlockVolume getBlockCopy(StorageType type) {
             case STANDARD:
                 return new ArrayMutableBlockBuffer(GlobalPalette.getBlockPalette(), this.start, this.size, ((ChunkPrimerAccessor) this.chunkPrimer).accessor$getData().clone());
             case THREAD_SAFE:
+                return new AtomicMutableBlockBuffer(this.start, this.size, ((ChunkPrimerAccessor) this.chunkPrimer).accessor$getData());
             default:
                 throw new UnsupportedOperationException(type.name());
         }
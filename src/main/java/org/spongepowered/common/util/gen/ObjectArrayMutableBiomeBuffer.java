@@ -170,6 +170,7 @@ public MutableBiomeVolume getBiomeCopy(StorageType type) {
             case STANDARD:
                 return new ObjectArrayMutableBiomeBuffer(this.biomes.clone(), this.start, this.size);
             case THREAD_SAFE:
+                return AtomicMutableBiomeBuffer.copyOf(this, this.start, this.size);
             default:
                 throw new UnsupportedOperationException(type.name());
         }
@@ -0,0 +1,137 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.chunk.Chunk;
+
+import java.util.Comparator;
+import java.util.TreeSet;
+
+import javax.annotation.Nullable;
+
+/**
+ * The chunks of a world that are queued for unload, ordered by the time at
+ * which they are due to be unloaded. Adding, re-queuing and removing a chunk
+ * are O(log n), and polling only ever touches the chunks that are due.
+ *
+ * <p>The queue doesn't observe the chunks themselves, callers are expected
+ * to validate a polled chunk before unloading it.</p>
+ */
+public final class ChunkUnloadQueue {
+
+    private static final Comparator<Entry> ENTRY_ORDER = Comparator.<Entry>comparingLong(entry -> entry.deadline)
+        .thenComparingLong(entry -> entry.pos);
+
+    private final TreeSet<Entry> queue = new TreeSet<>(ENTRY_ORDER);
+    private final Long2ObjectMap<Entry> entries = new Long2ObjectOpenHashMap<>();
+
+    /**
+     * Queues the chunk to be unloaded at the given deadline, replacing
+     * the deadline of the chunk at the same position if it was
+     * already queued.
+     *
+     * @param chunk The chunk
+     * @param deadline The time in milliseconds at which the chunk is due
+     */
+    public void add(final Chunk chunk, final long deadline) {
+        final long pos = ChunkPos.asLong(chunk.x, chunk.z);
+        final Entry entry = new Entry(chunk, pos, deadline);
+        final Entry previous = this.entries.put(pos, entry);
+        if (previous != null) {
+            this.queue.remove(previous);
+        }
+        this.queue.add(entry);
+    }
+
+    /**
+     * Removes the chunk from the queue, if it is queued.
+     *
+     * @param chunk The chunk
+     * @return True if the chunk was queued
+     */
+    public boolean remove(final Chunk chunk) {
+        final long pos = ChunkPos.asLong(chunk.x, chunk.z);
+        final Entry entry = this.entries.get(pos);
+        if (entry == null || entry.chunk != chunk) {
+            return false;
+        }
+        this.entries.remove(pos);
+        this.queue.remove(entry);
+        return true;
+    }
+
+    public boolean contains(final Chunk chunk) {
+        final Entry entry = this.entries.get(ChunkPos.asLong(chunk.x, chunk.z));
+        return entry != null && entry.chunk == chunk;
+    }
+
+    /**
+     * Removes and returns the chunk with the earliest deadline, if that
+     * deadline has passed.
+     *
+     * @param now The current time in milliseconds
+     * @return The chunk, or null if no chunk is due
+     */
+    @Nullable
+    public Chunk pollDue(final long now) {
+        if (this.queue.isEmpty()) {
+            return null;
+        }
+        final Entry first = this.queue.first();
+        if (first.deadline > now) {
+            return null;
+        }
+        this.queue.pollFirst();
+        this.entries.remove(first.pos);
+        return first.chunk;
+    }
+
+    public int size() {
+        return this.entries.size();
+    }
+
+    public void clear() {
+        this.queue.clear();
+        this.entries.clear();
+    }
+
+    private static final class Entry {
+
+        final Chunk chunk;
+        final long pos;
+        final long deadline;
+
+        Entry(final Chunk chunk, final long pos, final long deadline) {
+            this.chunk = chunk;
+            this.pos = pos;
+            this.deadline = deadline;
+        }
+
+    }
+
+}
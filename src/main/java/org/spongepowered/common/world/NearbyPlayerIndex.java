@@ -0,0 +1,191 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2LongMap;
+import it.unimi.dsi.fastutil.objects.Reference2LongOpenHashMap;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.network.Packet;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.MathHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import javax.annotation.Nullable;
+
+/**
+ * The players of a world, bucketed by the chunk they are in. Used to send
+ * packets to the players near a position without going through every
+ * player on the server.
+ *
+ * <p>Buckets are updated whenever the player chunk map of the world adds,
+ * moves or removes a player, and whenever a player is teleported. Queries
+ * always check the current position of the players, the buckets only narrow
+ * down which players are checked.</p>
+ */
+public final class NearbyPlayerIndex {
+
+    private final Long2ObjectMap<List<EntityPlayerMP>> buckets = new Long2ObjectOpenHashMap<>();
+    private final Reference2LongMap<EntityPlayerMP> playerBuckets = new Reference2LongOpenHashMap<>();
+
+    private static long getBucket(final EntityPlayerMP player) {
+        return ChunkPos.asLong(MathHelper.floor(player.posX) >> 4, MathHelper.floor(player.posZ) >> 4);
+    }
+
+    public void add(final EntityPlayerMP player) {
+        this.remove(player);
+        final long bucket = getBucket(player);
+        this.playerBuckets.put(player, bucket);
+        this.addToBucket(bucket, player);
+    }
+
+    public void remove(final EntityPlayerMP player) {
+        if (this.playerBuckets.containsKey(player)) {
+            this.removeFromBucket(this.playerBuckets.removeLong(player), player);
+        }
+    }
+
+    /**
+     * Moves the player to the bucket of its current position, if the player
+     * is in this index.
+     *
+     * @param player The player
+     */
+    public void update(final EntityPlayerMP player) {
+        if (!this.playerBuckets.containsKey(player)) {
+            return;
+        }
+        final long bucket = getBucket(player);
+        final long previous = this.playerBuckets.put(player, bucket);
+        if (previous != bucket) {
+            this.removeFromBucket(previous, player);
+            this.addToBucket(bucket, player);
+        }
+    }
+
+    private void addToBucket(final long bucket, final EntityPlayerMP player) {
+        List<EntityPlayerMP> players = this.buckets.get(bucket);
+        if (players == null) {
+            players = new ArrayList<>(2);
+            this.buckets.put(bucket, players);
+        }
+        players.add(player);
+    }
+
+    private void removeFromBucket(final long bucket, final EntityPlayerMP player) {
+        final List<EntityPlayerMP> players = this.buckets.get(bucket);
+        if (players != null && players.remove(player) && players.isEmpty()) {
+            this.buckets.remove(bucket);
+        }
+    }
+
+    /**
+     * Sends the packet to the players that are closer than the radius to the
+     * given position, like {@code PlayerList#sendToAllNearExcept} does for
+     * the players of a dimension.
+     *
+     * @param except The player to leave out, if any
+     * @param x The x position
+     * @param y The y position
+     * @param z The z position
+     * @param radius The radius
+     * @param packet The packet
+     */
+    public void sendToPlayersNear(@Nullable final EntityPlayer except, final double x, final double y, final double z, final double radius,
+        final Packet<?> packet) {
+        this.forEachPlayerNear(except, x, y, z, radius, player -> player.connection.sendPacket(packet));
+    }
+
+    /**
+     * Sends all packets, in order, to each of the players that are closer
+     * than the radius to the given position. The players are only looked
+     * up once for all packets.
+     *
+     * @param except The player to leave out, if any
+     * @param x The x position
+     * @param y The y position
+     * @param z The z position
+     * @param radius The radius
+     * @param packets The packets
+     */
+    public void sendToPlayersNear(@Nullable final EntityPlayer except, final double x, final double y, final double z, final double radius,
+        final List<Packet<?>> packets) {
+        this.forEachPlayerNear(except, x, y, z, radius, player -> {
+            for (final Packet<?> packet : packets) {
+                player.connection.sendPacket(packet);
+            }
+        });
+    }
+
+    private void forEachPlayerNear(@Nullable final EntityPlayer except, final double x, final double y, final double z, final double radius,
+        final Consumer<EntityPlayerMP> consumer) {
+        if (this.buckets.isEmpty()) {
+            return;
+        }
+        final int minX = MathHelper.floor(x - radius) >> 4;
+        final int maxX = MathHelper.floor(x + radius) >> 4;
+        final int minZ = MathHelper.floor(z - radius) >> 4;
+        final int maxZ = MathHelper.floor(z + radius) >> 4;
+        final double radiusSquared = radius * radius;
+
+        // Going through all buckets is cheaper once the radius covers more chunks than there are buckets
+        if (((long) maxX - minX + 1) * ((long) maxZ - minZ + 1) > this.buckets.size()) {
+            for (final List<EntityPlayerMP> players : this.buckets.values()) {
+                acceptPlayersNear(players, except, x, y, z, radiusSquared, consumer);
+            }
+            return;
+        }
+        for (int chunkX = minX; chunkX <= maxX; chunkX++) {
+            for (int chunkZ = minZ; chunkZ <= maxZ; chunkZ++) {
+                final List<EntityPlayerMP> players = this.buckets.get(ChunkPos.asLong(chunkX, chunkZ));
+                if (players != null) {
+                    acceptPlayersNear(players, except, x, y, z, radiusSquared, consumer);
+                }
+            }
+        }
+    }
+
+    private static void acceptPlayersNear(final List<EntityPlayerMP> players, @Nullable final EntityPlayer except, final double x,
+        final double y, final double z, final double radiusSquared, final Consumer<EntityPlayerMP> consumer) {
+        for (int i = 0; i < players.size(); i++) {
+            final EntityPlayerMP player = players.get(i);
+            if (player == except) {
+                continue;
+            }
+            final double dx = x - player.posX;
+            final double dy = y - player.posY;
+            final double dz = z - player.posZ;
+            if (dx * dx + dy * dy + dz * dz < radiusSquared) {
+                consumer.accept(player);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,213 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.spongepowered.common.SpongeImpl;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nullable;
+
+/**
+ * The lighting executor of a single world. All worlds share one pool of
+ * lighting threads, sized by the async lighting config, so the amount of
+ * lighting threads doesn't grow with the amount of loaded worlds.
+ *
+ * <p>Shutting down the executor of a world only stops the tasks of that
+ * world, tasks that were already handed to the pool are dropped when they
+ * come up. The executor also keeps track of the light updates of the world,
+ * which are reported by the {@code /sponge tps} command.</p>
+ */
+public final class WorldLightingExecutor extends AbstractExecutorService {
+
+    private static final long RATE_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+
+    @Nullable private static ExecutorService sharedPool;
+
+    private static synchronized ExecutorService getSharedPool() {
+        if (sharedPool == null) {
+            final int threads = Math.max(1, SpongeImpl.getGlobalConfigAdapter().getConfig().getOptimizations()
+                .getAsyncLightingCategory().getNumThreads());
+            sharedPool = Executors.newFixedThreadPool(threads, new ThreadFactoryBuilder()
+                .setNameFormat("Sponge - Async Light Thread #%d")
+                .setDaemon(true)
+                .build());
+        }
+        return sharedPool;
+    }
+
+    private final ExecutorService pool = getSharedPool();
+    private final AtomicInteger activeTasks = new AtomicInteger();
+    private volatile boolean shutdown;
+    private volatile boolean dropTasks;
+
+    private final AtomicInteger queuedUpdates = new AtomicInteger();
+    private final AtomicLong processedUpdates = new AtomicLong();
+    private final AtomicLong coalescedUpdates = new AtomicLong();
+    private long rateSampleTime = System.nanoTime();
+    private long rateSampleCount;
+    private double updatesPerSecond;
+
+    @Override
+    public void execute(final Runnable command) {
+        if (this.shutdown) {
+            throw new RejectedExecutionException("The lighting executor is shut down");
+        }
+        this.activeTasks.incrementAndGet();
+        try {
+            this.pool.execute(() -> {
+                try {
+                    if (!this.dropTasks) {
+                        command.run();
+                    }
+                } finally {
+                    this.onTaskDone();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            this.onTaskDone();
+            throw e;
+        }
+    }
+
+    private void onTaskDone() {
+        if (this.activeTasks.decrementAndGet() == 0 && this.shutdown) {
+            synchronized (this) {
+                this.notifyAll();
+            }
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        this.shutdown = true;
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        this.shutdown = true;
+        this.dropTasks = true;
+        this.queuedUpdates.set(0);
+        return Collections.emptyList();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return this.shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return this.shutdown && this.activeTasks.get() == 0;
+    }
+
+    @Override
+    public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (this) {
+            while (!this.isTerminated()) {
+                final long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Records a light update that was queued on a chunk of this world.
+     */
+    public void onUpdateQueued() {
+        this.queuedUpdates.incrementAndGet();
+    }
+
+    /**
+     * Records light updates that were checked.
+     *
+     * @param count The amount of updates
+     */
+    public void onUpdatesProcessed(final int count) {
+        this.queuedUpdates.addAndGet(-count);
+        this.processedUpdates.addAndGet(count);
+    }
+
+    /**
+     * Records light updates that were dropped because the same position
+     * was already queued for a check.
+     *
+     * @param count The amount of updates
+     */
+    public void onUpdatesCoalesced(final int count) {
+        this.queuedUpdates.addAndGet(-count);
+        this.coalescedUpdates.addAndGet(count);
+    }
+
+    /**
+     * Gets the amount of light updates that are waiting to be checked.
+     *
+     * @return The queue length
+     */
+    public int getQueuedUpdates() {
+        return Math.max(0, this.queuedUpdates.get());
+    }
+
+    public long getProcessedUpdates() {
+        return this.processedUpdates.get();
+    }
+
+    public long getCoalescedUpdates() {
+        return this.coalescedUpdates.get();
+    }
+
+    /**
+     * Gets the amount of light updates checked per second, measured since
+     * the rate was last requested at least a second ago.
+     *
+     * @return The throughput
+     */
+    public synchronized double getUpdatesPerSecond() {
+        final long now = System.nanoTime();
+        final long elapsed = now - this.rateSampleTime;
+        if (elapsed >= RATE_INTERVAL) {
+            final long processed = this.processedUpdates.get();
+            this.updatesPerSecond = (processed - this.rateSampleCount) * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+            this.rateSampleCount = processed;
+            this.rateSampleTime = now;
+        }
+        return this.updatesPerSecond;
+    }
+
+}
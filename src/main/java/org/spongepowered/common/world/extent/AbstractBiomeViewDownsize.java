@@ -33,6 +33,7 @@
 import org.spongepowered.api.world.extent.MutableBiomeVolume;
 import org.spongepowered.api.world.extent.StorageType;
 import org.spongepowered.common.util.VecHelper;
+import org.spongepowered.common.util.gen.AtomicMutableBiomeBuffer;
 import org.spongepowered.common.util.gen.ByteArrayMutableBiomeBuffer;
 import org.spongepowered.common.world.schematic.GlobalPalette;
 
@@ -90,6 +91,7 @@ public MutableBiomeVolume getBiomeCopy(StorageType type) {
             case STANDARD:
                 return new ByteArrayMutableBiomeBuffer(GlobalPalette.getBiomePalette(), ExtentBufferUtil.copyToArray(this, this.min, this.max, this.size), this.min, this.size);
             case THREAD_SAFE:
+                return AtomicMutableBiomeBuffer.copyOf(this, this.min, this.size);
             default:
                 throw new UnsupportedOperationException(type.name());
         }
@@ -33,6 +33,7 @@
 import org.spongepowered.api.world.extent.StorageType;
 import org.spongepowered.common.util.VecHelper;
 import org.spongepowered.common.util.gen.ArrayMutableBlockBuffer;
+import org.spongepowered.common.util.gen.AtomicMutableBlockBuffer;
 import org.spongepowered.common.world.schematic.GlobalPalette;
 
 public abstract class AbstractBlockViewDownsize<V extends BlockVolume> implements BlockVolume {
@@ -94,6 +95,7 @@ public MutableBlockVolume getBlockCopy(StorageType type) {
                 char[] data = ExtentBufferUtil.copyToArray(this, this.min, this.max, this.size);
                 return new ArrayMutableBlockBuffer(GlobalPalette.getBlockPalette(), this.min, this.size, data);
             case THREAD_SAFE:
+                return new AtomicMutableBlockBuffer(this.min, this.size, ExtentBufferUtil.copyToArray(this, this.min, this.max, this.size));
             default:
                 throw new UnsupportedOperationException(type.name());
         }
@@ -32,6 +32,7 @@
 import org.spongepowered.api.world.extent.MutableBlockVolume;
 import org.spongepowered.api.world.extent.StorageType;
 import org.spongepowered.common.util.gen.ArrayMutableBlockBuffer;
+import org.spongepowered.common.util.gen.AtomicMutableBlockBuffer;
 import org.spongepowered.common.world.schematic.GlobalPalette;
 
 public abstract class AbstractBlockViewTransform<V extends BlockVolume> implements BlockVolume {
@@ -96,6 +97,7 @@ public MutableBlockVolume getBlockCopy(StorageType type) {
                 char[] data = ExtentBufferUtil.copyToArray(this, this.min, this.max, this.size);
                 return new ArrayMutableBlockBuffer(GlobalPalette.getBlockPalette(), this.min, this.size, data);
             case THREAD_SAFE:
+                return new AtomicMutableBlockBuffer(this.min, this.size, ExtentBufferUtil.copyToArray(this, this.min, this.max, this.size));
             default:
                 throw new UnsupportedOperationException(type.name());
         }
@@ -55,6 +55,8 @@
 import org.spongepowered.common.util.Constants;
 import org.spongepowered.common.util.gen.ArrayImmutableBlockBuffer;
 import org.spongepowered.common.util.gen.ArrayMutableBlockBuffer;
+import org.spongepowered.common.util.gen.AtomicMutableBiomeBuffer;
+import org.spongepowered.common.util.gen.AtomicMutableBlockBuffer;
 import org.spongepowered.common.util.gen.ByteArrayImmutableBiomeBuffer;
 import org.spongepowered.common.util.gen.ByteArrayMutableBiomeBuffer;
 import org.spongepowered.common.world.extent.worker.SpongeMutableBiomeVolumeWorker;
@@ -102,6 +104,7 @@ default MutableBiomeVolume getBiomeCopy(final StorageType type) {
                 return new ByteArrayMutableBiomeBuffer(GlobalPalette.getBiomePalette(), ExtentBufferUtil.copyToArray((BiomeVolume) this, getBiomeMin(), getBiomeMax(), getBiomeSize()),
                         getBiomeMin(), getBiomeSize());
             case THREAD_SAFE:
+                return AtomicMutableBiomeBuffer.copyOf(this, getBiomeMin(), getBiomeSize());
             default:
                 throw new UnsupportedOperationException(type.name());
         }
@@ -142,6 +145,8 @@ default MutableBlockVolume getBlockCopy(final StorageType type) {
                 return new ArrayMutableBlockBuffer(GlobalPalette.getBlockPalette(), getBlockMin(), getBlockSize(),
                         ExtentBufferUtil.copyToArray((BlockVolume) this, getBlockMin(), getBlockMax(), getBlockSize()));
             case THREAD_SAFE:
+                return new AtomicMutableBlockBuffer(getBlockMin(), getBlockSize(),
+                        ExtentBufferUtil.copyToArray((BlockVolume) this, getBlockMin(), getBlockMax(), getBlockSize()));
             default:
                 throw new UnsupportedOperationException(type.name());
         }
@@ -31,7 +31,9 @@
 import org.spongepowered.api.block.BlockState;
 import org.spongepowered.api.event.CauseStackManager;
 import org.spongepowered.api.world.extent.BlockVolume;
+import org.spongepowered.api.world.extent.ImmutableBlockVolume;
 import org.spongepowered.api.world.extent.MutableBlockVolume;
+import org.spongepowered.api.world.extent.StorageType;
 import org.spongepowered.api.world.extent.UnmodifiableBlockVolume;
 import org.spongepowered.api.world.extent.worker.BlockVolumeWorker;
 import org.spongepowered.api.world.extent.worker.procedure.BlockVolumeMapper;
@@ -40,14 +42,23 @@
 import org.spongepowered.api.world.extent.worker.procedure.BlockVolumeVisitor;
 import org.spongepowered.common.event.tracking.phase.plugin.BasicPluginContext;
 import org.spongepowered.common.event.tracking.phase.plugin.PluginPhase;
+import org.spongepowered.common.util.gen.AtomicMutableBlockBuffer;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 import java.util.function.BiFunction;
+import java.util.function.Supplier;
 
 /**
  *
  */
 public class SpongeBlockVolumeWorker<V extends BlockVolume> implements BlockVolumeWorker<V> {
 
+    /**
+     * The maximum amount of blocks a single parallel task will work on.
+     */
+    private static final int CUBOID_SIZE = 1 << 15;
+
     protected final V volume;
 
     public SpongeBlockVolumeWorker(V volume) {
@@ -59,6 +70,13 @@ public V getVolume() {
         return this.volume;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Large volumes are mapped in parallel when the destination was
+     * requested with {@link StorageType#THREAD_SAFE} storage and this
+     * volume is safe to read from multiple threads.</p>
+     */
     @SuppressWarnings("try")
     @Override
     public void map(BlockVolumeMapper mapper, MutableBlockVolume destination) {
@@ -67,16 +85,9 @@ public void map(BlockVolumeMapper mapper, MutableBlockVolume destination) {
         final int yOffset = offset.getY();
         final int zOffset = offset.getZ();
         final UnmodifiableBlockVolume unmodifiableVolume = this.volume.getUnmodifiableBlockView();
-        final int xMin = unmodifiableVolume.getBlockMin().getX();
-        final int yMin = unmodifiableVolume.getBlockMin().getY();
-        final int zMin = unmodifiableVolume.getBlockMin().getZ();
-        final int xMax = unmodifiableVolume.getBlockMax().getX();
-        final int yMax = unmodifiableVolume.getBlockMax().getY();
-        final int zMax = unmodifiableVolume.getBlockMax().getZ();
-        // a single go, requiring only one event
-        try (BasicPluginContext phaseState = PluginPhase.State.BLOCK_WORKER.createPhaseContext()
-            .source(this)) {
-            phaseState.buildAndSwitch();
+        final Vector3i min = unmodifiableVolume.getBlockMin();
+        final Vector3i max = unmodifiableVolume.getBlockMax();
+        final CuboidFunction<Void> function = (xMin, yMin, zMin, xMax, yMax, zMax) -> {
             for (int z = zMin; z <= zMax; z++) {
                 for (int y = yMin; y <= yMax; y++) {
                     for (int x = xMin; x <= xMax; x++) {
@@ -86,9 +97,27 @@ public void map(BlockVolumeMapper mapper, MutableBlockVolume destination) {
                     }
                 }
             }
+            return null;
+        };
+        // a single go, requiring only one event
+        try (BasicPluginContext phaseState = PluginPhase.State.BLOCK_WORKER.createPhaseContext()
+            .source(this)) {
+            phaseState.buildAndSwitch();
+            if (canWriteInParallel(destination) && canReadInParallel(this.volume)) {
+                invokeParallel(function, (first, second) -> null, min, max);
+            } else {
+                function.apply(min.getX(), min.getY(), min.getZ(), max.getX(), max.getY(), max.getZ());
+            }
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Large volumes are merged in parallel when the destination was
+     * requested with {@link StorageType#THREAD_SAFE} storage and both
+     * volumes are safe to read from multiple threads.</p>
+     */
     @Override
     public void merge(BlockVolume second, BlockVolumeMerger merger, MutableBlockVolume destination) {
         final Vector3i offsetSecond = align(second);
@@ -100,16 +129,10 @@ public void merge(BlockVolume second, BlockVolumeMerger merger, MutableBlockVolu
         final int yOffsetDestination = offsetDestination.getY();
         final int zOffsetDestination = offsetDestination.getZ();
         final UnmodifiableBlockVolume firstUnmodifiableVolume = this.volume.getUnmodifiableBlockView();
-        final int xMin = firstUnmodifiableVolume.getBlockMin().getX();
-        final int yMin = firstUnmodifiableVolume.getBlockMin().getY();
-        final int zMin = firstUnmodifiableVolume.getBlockMin().getZ();
-        final int xMax = firstUnmodifiableVolume.getBlockMax().getX();
-        final int yMax = firstUnmodifiableVolume.getBlockMax().getY();
-        final int zMax = firstUnmodifiableVolume.getBlockMax().getZ();
+        final Vector3i min = firstUnmodifiableVolume.getBlockMin();
+        final Vector3i max = firstUnmodifiableVolume.getBlockMax();
         final UnmodifiableBlockVolume secondUnmodifiableVolume = second.getUnmodifiableBlockView();
-        try (BasicPluginContext context = PluginPhase.State.BLOCK_WORKER.createPhaseContext()
-            .source(this)) {
-            context.buildAndSwitch();
+        final CuboidFunction<Void> function = (xMin, yMin, zMin, xMax, yMax, zMax) -> {
             for (int z = zMin; z <= zMax; z++) {
                 for (int y = yMin; y <= yMax; y++) {
                     for (int x = xMin; x <= xMax; x++) {
@@ -119,6 +142,16 @@ public void merge(BlockVolume second, BlockVolumeMerger merger, MutableBlockVolu
                     }
                 }
             }
+            return null;
+        };
+        try (BasicPluginContext context = PluginPhase.State.BLOCK_WORKER.createPhaseContext()
+            .source(this)) {
+            context.buildAndSwitch();
+            if (canWriteInParallel(destination) && canReadInParallel(this.volume) && canReadInParallel(second)) {
+                invokeParallel(function, (first, last) -> null, min, max);
+            } else {
+                function.apply(min.getX(), min.getY(), min.getZ(), max.getX(), max.getY(), max.getZ());
+            }
         }
     }
 
@@ -144,26 +177,79 @@ public void iterate(BlockVolumeVisitor<V> visitor) {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Always sequential, reducers may mutate the identity, which can't
+     * be shared between cuboids. See
+     * {@link #reduceParallel(BlockVolumeReducer, BiFunction, Supplier)}.</p>
+     */
     @Override
     public <T> T reduce(BlockVolumeReducer<T> reducer, BiFunction<T, T, T> merge, T identity) {
         final UnmodifiableBlockVolume unmodifiableVolume = this.volume.getUnmodifiableBlockView();
-        final int xMin = unmodifiableVolume.getBlockMin().getX();
-        final int yMin = unmodifiableVolume.getBlockMin().getY();
-        final int zMin = unmodifiableVolume.getBlockMin().getZ();
-        final int xMax = unmodifiableVolume.getBlockMax().getX();
-        final int yMax = unmodifiableVolume.getBlockMax().getY();
-        final int zMax = unmodifiableVolume.getBlockMax().getZ();
+        final Vector3i min = unmodifiableVolume.getBlockMin();
+        final Vector3i max = unmodifiableVolume.getBlockMax();
+        return reduceCuboid(unmodifiableVolume, reducer, identity, min.getX(), min.getY(), min.getZ(), max.getX(), max.getY(), max.getZ());
+    }
+
+    /**
+     * Reduces the volume like {@link #reduce(BlockVolumeReducer, BiFunction,
+     * Object)}, but splits large volumes into cuboids which are reduced in
+     * parallel when this volume is safe to read from multiple threads.
+     *
+     * <p>Every cuboid starts from its own identity from the supplier, so the
+     * reducer may mutate it. The results of the cuboids are combined in block
+     * order using the merge function, which therefore has to be
+     * associative.</p>
+     *
+     * @param reducer The reducer
+     * @param merge The function to combine the results of two cuboids
+     * @param identity The supplier of the identity of each cuboid
+     * @param <T> The type of the reduction
+     * @return The reduction
+     */
+    public <T> T reduceParallel(BlockVolumeReducer<T> reducer, BiFunction<T, T, T> merge, Supplier<T> identity) {
+        final UnmodifiableBlockVolume unmodifiableVolume = this.volume.getUnmodifiableBlockView();
+        final Vector3i min = unmodifiableVolume.getBlockMin();
+        final Vector3i max = unmodifiableVolume.getBlockMax();
+        final CuboidFunction<T> function = (xMin, yMin, zMin, xMax, yMax, zMax) ->
+            reduceCuboid(unmodifiableVolume, reducer, identity.get(), xMin, yMin, zMin, xMax, yMax, zMax);
+        if (canReadInParallel(this.volume)) {
+            return invokeParallel(function, merge, min, max);
+        }
+        return function.apply(min.getX(), min.getY(), min.getZ(), max.getX(), max.getY(), max.getZ());
+    }
+
+    private static <T> T reduceCuboid(UnmodifiableBlockVolume volume, BlockVolumeReducer<T> reducer, T identity, int xMin, int yMin,
+        int zMin, int xMax, int yMax, int zMax) {
         T reduction = identity;
         for (int z = zMin; z <= zMax; z++) {
             for (int y = yMin; y <= yMax; y++) {
                 for (int x = xMin; x <= xMax; x++) {
-                    reduction = reducer.reduce(unmodifiableVolume, x, y, z, reduction);
+                    reduction = reducer.reduce(volume, x, y, z, reduction);
                 }
             }
         }
         return reduction;
     }
 
+    private boolean canReadInParallel(BlockVolume volume) {
+        final Vector3i size = this.volume.getBlockSize();
+        if ((long) size.getX() * size.getY() * size.getZ() <= CUBOID_SIZE) {
+            return false;
+        }
+        return volume instanceof ImmutableBlockVolume || volume instanceof AtomicMutableBlockBuffer;
+    }
+
+    private static boolean canWriteInParallel(MutableBlockVolume destination) {
+        return destination instanceof AtomicMutableBlockBuffer;
+    }
+
+    private static <T> T invokeParallel(CuboidFunction<T> function, BiFunction<T, T, T> merge, Vector3i min, Vector3i max) {
+        return ForkJoinPool.commonPool().invoke(new CuboidTask<>(function, merge,
+            min.getX(), min.getY(), min.getZ(), max.getX(), max.getY(), max.getZ()));
+    }
+
     private Vector3i align(BlockVolume other) {
         final Vector3i thisSize = this.volume.getBlockSize();
         final Vector3i otherSize = other.getBlockSize();
@@ -172,4 +258,69 @@ private Vector3i align(BlockVolume other) {
         return other.getBlockMin().sub(this.volume.getBlockMin());
     }
 
+    @FunctionalInterface
+    private interface CuboidFunction<T> {
+
+        T apply(int xMin, int yMin, int zMin, int xMax, int yMax, int zMax);
+
+    }
+
+    /**
+     * Splits a cuboid in halves until it is small enough to be processed
+     * directly. The outermost axis of the block loops (z, then y, then x) is
+     * split first, so the results are merged in the same order as the blocks
+     * would be visited sequentially.
+     */
+    private static final class CuboidTask<T> extends RecursiveTask<T> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final CuboidFunction<T> function;
+        private final BiFunction<T, T, T> merge;
+        private final int xMin;
+        private final int yMin;
+        private final int zMin;
+        private final int xMax;
+        private final int yMax;
+        private final int zMax;
+
+        CuboidTask(CuboidFunction<T> function, BiFunction<T, T, T> merge, int xMin, int yMin, int zMin, int xMax, int yMax, int zMax) {
+            this.function = function;
+            this.merge = merge;
+            this.xMin = xMin;
+            this.yMin = yMin;
+            this.zMin = zMin;
+            this.xMax = xMax;
+            this.yMax = yMax;
+            this.zMax = zMax;
+        }
+
+        @Override
+        protected T compute() {
+            final long blocks = (long) (this.xMax - this.xMin + 1) * (this.yMax - this.yMin + 1) * (this.zMax - this.zMin + 1);
+            if (blocks <= CUBOID_SIZE) {
+                return this.function.apply(this.xMin, this.yMin, this.zMin, this.xMax, this.yMax, this.zMax);
+            }
+            final CuboidTask<T> first;
+            final CuboidTask<T> second;
+            if (this.zMax > this.zMin) {
+                final int middle = this.zMin + (this.zMax - this.zMin) / 2;
+                first = new CuboidTask<>(this.function, this.merge, this.xMin, this.yMin, this.zMin, this.xMax, this.yMax, middle);
+                second = new CuboidTask<>(this.function, this.merge, this.xMin, this.yMin, middle + 1, this.xMax, this.yMax, this.zMax);
+            } else if (this.yMax > this.yMin) {
+                final int middle = this.yMin + (this.yMax - this.yMin) / 2;
+                first = new CuboidTask<>(this.function, this.merge, this.xMin, this.yMin, this.zMin, this.xMax, middle, this.zMax);
+                second = new CuboidTask<>(this.function, this.merge, this.xMin, middle + 1, this.zMin, this.xMax, this.yMax, this.zMax);
+            } else {
+                final int middle = this.xMin + (this.xMax - this.xMin) / 2;
+                first = new CuboidTask<>(this.function, this.merge, this.xMin, this.yMin, this.zMin, middle, this.yMax, this.zMax);
+                second = new CuboidTask<>(this.function, this.merge, middle + 1, this.yMin, this.zMin, this.xMax, this.yMax, this.zMax);
+            }
+            first.fork();
+            final T secondResult = second.compute();
+            return this.merge.apply(first.join(), secondResult);
+        }
+
+    }
+
 }
@@ -0,0 +1,446 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.gen;
+
+import com.flowpowered.math.vector.Vector3i;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.biome.BiomeProvider;
+import net.minecraft.world.biome.BiomeProviderSingle;
+import net.minecraft.world.chunk.ChunkPrimer;
+import net.minecraft.world.gen.ChunkGeneratorOverworld;
+import net.minecraft.world.gen.NoiseGeneratorPerlin;
+import org.spongepowered.api.world.biome.BiomeGenerationSettings;
+import org.spongepowered.api.world.biome.BiomeType;
+import org.spongepowered.api.world.biome.GroundCoverLayer;
+import org.spongepowered.api.world.extent.ImmutableBiomeVolume;
+import org.spongepowered.api.world.gen.BiomeGenerator;
+import org.spongepowered.api.world.gen.GenerationPopulator;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.bridge.world.gen.ChunkGeneratorOverworldBridge;
+import org.spongepowered.common.config.category.AsyncTerrainGenerationCategory;
+import org.spongepowered.common.util.gen.ChunkPrimerBuffer;
+import org.spongepowered.common.util.gen.ObjectArrayMutableBiomeBuffer;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.annotation.Nullable;
+
+/**
+ * Generates the biomes, the base terrain and the ground cover of the chunks
+ * players are moving towards, and of the chunks pre-generation tasks are
+ * about to load, ahead of time on a pool of threads shared by all worlds.
+ * The {@link SpongeChunkGenerator} of the world picks up the generated
+ * {@link ChunkPrimer} once the chunk is requested, and runs the remaining
+ * generation populators, the chunk assembly and the population on the main
+ * thread as usual.
+ *
+ * <p>These stages only touch the primer, so each thread runs them on its
+ * own copy of the base generator and the biome generator. This is only
+ * possible for the vanilla overworld generator and biome providers, other
+ * worlds are left alone. The generated terrain is dropped if the generators
+ * of the world are replaced before the chunk is requested.</p>
+ *
+ * <p>Only the vanilla ground cover layers are applied ahead of time, chunks
+ * with a biome which layers were changed by a plugin are covered on the
+ * main thread. The ground cover is also dropped if the layers of one of the
+ * biomes change before the chunk is requested.</p>
+ */
+public final class AsyncTerrainGenerator {
+
+    private static final Vector3i CHUNK_AREA = new Vector3i(16, 1, 16);
+    private static final double STONE_NOISE_SCALE = 0.03125D * 2.0D;
+
+    @Nullable private static ExecutorService sharedPool;
+    private static int sharedPoolThreads;
+
+    private static synchronized ExecutorService getSharedPool(final int threads) {
+        if (sharedPool == null) {
+            sharedPoolThreads = threads;
+            sharedPool = Executors.newFixedThreadPool(threads, new ThreadFactoryBuilder()
+                .setNameFormat("Sponge - Terrain Generation Thread #%d")
+                .setDaemon(true)
+                .build());
+        }
+        return sharedPool;
+    }
+
+    private static synchronized int getSharedPoolThreads() {
+        return sharedPoolThreads;
+    }
+
+    private final SpongeChunkGenerator generator;
+    private final WorldServer world;
+    private final ExecutorService pool;
+    private final int threads;
+    private final int lookAhead;
+    private final int maxPendingChunks;
+    private final Long2ObjectLinkedOpenHashMap<Pending<Terrain>> pending = new Long2ObjectLinkedOpenHashMap<>();
+    @Nullable private Stages stages;
+    @Nullable private Map<BiomeType, List<GroundCoverLayer>> groundCover;
+    private long groundCoverTime = -1;
+
+    AsyncTerrainGenerator(final SpongeChunkGenerator generator, final WorldServer world) {
+        final AsyncTerrainGenerationCategory category = SpongeImpl.getGlobalConfigAdapter().getConfig().getOptimizations()
+            .getAsyncTerrainGenerationCategory();
+        this.generator = generator;
+        this.world = world;
+        this.pool = getSharedPool(Math.max(1, category.getNumThreads()));
+        this.threads = getSharedPoolThreads();
+        this.lookAhead = Math.max(0, category.getLookAhead());
+        this.maxPendingChunks = Math.max(1, category.getMaxPendingChunks());
+    }
+
+    /**
+     * Schedules the chunks that come into view if the player keeps moving
+     * in its current direction, up to the look ahead beyond the view
+     * distance. Chunks that already exist are skipped.
+     *
+     * <p>Called whenever the player chunk map checks a moving player, which
+     * only moves the view of a player once it moved 8 blocks.</p>
+     *
+     * @param player The player
+     * @param viewRadius The view distance, in chunks
+     */
+    void generateAhead(final EntityPlayerMP player, final int viewRadius) {
+        final double dx = player.posX - player.managedPosX;
+        final double dz = player.posZ - player.managedPosZ;
+        final double distanceSquared = dx * dx + dz * dz;
+        if (distanceSquared < 64.0D || this.lookAhead == 0) {
+            return;
+        }
+        final Stages stages = this.getStages();
+        if (stages.copies.isEmpty()) {
+            return;
+        }
+
+        final double distance = Math.sqrt(distanceSquared);
+        final int playerX = MathHelper.floor(player.posX) >> 4;
+        final int playerZ = MathHelper.floor(player.posZ) >> 4;
+        for (int step = 1; step <= this.lookAhead; step++) {
+            final int centerX = playerX + (int) Math.round(dx / distance * step);
+            final int centerZ = playerZ + (int) Math.round(dz / distance * step);
+            for (int x = centerX - viewRadius; x <= centerX + viewRadius; x++) {
+                for (int z = centerZ - viewRadius; z <= centerZ + viewRadius; z++) {
+                    if (Math.abs(x - playerX) <= viewRadius && Math.abs(z - playerZ) <= viewRadius) {
+                        // Already in view, the player chunk map takes care of these
+                        continue;
+                    }
+                    this.schedule(stages, x, z);
+                }
+            }
+        }
+    }
+
+    /**
+     * Schedules the chunk, if it doesn't exist yet.
+     *
+     * @param chunkX The chunk x coordinate
+     * @param chunkZ The chunk z coordinate
+     */
+    void prepare(final int chunkX, final int chunkZ) {
+        final Stages stages = this.getStages();
+        if (!stages.copies.isEmpty()) {
+            this.schedule(stages, chunkX, chunkZ);
+        }
+    }
+
+    private void schedule(final Stages stages, final int chunkX, final int chunkZ) {
+        final long key = ChunkPos.asLong(chunkX, chunkZ);
+        if (this.pending.containsKey(key) || this.world.getChunkProvider().isChunkGeneratedAt(chunkX, chunkZ)) {
+            return;
+        }
+        final Map<BiomeType, List<GroundCoverLayer>> groundCover = this.getGroundCover();
+        if (this.pending.size() >= this.maxPendingChunks) {
+            // Drop the chunk that was scheduled first, it is the least likely to be requested soon
+            this.pending.removeFirst().cancel(false);
+        }
+        final Pending<Terrain> task = new Pending<>(() -> this.generateTerrain(stages, groundCover, chunkX, chunkZ));
+        this.pending.put(key, task);
+        this.pool.execute(task);
+    }
+
+    /**
+     * Takes the terrain that was generated ahead of time for the chunk. If
+     * the chunk is still waiting for a thread it is dropped, so the caller
+     * can generate it right away, if it is being generated it is waited for.
+     *
+     * @param chunkX The chunk x coordinate
+     * @param chunkZ The chunk z coordinate
+     * @return The terrain, or null if there is none
+     */
+    @Nullable
+    Terrain take(final int chunkX, final int chunkZ) {
+        final Pending<Terrain> task = this.pending.remove(ChunkPos.asLong(chunkX, chunkZ));
+        if (task == null) {
+            return null;
+        }
+        try {
+            final Terrain terrain = task.take();
+            if (terrain == null || terrain.stages != this.stages || !this.stages.isCurrent(this.generator)) {
+                return null;
+            }
+            return !terrain.groundCovered || this.isGroundCoverCurrent(terrain.groundCover) ? terrain : null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (CancellationException ignored) {
+        } catch (ExecutionException e) {
+            SpongeImpl.getLogger().error("Failed to generate the terrain of chunk ({}, {}) asynchronously in world {}", chunkX, chunkZ,
+                ((org.spongepowered.api.world.World) this.world).getName(), e.getCause());
+        }
+        return null;
+    }
+
+    private Stages getStages() {
+        if (this.stages == null || !this.stages.isCurrent(this.generator)) {
+            for (final Pending<Terrain> task : this.pending.values()) {
+                task.cancel(false);
+            }
+            this.pending.clear();
+            this.stages = new Stages(this.world, this.generator.getBaseGenerationPopulator(), this.generator.getBiomeGenerator(), this.threads);
+        }
+        return this.stages;
+    }
+
+    /**
+     * Copies the ground cover layers of the biomes known to the generator,
+     * at most once per tick. Biomes that aren't known yet, or which layers
+     * aren't all vanilla ones, are covered on the main thread.
+     *
+     * @return The ground cover layers of each biome
+     */
+    private Map<BiomeType, List<GroundCoverLayer>> getGroundCover() {
+        final long time = this.world.getTotalWorldTime();
+        if (this.groundCover != null && this.groundCoverTime == time) {
+            return this.groundCover;
+        }
+        final Map<BiomeType, List<GroundCoverLayer>> groundCover = new IdentityHashMap<>();
+        // Replacing the biome blocks may be extended
+        if (this.generator.getClass() == SpongeChunkGenerator.class) {
+            for (final Map.Entry<BiomeType, BiomeGenerationSettings> entry : this.generator.biomeSettings.entrySet()) {
+                final List<GroundCoverLayer> layers = entry.getValue().getGroundCoverLayers();
+                if (layers.stream().allMatch(WorldGenConstants::isDefaultGroundCover)) {
+                    groundCover.put(entry.getKey(), ImmutableList.copyOf(layers));
+                }
+            }
+        }
+        this.groundCover = groundCover;
+        this.groundCoverTime = time;
+        return groundCover;
+    }
+
+    /**
+     * Gets whether the ground cover layers that were copied are still the
+     * ones of the biomes, and still vanilla ones.
+     *
+     * @param groundCover The copied ground cover layers
+     * @return True if the layers are unchanged
+     */
+    private boolean isGroundCoverCurrent(final Map<BiomeType, List<GroundCoverLayer>> groundCover) {
+        for (final Map.Entry<BiomeType, List<GroundCoverLayer>> entry : groundCover.entrySet()) {
+            final BiomeGenerationSettings settings = this.generator.biomeSettings.get(entry.getKey());
+            if (settings == null || !entry.getValue().equals(settings.getGroundCoverLayers())
+                || !entry.getValue().stream().allMatch(WorldGenConstants::isDefaultGroundCover)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Nullable
+    private Terrain generateTerrain(final Stages stages, final Map<BiomeType, List<GroundCoverLayer>> groundCover, final int chunkX,
+        final int chunkZ) {
+        final Copy copy = stages.copies.poll();
+        if (copy == null) {
+            return null;
+        }
+        try {
+            copy.rand.setSeed(chunkX * 341873128712L + chunkZ * 132897987541L);
+            final ObjectArrayMutableBiomeBuffer biomes = new ObjectArrayMutableBiomeBuffer(new Vector3i(chunkX * 16, 0, chunkZ * 16), CHUNK_AREA);
+            copy.biomeGenerator.generateBiomes(biomes);
+            final ImmutableBiomeVolume biomeVolume = biomes.getImmutableBiomeCopy();
+
+            final ChunkPrimer primer = new ChunkPrimer();
+            copy.baseGenerator.populate((org.spongepowered.api.world.World) this.world, new ChunkPrimerBuffer(primer, chunkX, chunkZ), biomeVolume);
+
+            final Vector3i min = biomeVolume.getBiomeMin();
+            for (int x = 0; x < 16; x++) {
+                for (int z = 0; z < 16; z++) {
+                    if (!groundCover.containsKey(biomeVolume.getBiome(min.getX() + x, 0, min.getZ() + z))) {
+                        return new Terrain(stages, primer, biomes, biomeVolume, groundCover, false);
+                    }
+                }
+            }
+            copy.stoneNoise = copy.noise.getRegion(copy.stoneNoise, chunkX * 16, chunkZ * 16, 16, 16, STONE_NOISE_SCALE, STONE_NOISE_SCALE, 1.0D);
+            this.generator.coverBiomeBlocks(this.world, copy.rand, chunkX, chunkZ, primer, biomeVolume, copy.stoneNoise, groundCover::get);
+            return new Terrain(stages, primer, biomes, biomeVolume, groundCover, true);
+        } finally {
+            stages.copies.add(copy);
+        }
+    }
+
+    /**
+     * The copies of the generators of a world, one for each thread.
+     */
+    private static final class Stages {
+
+        final GenerationPopulator baseGenerator;
+        final BiomeGenerator biomeGenerator;
+        final Queue<Copy> copies = new ConcurrentLinkedQueue<>();
+
+        Stages(final WorldServer world, final GenerationPopulator baseGenerator, final BiomeGenerator biomeGenerator, final int threads) {
+            this.baseGenerator = baseGenerator;
+            this.biomeGenerator = biomeGenerator;
+            if (!(baseGenerator instanceof ChunkGeneratorOverworldBridge)) {
+                return;
+            }
+            for (int i = 0; i < threads; i++) {
+                final BiomeGenerator biomeCopy = copyBiomeGenerator(world, biomeGenerator);
+                final ChunkGeneratorOverworld baseCopy = ((ChunkGeneratorOverworldBridge) baseGenerator).bridge$copyGenerator();
+                if (biomeCopy == null || baseCopy == null) {
+                    this.copies.clear();
+                    return;
+                }
+                ((ChunkGeneratorOverworldBridge) baseCopy).bridge$setBiomeGenerator(biomeCopy);
+                this.copies.add(new Copy(world, (GenerationPopulator) baseCopy, biomeCopy));
+            }
+        }
+
+        @Nullable
+        private static BiomeGenerator copyBiomeGenerator(final WorldServer world, final BiomeGenerator biomeGenerator) {
+            if (biomeGenerator.getClass() == BiomeProvider.class) {
+                return (BiomeGenerator) new BiomeProvider(world.getWorldInfo());
+            }
+            if (biomeGenerator.getClass() == BiomeProviderSingle.class) {
+                // Holds no state
+                return biomeGenerator;
+            }
+            return null;
+        }
+
+        boolean isCurrent(final SpongeChunkGenerator generator) {
+            return this.baseGenerator == generator.getBaseGenerationPopulator() && this.biomeGenerator == generator.getBiomeGenerator();
+        }
+
+    }
+
+    private static final class Copy {
+
+        final GenerationPopulator baseGenerator;
+        final BiomeGenerator biomeGenerator;
+        final Random rand = new Random();
+        final NoiseGeneratorPerlin noise;
+        double[] stoneNoise = new double[256];
+
+        Copy(final WorldServer world, final GenerationPopulator baseGenerator, final BiomeGenerator biomeGenerator) {
+            this.baseGenerator = baseGenerator;
+            this.biomeGenerator = biomeGenerator;
+            // Same as the noise of the chunk generator
+            this.noise = new NoiseGeneratorPerlin(new Random(world.getSeed()), 4);
+        }
+
+    }
+
+    /**
+     * The terrain of a chunk that was generated ahead of time.
+     */
+    static final class Terrain {
+
+        final Stages stages;
+        final ChunkPrimer primer;
+        final ObjectArrayMutableBiomeBuffer biomes;
+        final ImmutableBiomeVolume biomeVolume;
+        final Map<BiomeType, List<GroundCoverLayer>> groundCover;
+        final boolean groundCovered;
+
+        Terrain(final Stages stages, final ChunkPrimer primer, final ObjectArrayMutableBiomeBuffer biomes, final ImmutableBiomeVolume biomeVolume,
+            final Map<BiomeType, List<GroundCoverLayer>> groundCover, final boolean groundCovered) {
+            this.stages = stages;
+            this.primer = primer;
+            this.biomes = biomes;
+            this.biomeVolume = biomeVolume;
+            this.groundCover = groundCover;
+            this.groundCovered = groundCovered;
+        }
+
+    }
+
+    /**
+     * A generation that is handed off to the main thread once the chunk is
+     * requested. A generation that didn't start yet is skipped once it is
+     * taken, one that did is waited for, so no finished work is dropped.
+     *
+     * @param <T> The type of the result
+     */
+    static final class Pending<T> extends FutureTask<T> {
+
+        private final AtomicBoolean started;
+
+        Pending(final Callable<T> generation) {
+            this(new AtomicBoolean(), generation);
+        }
+
+        private Pending(final AtomicBoolean started, final Callable<T> generation) {
+            super(() -> started.compareAndSet(false, true) ? generation.call() : null);
+            this.started = started;
+        }
+
+        /**
+         * Takes the result of the generation, waiting for it if the
+         * generation already started.
+         *
+         * @return The result, or null if the generation didn't start yet
+         * @throws InterruptedException If interrupted while waiting
+         * @throws ExecutionException If the generation failed
+         */
+        @Nullable
+        T take() throws InterruptedException, ExecutionException {
+            if (this.started.compareAndSet(false, true)) {
+                this.cancel(false);
+                return null;
+            }
+            return this.get();
+        }
+
+    }
+
+}
@@ -36,6 +36,7 @@
 import net.minecraft.block.material.Material;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.EnumCreatureType;
+import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.init.Blocks;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.ChunkPos;
@@ -97,6 +98,7 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nullable;
@@ -124,6 +126,8 @@ public class SpongeChunkGenerator implements WorldGenerator, IChunkGenerator {
     protected Map<String, Timing> populatorTimings = Maps.newHashMap();
     protected Timing chunkGeneratorTiming;
 
+    @Nullable private AsyncTerrainGenerator asyncTerrainGenerator;
+
     public SpongeChunkGenerator(World world, GenerationPopulator base, BiomeGenerator biomegen) {
         this.world = checkNotNull(world, "world");
         this.baseGenerator = checkNotNull(base, "baseGenerator");
@@ -237,20 +241,66 @@ public List<Populator> getPopulators(Class<? extends Populator> type) {
         return this.pop.stream().filter((p) -> type.isAssignableFrom(p.getClass())).collect(Collectors.toList());
     }
 
+    /**
+     * Generates the terrain of the chunks in front of the moving player
+     * asynchronously, so it is ready by the time the chunks are requested.
+     *
+     * @param player The player
+     * @param viewRadius The view distance, in chunks
+     */
+    public void generateAhead(EntityPlayerMP player, int viewRadius) {
+        this.getAsyncTerrainGenerator().generateAhead(player, viewRadius);
+    }
+
+    /**
+     * Generates the terrain of the chunk asynchronously, if it doesn't
+     * exist yet, so it is ready by the time the chunk is requested.
+     *
+     * @param chunkX The chunk x coordinate
+     * @param chunkZ The chunk z coordinate
+     */
+    public void prepareTerrain(int chunkX, int chunkZ) {
+        this.getAsyncTerrainGenerator().prepare(chunkX, chunkZ);
+    }
+
+    private AsyncTerrainGenerator getAsyncTerrainGenerator() {
+        if (this.asyncTerrainGenerator == null) {
+            this.asyncTerrainGenerator = new AsyncTerrainGenerator(this, (WorldServer) this.world);
+        }
+        return this.asyncTerrainGenerator;
+    }
+
     @Override
     public Chunk generateChunk(int chunkX, int chunkZ) {
         this.rand.setSeed(chunkX * 341873128712L + chunkZ * 132897987541L);
-        this.cachedBiomes.reuse(new Vector3i(chunkX * 16, 0, chunkZ * 16));
-        this.biomeGenerator.generateBiomes(this.cachedBiomes);
-        ImmutableBiomeVolume biomeBuffer = this.cachedBiomes.getImmutableBiomeCopy();
-
-        // Generate base terrain
-        ChunkPrimer chunkprimer = new ChunkPrimer();
-        MutableBlockVolume blockBuffer = new ChunkPrimerBuffer(chunkprimer, chunkX, chunkZ);
-        this.baseGenerator.populate((org.spongepowered.api.world.World) this.world, blockBuffer, biomeBuffer);
-
-        if (!(this.baseGenerator instanceof SpongeGenerationPopulator)) {
-            this.replaceBiomeBlocks(this.world, this.rand, chunkX, chunkZ, chunkprimer, biomeBuffer);
+        AsyncTerrainGenerator.Terrain terrain = this.asyncTerrainGenerator == null ? null : this.asyncTerrainGenerator.take(chunkX, chunkZ);
+        ObjectArrayMutableBiomeBuffer biomes;
+        ImmutableBiomeVolume biomeBuffer;
+        ChunkPrimer chunkprimer;
+        MutableBlockVolume blockBuffer;
+        if (terrain != null) {
+            // The biomes and base terrain were generated ahead of time
+            biomes = terrain.biomes;
+            biomeBuffer = terrain.biomeVolume;
+            chunkprimer = terrain.primer;
+            blockBuffer = new ChunkPrimerBuffer(chunkprimer, chunkX, chunkZ);
+            if (!terrain.groundCovered) {
+                this.replaceBiomeBlocks(this.world, this.rand, chunkX, chunkZ, chunkprimer, biomeBuffer);
+            }
+        } else {
+            biomes = this.cachedBiomes;
+            biomes.reuse(new Vector3i(chunkX * 16, 0, chunkZ * 16));
+            this.biomeGenerator.generateBiomes(biomes);
+            biomeBuffer = biomes.getImmutableBiomeCopy();
+
+            // Generate base terrain
+            chunkprimer = new ChunkPrimer();
+            blockBuffer = new ChunkPrimerBuffer(chunkprimer, chunkX, chunkZ);
+            this.baseGenerator.populate((org.spongepowered.api.world.World) this.world, blockBuffer, biomeBuffer);
+
+            if (!(this.baseGenerator instanceof SpongeGenerationPopulator)) {
+                this.replaceBiomeBlocks(this.world, this.rand, chunkX, chunkZ, chunkprimer, biomeBuffer);
+            }
         }
 
         // Apply the generator populators to complete the blockBuffer
@@ -263,7 +313,7 @@ public Chunk generateChunk(int chunkX, int chunkZ) {
         BiomeType biome;
         for (int x = 0; x < 16; x++) {
             for (int z = 0; z < 16; z++) {
-                biome = this.cachedBiomes.getBiome(chunkX * 16 + x, 0, chunkZ * 16 + z);
+                biome = biomes.getBiome(chunkX * 16 + x, 0, chunkZ * 16 + z);
                 if (!uniqueBiomes.contains(biome)) {
                     uniqueBiomes.add(biome);
                 }
@@ -285,7 +335,7 @@ public Chunk generateChunk(int chunkX, int chunkZ) {
             ((ChunkBridge) chunk).bridge$fill(chunkprimer);
         } else {
             chunk = new Chunk(this.world, chunkprimer, chunkX, chunkZ);
-            this.cachedBiomes.fill(chunk.getBiomeArray());
+            biomes.fill(chunk.getBiomeArray());
         }
         chunk.generateSkylightMap();
         return chunk;
@@ -544,12 +594,16 @@ public void recreateStructures(Chunk chunkIn, int x, int z) {
     public void replaceBiomeBlocks(World world, Random rand, int x, int z, ChunkPrimer chunk, ImmutableBiomeVolume biomes) {
         double d0 = 0.03125D;
         this.stoneNoise = this.noise4.getRegion(this.stoneNoise, x * 16, z * 16, 16, 16, d0 * 2.0D, d0 * 2.0D, 1.0D);
+        this.coverBiomeBlocks(world, rand, x, z, chunk, biomes, this.stoneNoise, type -> this.getBiomeSettings(type).getGroundCoverLayers());
+    }
+
+    void coverBiomeBlocks(World world, Random rand, int x, int z, ChunkPrimer chunk, ImmutableBiomeVolume biomes, double[] stoneNoise,
+            Function<BiomeType, List<GroundCoverLayer>> groundCover) {
         Vector3i min = biomes.getBiomeMin();
         for (int x0 = 0; x0 < 16; ++x0) {
             for (int z0 = 0; z0 < 16; ++z0) {
                 BiomeType biomegenbase = biomes.getBiome(min.getX() + x0, 0, min.getZ() + z0);
-                this.generateBiomeTerrain(world, rand, chunk, x * 16 + x0, z * 16 + z0, this.stoneNoise[x0 + z0 * 16],
-                        this.getBiomeSettings(biomegenbase).getGroundCoverLayers());
+                this.generateBiomeTerrain(world, rand, chunk, x * 16 + x0, z * 16 + z0, stoneNoise[x0 + z0 * 16], groundCover.apply(biomegenbase));
             }
         }
     }
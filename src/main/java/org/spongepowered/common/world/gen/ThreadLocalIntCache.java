@@ -0,0 +1,92 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.gen;
+
+import net.minecraft.world.gen.layer.IntCache;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A per thread replacement of the arrays pooled by {@link IntCache}.
+ *
+ * <p>The vanilla cache is shared by all threads, and as
+ * {@link IntCache#resetIntCache()} releases every array handed out since the
+ * last reset, a thread generating biomes would hand out the arrays another
+ * thread is still using. Each thread gets its own pool instead, which
+ * behaves exactly like the vanilla one.</p>
+ */
+public final class ThreadLocalIntCache {
+
+    private static final ThreadLocal<ThreadLocalIntCache> CACHE = ThreadLocal.withInitial(ThreadLocalIntCache::new);
+
+    public static ThreadLocalIntCache get() {
+        return CACHE.get();
+    }
+
+    private int intCacheSize = 256;
+    private final List<int[]> freeSmallArrays = new ArrayList<>();
+    private final List<int[]> inUseSmallArrays = new ArrayList<>();
+    private final List<int[]> freeLargeArrays = new ArrayList<>();
+    private final List<int[]> inUseLargeArrays = new ArrayList<>();
+
+    private ThreadLocalIntCache() {
+    }
+
+    public int[] getIntCache(final int size) {
+        if (size <= 256) {
+            final int[] array = this.freeSmallArrays.isEmpty() ? new int[256] : this.freeSmallArrays.remove(this.freeSmallArrays.size() - 1);
+            this.inUseSmallArrays.add(array);
+            return array;
+        }
+        if (size > this.intCacheSize) {
+            this.intCacheSize = size;
+            this.freeLargeArrays.clear();
+            this.inUseLargeArrays.clear();
+        }
+        final int[] array = this.freeLargeArrays.isEmpty() ? new int[this.intCacheSize] : this.freeLargeArrays.remove(this.freeLargeArrays.size() - 1);
+        this.inUseLargeArrays.add(array);
+        return array;
+    }
+
+    public void resetIntCache() {
+        if (!this.freeLargeArrays.isEmpty()) {
+            this.freeLargeArrays.remove(this.freeLargeArrays.size() - 1);
+        }
+        if (!this.freeSmallArrays.isEmpty()) {
+            this.freeSmallArrays.remove(this.freeSmallArrays.size() - 1);
+        }
+        this.freeLargeArrays.addAll(this.inUseLargeArrays);
+        this.freeSmallArrays.addAll(this.inUseSmallArrays);
+        this.inUseLargeArrays.clear();
+        this.inUseSmallArrays.clear();
+    }
+
+    public String getCacheSizes() {
+        return "cache: " + this.freeLargeArrays.size() + ", tcache: " + this.freeSmallArrays.size() + ", allocated: "
+            + this.inUseLargeArrays.size() + ", tallocated: " + this.inUseSmallArrays.size();
+    }
+
+}
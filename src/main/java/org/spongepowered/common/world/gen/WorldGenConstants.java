@@ -24,6 +24,7 @@
  */
 package org.spongepowered.common.world.gen;
 
+import com.google.common.collect.MapMaker;
 import net.minecraft.block.BlockDirt;
 import net.minecraft.block.BlockSand;
 import net.minecraft.block.BlockSilverfish;
@@ -84,7 +85,9 @@
 import org.spongepowered.common.world.gen.populators.RoofedForestPopulator;
 
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Random;
+import java.util.function.Function;
 import java.util.function.Predicate;
 
 public final class WorldGenConstants {
@@ -131,6 +134,9 @@ public double getAmount(final Random rand, final Double seed) {
 
     };
 
+    // The ground cover layers created here, with the functions they were created with
+    private static final Map<GroundCoverLayer, DefaultGroundCover> DEFAULT_GROUND_COVER = new MapMaker().weakKeys().makeMap();
+
     public static final Predicate<BlockState> DIRT_OR_GRASS = (input) -> {
         return input.getType().equals(BlockTypes.DIRT) || input.getType().equals(BlockTypes.GRASS);
     };
@@ -288,6 +294,37 @@ public static void enableLighting() {
         lightingEnabled = true;
     }
 
+    private static void addGroundCover(final SpongeBiomeGenerationSettings gensettings, final GroundCoverLayer layer) {
+        DEFAULT_GROUND_COVER.put(layer, new DefaultGroundCover(layer));
+        gensettings.getGroundCoverLayers().add(layer);
+    }
+
+    /**
+     * Gets whether the ground cover layer is one of the layers of the vanilla
+     * biomes and still uses the functions it was created with. The functions
+     * of these layers hold no state and may be called from any thread, unlike
+     * the ones plugins may provide.
+     *
+     * @param layer The ground cover layer
+     * @return True if the layer is a vanilla one
+     */
+    public static boolean isDefaultGroundCover(final GroundCoverLayer layer) {
+        final DefaultGroundCover defaults = DEFAULT_GROUND_COVER.get(layer);
+        return defaults != null && defaults.blockState == layer.getBlockState() && defaults.depth == layer.getDepth();
+    }
+
+    private static final class DefaultGroundCover {
+
+        final Function<Double, BlockState> blockState;
+        final SeededVariableAmount<Double> depth;
+
+        DefaultGroundCover(final GroundCoverLayer layer) {
+            this.blockState = layer.getBlockState();
+            this.depth = layer.getDepth();
+        }
+
+    }
+
     private WorldGenConstants() {
 
     }
@@ -296,8 +333,8 @@ private WorldGenConstants() {
     public static void buildPopulators(final net.minecraft.world.World world, final SpongeBiomeGenerationSettings gensettings, final BiomeDecorator decorator, final IBlockState topBlock,
         final IBlockState fillerBlock) {
 
-        gensettings.getGroundCoverLayers().add(new GroundCoverLayer((BlockState) topBlock, SeededVariableAmount.fixed(1)));
-        gensettings.getGroundCoverLayers().add(new GroundCoverLayer((BlockState) fillerBlock, GROUND_COVER_DEPTH));
+        addGroundCover(gensettings, new GroundCoverLayer((BlockState) topBlock, SeededVariableAmount.fixed(1)));
+        addGroundCover(gensettings, new GroundCoverLayer((BlockState) fillerBlock, GROUND_COVER_DEPTH));
         if (fillerBlock.getBlock() == Blocks.SAND) {
             final BlockType type;
             if (fillerBlock.getValue(BlockSand.VARIANT) == BlockSand.EnumType.RED_SAND) {
@@ -305,7 +342,7 @@ public static void buildPopulators(final net.minecraft.world.World world, final
             } else {
                 type = BlockTypes.SANDSTONE;
             }
-            gensettings.getGroundCoverLayers().add(new SandstoneGroundCoverLayer(type.getDefaultState()));
+            addGroundCover(gensettings, new SandstoneGroundCoverLayer(type.getDefaultState()));
         }
 
         final String s = world.getWorldInfo().getGeneratorOptions();
@@ -628,7 +665,7 @@ public static void buildForestPopulators(final SpongeBiomeGenerationSettings gen
 
     public static void buildHillsPopulator(final SpongeBiomeGenerationSettings gensettings, final BiomeHills.Type type, final BiomeDecorator decorator) {
         gensettings.getGroundCoverLayers().clear();
-        gensettings.getGroundCoverLayers().add(new GroundCoverLayer((stoneNoise) -> {
+        addGroundCover(gensettings, new GroundCoverLayer((stoneNoise) -> {
             IBlockState result = Blocks.GRASS.getDefaultState();
             if ((stoneNoise < -1.0D || stoneNoise > 2.0D) && type == BiomeHills.Type.MUTATED) {
                 result = Blocks.GRAVEL.getDefaultState();
@@ -637,7 +674,7 @@ public static void buildHillsPopulator(final SpongeBiomeGenerationSettings gense
             }
             return (BlockState) result;
         } , SeededVariableAmount.fixed(1)));
-        gensettings.getGroundCoverLayers().add(new GroundCoverLayer((stoneNoise) -> {
+        addGroundCover(gensettings, new GroundCoverLayer((stoneNoise) -> {
             IBlockState result = Blocks.DIRT.getDefaultState();
             if ((stoneNoise < -1.0D || stoneNoise > 2.0D) && type == BiomeHills.Type.MUTATED) {
                 result = Blocks.GRAVEL.getDefaultState();
@@ -779,7 +816,7 @@ public static void buildTaigaPopulators(final SpongeBiomeGenerationSettings gens
         final BiomeDecorator decorator) {
         if (type == BiomeTaiga.Type.MEGA || type == BiomeTaiga.Type.MEGA_SPRUCE) {
             gensettings.getGroundCoverLayers().clear();
-            gensettings.getGroundCoverLayers().add(new GroundCoverLayer((Double seed) -> {
+            addGroundCover(gensettings, new GroundCoverLayer((Double seed) -> {
                 if (seed > 1.75D) {
                     return (BlockState) Blocks.DIRT.getDefaultState().withProperty(BlockDirt.VARIANT, BlockDirt.DirtType.COARSE_DIRT);
                 } else if (seed > -0.95D) {
@@ -788,7 +825,7 @@ public static void buildTaigaPopulators(final SpongeBiomeGenerationSettings gens
                 return (BlockState) Blocks.GRASS.getDefaultState();
 
             } , GROUND_COVER_DEPTH));
-            gensettings.getGroundCoverLayers().add(new GroundCoverLayer((BlockState) fillerBlock, GROUND_COVER_DEPTH));
+            addGroundCover(gensettings, new GroundCoverLayer((BlockState) fillerBlock, GROUND_COVER_DEPTH));
 
         }
         final BiomeDecoratorAccessor accessor = (BiomeDecoratorAccessor) decorator;
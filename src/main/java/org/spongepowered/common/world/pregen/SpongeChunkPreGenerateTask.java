@@ -30,6 +30,11 @@
 import com.flowpowered.math.GenericMath;
 import com.flowpowered.math.vector.Vector3d;
 import com.flowpowered.math.vector.Vector3i;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.gen.IChunkGenerator;
 import org.apache.commons.lang3.time.DurationFormatUtils;
 import org.slf4j.Logger;
 import org.spongepowered.api.Sponge;
@@ -44,15 +49,27 @@
 import org.spongepowered.api.world.WorldBorder;
 import org.spongepowered.api.world.storage.WorldProperties;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.bridge.server.management.PlayerChunkMapBridge;
 import org.spongepowered.common.bridge.world.chunk.ChunkProviderServerBridge;
+import org.spongepowered.common.config.category.OptimizationCategory;
+import org.spongepowered.common.util.Constants;
+import org.spongepowered.common.world.gen.SpongeChunkGenerator;
 import org.spongepowered.common.world.storage.SpongeChunkLayout;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
@@ -64,6 +81,21 @@ public class SpongeChunkPreGenerateTask implements ChunkPreGenerate, Consumer<Ta
     private static final int DEFAULT_TICK_INTERVAL = 4;
     private static final float DEFAULT_TICK_PERCENT = 0.8f;
 
+    private static final String CENTER_X = "CenterX";
+    private static final String CENTER_Z = "CenterZ";
+    private static final String RADIUS = "Radius";
+    private static final String POSITION_X = "PositionX";
+    private static final String POSITION_Z = "PositionZ";
+    private static final String GEN_COUNT = "GenCount";
+    private static final String LAYER = "Layer";
+    private static final String INDEX = "Index";
+    private static final String NEXT_JUMP = "NextJump";
+    private static final String GENERATED = "Generated";
+    private static final String SKIPPED = "Skipped";
+
+    // The progress files of the running tasks, only one task may work on an area of a world at a time
+    private static final Set<Path> RUNNING = ConcurrentHashMap.newKeySet();
+
     private static final Vector3i[] OFFSETS = {
             Vector3i.UNIT_Z.negate().mul(2),
             Vector3i.UNIT_X.mul(2),
@@ -88,11 +120,25 @@ public class SpongeChunkPreGenerateTask implements ChunkPreGenerate, Consumer<Ta
     // If null, no listeners have been assigned, so they don't need to be registered or unregistered.
     @Nullable private final EventListener<ChunkPreGenerationEvent> eventListener;
 
-    private Vector3i currentPosition;
-    private int currentGenCount;
-    private int currentLayer;
-    private int currentIndex;
-    private int nextJump;
+    private final Vector3i center;
+    private final Cursor cursor;
+    private final Path cursorFile;
+    private final Path newCursorFile;
+
+    // If null, the terrain of the chunks isn't generated in parallel.
+    @Nullable private final SpongeChunkGenerator terrainGenerator;
+    private final int terrainLookAhead;
+
+    // The chunks loaded by this task, by the layer that loaded them, until all their neighbors are loaded.
+    private List<Vector3i> previousLayerChunks = new ArrayList<>();
+    private List<Vector3i> currentLayerChunks = new ArrayList<>();
+    private int loadingLayer;
+
+    // The progress at the start of the last two layers. Only the progress at the start of the layer before the
+    // previous one is saved, by then every chunk loaded before it has been unloaded and handed to the chunk loader.
+    private Progress previousLayerStart;
+    private Progress currentLayerStart;
+    @Nullable private Progress unsavedProgress;
 
     private int chunksSkipped = 0;
     private int chunksGenerated = 0;
@@ -131,17 +177,36 @@ private SpongeChunkPreGenerateTask(Object plugin,
         this.tickInterval = tickInterval;
         final Optional<Vector3i> currentPosition = SpongeChunkLayout.instance.toChunk(center.toInt());
         if (currentPosition.isPresent()) {
-            this.currentPosition = currentPosition.get();
+            this.center = currentPosition.get();
         } else {
             throw new IllegalArgumentException("Center is not a valid chunk coordinate");
         }
-        this.currentGenCount = 4;
-        this.currentLayer = 0;
-        this.currentIndex = 0;
-        this.nextJump = 0;
+        this.cursor = new Cursor(this.center);
 
         this.totalChunksToGenerate = (int) Math.pow(this.chunkRadius * 2 + 1, 2);
 
+        // Resume where a previous task with the same area stopped, for example before a restart.
+        final String cursorName = Constants.Sponge.World.PRE_GENERATE_DAT_PREFIX + this.center.getX() + "_" + this.center.getZ() + "_"
+                + this.chunkRadius;
+        this.cursorFile = world.getDirectory().resolve(cursorName + Constants.Sponge.World.PRE_GENERATE_DAT_SUFFIX);
+        this.newCursorFile = world.getDirectory().resolve(cursorName + Constants.Sponge.World.PRE_GENERATE_DAT_NEW_SUFFIX);
+        checkArgument(RUNNING.add(this.cursorFile), "The same area of world %s is already being pre-generated", world.getName());
+        this.loadCursor();
+        this.loadingLayer = this.cursor.layer;
+        this.currentLayerStart = new Progress(this.cursor.copy(), this.chunksGenerated, this.chunksSkipped);
+        this.previousLayerStart = this.currentLayerStart;
+
+        // The terrain of the chunks about to be loaded can be generated in parallel, if async terrain generation is enabled.
+        final IChunkGenerator chunkGenerator = ((ChunkProviderServerBridge) ((WorldServer) world).getChunkProvider()).accessor$getChunkGenerator();
+        final OptimizationCategory optimizations = SpongeImpl.getGlobalConfigAdapter().getConfig().getOptimizations();
+        if (optimizations.useAsyncTerrainGeneration() && chunkGenerator instanceof SpongeChunkGenerator) {
+            this.terrainGenerator = (SpongeChunkGenerator) chunkGenerator;
+            this.terrainLookAhead = Math.max(1, optimizations.getAsyncTerrainGenerationCategory().getMaxPendingChunks() / 4);
+        } else {
+            this.terrainGenerator = null;
+            this.terrainLookAhead = 0;
+        }
+
         this.spongeTask = this.scheduler
                 .createTaskBuilder()
                 .intervalTicks(tickInterval)
@@ -208,6 +273,7 @@ public void cancel() {
             }
             this.spongeTask.cancel();
             this.isCancelled = true;
+            this.onStopped();
         }
     }
 
@@ -237,10 +303,18 @@ public void accept(Task task) {
             return;
         }
 
+        if (this.terrainGenerator != null) {
+            this.prepareTerrain(this.terrainGenerator);
+        }
+
         // Count how many chunks are generated during the tick
         int count = 0;
         int skipped = 0;
         do {
+            final int layer = this.cursor.layer;
+            if (layer != this.loadingLayer) {
+                this.onLayerStarted(layer);
+            }
             final Vector3i position = nextChunkPosition();
             final Vector3i pos1 = position.sub(Vector3i.UNIT_X);
             final Vector3i pos2 = position.sub(Vector3i.UNIT_Z);
@@ -250,21 +324,26 @@ public void accept(Task task) {
             if (!areAllChunksLoaded(position, pos1, pos2, pos3)) {
 
                 // At least one chunk isn't generated, so to populate, we need to load them all.
-                this.world.loadChunk(position, true);
-                this.world.loadChunk(pos1, true);
-                this.world.loadChunk(pos2, true);
-                this.world.loadChunk(pos3, true);
+                loadChunk(position);
+                loadChunk(pos1);
+                loadChunk(pos2);
+                loadChunk(pos3);
 
-                count += this.currentGenCount;
+                count += this.cursor.genCount;
+                this.chunksGenerated += this.cursor.genCount;
             } else {
 
                 // Skipped them, log this.
-                skipped += this.currentGenCount;
+                skipped += this.cursor.genCount;
+                this.chunksSkipped += this.cursor.genCount;
             }
         } while (hasNextChunkPosition() && checkChunkCount(count) && checkTickTime(System.currentTimeMillis() - stepStartTime));
 
-        this.chunksGenerated += count;
-        this.chunksSkipped += skipped;
+        // Save the progress once per layer, after the chunks of this step are loaded
+        if (this.unsavedProgress != null) {
+            this.saveCursor(this.unsavedProgress);
+            this.unsavedProgress = null;
+        }
 
         final long deltaTime = System.currentTimeMillis() - stepStartTime;
         this.generationEndTime = System.currentTimeMillis();
@@ -293,6 +372,138 @@ public void accept(Task task) {
             this.isCancelled = true;
             unregisterListener();
             task.cancel();
+            this.onStopped();
+        }
+    }
+
+    /**
+     * Schedules the terrain generation of the chunks this task is about to
+     * load, so the terrain of many chunks is generated in parallel while the
+     * main thread populates them.
+     *
+     * @param generator The chunk generator of the world
+     */
+    private void prepareTerrain(SpongeChunkGenerator generator) {
+        final Cursor ahead = this.cursor.copy();
+        for (int i = 0; i < this.terrainLookAhead && ahead.hasNext(this.chunkRadius); i++) {
+            final Vector3i position = ahead.next();
+            generator.prepareTerrain(position.getX(), position.getZ());
+            generator.prepareTerrain(position.getX() - 1, position.getZ());
+            generator.prepareTerrain(position.getX(), position.getZ() - 1);
+            generator.prepareTerrain(position.getX() - 1, position.getZ() - 1);
+        }
+    }
+
+    private void loadChunk(Vector3i position) {
+        if (((WorldServer) this.world).getChunkProvider().getLoadedChunk(position.getX(), position.getZ()) == null) {
+            this.currentLayerChunks.add(position);
+        }
+        this.world.loadChunk(position, true);
+    }
+
+    /**
+     * Unloads the chunks loaded two layers ago, by now all of their
+     * neighbors are loaded so they are populated.
+     *
+     * <p>The chunks are only written once they are unloaded, so the progress
+     * to save trails the layer that is started by two layers. A resumed task
+     * checks again whether the chunks of those layers exist.</p>
+     *
+     * @param layer The layer that was started
+     */
+    private void onLayerStarted(int layer) {
+        this.unloadChunks(this.previousLayerChunks);
+        this.previousLayerChunks = this.currentLayerChunks;
+        this.currentLayerChunks = new ArrayList<>();
+        this.loadingLayer = layer;
+
+        this.unsavedProgress = this.previousLayerStart;
+        this.previousLayerStart = this.currentLayerStart;
+        this.currentLayerStart = new Progress(this.cursor.copy(), this.chunksGenerated, this.chunksSkipped);
+    }
+
+    private void onStopped() {
+        this.unloadChunks(this.previousLayerChunks);
+        this.unloadChunks(this.currentLayerChunks);
+        if (hasNextChunkPosition()) {
+            // The chunks that were just unloaded may not be written yet
+            this.saveCursor(this.previousLayerStart);
+        } else {
+            try {
+                Files.deleteIfExists(this.cursorFile);
+            } catch (IOException e) {
+                SpongeImpl.getLogger().error("Could not delete the pre-generation progress of world {}", this.world.getName(), e);
+            }
+        }
+        RUNNING.remove(this.cursorFile);
+    }
+
+    /**
+     * Queues the chunks to be unloaded, which saves them through the chunk
+     * loader of the world, unless a player is using them.
+     *
+     * @param chunks The chunks
+     */
+    private void unloadChunks(List<Vector3i> chunks) {
+        final WorldServer world = (WorldServer) this.world;
+        final PlayerChunkMapBridge playerChunkMap = (PlayerChunkMapBridge) world.getPlayerChunkMap();
+        for (Vector3i position : chunks) {
+            final Chunk chunk = world.getChunkProvider().getLoadedChunk(position.getX(), position.getZ());
+            if (chunk != null && !playerChunkMap.bridge$isChunkInUse(chunk.x, chunk.z)) {
+                ((org.spongepowered.api.world.Chunk) chunk).unloadChunk();
+            }
+        }
+        chunks.clear();
+    }
+
+    private void loadCursor() {
+        if (!Files.exists(this.cursorFile)) {
+            return;
+        }
+        final NBTTagCompound compound;
+        try (InputStream stream = Files.newInputStream(this.cursorFile)) {
+            compound = CompressedStreamTools.readCompressed(stream);
+        } catch (IOException e) {
+            SpongeImpl.getLogger().error("Could not read the pre-generation progress of world {}, starting over", this.world.getName(), e);
+            return;
+        }
+        // Only resume the same area
+        if (compound.getInteger(CENTER_X) != this.center.getX() || compound.getInteger(CENTER_Z) != this.center.getZ()
+                || compound.getInteger(RADIUS) != this.chunkRadius) {
+            return;
+        }
+        this.cursor.position = new Vector3i(compound.getInteger(POSITION_X), 0, compound.getInteger(POSITION_Z));
+        this.cursor.genCount = compound.getInteger(GEN_COUNT);
+        this.cursor.layer = compound.getInteger(LAYER);
+        this.cursor.index = compound.getInteger(INDEX);
+        this.cursor.nextJump = compound.getInteger(NEXT_JUMP);
+        this.chunksGenerated = compound.getInteger(GENERATED);
+        this.chunksSkipped = compound.getInteger(SKIPPED);
+        SpongeImpl.getLogger().info("Resuming the pre-generation of world {} at layer {} of {}", this.world.getName(), this.cursor.layer,
+                this.chunkRadius);
+    }
+
+    private void saveCursor(Progress progress) {
+        final Cursor cursor = progress.cursor;
+        final NBTTagCompound compound = new NBTTagCompound();
+        compound.setInteger(CENTER_X, this.center.getX());
+        compound.setInteger(CENTER_Z, this.center.getZ());
+        compound.setInteger(RADIUS, this.chunkRadius);
+        compound.setInteger(POSITION_X, cursor.position.getX());
+        compound.setInteger(POSITION_Z, cursor.position.getZ());
+        compound.setInteger(GEN_COUNT, cursor.genCount);
+        compound.setInteger(LAYER, cursor.layer);
+        compound.setInteger(INDEX, cursor.index);
+        compound.setInteger(NEXT_JUMP, cursor.nextJump);
+        compound.setInteger(GENERATED, progress.chunksGenerated);
+        compound.setInteger(SKIPPED, progress.chunksSkipped);
+        try {
+            try (OutputStream stream = Files.newOutputStream(this.newCursorFile)) {
+                CompressedStreamTools.writeCompressed(compound, stream);
+            }
+            Files.move(this.newCursorFile, this.cursorFile, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            SpongeImpl.getLogger().error("Could not save the pre-generation progress of world {}", this.world.getName(), e);
         }
     }
 
@@ -316,32 +527,15 @@ private void cancelTask(Task task) {
 
         this.isCancelled = true;
         unregisterListener();
+        this.onStopped();
     }
 
     private boolean hasNextChunkPosition() {
-        return this.currentLayer <= this.chunkRadius;
+        return this.cursor.hasNext(this.chunkRadius);
     }
 
     private Vector3i nextChunkPosition() {
-        final Vector3i nextPosition = this.currentPosition;
-        final int currentLayerIndex;
-        if (this.currentIndex >= this.nextJump) {
-            // Reached end of layer, jump to the next so we can keep spiralling
-            this.currentPosition = this.currentPosition.sub(Vector3i.UNIT_X).sub(Vector3i.UNIT_Z);
-            this.currentLayer++;
-            // Each the jump increment increases by 4 at each new layer
-            this.nextJump += this.currentLayer * 4;
-            currentLayerIndex = 1;
-        } else {
-            // Get the current index since the last jump
-            currentLayerIndex = this.currentIndex - (this.nextJump - this.currentLayer * 4);
-            // Move to next position in layer, by following a square
-            this.currentPosition = this.currentPosition.add(OFFSETS[currentLayerIndex / this.currentLayer]);
-        }
-        // If we're at the corner it's 3, else 2 for an edge
-        this.currentGenCount = currentLayerIndex % this.currentLayer == 0 ? 3 : 2;
-        this.currentIndex++;
-        return nextPosition;
+        return this.cursor.next();
     }
 
     private boolean checkChunkCount(int count) {
@@ -364,6 +558,75 @@ private boolean checkChunkExistsAnvil(Vector3i v) {
         }
     }
 
+    /**
+     * The position of the square spiral the chunks are generated in.
+     */
+    private static final class Cursor {
+
+        Vector3i position;
+        int genCount = 4;
+        int layer;
+        int index;
+        int nextJump;
+
+        Cursor(Vector3i position) {
+            this.position = position;
+        }
+
+        Cursor copy() {
+            final Cursor copy = new Cursor(this.position);
+            copy.genCount = this.genCount;
+            copy.layer = this.layer;
+            copy.index = this.index;
+            copy.nextJump = this.nextJump;
+            return copy;
+        }
+
+        boolean hasNext(int radius) {
+            return this.layer <= radius;
+        }
+
+        Vector3i next() {
+            final Vector3i nextPosition = this.position;
+            final int currentLayerIndex;
+            if (this.index >= this.nextJump) {
+                // Reached end of layer, jump to the next so we can keep spiralling
+                this.position = this.position.sub(Vector3i.UNIT_X).sub(Vector3i.UNIT_Z);
+                this.layer++;
+                // Each the jump increment increases by 4 at each new layer
+                this.nextJump += this.layer * 4;
+                currentLayerIndex = 1;
+            } else {
+                // Get the current index since the last jump
+                currentLayerIndex = this.index - (this.nextJump - this.layer * 4);
+                // Move to next position in layer, by following a square
+                this.position = this.position.add(OFFSETS[currentLayerIndex / this.layer]);
+            }
+            // If we're at the corner it's 3, else 2 for an edge
+            this.genCount = currentLayerIndex % this.layer == 0 ? 3 : 2;
+            this.index++;
+            return nextPosition;
+        }
+
+    }
+
+    /**
+     * A snapshot of the cursor and the chunk counts at the start of a layer.
+     */
+    private static final class Progress {
+
+        final Cursor cursor;
+        final int chunksGenerated;
+        final int chunksSkipped;
+
+        Progress(Cursor cursor, int chunksGenerated, int chunksSkipped) {
+            this.cursor = cursor;
+            this.chunksGenerated = chunksGenerated;
+            this.chunksSkipped = chunksSkipped;
+        }
+
+    }
+
     public static class Builder implements ChunkPreGenerate.Builder {
 
         private static final String TIME_FORMAT = "s's 'S'ms'";
@@ -24,36 +24,42 @@
  */
 package org.spongepowered.common.world.schematic;
 
-import com.google.common.collect.BiMap;
-import com.google.common.collect.HashBiMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
 import org.spongepowered.api.CatalogType;
-import org.spongepowered.api.world.schematic.Palette;
 import org.spongepowered.api.world.schematic.PaletteType;
 
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.Collection;
 import java.util.Objects;
 import java.util.Optional;
 
-public class BimapPalette<T extends CatalogType> implements Palette<T> {
+import javax.annotation.Nullable;
+
+/**
+ * A local palette. Ids are mapped to values through a plain array and values
+ * are mapped back to their ids through an identity based primitive map, so
+ * lookups neither box ids nor allocate.
+ */
+public class BimapPalette<T extends CatalogType> implements PrimitivePalette<T> {
 
     private static final int DEFAULT_ALLOCATION_SIZE = 64;
 
-    private final BiMap<Integer, T> ids;
-    private final BiMap<T, Integer> idsr;
+    private final Reference2IntMap<T> idsr;
     private final BitSet allocation = new BitSet(DEFAULT_ALLOCATION_SIZE);
     private final PaletteType<T> paletteType;
+    private Object[] ids;
     private int maxId = 0;
 
     public BimapPalette(PaletteType<T> paletteType) {
-        this.ids = HashBiMap.create();
-        this.idsr = this.ids.inverse();
-        this.paletteType = paletteType;
+        this(paletteType, DEFAULT_ALLOCATION_SIZE);
     }
 
     public BimapPalette(PaletteType<T> paletteType, int expectedSize) {
-        this.ids = HashBiMap.create(expectedSize);
-        this.idsr = this.ids.inverse();
+        this.ids = new Object[Math.max(expectedSize, 1)];
+        this.idsr = new Reference2IntOpenHashMap<>(expectedSize);
+        this.idsr.defaultReturnValue(-1);
         this.paletteType = paletteType;
     }
 
@@ -69,19 +75,25 @@ public int getHighestId() {
 
     @Override
     public Optional<Integer> get(T state) {
-        return Optional.ofNullable(this.idsr.get(state));
+        final int id = this.idsr.getInt(state);
+        return id == -1 ? Optional.empty() : Optional.of(id);
+    }
+
+    @Override
+    public int getId(T state) {
+        return this.idsr.getInt(state);
     }
 
     @Override
     public int getOrAssign(T state) {
-        Integer id = this.idsr.get(state);
-        if (id == null) {
+        final int id = this.idsr.getInt(state);
+        if (id == -1) {
             int next = this.allocation.nextClearBit(0);
             if (this.maxId < next) {
                 this.maxId = next;
             }
             this.allocation.set(next);
-            this.ids.put(next, state);
+            put(next, state);
             return next;
         }
         return id;
@@ -89,7 +101,14 @@ public int getOrAssign(T state) {
 
     @Override
     public Optional<T> get(int id) {
-        return Optional.ofNullable(this.ids.get(id));
+        return Optional.ofNullable(getOrNull(id));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nullable
+    @Override
+    public T getOrNull(int id) {
+        return id >= 0 && id < this.ids.length ? (T) this.ids[id] : null;
     }
 
     public void assign(T state, int id) {
@@ -97,20 +116,39 @@ public void assign(T state, int id) {
             this.maxId = id;
         }
         this.allocation.set(id);
-        this.ids.put(id, state);
+        put(id, state);
+    }
+
+    private void put(int id, T state) {
+        final int existing = this.idsr.getInt(state);
+        if (existing == id) {
+            return;
+        }
+        if (existing != -1) {
+            throw new IllegalArgumentException("value already present: " + state);
+        }
+        if (id >= this.ids.length) {
+            this.ids = Arrays.copyOf(this.ids, Math.max(id + 1, this.ids.length * 2));
+        }
+        final T previous = getOrNull(id);
+        if (previous != null) {
+            this.idsr.removeInt(previous);
+        }
+        this.ids[id] = state;
+        this.idsr.put(state, id);
     }
 
     @Override
     public boolean remove(T state) {
-        Integer id = this.idsr.get(state);
-        if (id == null) {
+        final int id = this.idsr.removeInt(state);
+        if (id == -1) {
             return false;
         }
         this.allocation.clear(id);
         if (id == this.maxId) {
             this.maxId = this.allocation.previousSetBit(this.maxId);
         }
-        this.ids.remove(id);
+        this.ids[id] = null;
         return true;
     }
 
@@ -129,13 +167,13 @@ public boolean equals(Object o) {
         }
         BimapPalette<?> that = (BimapPalette<?>) o;
         return this.maxId == that.maxId &&
-               this.ids.equals(that.ids) &&
                this.allocation.equals(that.allocation) &&
-               this.paletteType.equals(that.paletteType);
+               this.paletteType.equals(that.paletteType) &&
+               this.idsr.equals(that.idsr);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(this.ids, this.allocation, this.paletteType, this.maxId);
+        return Objects.hash(this.idsr, this.allocation, this.paletteType, this.maxId);
     }
 }
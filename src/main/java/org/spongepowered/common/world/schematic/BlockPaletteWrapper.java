@@ -31,8 +31,10 @@
 import java.util.Objects;
 import java.util.Optional;
 
+import javax.annotation.Nullable;
+
 @SuppressWarnings("deprecation")
-public class BlockPaletteWrapper implements org.spongepowered.api.world.schematic.BlockPalette {
+public class BlockPaletteWrapper implements org.spongepowered.api.world.schematic.BlockPalette, PrimitivePalette<BlockState> {
 
     private final Palette<BlockState> palette;
     private final org.spongepowered.api.world.schematic.BlockPaletteType type;
@@ -58,11 +60,26 @@ public Optional<BlockState> get(int id) {
         return this.palette.get(id);
     }
 
+    @Nullable
+    @Override
+    public BlockState getOrNull(int id) {
+        return PrimitivePalette.getOrNull(this.palette, id);
+    }
+
     @Override
     public Optional<Integer> get(BlockState state) {
         return this.palette.get(state);
     }
 
+    @SuppressWarnings("unchecked")
+    @Override
+    public int getId(BlockState state) {
+        if (this.palette instanceof PrimitivePalette) {
+            return ((PrimitivePalette<BlockState>) this.palette).getId(state);
+        }
+        return this.palette.get(state).orElse(-1);
+    }
+
     @Override
     public int getOrAssign(BlockState state) {
         return this.palette.getOrAssign(state);
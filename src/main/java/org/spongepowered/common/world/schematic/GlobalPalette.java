@@ -40,28 +40,28 @@
 import java.util.Collection;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.function.Function;
 import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
 
 import javax.annotation.Nullable;
 
-public class GlobalPalette<T extends CatalogType> implements Palette<T> {
+public class GlobalPalette<T extends CatalogType> implements PrimitivePalette<T> {
 
     @Nullable
     private static Palette<BlockState> blockPalette;
     @Nullable
     private static GlobalPalette<BiomeType> biomePalette;
 
-    private final Function<T, Integer> typeToInt;
+    private final ToIntFunction<T> typeToInt;
     private final IntFunction<T> intToType;
     private final PaletteType<T> paletteType;
     private final Class<T> catalogType;
     private final int length;
 
-    private GlobalPalette(PaletteType<T> paletteType, Function<T, Integer> map, IntFunction<T> identity, Class<T> catalogType) {
+    private GlobalPalette(PaletteType<T> paletteType, ToIntFunction<T> map, IntFunction<T> identity, Class<T> catalogType) {
         int highest = 0;
         for (T type : Sponge.getRegistry().getAllOf(catalogType)) {
-            int id = map.apply(type);
+            int id = map.applyAsInt(type);
             if (id > highest) {
                 highest = id;
             }
@@ -108,12 +108,17 @@ public int getHighestId() {
 
     @Override
     public Optional<Integer> get(T type) {
-        return Optional.of(this.typeToInt.apply(type));
+        return Optional.of(this.typeToInt.applyAsInt(type));
     }
 
     @Override
     public int getOrAssign(T state) {
-        return this.typeToInt.apply(state);
+        return this.typeToInt.applyAsInt(state);
+    }
+
+    @Override
+    public int getId(T state) {
+        return this.typeToInt.applyAsInt(state);
     }
 
     @Override
@@ -121,6 +126,12 @@ public Optional<T> get(int id) {
         return Optional.ofNullable(this.intToType.apply(id));
     }
 
+    @Nullable
+    @Override
+    public T getOrNull(int id) {
+        return this.intToType.apply(id);
+    }
+
     @Override
     public boolean remove(T state) {
         throw new UnsupportedOperationException("Cannot remove blockstates from the global palette");
@@ -0,0 +1,74 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.schematic;
+
+import org.spongepowered.api.CatalogType;
+import org.spongepowered.api.world.schematic.Palette;
+
+import javax.annotation.Nullable;
+
+/**
+ * A {@link Palette} which can be queried without boxing ids or wrapping
+ * results in {@link java.util.Optional}s. Used by the block buffers and
+ * schematic translators, which look up every single block.
+ */
+public interface PrimitivePalette<T extends CatalogType> extends Palette<T> {
+
+    /**
+     * Gets the value of the palette entry with the given id.
+     *
+     * @param id The id
+     * @return The value, or null if the id is not assigned
+     */
+    @Nullable
+    T getOrNull(int id);
+
+    /**
+     * Gets the id of the given value.
+     *
+     * @param value The value
+     * @return The id, or -1 if the value is not assigned
+     */
+    int getId(T value);
+
+    /**
+     * Gets the value of the palette entry with the given id, using the fast
+     * accessor if the palette supports it.
+     *
+     * @param palette The palette
+     * @param id The id
+     * @param <T> The type of the palette values
+     * @return The value, or null if the id is not assigned
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    static <T extends CatalogType> T getOrNull(Palette<T> palette, int id) {
+        if (palette instanceof PrimitivePalette) {
+            return ((PrimitivePalette<T>) palette).getOrNull(id);
+        }
+        return palette.get(id).orElse(null);
+    }
+
+}
@@ -0,0 +1,216 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.common.SpongeImpl;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import javax.annotation.Nullable;
+
+/**
+ * A read only view of a region file that is mapped into memory, used to
+ * read many chunks without going through the {@code RegionFileCache} of
+ * the server. Chunks may be read by multiple threads at the same time.
+ *
+ * <p>The format is the same one {@code RegionFile} reads: a table of 1024
+ * offsets, each pointing to the sectors of a chunk, which start with the
+ * length of the data and the compression type.</p>
+ *
+ * <p>The server may write to the file while it is mapped, the mapping
+ * sees those writes but is never resized. {@code RegionFile} writes the
+ * sectors of a chunk before pointing the offset table at them, so a chunk
+ * is read again if its offset changed while its data was copied. A chunk
+ * that is rewritten in place while it is read can still be torn, such
+ * chunks fail to decode and are treated as invalid. Saving the world
+ * before reading gives a consistent view.</p>
+ */
+final class MappedRegionFile {
+
+    static final int CHUNKS = 1024;
+    static final int OFFSET_TABLE_SIZE = CHUNKS * 4;
+
+    private static final int SECTOR_SIZE = 4096;
+    private static final int HEADER_SIZE = SECTOR_SIZE * 2;
+    private static final byte VERSION_GZIP = 1;
+    private static final byte VERSION_DEFLATE = 2;
+
+    // Reading the same offset again after a change is unlikely to race again
+    private static final int MAX_READ_ATTEMPTS = 3;
+
+    private final ByteBuffer buffer;
+    private final int sectors;
+    private final int[] offsets = new int[CHUNKS];
+    private final int chunkCount;
+
+    /**
+     * Counts the chunks stored in a region file by reading only its offset
+     * table, without mapping the file.
+     *
+     * @param path The region file
+     * @param table A buffer of at least {@link #OFFSET_TABLE_SIZE} bytes to
+     *     read the offset table into
+     * @return The chunk count
+     * @throws IOException If the file can't be read
+     */
+    static int countChunks(final Path path, final ByteBuffer table) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size < HEADER_SIZE) {
+                return 0;
+            }
+            table.clear().limit(OFFSET_TABLE_SIZE);
+            while (table.hasRemaining()) {
+                if (channel.read(table, table.position()) < 0) {
+                    return 0;
+                }
+            }
+            final int sectors = (int) (size / SECTOR_SIZE);
+            int count = 0;
+            for (int i = 0; i < CHUNKS; i++) {
+                if (isInFile(table.getInt(i * 4), sectors)) {
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+
+    static MappedRegionFile open(final Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return new MappedRegionFile(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    private MappedRegionFile(final ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.sectors = buffer.capacity() / SECTOR_SIZE;
+        int chunkCount = 0;
+        if (buffer.capacity() >= HEADER_SIZE) {
+            for (int i = 0; i < CHUNKS; i++) {
+                final int offset = buffer.getInt(i * 4);
+                if (isInFile(offset, this.sectors)) {
+                    this.offsets[i] = offset;
+                    chunkCount++;
+                }
+            }
+        }
+        this.chunkCount = chunkCount;
+    }
+
+    // Skip chunks that point outside of the mapped file, like RegionFile does
+    private static boolean isInFile(final int offset, final int sectors) {
+        return offset != 0 && (offset >> 8) + (offset & 255) <= sectors;
+    }
+
+    boolean hasChunk(final int index) {
+        return this.offsets[index] != 0;
+    }
+
+    /**
+     * Gets the amount of chunks stored in this region.
+     *
+     * @return The chunk count
+     */
+    int getChunkCount() {
+        return this.chunkCount;
+    }
+
+    /**
+     * Reads and decodes the chunk at the given index of the offset table.
+     * Chunks that can't be decoded are logged and treated as invalid.
+     *
+     * @param index The index, {@code x + z * 32}
+     * @return The chunk data, or null if there is no valid chunk
+     */
+    @Nullable
+    DataContainer readChunk(final int index) {
+        try {
+            final byte[] data = this.copyChunk(index);
+            if (data == null) {
+                return null;
+            }
+            final InputStream stream;
+            if (data[0] == VERSION_GZIP) {
+                stream = new GZIPInputStream(new ByteArrayInputStream(data, 1, data.length - 1));
+            } else if (data[0] == VERSION_DEFLATE) {
+                stream = new InflaterInputStream(new ByteArrayInputStream(data, 1, data.length - 1));
+            } else {
+                return null;
+            }
+            try (DataInputStream dataStream = new DataInputStream(new BufferedInputStream(stream))) {
+                return WorldStorageUtil.readDataFromRegion(dataStream);
+            }
+        } catch (IOException | RuntimeException e) {
+            // Corrupted, or torn by a concurrent write
+            SpongeImpl.getLogger().debug("Could not decode chunk {} of a region file, skipping it", index, e);
+            return null;
+        }
+    }
+
+    /**
+     * Copies the compression type and the compressed data of a chunk out of
+     * the mapping, following the offset table if the chunk is moved while
+     * it is copied.
+     *
+     * @param index The index
+     * @return The data, or null if there is no valid chunk
+     */
+    @Nullable
+    private byte[] copyChunk(final int index) {
+        int offset = this.offsets[index];
+        for (int attempt = 0; attempt < MAX_READ_ATTEMPTS && offset != 0; attempt++) {
+            final int start = (offset >> 8) * SECTOR_SIZE;
+            final int length = this.buffer.getInt(start);
+            if (length <= 1 || length + 4 > (offset & 255) * SECTOR_SIZE) {
+                return null;
+            }
+            final byte[] data = new byte[length];
+            // Duplicates have their own position, so readers don't interfere with each other
+            final ByteBuffer view = this.buffer.duplicate();
+            view.position(start + 4);
+            view.get(data);
+            final int current = this.buffer.getInt(index * 4);
+            if (current == offset) {
+                return data;
+            }
+            offset = isInFile(current, this.sectors) ? current : 0;
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,165 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.common.SpongeImpl;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+import javax.annotation.Nullable;
+
+/**
+ * A spliterator over the chunks of region files, in the order of the files
+ * and then of their offset tables. Splits hand out whole region files
+ * first and then ranges of chunks within a file, so chunks of a parallel
+ * stream are decoded by many threads.
+ */
+final class RegionChunkSpliterator implements Spliterator<DataContainer> {
+
+    // Smaller ranges of chunks aren't worth splitting
+    private static final int MIN_SPLIT_CHUNKS = 32;
+
+    private final List<Path> files;
+    private int fileIndex;
+    private final int fileEnd;
+
+    @Nullable private MappedRegionFile region;
+    private int chunkIndex;
+    private int chunkEnd;
+
+    RegionChunkSpliterator(final List<Path> files) {
+        this(files, 0, files.size());
+    }
+
+    RegionChunkSpliterator(final MappedRegionFile region, final int chunkIndex, final int chunkEnd) {
+        this.files = Collections.emptyList();
+        this.fileEnd = 0;
+        this.region = region;
+        this.chunkIndex = chunkIndex;
+        this.chunkEnd = chunkEnd;
+    }
+
+    private RegionChunkSpliterator(final List<Path> files, final int fileIndex, final int fileEnd) {
+        this.files = files;
+        this.fileIndex = fileIndex;
+        this.fileEnd = fileEnd;
+    }
+
+    @Nullable
+    static MappedRegionFile openRegion(final Path file) {
+        try {
+            return MappedRegionFile.open(file);
+        } catch (IOException e) {
+            SpongeImpl.getLogger().warn("Could not read region file {}, skipping it", file, e);
+            return null;
+        }
+    }
+
+    /**
+     * Opens the next region file, if the current one is exhausted.
+     *
+     * @return False if there are no chunks left
+     */
+    private boolean nextRegion() {
+        while (this.region == null || this.chunkIndex >= this.chunkEnd) {
+            this.region = null;
+            if (this.fileIndex >= this.fileEnd) {
+                return false;
+            }
+            this.region = openRegion(this.files.get(this.fileIndex++));
+            this.chunkIndex = 0;
+            this.chunkEnd = MappedRegionFile.CHUNKS;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super DataContainer> action) {
+        while (this.nextRegion()) {
+            final int index = this.chunkIndex++;
+            if (!this.region.hasChunk(index)) {
+                continue;
+            }
+            // Invalid chunks are skipped
+            final DataContainer data = this.region.readChunk(index);
+            if (data != null) {
+                action.accept(data);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Nullable
+    @Override
+    public Spliterator<DataContainer> trySplit() {
+        final boolean hasRegion = this.region != null && this.chunkIndex < this.chunkEnd;
+        if (!hasRegion) {
+            final int files = this.fileEnd - this.fileIndex;
+            if (files > 1) {
+                final int mid = this.fileIndex + files / 2;
+                final RegionChunkSpliterator prefix = new RegionChunkSpliterator(this.files, this.fileIndex, mid);
+                this.fileIndex = mid;
+                return prefix;
+            }
+            // A single file left, split its chunks instead
+            if (files == 0 || !this.nextRegion()) {
+                return null;
+            }
+        }
+        if (this.fileIndex < this.fileEnd) {
+            // Hand out the rest of the current region, keep the files
+            final RegionChunkSpliterator prefix = new RegionChunkSpliterator(this.region, this.chunkIndex, this.chunkEnd);
+            this.region = null;
+            return prefix;
+        }
+        final int chunks = this.chunkEnd - this.chunkIndex;
+        if (chunks < MIN_SPLIT_CHUNKS * 2) {
+            return null;
+        }
+        final int mid = this.chunkIndex + chunks / 2;
+        final RegionChunkSpliterator prefix = new RegionChunkSpliterator(this.region, this.chunkIndex, mid);
+        this.chunkIndex = mid;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        final long chunks = this.region == null ? 0 : Math.max(0, this.chunkEnd - this.chunkIndex);
+        return chunks + (long) (this.fileEnd - this.fileIndex) * MappedRegionFile.CHUNKS;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL | IMMUTABLE;
+    }
+
+}
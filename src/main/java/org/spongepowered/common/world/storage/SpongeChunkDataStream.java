@@ -24,127 +24,166 @@
  */
 package org.spongepowered.common.world.storage;
 
-import com.google.common.collect.Sets;
-import net.minecraft.world.chunk.storage.RegionFile;
+import com.google.common.collect.Lists;
 import org.spongepowered.api.data.DataContainer;
 import org.spongepowered.api.world.storage.ChunkDataStream;
-import org.spongepowered.common.bridge.world.chunk.storage.RegionFileAccessor;
+import org.spongepowered.common.SpongeImpl;
 
-import java.io.DataInputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.Set;
-
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import javax.annotation.Nullable;
+
+/**
+ * Streams the chunks stored in the region files of a world. Region files
+ * are mapped into memory and read without the {@code RegionFileCache} of
+ * the server, chunks are decompressed and decoded in parallel, a batch at
+ * a time.
+ *
+ * <p>Each chunk in the offset tables is returned once, chunks that turn
+ * out to be invalid once decoded are returned as {@code null}, so
+ * {@link #available()} matches the amount of remaining {@link #next()}
+ * calls. It only reads the offset tables of the files that weren't
+ * reached yet, once per file. Chunks the server saves while they are read may be seen in
+ * either version or be invalid, see {@link MappedRegionFile}.</p>
+ */
 public class SpongeChunkDataStream implements ChunkDataStream {
 
-    private static class RegionFileItr {
-
-        private final RegionFile file;
-        public int index;
-
-        public RegionFileItr(final RegionFile regionFile) {
-            this.file = regionFile;
-        }
-
-        public int getNext() {
-            int index = this.index;
-            final int[] offsets = ((RegionFileAccessor) this.file).accessor$getOffsets();
-            while (index != -1 && index < offsets.length && offsets[index] == 0) {
-                index++;
-            }
-            if (index >= offsets.length) {
-                return -1;
-            }
-            return index;
-        }
-
-        public DataInputStream getStreamAt(final int index) {
-            final int x = index & 31;
-            final int z = index >>> 5;
-            return this.file.getChunkDataInputStream(x, z);
-        }
-
+    private static final int BATCH_SIZE = 64;
+
+    /**
+     * Gets a parallel stream of all valid chunks stored in the region files
+     * of the world directory. Region files are split between threads, and
+     * the chunks of a region file once fewer files than threads are left.
+     *
+     * @param worldDir The world directory
+     * @return The stream
+     */
+    public static Stream<DataContainer> parallelStream(final Path worldDir) {
+        final List<Path> files = Lists.newArrayList(WorldStorageUtil.listRegionFiles(worldDir));
+        return StreamSupport.stream(new RegionChunkSpliterator(files), true);
     }
 
-    private final Set<Path> openedFiles = Sets.newHashSet();
-    private RegionFileItr regionFileItr;
     private final Path worldDir;
+    @Nullable private List<Path> files;
+    // The chunk counts of the files from their offset tables, -1 if not read yet
+    @Nullable private int[] fileChunkCounts;
+    @Nullable private ByteBuffer offsetTable;
+    private int fileIndex;
+    @Nullable private MappedRegionFile region;
+    private int chunkIndex;
+    // Decoded chunks of the current batch, null for invalid chunks
+    private final List<DataContainer> batch = new ArrayList<>(BATCH_SIZE);
+    private int batchIndex;
 
     public SpongeChunkDataStream(final Path worldDir) {
         this.worldDir = worldDir;
     }
 
-    private boolean itrAvailable() {
-        if (this.regionFileItr != null) {
-            return true;
-        }
-        final Iterable<Path> files = WorldStorageUtil.listRegionFiles(this.worldDir);
-        for (final Path file : files) {
-            if (!this.openedFiles.contains(file)) {
-                this.regionFileItr = new RegionFileItr(WorldStorageUtil.getRegionFile(file));
-                this.openedFiles.add(file);
-                return true;
-            }
+    private List<Path> getFiles() {
+        if (this.files == null) {
+            this.files = Lists.newArrayList(WorldStorageUtil.listRegionFiles(this.worldDir));
         }
-        return false;
+        return this.files;
     }
 
-    private int getNextIndex() {
-        int next;
-        while (itrAvailable()) {
-            if ((next = this.regionFileItr.getNext()) == -1) {
-                this.regionFileItr = null;
-            } else {
-                return next;
+    private boolean fillBatch() {
+        while (this.batchIndex >= this.batch.size()) {
+            if (this.region == null || this.chunkIndex >= MappedRegionFile.CHUNKS) {
+                final List<Path> files = this.getFiles();
+                if (this.fileIndex >= files.size()) {
+                    this.region = null;
+                    return false;
+                }
+                this.region = RegionChunkSpliterator.openRegion(files.get(this.fileIndex++));
+                this.chunkIndex = 0;
+                continue;
             }
+            final MappedRegionFile region = this.region;
+            final int end = Math.min(this.chunkIndex + BATCH_SIZE, MappedRegionFile.CHUNKS);
+            this.batch.clear();
+            this.batchIndex = 0;
+            // The collected list keeps the order of the offset table
+            this.batch.addAll(IntStream.range(this.chunkIndex, end)
+                    .filter(region::hasChunk)
+                    .parallel()
+                    .mapToObj(region::readChunk)
+                    .collect(Collectors.toList()));
+            this.chunkIndex = end;
         }
-        return -1;
+        return true;
     }
 
+    @Nullable
     @Override
     public DataContainer next() {
-        final int next = getNextIndex();
-        if (next == -1) {
+        if (!this.fillBatch()) {
             throw new NoSuchElementException();
         }
-        this.regionFileItr.index = next + 1;
-        final DataInputStream stream = this.regionFileItr.getStreamAt(next);
-        try {
-            return WorldStorageUtil.readDataFromRegion(stream);
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
+        return this.batch.get(this.batchIndex++);
     }
 
     @Override
     public boolean hasNext() {
-        return getNextIndex() != -1;
+        return this.fillBatch();
     }
 
     @Override
     public int available() {
-        // Advance to the end of the stream, counting along the way. Store
-        // previous state and reset to it afterwards.
-        final RegionFileItr currentItr = this.regionFileItr;
-        final Set<Path> currentOpenedFiles = Sets.newHashSet(this.openedFiles);
-        int count = 0;
-        int index = getNextIndex();
-        while (index != -1) {
-            count++;
-            this.regionFileItr.index = index + 1;
-            index = getNextIndex();
+        // Count the chunks in the offset tables, without decoding them
+        int count = this.batch.size() - this.batchIndex;
+        if (this.region != null) {
+            for (int i = this.chunkIndex; i < MappedRegionFile.CHUNKS; i++) {
+                if (this.region.hasChunk(i)) {
+                    count++;
+                }
+            }
+        }
+        final List<Path> files = this.getFiles();
+        for (int i = this.fileIndex; i < files.size(); i++) {
+            count += this.getChunkCount(files, i);
         }
-        this.regionFileItr = currentItr;
-        this.openedFiles.clear();
-        this.openedFiles.addAll(currentOpenedFiles);
         return count;
     }
 
+    private int getChunkCount(final List<Path> files, final int index) {
+        if (this.fileChunkCounts == null) {
+            this.fileChunkCounts = new int[files.size()];
+            Arrays.fill(this.fileChunkCounts, -1);
+        }
+        if (this.fileChunkCounts[index] < 0) {
+            if (this.offsetTable == null) {
+                this.offsetTable = ByteBuffer.allocate(MappedRegionFile.OFFSET_TABLE_SIZE);
+            }
+            int count = 0;
+            try {
+                count = MappedRegionFile.countChunks(files.get(index), this.offsetTable);
+            } catch (IOException e) {
+                SpongeImpl.getLogger().warn("Could not read region file {}, skipping it", files.get(index), e);
+            }
+            this.fileChunkCounts[index] = count;
+        }
+        return this.fileChunkCounts[index];
+    }
+
     @Override
     public void reset() {
-        this.regionFileItr = null;
-        this.openedFiles.clear();
+        this.files = null;
+        this.fileChunkCounts = null;
+        this.fileIndex = 0;
+        this.region = null;
+        this.chunkIndex = 0;
+        this.batch.clear();
+        this.batchIndex = 0;
     }
 
 }
@@ -30,14 +30,12 @@
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.world.WorldServer;
 import net.minecraft.world.chunk.storage.IChunkLoader;
-import net.minecraft.world.chunk.storage.RegionFile;
 import net.minecraft.world.chunk.storage.RegionFileCache;
 import org.spongepowered.api.data.DataContainer;
 import org.spongepowered.api.util.Functional;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.bridge.world.chunk.storage.AnvilChunkLoaderBridge;
 import org.spongepowered.common.data.persistence.NbtTranslator;
-import org.spongepowered.common.mixin.core.world.chunk.storage.RegionFileCacheAccessor;
 import org.spongepowered.common.util.Constants;
 
 import java.io.DataInputStream;
@@ -112,20 +110,4 @@ public static Iterable<Path> listRegionFiles(Path worldDir) {
         }
     }
 
-    // Similar to RegionFileCache#createOrLoadRegionFile except this uses direct
-    // file name instead of x,z
-    public static RegionFile getRegionFile(Path regionFilePath) {
-        File file = regionFilePath.toFile();
-        RegionFile regionFile = RegionFileCacheAccessor.accessor$getRegionsByFileMap().get(file);
-        if (regionFile != null) {
-            return regionFile;
-        }
-        if (RegionFileCacheAccessor.accessor$getRegionsByFileMap().size() >= 256) {
-            RegionFileCache.clearRegionFileReferences();
-        }
-        regionFile = new RegionFile(file);
-        RegionFileCacheAccessor.accessor$getRegionsByFileMap().put(file, regionFile);
-        return regionFile;
-    }
-
 }
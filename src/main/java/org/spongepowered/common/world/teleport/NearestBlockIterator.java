@@ -0,0 +1,149 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.teleport;
+
+import com.flowpowered.math.vector.Vector3i;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * Iterates the block positions of a box ordered by their squared distance
+ * to a center, producing one shell of equal distance at a time. Positions
+ * at the same distance prefer larger changes in y, then higher positions,
+ * then lower x and lower z.
+ *
+ * <p>Only the positions up to the current shell are ever created, so a
+ * search that succeeds close to the center stays cheap no matter how large
+ * the box is.</p>
+ */
+final class NearestBlockIterator implements Iterator<Vector3i> {
+
+    private final Vector3i center;
+    private final int minZ;
+    private final int maxZ;
+    private final PriorityQueue<Column> columns = new PriorityQueue<>(Comparator.comparingInt(column -> column.distanceSquared));
+    private final Comparator<Vector3i> shellOrder;
+    private final List<Vector3i> shell = new ArrayList<>();
+    private int shellIndex;
+
+    NearestBlockIterator(final Vector3i center, final int minX, final int maxX, final int minY, final int maxY, final int minZ, final int maxZ) {
+        this.center = center;
+        this.minZ = minZ;
+        this.maxZ = maxZ;
+        this.shellOrder = Comparator.<Vector3i>comparingInt(pos -> -Math.abs(center.getY() - pos.getY()))
+            .thenComparingInt(pos -> -pos.getY())
+            .thenComparingInt(Vector3i::getX)
+            .thenComparingInt(Vector3i::getZ);
+        if (minZ > maxZ) {
+            return;
+        }
+        for (int y = minY; y <= maxY; y++) {
+            for (int x = minX; x <= maxX; x++) {
+                final Column column = new Column(x, y);
+                if (this.advance(column)) {
+                    this.columns.add(column);
+                }
+            }
+        }
+    }
+
+    /**
+     * Moves the column to its next z offset, in the order 0, -1, 1, -2, 2
+     * and so on, skipping offsets outside of the box.
+     *
+     * @param column The column
+     * @return False if the column has no positions left
+     */
+    private boolean advance(final Column column) {
+        final int centerZ = this.center.getZ();
+        while (true) {
+            final int offset = column.nextOffset;
+            column.nextOffset = offset >= 0 ? -(offset + 1) : -offset;
+            if (Math.abs(offset) > Math.max(centerZ - this.minZ, this.maxZ - centerZ)) {
+                return false;
+            }
+            final int z = centerZ + offset;
+            if (z >= this.minZ && z <= this.maxZ) {
+                column.z = z;
+                final int dx = column.x - this.center.getX();
+                final int dy = column.y - this.center.getY();
+                column.distanceSquared = dx * dx + dy * dy + offset * offset;
+                return true;
+            }
+        }
+    }
+
+    private boolean fillShell() {
+        this.shell.clear();
+        this.shellIndex = 0;
+        if (this.columns.isEmpty()) {
+            return false;
+        }
+        final int distanceSquared = this.columns.peek().distanceSquared;
+        while (!this.columns.isEmpty() && this.columns.peek().distanceSquared == distanceSquared) {
+            final Column column = this.columns.poll();
+            this.shell.add(new Vector3i(column.x, column.y, column.z));
+            if (this.advance(column)) {
+                this.columns.add(column);
+            }
+        }
+        this.shell.sort(this.shellOrder);
+        return true;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return this.shellIndex < this.shell.size() || this.fillShell();
+    }
+
+    @Override
+    public Vector3i next() {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return this.shell.get(this.shellIndex++);
+    }
+
+    private static final class Column {
+
+        final int x;
+        final int y;
+        int z;
+        int nextOffset;
+        int distanceSquared;
+
+        Column(final int x, final int y) {
+            this.x = x;
+            this.y = y;
+        }
+
+    }
+
+}
@@ -28,6 +28,8 @@
 import com.flowpowered.math.vector.Vector3i;
 import com.google.common.collect.Sets;
 import com.google.inject.Singleton;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import net.minecraft.world.border.WorldBorder;
 import org.spongepowered.api.block.BlockState;
 import org.spongepowered.api.util.Tristate;
@@ -41,13 +43,10 @@
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Comparator;
-import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Stream;
 
 @Singleton
 public class SpongeTeleportHelper implements TeleportHelper {
@@ -81,7 +80,7 @@ public Optional<Location<World>> getSafeLocation(Location<World> location, int h
 
     }
 
-    private Stream<Vector3i> getBlockLocations(Location<World> worldLocation, int height, int width) {
+    private Iterator<Vector3i> getBlockLocations(Location<World> worldLocation, int height, int width) {
         // We don't want to warp outside of the world border, so we want to check that we're within it.
         WorldBorder worldBorder = (WorldBorder) worldLocation.getExtent().getWorldBorder();
         int worldBorderMinX = GenericMath.floor(worldBorder.minX());
@@ -105,119 +104,126 @@ private Stream<Vector3i> getBlockLocations(Location<World> worldLocation, int he
         int minZ = GenericMath.clamp(vectorLocation.getZ() - width, worldBorderMinZ, worldBorderMaxZ);
         int maxZ = GenericMath.clamp(vectorLocation.getZ() + width, worldBorderMinZ, worldBorderMaxZ);
 
-        // We now iterate over all possible x, y and z positions to get all possible vectors.
-        List<Vector3i> vectors = new ArrayList<>();
-        for (int y = minY; y <= maxY; y++) {
-            for (int x = minX; x <= maxX; x++) {
-                for (int z = minZ; z <= maxZ; z++) {
-                    vectors.add(new Vector3i(x, y, z));
-                }
-            }
-        }
-
-        Comparator<Vector3i> c = Comparator.comparingInt(vectorLocation::distanceSquared);
-
-        // The compiler seems to need this to be a new line.
-        // We check to see what the y location is, preferring changes in Y over X and Z, and higher over lower locations.
-        c = c.thenComparing(x -> -Math.abs(vectorLocation.getY() - x.getY())).thenComparing(x -> -x.getY());
-
-        // Sort them according to the distance to the provided worldLocation.
-        return vectors.stream().sorted(c);
+        // The positions are produced lazily in order of the distance to the provided worldLocation, preferring
+        // changes in Y over X and Z, and higher over lower locations, so only the positions we actually check are created.
+        return new NearestBlockIterator(vectorLocation, minX, maxX, minY, maxY, minZ, maxZ);
     }
 
-    private Optional<Vector3i> getSafeLocation(World world, Stream<Vector3i> positionsToCheck, int floorDistanceCheck,
+    private Optional<Vector3i> getSafeLocation(World world, Iterator<Vector3i> positionsToCheck, int floorDistanceCheck,
             Collection<TeleportHelperFilter> filters) {
         // We cache the various block lookup results so we don't check a block twice.
-        final Map<Vector3i, BlockData> blockCache = new HashMap<>();
-
-        return positionsToCheck.filter(currentTarget -> {
-            List<TeleportHelperFilter> undefinedResults = new ArrayList<>();
-            for (TeleportHelperFilter filter : filters) {
-                // If any return Tristate.FALSE, we're not safe.
-                Tristate isValid = filter.isValidLocation(world, currentTarget);
-                if (isValid == Tristate.FALSE) {
-                    // Completely fails the AND check at this point.
-                    return false;
-                }
+        final BlockDataCache blockCache = new BlockDataCache(world);
+        final List<TeleportHelperFilter> undefinedResults = new ArrayList<>();
 
-                if (isValid == Tristate.UNDEFINED) {
-                    undefinedResults.add(filter);
-                }
+        while (positionsToCheck.hasNext()) {
+            final Vector3i currentTarget = positionsToCheck.next();
+            if (isSafeLocation(world, currentTarget, floorDistanceCheck, filters, blockCache, undefinedResults)) {
+                return Optional.of(currentTarget);
             }
+        }
+        return Optional.empty();
+    }
 
-            // If we don't have any undefined results, then we return true here.
-            if (undefinedResults.isEmpty()) {
-                return true;
+    private boolean isSafeLocation(World world, Vector3i currentTarget, int floorDistanceCheck, Collection<TeleportHelperFilter> filters,
+            BlockDataCache blockCache, List<TeleportHelperFilter> undefinedResults) {
+        undefinedResults.clear();
+        for (TeleportHelperFilter filter : filters) {
+            // If any return Tristate.FALSE, we're not safe.
+            Tristate isValid = filter.isValidLocation(world, currentTarget);
+            if (isValid == Tristate.FALSE) {
+                // Completely fails the AND check at this point.
+                return false;
             }
 
-            // Get the block, add it to the cache.
-            BlockData block = getBlockData(currentTarget, world, blockCache, undefinedResults);
-
-            // If the block isn't safe, no point in continuing on this run.
-            if (block.isSafeBody) {
+            if (isValid == Tristate.UNDEFINED) {
+                undefinedResults.add(filter);
+            }
+        }
 
-                // Check the block ABOVE is safe for the body, and the two BELOW are safe too.
-                if (getBlockData(
-                    currentTarget.add(0, 1, 0), world, blockCache, undefinedResults).isSafeBody
-                        && (floorDistanceCheck <= 0 || isFloorSafe(currentTarget, world, blockCache, undefinedResults, floorDistanceCheck))) {
+        // If we don't have any undefined results, then we return true here.
+        if (undefinedResults.isEmpty()) {
+            return true;
+        }
 
-                    // This position should be safe. Get the center of the block to spawn into.
-                    return true;
-                }
-            }
+        final int x = currentTarget.getX();
+        final int y = currentTarget.getY();
+        final int z = currentTarget.getZ();
 
-            return false;
-        }).findFirst();
+        // If the block isn't safe, no point in continuing on this run.
+        // Check the block ABOVE is safe for the body, and the two BELOW are safe too.
+        return blockCache.isSafeBody(x, y, z, undefinedResults)
+                && blockCache.isSafeBody(x, y + 1, z, undefinedResults)
+                && (floorDistanceCheck <= 0 || isFloorSafe(x, y, z, blockCache, undefinedResults, floorDistanceCheck));
     }
 
-    private boolean isFloorSafe(Vector3i currentTarget, World world, Map<Vector3i, BlockData> blockCache, Collection<TeleportHelperFilter> filters,
-            int floorDistanceCheck) {
+    private boolean isFloorSafe(int x, int y, int z, BlockDataCache blockCache, Collection<TeleportHelperFilter> filters, int floorDistanceCheck) {
         for (int i = 1; i < floorDistanceCheck; ++i) {
-            BlockData data = getBlockData(currentTarget.sub(0, i, 0), world, blockCache, filters);
-
             // If it's a safe floor, we can just say yes now.
-            if (data.isSafeFloor) {
+            if (blockCache.isSafeFloor(x, y - i, z, filters)) {
                 return true;
             }
 
             // If it's not safe for the body, then we don't want to go through it anyway.
-            if (!data.isSafeBody) {
+            if (!blockCache.isSafeBody(x, y - i, z, filters)) {
                 return false;
             }
         }
 
         // Check the next block down, if it's a floor, then we're good to go, otherwise we'd fall too far for our liking.
-        return getBlockData(currentTarget.sub(0, floorDistanceCheck, 0), world, blockCache, filters).isSafeFloor;
+        return blockCache.isSafeFloor(x, y - floorDistanceCheck, z, filters);
     }
 
-    private BlockData getBlockData(Vector3i vector3i, World world, Map<Vector3i, BlockData> cache, Collection<TeleportHelperFilter> filters) {
-        if (vector3i.getY() < 0) {
-            // Anything below this isn't safe, no point going further.
-            return new BlockData();
-        }
+    /**
+     * Caches whether blocks are safe, per chunk section, so the columns
+     * below neighboring positions aren't checked again.
+     */
+    private static final class BlockDataCache {
 
-        if (cache.containsKey(vector3i)) {
-            return cache.get(vector3i);
-        }
+        private static final byte KNOWN = 1;
+        private static final byte SAFE_FLOOR = 2;
+        private static final byte SAFE_BODY = 4;
 
-        BlockData data = new BlockData(world.getBlock(vector3i), filters);
-        cache.put(vector3i, data);
-        return data;
-    }
+        private final World world;
+        private final Long2ObjectMap<byte[]> sections = new Long2ObjectOpenHashMap<>();
 
-    private class BlockData {
+        BlockDataCache(World world) {
+            this.world = world;
+        }
 
-        private final boolean isSafeFloor;
-        private final boolean isSafeBody;
+        boolean isSafeFloor(int x, int y, int z, Collection<TeleportHelperFilter> filters) {
+            return (this.getBlockData(x, y, z, filters) & SAFE_FLOOR) != 0;
+        }
 
-        private BlockData() {
-            this.isSafeFloor = false;
-            this.isSafeBody = false;
+        boolean isSafeBody(int x, int y, int z, Collection<TeleportHelperFilter> filters) {
+            return (this.getBlockData(x, y, z, filters) & SAFE_BODY) != 0;
         }
 
-        private BlockData(BlockState blockState, Collection<TeleportHelperFilter> filters) {
-            this.isSafeFloor = filters.stream().allMatch(x -> x.isSafeFloorMaterial(blockState));
-            this.isSafeBody = filters.stream().allMatch(x -> x.isSafeBodyMaterial(blockState));
+        private byte getBlockData(int x, int y, int z, Collection<TeleportHelperFilter> filters) {
+            if (y < 0) {
+                // Anything below this isn't safe, no point going further.
+                return KNOWN;
+            }
+
+            final long sectionKey = (long) (x >> 4) & 0x3FFFFFL | ((long) (z >> 4) & 0x3FFFFFL) << 22 | ((long) (y >> 4) & 0xFFFFFL) << 44;
+            byte[] section = this.sections.get(sectionKey);
+            if (section == null) {
+                section = new byte[4096];
+                this.sections.put(sectionKey, section);
+            }
+            final int index = (x & 15) | (z & 15) << 4 | (y & 15) << 8;
+            byte data = section[index];
+            if (data == 0) {
+                final BlockState blockState = this.world.getBlock(x, y, z);
+                data = KNOWN;
+                if (filters.stream().allMatch(filter -> filter.isSafeFloorMaterial(blockState))) {
+                    data |= SAFE_FLOOR;
+                }
+                if (filters.stream().allMatch(filter -> filter.isSafeBodyMaterial(blockState))) {
+                    data |= SAFE_BODY;
+                }
+                section[index] = data;
+            }
+            return data;
         }
 
     }
@@ -0,0 +1,199 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.persistence;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.flowpowered.math.vector.Vector3i;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.spongepowered.api.block.tileentity.TileEntityArchetype;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.api.data.DataView;
+import org.spongepowered.api.data.persistence.DataFormats;
+import org.spongepowered.api.world.biome.BiomeType;
+import org.spongepowered.api.world.biome.BiomeTypes;
+import org.spongepowered.api.world.extent.BiomeVolume;
+import org.spongepowered.api.world.extent.MutableBiomeVolume;
+import org.spongepowered.api.world.extent.MutableBlockVolume;
+import org.spongepowered.api.world.schematic.Palette;
+import org.spongepowered.api.world.schematic.PaletteTypes;
+import org.spongepowered.api.world.schematic.Schematic;
+import org.spongepowered.common.util.Constants;
+import org.spongepowered.common.util.gen.ArrayMutableBlockBuffer;
+import org.spongepowered.common.util.gen.ByteArrayMutableBiomeBuffer;
+import org.spongepowered.common.world.schematic.GlobalPalette;
+import org.spongepowered.common.world.schematic.SpongeSchematicBuilder;
+import org.spongepowered.lwts.runner.LaunchWrapperTestRunner;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+@RunWith(LaunchWrapperTestRunner.class)
+public class SchematicStreamCodecTest {
+
+    private byte[] encoded;
+    private Schematic translated;
+
+    @Before
+    public void init() throws IOException {
+        try (final InputStream input = this.getClass().getClassLoader().getResource("loadv2.schematic").openStream()) {
+            final ByteArrayOutputStream output = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[4096];
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                output.write(buffer, 0, read);
+            }
+            this.encoded = output.toByteArray();
+        }
+        this.translated = translatorRead(this.encoded);
+    }
+
+    private static Schematic translatorRead(final byte[] encoded) throws IOException {
+        try (final GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(encoded))) {
+            return SchematicTranslator.get().translate(DataFormats.NBT.readFrom(input));
+        }
+    }
+
+    private static byte[] codecWrite(final Schematic schematic) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        SchematicStreamCodec.write(schematic, output);
+        return output.toByteArray();
+    }
+
+    /**
+     * Copies the blocks, tile entities and metadata of the schematic and
+     * adds a biome volume with two alternating biomes.
+     */
+    private static Schematic withBiomes(final Schematic schematic) {
+        final Vector3i min = schematic.getBlockMin();
+        final Vector3i size = schematic.getBlockSize();
+        final MutableBlockVolume blocks = new ArrayMutableBlockBuffer(schematic.getBlockPalette(), min, size);
+        schematic.getBlockWorker().iterate((v, x, y, z) -> blocks.setBlock(x, y, z, v.getBlock(x, y, z)));
+        final MutableBiomeVolume biomes = new ByteArrayMutableBiomeBuffer(GlobalPalette.getBiomePalette(), min,
+            new Vector3i(size.getX(), 1, size.getZ()));
+        for (int z = min.getZ(); z < min.getZ() + size.getZ(); z++) {
+            for (int x = min.getX(); x < min.getX() + size.getX(); x++) {
+                biomes.setBiome(x, min.getY(), z, ((x + z) & 1) == 0 ? BiomeTypes.PLAINS : BiomeTypes.DESERT);
+            }
+        }
+        return new SpongeSchematicBuilder()
+            .blockPalette(schematic.getBlockPalette())
+            .blocks(blocks)
+            .biomes(biomes)
+            .tiles(schematic.getTileEntityArchetypes())
+            .metadata(schematic.getMetadata())
+            .build();
+    }
+
+    private static void assertSameContents(final Schematic expected, final Schematic actual) {
+        assertEquals(expected.getBlockMin(), actual.getBlockMin());
+        assertEquals(expected.getBlockSize(), actual.getBlockSize());
+        expected.getBlockWorker().iterate((v, x, y, z) -> assertEquals(v.getBlock(x, y, z), actual.getBlock(x, y, z)));
+
+        assertEquals(expected.getBiomes().isPresent(), actual.getBiomes().isPresent());
+        if (expected.getBiomes().isPresent()) {
+            final BiomeVolume expectedBiomes = expected.getBiomes().get();
+            final BiomeVolume actualBiomes = actual.getBiomes().get();
+            assertEquals(expectedBiomes.getBiomeMin(), actualBiomes.getBiomeMin());
+            assertEquals(expectedBiomes.getBiomeSize(), actualBiomes.getBiomeSize());
+            expectedBiomes.getBiomeWorker().iterate((v, x, y, z) -> assertSame(v.getBiome(x, y, z), actualBiomes.getBiome(x, y, z)));
+        }
+
+        final Map<Vector3i, TileEntityArchetype> expectedTiles = expected.getTileEntityArchetypes();
+        final Map<Vector3i, TileEntityArchetype> actualTiles = actual.getTileEntityArchetypes();
+        assertEquals(expectedTiles.keySet(), actualTiles.keySet());
+        for (final Map.Entry<Vector3i, TileEntityArchetype> entry : expectedTiles.entrySet()) {
+            final TileEntityArchetype actualTile = actualTiles.get(entry.getKey());
+            assertEquals(entry.getValue().getTileEntityType(), actualTile.getTileEntityType());
+            assertEquals(entry.getValue().getState(), actualTile.getState());
+            assertEquals(entry.getValue().getTileData(), actualTile.getTileData());
+        }
+
+        assertEquals(expected.getMetadata(), actual.getMetadata());
+    }
+
+    @Test
+    public void testReadMatchesTranslator() throws IOException {
+        final Schematic read = SchematicStreamCodec.read(new ByteArrayInputStream(this.encoded));
+        assertFalse(read.getTileEntityArchetypes().isEmpty());
+        assertSameContents(this.translated, read);
+    }
+
+    @Test
+    public void testWrittenSchematicIsReadByTranslator() throws IOException {
+        final byte[] written = codecWrite(this.translated);
+        assertSameContents(this.translated, translatorRead(written));
+        assertSameContents(this.translated, SchematicStreamCodec.read(new ByteArrayInputStream(written)));
+    }
+
+    @Test
+    public void testBiomesRoundTrip() throws IOException {
+        final Schematic schematic = withBiomes(this.translated);
+        final byte[] written = codecWrite(schematic);
+        assertSameContents(schematic, SchematicStreamCodec.read(new ByteArrayInputStream(written)));
+        assertSameContents(schematic, translatorRead(written));
+    }
+
+    @Test
+    public void testTranslatorKeepsBlockDataWithBiomes() {
+        final Schematic schematic = withBiomes(this.translated);
+        final DataContainer container = SchematicTranslator.get().translate(schematic);
+        final byte[] blockData = (byte[]) container.get(Constants.Sponge.Schematic.BLOCK_DATA).get();
+        final byte[] biomeData = (byte[]) container.get(Constants.Sponge.Schematic.BIOME_DATA).get();
+        // Every block is encoded, not just one layer of biomes
+        final Vector3i size = schematic.getBlockSize();
+        assertTrue(blockData.length >= size.getX() * size.getY() * size.getZ());
+        assertTrue(biomeData.length >= size.getX() * size.getZ());
+        assertSameContents(schematic, SchematicTranslator.get().translate(container));
+    }
+
+    @Test
+    public void testBiomePaletteIgnoresBlockPaletteMax() {
+        final DataView view = DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED);
+        view.set(Constants.Sponge.Schematic.PALETTE_MAX, 1);
+        view.set(Constants.Sponge.Schematic.BIOME_PALETTE.then(DataQuery.of(BiomeTypes.PLAINS.getId())), 0);
+        view.set(Constants.Sponge.Schematic.BIOME_PALETTE.then(DataQuery.of(BiomeTypes.DESERT.getId())), 1);
+        view.set(Constants.Sponge.Schematic.BIOME_PALETTE.then(DataQuery.of(BiomeTypes.OCEAN.getId())), 2);
+        view.set(Constants.Sponge.Schematic.BIOME_PALETTE_MAX, 3);
+
+        final Palette<BiomeType> palette = SchematicTranslator.readBiomePalette(view);
+        assertEquals(PaletteTypes.LOCAL_BIOMES, palette.getType());
+        assertEquals(3, palette.getEntries().size());
+        assertSame(BiomeTypes.PLAINS, palette.get(0).get());
+        assertSame(BiomeTypes.DESERT, palette.get(1).get());
+        assertSame(BiomeTypes.OCEAN, palette.get(2).get());
+    }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.entity;
+
+import static org.junit.Assert.assertEquals;
+
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import org.junit.Test;
+import org.spongepowered.common.util.Constants;
+
+public class PlayerTrackerTableTest {
+
+    @Test
+    public void testPacking() {
+        final long tracker = PlayerTrackerTable.pack(-1, 7);
+        assertEquals(-1, PlayerTrackerTable.getOwnerIndex(tracker));
+        assertEquals(7, PlayerTrackerTable.getNotifierIndex(tracker));
+        assertEquals(PlayerTrackerTable.UNTRACKED, PlayerTrackerTable.pack(-1, -1));
+    }
+
+    @Test
+    public void testColumnRoundTrip() {
+        final PlayerTrackerTable table = new PlayerTrackerTable();
+        table.put((short) 12, PlayerTrackerTable.pack(1, 2));
+        table.put((short) -5, PlayerTrackerTable.pack(3, -1));
+        table.put(70000, PlayerTrackerTable.pack(-1, 4));
+
+        final NBTTagCompound spongeData = new NBTTagCompound();
+        spongeData.setTag(Constants.Sponge.SPONGE_TRACKED_BLOCKS, table.writeToNbt());
+        final PlayerTrackerTable read = PlayerTrackerTable.readFromNbt(spongeData);
+
+        assertEquals(3, read.size());
+        assertEquals(PlayerTrackerTable.pack(1, 2), read.get((short) 12));
+        assertEquals(PlayerTrackerTable.pack(3, -1), read.get((short) -5));
+        assertEquals(PlayerTrackerTable.pack(-1, 4), read.get(70000));
+        assertEquals(PlayerTrackerTable.UNTRACKED, read.get(12));
+    }
+
+    @Test
+    public void testReadsLegacyTable() {
+        final NBTTagList positions = new NBTTagList();
+        final NBTTagCompound shortPos = new NBTTagCompound();
+        shortPos.setInteger("owner", 1);
+        shortPos.setInteger("notifier", 2);
+        shortPos.setShort("pos", (short) 12);
+        positions.appendTag(shortPos);
+        final NBTTagCompound intPos = new NBTTagCompound();
+        intPos.setInteger("uuid", 3);
+        intPos.setInteger("ipos", 70000);
+        positions.appendTag(intPos);
+        final NBTTagCompound untracked = new NBTTagCompound();
+        untracked.setInteger("owner", -1);
+        untracked.setInteger("notifier", -1);
+        untracked.setShort("pos", (short) 13);
+        positions.appendTag(untracked);
+
+        final NBTTagCompound spongeData = new NBTTagCompound();
+        spongeData.setTag(Constants.Sponge.SPONGE_BLOCK_POS_TABLE, positions);
+        final PlayerTrackerTable read = PlayerTrackerTable.readFromNbt(spongeData);
+
+        assertEquals(2, read.size());
+        assertEquals(PlayerTrackerTable.pack(1, 2), read.get((short) 12));
+        assertEquals(PlayerTrackerTable.pack(3, -1), read.get(70000));
+        assertEquals(PlayerTrackerTable.UNTRACKED, read.get((short) 13));
+    }
+
+}
@@ -29,10 +29,16 @@
 import org.junit.runner.RunWith;
 import org.mockito.Mockito;
 import org.spongepowered.api.entity.living.player.User;
+import org.spongepowered.api.event.cause.Cause;
 import org.spongepowered.api.event.cause.EventContextKeys;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.event.tracking.IPhaseState;
+import org.spongepowered.common.event.tracking.context.GeneralizedContext;
 import org.spongepowered.lwts.runner.LaunchWrapperTestRunner;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @RunWith(LaunchWrapperTestRunner.class)
 public class CauseStackManagerTest {
 
@@ -90,4 +96,66 @@ public void testPoppingFrameRemovesFrameContexts() throws Exception {
         Assert.assertFalse(causeStackManager.getContext(EventContextKeys.OWNER).isPresent());
     }
 
+    @Test
+    public void testPoppingFrameReusesCause() throws Exception {
+        final SpongeCauseStackManager causeStackManager = SpongeImpl.getCauseStackManager();
+
+        User user = Mockito.mock(User.class);
+
+        SpongeCauseStackManager.StackFrame frame1 = causeStackManager.pushCauseFrame();
+        causeStackManager.pushCause(1);
+        causeStackManager.addContext(EventContextKeys.OWNER, user);
+        final Cause outer = causeStackManager.getCurrentCause();
+
+        // A frame changing both the causes and the context
+        SpongeCauseStackManager.StackFrame frame = causeStackManager.pushCauseFrame();
+        causeStackManager.pushCause(2);
+        causeStackManager.removeContext(EventContextKeys.OWNER);
+        Assert.assertEquals(2, causeStackManager.getCurrentCause().root());
+        Assert.assertFalse(causeStackManager.getCurrentCause().getContext().containsKey(EventContextKeys.OWNER));
+
+        // The cause from before the frame is handed out again
+        causeStackManager.popCauseFrame(frame);
+        Assert.assertSame(outer, causeStackManager.getCurrentCause());
+        Assert.assertEquals(user, causeStackManager.getCurrentCause().getContext().get(EventContextKeys.OWNER).get());
+
+        causeStackManager.popCauseFrame(frame1);
+        Assert.assertNotSame(outer, causeStackManager.getCurrentCause());
+        Assert.assertFalse(causeStackManager.getCurrentCause().getContext().containsKey(EventContextKeys.OWNER));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testPhaseContextProviderWithinFrame() throws Exception {
+        final SpongeCauseStackManager causeStackManager = SpongeImpl.getCauseStackManager();
+
+        User user = Mockito.mock(User.class);
+        final List<SpongeCauseStackManager.StackFrame> providedFrames = new ArrayList<>();
+        final IPhaseState<GeneralizedContext> state = Mockito.mock(IPhaseState.class);
+        Mockito.when(state.getFrameModifier()).thenReturn((frame, context) -> {
+            providedFrames.add(frame);
+            frame.pushCause("provided");
+            frame.addContext(EventContextKeys.OWNER, user);
+        });
+
+        SpongeCauseStackManager.StackFrame frame = causeStackManager.pushCauseFrame();
+        causeStackManager.pushCause(1);
+        final Cause outer = causeStackManager.getCurrentCause();
+
+        // The provider is applied in its own frame once the cause is requested
+        causeStackManager.registerPhaseContextProvider(new GeneralizedContext(state));
+        final Cause provided = causeStackManager.getCurrentCause();
+        Assert.assertEquals(1, providedFrames.size());
+        Assert.assertEquals("provided", provided.root());
+        Assert.assertEquals(user, provided.getContext().get(EventContextKeys.OWNER).get());
+
+        // Closing the phase pops the provided frame, the cause from before is handed out again
+        causeStackManager.popCauseFrame(providedFrames.get(0));
+        Assert.assertSame(outer, causeStackManager.getCurrentCause());
+
+        causeStackManager.popCauseFrame(frame);
+        Assert.assertNotEquals(1, causeStackManager.getCurrentCause().root());
+        Assert.assertFalse(causeStackManager.getCurrentCause().getContext().containsKey(EventContextKeys.OWNER));
+    }
+
 }
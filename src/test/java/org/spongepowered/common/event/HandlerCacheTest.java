@@ -0,0 +1,89 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.spongepowered.api.event.EventListener;
+import org.spongepowered.api.event.entity.SpawnEntityEvent;
+import org.spongepowered.api.event.item.inventory.DropItemEvent;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.api.plugin.PluginManager;
+import org.spongepowered.common.InjectedTest;
+
+import java.util.Optional;
+
+public class HandlerCacheTest extends InjectedTest {
+
+    private SpongeEventManager eventManager;
+    private Object plugin;
+
+    @Before
+    public void init() {
+        PluginManager manager = Mockito.mock(PluginManager.class);
+        this.eventManager = new SpongeEventManager(this.logger, manager);
+
+        this.plugin = new Object();
+        PluginContainer container = Mockito.mock(PluginContainer.class);
+        Mockito.when(manager.fromInstance(this.plugin)).thenReturn(Optional.of(container));
+    }
+
+    @Test
+    public void testUnrelatedRegistrationKeepsCache() {
+        SpawnEntityEvent event = Mockito.mock(SpawnEntityEvent.class);
+        EventListener<SpawnEntityEvent> spawnListener = e -> { };
+        EventListener<DropItemEvent> dropListener = e -> { };
+
+        this.eventManager.registerListener(this.plugin, SpawnEntityEvent.class, spawnListener);
+        RegisteredListener.Cache cache = this.eventManager.getHandlerCache(event);
+        Assert.assertEquals(1, cache.getListeners().size());
+
+        this.eventManager.registerListener(this.plugin, DropItemEvent.class, dropListener);
+        Assert.assertSame(cache, this.eventManager.getHandlerCache(event));
+
+        this.eventManager.unregisterListeners(dropListener);
+        Assert.assertSame(cache, this.eventManager.getHandlerCache(event));
+    }
+
+    @Test
+    public void testRelatedRegistrationInvalidatesCache() {
+        SpawnEntityEvent event = Mockito.mock(SpawnEntityEvent.class);
+        EventListener<SpawnEntityEvent> spawnListener = e -> { };
+        EventListener<SpawnEntityEvent> otherSpawnListener = e -> { };
+
+        this.eventManager.registerListener(this.plugin, SpawnEntityEvent.class, spawnListener);
+        RegisteredListener.Cache cache = this.eventManager.getHandlerCache(event);
+        Assert.assertEquals(1, cache.getListeners().size());
+
+        this.eventManager.registerListener(this.plugin, SpawnEntityEvent.class, otherSpawnListener);
+        Assert.assertEquals(2, this.eventManager.getHandlerCache(event).getListeners().size());
+
+        this.eventManager.unregisterListeners(spawnListener);
+        Assert.assertEquals(1, this.eventManager.getHandlerCache(event).getListeners().size());
+    }
+
+}
@@ -0,0 +1,156 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.tracking;
+
+import co.aikar.timings.Timings;
+import co.aikar.timings.TimingsFactory;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.spongepowered.api.event.EventManager;
+import org.spongepowered.api.event.Listener;
+import org.spongepowered.api.event.SpongeEventFactory;
+import org.spongepowered.api.event.block.ChangeBlockEvent;
+import org.spongepowered.api.event.cause.Cause;
+import org.spongepowered.api.event.cause.EventContext;
+import org.spongepowered.api.event.item.inventory.DropItemEvent;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.api.plugin.PluginManager;
+import org.spongepowered.common.InjectedTest;
+import org.spongepowered.common.event.ShouldFire;
+import org.spongepowered.common.event.SpongeEventManager;
+import org.spongepowered.lwts.runner.LaunchWrapperTestRunner;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+@RunWith(LaunchWrapperTestRunner.class)
+public class CapturePlanTest extends InjectedTest {
+
+    private EventManager eventManager;
+    private Object plugin;
+    private Cause cause;
+    // The flags of the other tests, the event manager of this test changes them
+    private final Map<Field, Boolean> shouldFire = new HashMap<>();
+
+    @Before
+    public void init() throws Exception {
+        PluginManager manager = Mockito.mock(PluginManager.class);
+        this.eventManager = new SpongeEventManager(this.logger, manager);
+
+        Field factory = Timings.class.getDeclaredField("factory");
+        factory.setAccessible(true);
+        Field modifiersField = Field.class.getDeclaredField("modifiers");
+        modifiersField.setAccessible(true);
+        modifiersField.setInt(factory, factory.getModifiers() & ~Modifier.FINAL);
+        factory.set(null, Mockito.mock(TimingsFactory.class));
+
+        this.plugin = new Object();
+        PluginContainer container = Mockito.mock(PluginContainer.class);
+        Mockito.when(manager.fromInstance(this.plugin)).thenReturn(Optional.of(container));
+        this.cause = Cause.of(EventContext.empty(), this);
+
+        for (Field field: ShouldFire.class.getDeclaredFields()) {
+            if (Modifier.isPublic(field.getModifiers()) && Modifier.isStatic(field.getModifiers())) {
+                this.shouldFire.put(field, field.getBoolean(null));
+                field.set(null, false);
+            }
+        }
+        CapturePlan.refresh();
+    }
+
+    @After
+    public void restore() throws Exception {
+        for (Map.Entry<Field, Boolean> entry : this.shouldFire.entrySet()) {
+            entry.getKey().set(null, entry.getValue());
+        }
+        CapturePlan.refresh();
+    }
+
+    @Test
+    public void testBlockListenerAddedAtRuntime() {
+        Assert.assertFalse("Block changes are captured without listeners!", CapturePlan.get().capturesBlockChanges());
+
+        BreakListener listener = new BreakListener();
+        this.eventManager.registerListeners(this.plugin, listener);
+        Assert.assertTrue("Block changes are not captured for a new listener!", CapturePlan.get().capturesBlockChanges());
+        Assert.assertFalse("Entity spawns are captured for a block listener!", CapturePlan.get().capturesEntitySpawns());
+
+        this.eventManager.post(SpongeEventFactory.createChangeBlockEventBreak(this.cause, new ArrayList<>()));
+        Assert.assertEquals("The new listener did not receive the event!", 1, listener.calls);
+
+        this.eventManager.unregisterListeners(listener);
+        Assert.assertFalse("Block changes are still captured after unregistering!", CapturePlan.get().capturesBlockChanges());
+    }
+
+    @Test
+    public void testDropListenerAddedAtRuntime() {
+        IPhaseState<?> ticking = Mockito.mock(IPhaseState.class);
+        Mockito.when(ticking.isTicking()).thenReturn(true);
+        IPhaseState<?> packet = Mockito.mock(IPhaseState.class);
+
+        Assert.assertFalse("Ticking drops are captured without listeners!", CapturePlan.get().capturesItemDrops(ticking));
+        Assert.assertTrue("Non ticking drops must always be captured!", CapturePlan.get().capturesItemDrops(packet));
+
+        DropListener listener = new DropListener();
+        this.eventManager.registerListeners(this.plugin, listener);
+        Assert.assertTrue("Ticking drops are not captured for a new listener!", CapturePlan.get().capturesItemDrops(ticking));
+        Assert.assertTrue("Entity spawns are not captured for a drop listener!", CapturePlan.get().capturesEntitySpawns());
+
+        this.eventManager.post(SpongeEventFactory.createDropItemEventDestruct(this.cause, new ArrayList<>()));
+        Assert.assertEquals("The new listener did not receive the event!", 1, listener.calls);
+
+        this.eventManager.unregisterListeners(listener);
+        Assert.assertFalse("Ticking drops are still captured after unregistering!", CapturePlan.get().capturesItemDrops(ticking));
+    }
+
+    public static class BreakListener {
+
+        int calls;
+
+        @Listener
+        public void onBreak(ChangeBlockEvent.Break event) {
+            this.calls++;
+        }
+    }
+
+    public static class DropListener {
+
+        int calls;
+
+        @Listener
+        public void onDrop(DropItemEvent.Destruct event) {
+            this.calls++;
+        }
+    }
+
+}
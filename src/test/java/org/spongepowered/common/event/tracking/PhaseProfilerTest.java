@@ -0,0 +1,181 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.tracking;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.spongepowered.lwts.runner.LaunchWrapperTestRunner;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+@RunWith(LaunchWrapperTestRunner.class)
+public class PhaseProfilerTest {
+
+    private int sampleRate;
+    private IPhaseState<?> state;
+
+    @Before
+    public void init() {
+        this.sampleRate = PhaseProfiler.getSampleRate();
+        this.state = Mockito.mock(IPhaseState.class, "test,state");
+    }
+
+    @After
+    public void restore() {
+        PhaseProfiler.setSampleRate(this.sampleRate);
+        PhaseProfiler.reset();
+    }
+
+    /**
+     * Enters phases until an entry is timed, so the next timed entry is a
+     * full sample rate away.
+     */
+    private static void alignSampling() {
+        final IPhaseState<?> other = Mockito.mock(IPhaseState.class);
+        while (PhaseProfiler.onEnter(other) == 0) {
+            // Counting down what is left of the previous sample rate
+        }
+        PhaseProfiler.reset();
+    }
+
+    /**
+     * Enters the state the given amount of times, completing each timed
+     * entry with the given time.
+     */
+    private void enter(final int times, final long nanos) {
+        for (int i = 0; i < times; i++) {
+            if (PhaseProfiler.onEnter(this.state) != 0) {
+                PhaseProfiler.onComplete(this.state, nanos, 2, 1, 0);
+            }
+        }
+    }
+
+    private PhaseProfiler.Entry getEntry() {
+        final List<PhaseProfiler.Entry> entries = PhaseProfiler.getEntries();
+        assertEquals(1, entries.size());
+        assertEquals(this.state, entries.get(0).getState());
+        return entries.get(0);
+    }
+
+    @Test
+    public void testOneInEverySampleRateEntriesIsTimed() {
+        PhaseProfiler.setSampleRate(3);
+        alignSampling();
+
+        for (int round = 0; round < 2; round++) {
+            assertEquals(0, PhaseProfiler.onEnter(this.state));
+            assertEquals(0, PhaseProfiler.onEnter(this.state));
+            assertNotEquals(0, PhaseProfiler.onEnter(this.state));
+        }
+        // Every entry is counted, timed or not
+        assertEquals(6, this.getEntry().getEntries());
+    }
+
+    @Test
+    public void testNothingIsRecordedWhenOff() {
+        PhaseProfiler.setSampleRate(0);
+        PhaseProfiler.reset();
+
+        assertEquals(0, PhaseProfiler.onEnter(this.state));
+        assertTrue(PhaseProfiler.getEntries().isEmpty());
+    }
+
+    @Test
+    public void testReset() {
+        PhaseProfiler.setSampleRate(1);
+        this.enter(5, 100);
+        assertEquals(5, this.getEntry().getEntries());
+
+        PhaseProfiler.reset();
+        assertTrue(PhaseProfiler.getEntries().isEmpty());
+    }
+
+    @Test
+    public void testEstimatedNanosAreExtrapolated() {
+        PhaseProfiler.setSampleRate(4);
+        alignSampling();
+        this.enter(8, 1000);
+
+        final PhaseProfiler.Entry entry = this.getEntry();
+        assertEquals(8, entry.getEntries());
+        assertEquals(2, entry.getSamples());
+        assertEquals(1000, entry.getAverageNanos());
+        assertEquals(8000, entry.getEstimatedNanos());
+        assertEquals(2.0D, entry.getAverageBlocks(), 0.0D);
+        assertEquals(1.0D, entry.getAverageEntities(), 0.0D);
+    }
+
+    @Test
+    public void testDeadThreadsAreMerged() throws Exception {
+        PhaseProfiler.setSampleRate(1);
+        alignSampling();
+        this.enter(2, 100);
+        final int threads = PhaseProfiler.getThreadCount();
+
+        final Thread thread = new Thread(() -> this.enter(3, 100));
+        thread.start();
+        thread.join();
+
+        // The dead thread is dropped, its counters are kept
+        assertEquals(threads, PhaseProfiler.getThreadCount());
+        final PhaseProfiler.Entry entry = this.getEntry();
+        assertEquals(5, entry.getEntries());
+        assertEquals(5, entry.getSamples());
+
+        PhaseProfiler.reset();
+        assertTrue(PhaseProfiler.getEntries().isEmpty());
+    }
+
+    @Test
+    public void testExport() throws Exception {
+        PhaseProfiler.setSampleRate(4);
+        alignSampling();
+        this.enter(8, 1_000_000);
+
+        final Path file = Files.createTempFile("phase-profile", ".csv");
+        try {
+            PhaseProfiler.export(file);
+            final List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+            assertEquals(3, lines.size());
+            assertEquals("# sample-rate=4", lines.get(0));
+            assertEquals("state,entries,samples,total-micros,unwind-micros,block-processing-micros,blocks,entities,items", lines.get(1));
+            // Commas in the name of the state don't add columns
+            assertEquals("test;state,8,2,2000,0,0,4,2,0", lines.get(2));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+}
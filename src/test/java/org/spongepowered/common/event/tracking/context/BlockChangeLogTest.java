@@ -0,0 +1,82 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.tracking.context;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import net.minecraft.block.state.IBlockState;
+import org.junit.Test;
+import org.spongepowered.api.world.BlockChangeFlags;
+import org.spongepowered.common.world.BlockChange;
+
+public class BlockChangeLogTest {
+
+    private final IBlockState stone = mock(IBlockState.class);
+    private final IBlockState air = mock(IBlockState.class);
+    private final IBlockState dirt = mock(IBlockState.class);
+
+    private int add(final BlockChangeLog log, final long pos, final IBlockState original, final IBlockState replacement) {
+        return log.add(pos, null, original, replacement, BlockChangeFlags.ALL, BlockChange.MODIFY);
+    }
+
+    @Test
+    public void testFirstEntryPerPosition() {
+        final BlockChangeLog log = new BlockChangeLog();
+        for (int i = 0; i < 40; i++) {
+            add(log, i % 3, i < 3 ? this.stone : this.air, this.dirt);
+        }
+        assertEquals(3, log.positionCount());
+        assertEquals(1, log.first(1));
+        assertEquals(this.stone, log.getOriginal(log.first(2)));
+        assertEquals(-1, log.first(5));
+        assertFalse(log.contains(5));
+    }
+
+    @Test
+    public void testRemoveMostRecentMatch() {
+        final BlockChangeLog log = new BlockChangeLog();
+        final int first = add(log, 7, this.stone, this.air);
+        add(log, 8, this.dirt, this.air);
+        final int second = add(log, 7, this.air, this.dirt);
+        add(log, 7, this.dirt, this.air);
+
+        assertFalse(log.remove(7, this.stone, this.dirt));
+        assertTrue(log.remove(7, this.air, this.dirt));
+        assertEquals(first, log.first(7));
+        assertTrue(log.remove(7, this.stone, this.air));
+        assertEquals(second + 1, log.first(7));
+        assertTrue(log.remove(7, this.dirt, null));
+        assertFalse(log.contains(7));
+        assertEquals(1, log.positionCount());
+
+        log.clear();
+        assertTrue(log.isEmpty());
+        assertEquals(0, add(log, 7, this.stone, this.air));
+    }
+
+}
@@ -44,4 +44,11 @@ public class SchematicTranslatorMixin_Test {
     private void setDummyDataFixer(final DataView unprocessed, final CallbackInfoReturnable<Schematic> cir) {
         VANILLA_FIXER = DataFixesManager.createFixer();
     }
+
+    @Inject(method = "update(Lorg/spongepowered/api/data/DataView;)Lorg/spongepowered/api/data/DataView;", at = @At("HEAD"))
+    private static void setDummyDataFixerForUpdate(final DataView unprocessed, final CallbackInfoReturnable<DataView> cir) {
+        if (VANILLA_FIXER == null) {
+            VANILLA_FIXER = DataFixesManager.createFixer();
+        }
+    }
 }
@@ -0,0 +1,102 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class TaskQueueTest {
+
+    private static ScheduledTask createTask(String name) {
+        return new ScheduledTask(ScheduledTask.TaskSynchronicity.SYNCHRONOUS, task -> { }, name, 0, true, 0, true, null);
+    }
+
+    @Test
+    public void testPollOrder() {
+        TaskQueue queue = new TaskQueue();
+        long[] deadlines = {50, 10, 30, 20, 40, 0, 100, 70};
+        for (int i = 0; i < deadlines.length; i++) {
+            queue.add(createTask("task-" + i), deadlines[i]);
+        }
+        assertEquals(deadlines.length, queue.size());
+        long last = Long.MIN_VALUE;
+        ScheduledTask task;
+        while ((task = queue.poll()) != null) {
+            assertTrue(task.getDeadline() >= last);
+            assertEquals(-1, task.queueIndex);
+            last = task.getDeadline();
+        }
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testRemove() {
+        TaskQueue queue = new TaskQueue();
+        ScheduledTask first = createTask("first");
+        ScheduledTask second = createTask("second");
+        ScheduledTask third = createTask("third");
+        queue.add(first, 10);
+        queue.add(second, 20);
+        queue.add(third, 30);
+
+        assertTrue(queue.remove(first));
+        assertFalse(queue.remove(first));
+        assertSame(second, queue.peek());
+        assertTrue(queue.remove(third));
+        assertSame(second, queue.poll());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void testRequeueMovesTask() {
+        TaskQueue queue = new TaskQueue();
+        ScheduledTask first = createTask("first");
+        ScheduledTask second = createTask("second");
+        queue.add(first, 10);
+        queue.add(second, 20);
+        queue.add(first, 30);
+
+        assertEquals(2, queue.size());
+        assertSame(second, queue.poll());
+        assertSame(first, queue.poll());
+    }
+
+    @Test
+    public void testGrowth() {
+        TaskQueue queue = new TaskQueue();
+        for (int i = 1000; i > 0; i--) {
+            queue.add(createTask("task-" + i), i);
+        }
+        for (int i = 1; i <= 1000; i++) {
+            assertEquals(i, queue.poll().getDeadline());
+        }
+    }
+
+}
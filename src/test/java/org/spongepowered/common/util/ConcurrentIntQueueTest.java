@@ -0,0 +1,94 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class ConcurrentIntQueueTest {
+
+    @Test
+    public void testOrderAcrossSegments() {
+        final ConcurrentIntQueue queue = new ConcurrentIntQueue();
+        for (int i = 0; i < 1000; i++) {
+            queue.offer(i);
+        }
+        assertEquals(1000, queue.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, queue.poll());
+        }
+        assertEquals(ConcurrentIntQueue.EMPTY, queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testConcurrentProducers() throws InterruptedException {
+        final ConcurrentIntQueue queue = new ConcurrentIntQueue();
+        final int producers = 4;
+        final int perProducer = 10000;
+        final List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            final int offset = p * perProducer;
+            final Thread thread = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    queue.offer(offset + i);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        final boolean[] seen = new boolean[producers * perProducer];
+        final int[] last = new int[producers];
+        Arrays.fill(last, -1);
+        int received = 0;
+        while (received < seen.length) {
+            final int value = queue.poll();
+            if (value == ConcurrentIntQueue.EMPTY) {
+                Thread.yield();
+                continue;
+            }
+            // Values of a single producer keep their order
+            assertTrue(value % perProducer > last[value / perProducer]);
+            last[value / perProducer] = value % perProducer;
+            seen[value] = true;
+            received++;
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        for (final boolean value : seen) {
+            assertTrue(value);
+        }
+        assertEquals(ConcurrentIntQueue.EMPTY, queue.poll());
+    }
+
+}
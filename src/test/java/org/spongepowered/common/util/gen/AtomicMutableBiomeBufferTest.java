@@ -0,0 +1,99 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util.gen;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+import com.flowpowered.math.vector.Vector3i;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.spongepowered.api.world.biome.BiomeTypes;
+import org.spongepowered.api.world.extent.BiomeVolume;
+import org.spongepowered.api.world.extent.MutableBiomeVolume;
+import org.spongepowered.api.world.extent.StorageType;
+import org.spongepowered.lwts.runner.LaunchWrapperTestRunner;
+
+@RunWith(LaunchWrapperTestRunner.class)
+public class AtomicMutableBiomeBufferTest {
+
+    private static final Vector3i MIN = new Vector3i(-2, 0, 5);
+    private static final Vector3i SIZE = new Vector3i(4, 1, 3);
+
+    @Test
+    public void testSetAndGet() {
+        final AtomicMutableBiomeBuffer buffer = new AtomicMutableBiomeBuffer(MIN, SIZE);
+        assertEquals(BiomeTypes.OCEAN, buffer.getBiome(-2, 0, 5));
+
+        buffer.setBiome(-2, 0, 5, BiomeTypes.DESERT);
+        buffer.setBiome(1, 0, 7, BiomeTypes.PLAINS);
+        assertEquals(BiomeTypes.DESERT, buffer.getBiome(-2, 0, 5));
+        assertEquals(BiomeTypes.PLAINS, buffer.getBiome(1, 0, 7));
+        assertEquals(BiomeTypes.OCEAN, buffer.getBiome(-1, 0, 5));
+    }
+
+    @Test
+    public void testCopies() {
+        final AtomicMutableBiomeBuffer buffer = new AtomicMutableBiomeBuffer(MIN, SIZE);
+        buffer.setBiome(-2, 0, 5, BiomeTypes.DESERT);
+        buffer.setBiome(1, 0, 7, BiomeTypes.PLAINS);
+
+        final MutableBiomeVolume threadSafe = buffer.getBiomeCopy(StorageType.THREAD_SAFE);
+        assertTrue(threadSafe instanceof AtomicMutableBiomeBuffer);
+        assertNotSame(buffer, threadSafe);
+        assertEquals(buffer, threadSafe);
+
+        final MutableBiomeVolume standard = buffer.getBiomeCopy(StorageType.STANDARD);
+        assertTrue(standard instanceof ObjectArrayMutableBiomeBuffer);
+        assertBiomesEqual(buffer, standard);
+        assertBiomesEqual(buffer, buffer.getImmutableBiomeCopy());
+
+        // The copies don't share their storage
+        buffer.setBiome(-2, 0, 5, BiomeTypes.FOREST);
+        assertEquals(BiomeTypes.DESERT, threadSafe.getBiome(-2, 0, 5));
+        assertEquals(BiomeTypes.DESERT, standard.getBiome(-2, 0, 5));
+        threadSafe.setBiome(1, 0, 7, BiomeTypes.FOREST);
+        assertEquals(BiomeTypes.PLAINS, buffer.getBiome(1, 0, 7));
+    }
+
+    @Test
+    public void testCopyOfVolume() {
+        final ObjectArrayMutableBiomeBuffer source = new ObjectArrayMutableBiomeBuffer(MIN, SIZE);
+        source.setBiome(0, 0, 6, BiomeTypes.SWAMPLAND);
+
+        final AtomicMutableBiomeBuffer copy = AtomicMutableBiomeBuffer.copyOf(source, MIN, SIZE);
+        assertBiomesEqual(source, copy);
+    }
+
+    private static void assertBiomesEqual(final BiomeVolume expected, final BiomeVolume actual) {
+        for (int z = MIN.getZ(); z < MIN.getZ() + SIZE.getZ(); z++) {
+            for (int x = MIN.getX(); x < MIN.getX() + SIZE.getX(); x++) {
+                assertEquals(expected.getBiome(x, 0, z), actual.getBiome(x, 0, z));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,166 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util.gen;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+import com.flowpowered.math.vector.Vector3i;
+import net.minecraft.block.state.IBlockState;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.spongepowered.api.block.BlockState;
+import org.spongepowered.api.block.BlockTypes;
+import org.spongepowered.api.world.extent.MutableBlockVolume;
+import org.spongepowered.api.world.extent.StorageType;
+import org.spongepowered.lwts.runner.LaunchWrapperTestRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+@RunWith(LaunchWrapperTestRunner.class)
+public class AtomicMutableBlockBufferTest {
+
+    private static final Vector3i SIZE = new Vector3i(3, 3, 3);
+
+    @Test
+    public void testSetAndGet() {
+        final AtomicMutableBlockBuffer buffer = new AtomicMutableBlockBuffer(Vector3i.ZERO, SIZE);
+        final BlockState air = BlockTypes.AIR.getDefaultState();
+        final BlockState stone = BlockTypes.STONE.getDefaultState();
+        final BlockState dirt = BlockTypes.DIRT.getDefaultState();
+        assertEquals(air, buffer.getBlock(0, 0, 0));
+
+        // Both halves of the first int
+        buffer.setBlock(0, 0, 0, stone);
+        buffer.setBlock(0, 1, 0, dirt);
+        assertEquals(stone, buffer.getBlock(0, 0, 0));
+        assertEquals(dirt, buffer.getBlock(0, 1, 0));
+        assertEquals(air, buffer.getBlock(0, 2, 0));
+
+        // The last block is alone in its int
+        buffer.setBlock(2, 2, 2, stone);
+        assertEquals(stone, buffer.getBlock(2, 2, 2));
+        assertEquals(air, buffer.getBlock(2, 1, 2));
+    }
+
+    @Test
+    public void testStateWithoutIdIsRejected() {
+        final AtomicMutableBlockBuffer buffer = new AtomicMutableBlockBuffer(Vector3i.ZERO, SIZE);
+        final BlockState stone = BlockTypes.STONE.getDefaultState();
+        buffer.setBlock(0, 1, 0, stone);
+        final BlockState unregistered = (BlockState) mock(IBlockState.class, withSettings().extraInterfaces(BlockState.class));
+
+        try {
+            buffer.setBlock(0, 0, 0, unregistered);
+            fail("A state without a global palette id should be rejected");
+        } catch (IllegalArgumentException ignored) {
+        }
+        assertEquals(BlockTypes.AIR.getDefaultState(), buffer.getBlock(0, 0, 0));
+        assertEquals(stone, buffer.getBlock(0, 1, 0));
+    }
+
+    @Test
+    public void testCopies() {
+        final AtomicMutableBlockBuffer buffer = new AtomicMutableBlockBuffer(Vector3i.ZERO, SIZE);
+        buffer.setBlock(0, 0, 0, BlockTypes.STONE.getDefaultState());
+        buffer.setBlock(1, 1, 2, BlockTypes.DIRT.getDefaultState());
+
+        final MutableBlockVolume threadSafe = buffer.getBlockCopy(StorageType.THREAD_SAFE);
+        assertTrue(threadSafe instanceof AtomicMutableBlockBuffer);
+        assertNotSame(buffer, threadSafe);
+        assertEquals(buffer, threadSafe);
+
+        final MutableBlockVolume standard = buffer.getBlockCopy(StorageType.STANDARD);
+        assertTrue(standard instanceof ArrayMutableBlockBuffer);
+        assertBlocksEqual(buffer, standard);
+        assertBlocksEqual(buffer, buffer.getImmutableBlockCopy().getBlockCopy(StorageType.STANDARD));
+
+        // The copies don't share their storage
+        buffer.setBlock(0, 0, 0, BlockTypes.GRASS.getDefaultState());
+        assertEquals(BlockTypes.STONE.getDefaultState(), threadSafe.getBlock(0, 0, 0));
+        assertEquals(BlockTypes.STONE.getDefaultState(), standard.getBlock(0, 0, 0));
+        threadSafe.setBlock(1, 1, 2, BlockTypes.GRASS.getDefaultState());
+        assertEquals(BlockTypes.DIRT.getDefaultState(), buffer.getBlock(1, 1, 2));
+    }
+
+    @Test
+    public void testConcurrentWritesToNeighbours() throws Exception {
+        final Vector3i size = new Vector3i(4, 64, 4);
+        final AtomicMutableBlockBuffer buffer = new AtomicMutableBlockBuffer(Vector3i.ZERO, size);
+        final BlockState even = BlockTypes.STONE.getDefaultState();
+        final BlockState odd = BlockTypes.DIRT.getDefaultState();
+        final ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            // Each thread writes one half of every int
+            final List<Callable<Void>> writers = new ArrayList<>();
+            for (int parity = 0; parity < 2; parity++) {
+                final int offset = parity;
+                final BlockState state = parity == 0 ? even : odd;
+                writers.add(() -> {
+                    for (int x = 0; x < size.getX(); x++) {
+                        for (int z = 0; z < size.getZ(); z++) {
+                            for (int y = offset; y < size.getY(); y += 2) {
+                                buffer.setBlock(x, y, z, state);
+                            }
+                        }
+                    }
+                    return null;
+                });
+            }
+            for (final Future<Void> future : pool.invokeAll(writers)) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        for (int y = 0; y < size.getY(); y++) {
+            for (int z = 0; z < size.getZ(); z++) {
+                for (int x = 0; x < size.getX(); x++) {
+                    assertEquals((y & 1) == 0 ? even : odd, buffer.getBlock(x, y, z));
+                }
+            }
+        }
+    }
+
+    private static void assertBlocksEqual(final MutableBlockVolume expected, final MutableBlockVolume actual) {
+        for (int y = 0; y < SIZE.getY(); y++) {
+            for (int z = 0; z < SIZE.getZ(); z++) {
+                for (int x = 0; x < SIZE.getX(); x++) {
+                    assertEquals(expected.getBlock(x, y, z), actual.getBlock(x, y, z));
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,134 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import net.minecraft.world.chunk.Chunk;
+import org.junit.Test;
+
+public class ChunkUnloadQueueTest {
+
+    private static Chunk chunk(final int x, final int z) {
+        return new Chunk(null, x, z);
+    }
+
+    @Test
+    public void testPollsInDeadlineOrder() {
+        final ChunkUnloadQueue queue = new ChunkUnloadQueue();
+        final Chunk first = chunk(5, 5);
+        final Chunk second = chunk(-3, 2);
+        final Chunk third = chunk(0, 0);
+        queue.add(third, 300);
+        queue.add(first, 100);
+        queue.add(second, 200);
+
+        assertNull(queue.pollDue(99));
+        assertSame(first, queue.pollDue(250));
+        assertSame(second, queue.pollDue(250));
+        assertNull(queue.pollDue(250));
+        assertSame(third, queue.pollDue(300));
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void testEqualDeadlinesArePolledOnce() {
+        final ChunkUnloadQueue queue = new ChunkUnloadQueue();
+        final Chunk a = chunk(1, 0);
+        final Chunk b = chunk(0, 1);
+        queue.add(a, 100);
+        queue.add(b, 100);
+
+        final Chunk polledFirst = queue.pollDue(100);
+        final Chunk polledSecond = queue.pollDue(100);
+        assertTrue(polledFirst == a && polledSecond == b || polledFirst == b && polledSecond == a);
+        assertNull(queue.pollDue(100));
+    }
+
+    @Test
+    public void testAddReplacesDeadline() {
+        final ChunkUnloadQueue queue = new ChunkUnloadQueue();
+        final Chunk chunk = chunk(2, 2);
+        queue.add(chunk, 100);
+        queue.add(chunk, 500);
+
+        assertEquals(1, queue.size());
+        assertNull(queue.pollDue(100));
+        assertSame(chunk, queue.pollDue(500));
+        assertNull(queue.pollDue(Long.MAX_VALUE));
+
+        // Moving the deadline forward works as well
+        queue.add(chunk, 500);
+        queue.add(chunk, 50);
+        assertSame(chunk, queue.pollDue(50));
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void testRemove() {
+        final ChunkUnloadQueue queue = new ChunkUnloadQueue();
+        final Chunk chunk = chunk(7, -7);
+        queue.add(chunk, 100);
+
+        assertTrue(queue.contains(chunk));
+        assertTrue(queue.remove(chunk));
+        assertFalse(queue.contains(chunk));
+        assertFalse(queue.remove(chunk));
+        assertNull(queue.pollDue(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testStaleChunkAtSamePosition() {
+        final ChunkUnloadQueue queue = new ChunkUnloadQueue();
+        final Chunk stale = chunk(4, 4);
+        final Chunk reloaded = chunk(4, 4);
+        queue.add(stale, 100);
+        queue.add(reloaded, 200);
+
+        // The reloaded chunk replaces the entry of the stale chunk
+        assertEquals(1, queue.size());
+        assertFalse(queue.contains(stale));
+        assertTrue(queue.contains(reloaded));
+        assertFalse(queue.remove(stale));
+        assertNull(queue.pollDue(150));
+        assertSame(reloaded, queue.pollDue(200));
+    }
+
+    @Test
+    public void testClear() {
+        final ChunkUnloadQueue queue = new ChunkUnloadQueue();
+        queue.add(chunk(0, 0), 100);
+        queue.add(chunk(1, 1), 200);
+        queue.clear();
+
+        assertEquals(0, queue.size());
+        assertNull(queue.pollDue(Long.MAX_VALUE));
+    }
+
+}
@@ -0,0 +1,108 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.extent.worker;
+
+import static org.junit.Assert.assertEquals;
+
+import com.flowpowered.math.vector.Vector3i;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.spongepowered.api.block.BlockState;
+import org.spongepowered.api.block.BlockTypes;
+import org.spongepowered.common.util.gen.AtomicMutableBlockBuffer;
+import org.spongepowered.lwts.runner.LaunchWrapperTestRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RunWith(LaunchWrapperTestRunner.class)
+public class SpongeBlockVolumeWorkerTest {
+
+    // Large enough to be split into several cuboids
+    private static final Vector3i MIN = new Vector3i(-40, 10, 7);
+    private static final Vector3i SIZE = new Vector3i(80, 24, 70);
+
+    private static AtomicMutableBlockBuffer createVolume() {
+        final AtomicMutableBlockBuffer volume = new AtomicMutableBlockBuffer(MIN, SIZE);
+        final BlockState stone = BlockTypes.STONE.getDefaultState();
+        final BlockState dirt = BlockTypes.DIRT.getDefaultState();
+        final Vector3i max = volume.getBlockMax();
+        for (int z = MIN.getZ(); z <= max.getZ(); z++) {
+            for (int y = MIN.getY(); y <= max.getY(); y++) {
+                for (int x = MIN.getX(); x <= max.getX(); x++) {
+                    if ((x * 31 + y * 17 + z) % 7 == 0) {
+                        volume.setBlock(x, y, z, stone);
+                    } else if ((x + z) % 5 == 0) {
+                        volume.setBlock(x, y, z, dirt);
+                    }
+                }
+            }
+        }
+        return volume;
+    }
+
+    @Test
+    public void testParallelReductionEqualsSequential() {
+        final SpongeBlockVolumeWorker<AtomicMutableBlockBuffer> worker = new SpongeBlockVolumeWorker<>(createVolume());
+
+        // The reducer mutates the identity and the result depends on the block order
+        final List<BlockState> sequential = worker.reduce((volume, x, y, z, list) -> {
+            list.add(volume.getBlock(x, y, z));
+            return list;
+        }, (first, second) -> {
+            first.addAll(second);
+            return first;
+        }, new ArrayList<>());
+        final List<BlockState> parallel = worker.reduceParallel((volume, x, y, z, list) -> {
+            list.add(volume.getBlock(x, y, z));
+            return list;
+        }, (first, second) -> {
+            first.addAll(second);
+            return first;
+        }, ArrayList::new);
+
+        assertEquals(SIZE.getX() * SIZE.getY() * SIZE.getZ(), sequential.size());
+        assertEquals(sequential, parallel);
+    }
+
+    @Test
+    public void testParallelCountEqualsSequential() {
+        final SpongeBlockVolumeWorker<AtomicMutableBlockBuffer> worker = new SpongeBlockVolumeWorker<>(createVolume());
+        final BlockState stone = BlockTypes.STONE.getDefaultState();
+
+        final int sequential = worker.reduce((volume, x, y, z, count) -> volume.getBlock(x, y, z) == stone ? count + 1 : count,
+            Integer::sum, 0);
+        // Counts in a mutable holder, which would be shared if the cuboids got the same identity
+        final int[] parallel = worker.reduceParallel((volume, x, y, z, count) -> {
+            if (volume.getBlock(x, y, z) == stone) {
+                count[0]++;
+            }
+            return count;
+        }, (first, second) -> new int[] {first[0] + second[0]}, () -> new int[1]);
+
+        assertEquals(sequential, parallel[0]);
+    }
+
+}
@@ -0,0 +1,113 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.gen;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class AsyncTerrainGeneratorTest {
+
+    @Test
+    public void testWaitingGenerationIsSkipped() throws Exception {
+        final AtomicInteger runs = new AtomicInteger();
+        final AsyncTerrainGenerator.Pending<String> task = new AsyncTerrainGenerator.Pending<>(() -> {
+            runs.incrementAndGet();
+            return "terrain";
+        });
+
+        assertNull(task.take());
+        // The thread picks up the task after it was taken
+        task.run();
+        assertEquals(0, runs.get());
+        assertTrue(task.isCancelled());
+    }
+
+    @Test
+    public void testFinishedGenerationIsTaken() throws Exception {
+        final AsyncTerrainGenerator.Pending<String> task = new AsyncTerrainGenerator.Pending<>(() -> "terrain");
+        task.run();
+
+        assertEquals("terrain", task.take());
+    }
+
+    @Test
+    public void testRunningGenerationIsWaitedFor() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AsyncTerrainGenerator.Pending<String> task = new AsyncTerrainGenerator.Pending<>(() -> {
+            started.countDown();
+            release.await();
+            return "terrain";
+        });
+        final ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            pool.execute(task);
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            // Released while the main thread takes the result, which must not drop it
+            pool.execute(() -> {
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException ignored) {
+                }
+                release.countDown();
+            });
+
+            assertEquals("terrain", task.take());
+            assertFalse(task.isCancelled());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFailedGenerationIsReported() throws Exception {
+        final IllegalStateException failure = new IllegalStateException();
+        final AsyncTerrainGenerator.Pending<String> task = new AsyncTerrainGenerator.Pending<>(() -> {
+            throw failure;
+        });
+        task.run();
+
+        try {
+            task.take();
+            fail("The failure of the generation should be rethrown");
+        } catch (ExecutionException e) {
+            assertSame(failure, e.getCause());
+        }
+    }
+
+}
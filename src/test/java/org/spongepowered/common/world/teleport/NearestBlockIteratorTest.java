@@ -0,0 +1,118 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.teleport;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import com.flowpowered.math.vector.Vector3i;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+public class NearestBlockIteratorTest {
+
+    /**
+     * Lists every position of the box sorted by the distance to the center,
+     * the way the teleport helper searched before.
+     */
+    private static List<Vector3i> sortByDistance(final Vector3i center, final int minX, final int maxX, final int minY, final int maxY,
+        final int minZ, final int maxZ) {
+        final List<Vector3i> positions = new ArrayList<>();
+        for (int y = minY; y <= maxY; y++) {
+            for (int x = minX; x <= maxX; x++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    positions.add(new Vector3i(x, y, z));
+                }
+            }
+        }
+        final Comparator<Vector3i> order = Comparator.<Vector3i>comparingInt(center::distanceSquared)
+            .thenComparingInt(pos -> -Math.abs(center.getY() - pos.getY()))
+            .thenComparingInt(pos -> -pos.getY());
+        positions.sort(order);
+        return positions;
+    }
+
+    private static List<Vector3i> iterate(final Vector3i center, final int minX, final int maxX, final int minY, final int maxY,
+        final int minZ, final int maxZ) {
+        final List<Vector3i> positions = new ArrayList<>();
+        new NearestBlockIterator(center, minX, maxX, minY, maxY, minZ, maxZ).forEachRemaining(positions::add);
+        return positions;
+    }
+
+    private static void assertSameOrder(final Vector3i center, final int minX, final int maxX, final int minY, final int maxY,
+        final int minZ, final int maxZ) {
+        assertEquals(sortByDistance(center, minX, maxX, minY, maxY, minZ, maxZ), iterate(center, minX, maxX, minY, maxY, minZ, maxZ));
+    }
+
+    @Test
+    public void testCenteredBox() {
+        final Vector3i center = new Vector3i(10, 64, -20);
+        assertSameOrder(center, 5, 15, 61, 67, -25, -15);
+    }
+
+    @Test
+    public void testBoxCutOffByTheWorldHeight() {
+        // The teleport helper clamps the box to the world height
+        assertSameOrder(new Vector3i(0, 1, 0), -4, 4, 0, 4, -4, 4);
+        assertSameOrder(new Vector3i(0, 254, 0), -4, 4, 251, 255, -4, 4);
+    }
+
+    @Test
+    public void testCenterOutsideOfTheBox() {
+        assertSameOrder(new Vector3i(0, 64, 0), 3, 7, 60, 62, -9, -6);
+    }
+
+    @Test
+    public void testFlatBox() {
+        assertSameOrder(new Vector3i(-7, 70, 3), -7, -7, 70, 70, -2, 8);
+        assertSameOrder(new Vector3i(-7, 70, 3), -12, -2, 70, 70, 3, 3);
+    }
+
+    @Test
+    public void testRandomBoxes() {
+        final Random random = new Random(42);
+        for (int i = 0; i < 50; i++) {
+            final Vector3i center = new Vector3i(random.nextInt(64) - 32, random.nextInt(256), random.nextInt(64) - 32);
+            final int minX = center.getX() - random.nextInt(6);
+            final int maxX = center.getX() + random.nextInt(6);
+            final int minY = Math.max(0, center.getY() - random.nextInt(6));
+            final int maxY = Math.min(255, center.getY() + random.nextInt(6));
+            final int minZ = center.getZ() - random.nextInt(6);
+            final int maxZ = center.getZ() + random.nextInt(6);
+            assertSameOrder(center, minX, maxX, minY, maxY, minZ, maxZ);
+        }
+    }
+
+    @Test
+    public void testEmptyBox() {
+        assertFalse(new NearestBlockIterator(Vector3i.ZERO, 0, 0, 0, 0, 1, 0).hasNext());
+        assertFalse(new NearestBlockIterator(Vector3i.ZERO, 1, 0, 0, 0, 0, 0).hasNext());
+    }
+
+}